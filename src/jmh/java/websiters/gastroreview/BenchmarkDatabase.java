@@ -0,0 +1,56 @@
+package websiters.gastroreview;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA-only Spring context (entities, repositories, transactions) on an in-memory H2
+ * database, for benchmarks that need real queries without the web layer, indexes and jobs.
+ *
+ * The schema is created by Hibernate, after benchmarks/schema-h2.sql has created the
+ * tables whose generated DDL H2 cannot run (identity-generated UUID keys), so their
+ * foreign keys are in place too. Tables with jsonb columns are still missing.
+ */
+public final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+            SqlInitializationAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackages = {"websiters.gastroreview.model", "WebSiters.GastroReview.model"})
+    @EnableJpaRepositories(basePackages = {"websiters.gastroreview.repository", "WebSiters.GastroReview.repository"})
+    static class JpaOnly {
+    }
+
+    public static ConfigurableApplicationContext start(String name) {
+        return new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.schema-locations=classpath:benchmarks/schema-h2.sql",
+                        // update, not create-drop: the script's tables must survive
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type.descriptor.sql=warn",
+                        "--logging.level.org.hibernate.tool.schema=error");
+    }
+}
@@ -0,0 +1,71 @@
+package websiters.gastroreview.analysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-review cost of the in-process analyzers.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewAnalyzerBenchmark {
+
+    private static final String[][] REVIEWS = {
+            {"Cena de aniversario", "La comida estaba deliciosa, el servicio fue excelente y el ambiente muy "
+                    + "agradable. Sin duda volveremos pronto con la familia."},
+            {"Decepcionante", "Esperamos casi una hora, la sopa llegó fría y el mesero fue grosero. "
+                    + "No lo recomiendo para nada."},
+            {"Great tacos, slow service", "The tacos were amazing and the salsa was fresh, but the staff "
+                    + "was rude and we waited forever for the check."},
+            {"PROMO!!!", "Visita www.descuentos-ya.com y escribe al WhatsApp 5512345678 para ganar premios GRATIS!!!"},
+    };
+
+    private NaiveBayesReviewAnalyzer naiveBayes;
+    private LexiconReviewAnalyzer lexicon;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        naiveBayes = new NaiveBayesReviewAnalyzer();
+        lexicon = new LexiconReviewAnalyzer();
+    }
+
+    private String[] nextReview() {
+        String[] review = REVIEWS[next];
+        next = (next + 1) % REVIEWS.length;
+        return review;
+    }
+
+    @Benchmark
+    public ReviewAnalysis naiveBayes() {
+        String[] review = nextReview();
+        return naiveBayes.analyze(review[0], review[1]);
+    }
+
+    @Benchmark
+    public ReviewAnalysis lexicon() {
+        String[] review = nextReview();
+        return lexicon.analyze(review[0], review[1]);
+    }
+
+    /**
+     * Throughput of a batch on all cores, as the re-scoring job runs it.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(100)
+    public void naiveBayesBatchAllCores(Blackhole bh) {
+        for (int i = 0; i < 100; i++) {
+            String[] review = REVIEWS[i % REVIEWS.length];
+            bh.consume(naiveBayes.analyze(review[0], review[1]));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package websiters.gastroreview.controller;
+
+import WebSiters.GastroReview.dto.ReviewResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code Page<ReviewResponse>} as the controllers return it
+ * (PageImpl, with pageable and sort), and as Spring Data's stable {@link PagedModel}.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=PageSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private Page<ReviewResponse> page;
+    private PagedModel<ReviewResponse> pagedModel;
+
+    @Setup
+    public void setUp() {
+        // same defaults as Spring Boot's ObjectMapper: java.time module, ISO dates
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        UUID userId = UUID.randomUUID();
+        UUID restaurantId = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        List<ReviewResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(ReviewResponse.builder()
+                    .id(UUID.randomUUID())
+                    .userId(userId)
+                    .restaurantId(restaurantId)
+                    .dishId(i % 2 == 0 ? UUID.randomUUID() : null)
+                    .title("Review " + i)
+                    .content("La comida estaba deliciosa, el servicio fue excelente y el ambiente muy "
+                            + "agradable. Sin duda volveremos pronto con la familia. #" + i)
+                    .hasAudio(false)
+                    .hasImage(i % 3 == 0)
+                    .publishedAt(now.minusMinutes(i))
+                    .build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize), 10_000);
+        pagedModel = new PagedModel<>(page);
+    }
+
+    @Benchmark
+    public byte[] pageImpl() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pagedModel() throws Exception {
+        return mapper.writeValueAsBytes(pagedModel);
+    }
+}
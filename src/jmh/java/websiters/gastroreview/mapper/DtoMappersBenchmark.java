@@ -0,0 +1,87 @@
+package websiters.gastroreview.mapper;
+
+import WebSiters.GastroReview.dto.*;
+import WebSiters.GastroReview.mapper.Mappers;
+import WebSiters.GastroReview.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Mappers}{@code .toDto} for the review-side entities.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=DtoMappersBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappersBenchmark {
+
+    private Review review;
+    private Rating rating;
+    private ReviewComment comment;
+    private Dish dish;
+    private RestaurantSchedule schedule;
+    private TextAnalysis analysis;
+
+    @Setup
+    public void setUp() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now();
+        Users user = Users.builder().id(UUID.randomUUID()).email("ana@example.com").hashPassword("x").build();
+        Restaurant restaurant = Restaurant.builder().id(UUID.randomUUID()).name("La Parrilla del Norte").build();
+        dish = Dish.builder().id(UUID.randomUUID()).restaurant(restaurant).name("Cabrito")
+                .description("Al pastor, con tortillas de harina").priceCents(32_000).available(true)
+                .createdAt(now).build();
+        review = Review.builder().id(UUID.randomUUID()).user(user).restaurant(restaurant).dish(dish)
+                .title("Cena de aniversario")
+                .content("La comida estaba deliciosa, el servicio fue excelente y el ambiente muy agradable.")
+                .hasAudio(false).hasImage(true).publishedAt(now).build();
+        rating = Rating.builder().id(1L).review(review).user(user).stars(5).points(3).createdAt(now).build();
+        comment = ReviewComment.builder().id(UUID.randomUUID()).review(review).author(user)
+                .content("¡Totalmente de acuerdo!").publishedAt(now).build();
+        schedule = RestaurantSchedule.builder().id(1L).restaurant(restaurant).weekday(5)
+                .openTime(LocalTime.of(13, 0)).closeTime(LocalTime.of(23, 30)).special(false).build();
+        analysis = TextAnalysis.builder().id(1L).review(review).sentiment("positive")
+                .score(new BigDecimal("0.9312")).spamProb(new BigDecimal("0.0114")).language("es")
+                .metadata(new ObjectMapper().readTree("{\"pPositive\":0.95,\"tokens\":14}"))
+                .createdAt(now).build();
+    }
+
+    @Benchmark
+    public ReviewResponse review() {
+        return Mappers.toDto(review);
+    }
+
+    @Benchmark
+    public RatingResponse rating() {
+        return Mappers.toDto(rating);
+    }
+
+    @Benchmark
+    public ReviewCommentResponse reviewComment() {
+        return Mappers.toDto(comment);
+    }
+
+    @Benchmark
+    public DishResponse dish() {
+        return Mappers.toDto(dish);
+    }
+
+    @Benchmark
+    public RestaurantScheduleResponse restaurantSchedule() {
+        return Mappers.toDto(schedule);
+    }
+
+    @Benchmark
+    public TextAnalysisResponse textAnalysis() {
+        return Mappers.toDto(analysis);
+    }
+}
@@ -0,0 +1,124 @@
+package websiters.gastroreview.mapper;
+
+import websiters.gastroreview.dto.*;
+import websiters.gastroreview.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Mappers}{@code .toResponse} for every entity it maps.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=ResponseMappersBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappersBenchmark {
+
+    private User user;
+    private UserProfile profile;
+    private Role role;
+    private Restaurant restaurant;
+    private Address address;
+    private RestaurantCategory category;
+    private UserPreference preference;
+    private UserAchievement achievement;
+    private UserRole userRole;
+    private Friendship friendship;
+    private RestaurantAddress restaurantAddress;
+    private RestaurantStats stats;
+
+    @Setup
+    public void setUp() {
+        OffsetDateTime now = OffsetDateTime.now();
+        user = User.builder().id(UUID.randomUUID()).email("ana@example.com").hashPassword("x").build();
+        profile = UserProfile.builder().userId(user.getId()).user(user).name("Ana").bio("Foodie")
+                .photoUrl(null).active(true).createdAt(now).build();
+        role = Role.builder().id(UUID.randomUUID()).name("ADMIN").description(null).build();
+        restaurant = Restaurant.builder().id(UUID.randomUUID()).name("La Parrilla del Norte")
+                .description("Comida típica regiomontana").phone("8123456789").email(null).owner(user).build();
+        address = Address.builder().id(UUID.randomUUID()).street("Av. Central 123").city("Monterrey")
+                .stateRegion("Nuevo León").postalCode(64000).country("MX").latitude(25.67).longitude(-100.31).build();
+        category = RestaurantCategory.builder().id(1).name("Mexicana").icon("🌮").build();
+        preference = UserPreference.builder().id(UUID.randomUUID()).user(user).prefKey("diet")
+                .value(Map.of("vegetarian", true, "spicy", 2)).createdAt(now).build();
+        achievement = UserAchievement.builder().id(UUID.randomUUID()).user(user).badge("critic")
+                .level(3).stars(null).obtainedAt(now).build();
+        userRole = UserRole.builder().id(new UserRoleId(user.getId(), role.getId())).user(user).role(role)
+                .assignedAt(now).build();
+        friendship = Friendship.builder().id(new FriendshipId(user.getId(), UUID.randomUUID()))
+                .follower(user).createdAt(now).build();
+        restaurantAddress = RestaurantAddress.builder()
+                .id(new RestaurantAddressId(restaurant.getId(), address.getId()))
+                .restaurant(restaurant).address(address).isPrimary(true).branchName(null).build();
+        stats = RestaurantStats.builder().restaurantId(restaurant.getId()).reviewCount(120).ratingCount(80)
+                .starsSum(310).stars1(5).stars2(5).stars3(10).stars4(30).stars5(30).updatedAt(now).build();
+    }
+
+    @Benchmark
+    public UserResponse user() {
+        return Mappers.toResponse(user);
+    }
+
+    @Benchmark
+    public UserProfileResponse userProfile() {
+        return Mappers.toResponse(profile);
+    }
+
+    @Benchmark
+    public RoleResponse role() {
+        return Mappers.toResponse(role);
+    }
+
+    @Benchmark
+    public RestaurantResponse restaurant() {
+        return Mappers.toResponse(restaurant);
+    }
+
+    @Benchmark
+    public AddressResponse address() {
+        return Mappers.toResponse(address);
+    }
+
+    @Benchmark
+    public CategoryResponse category() {
+        return Mappers.toResponse(category);
+    }
+
+    @Benchmark
+    public UserPreferenceResponse userPreference() {
+        return Mappers.toResponse(preference);
+    }
+
+    @Benchmark
+    public UserAchievementResponse userAchievement() {
+        return Mappers.toResponse(achievement);
+    }
+
+    @Benchmark
+    public UserRoleResponse userRole() {
+        return Mappers.toResponse(userRole);
+    }
+
+    @Benchmark
+    public FriendshipResponse friendship() {
+        return Mappers.toResponse(friendship);
+    }
+
+    @Benchmark
+    public RestaurantAddressResponse restaurantAddress() {
+        return Mappers.toResponse(restaurantAddress);
+    }
+
+    @Benchmark
+    public RestaurantStatsResponse restaurantStats() {
+        return Mappers.toResponse(stats, 3.5, 10);
+    }
+}
@@ -0,0 +1,104 @@
+package websiters.gastroreview.repository;
+
+import WebSiters.GastroReview.dto.ReviewResponse;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import websiters.gastroreview.BenchmarkDatabase;
+import websiters.gastroreview.dto.RestaurantResponse;
+import websiters.gastroreview.mapper.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of reviews / restaurants read as entities and mapped, versus read as a DTO
+ * projection, against an in-memory H2 database. Run with the GC profiler to get heap
+ * allocated per page (gc.alloc.rate.norm, bytes per operation):
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=ProjectionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    private static final int ROWS = 2_000;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ReviewRepository reviews;
+    private RestaurantRepository restaurants;
+    private UUID userId;
+    private UUID restaurantId;
+    private Pageable page;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("projection");
+        reviews = context.getBean(ReviewRepository.class);
+        restaurants = context.getBean(RestaurantRepository.class);
+        page = PageRequest.of(0, pageSize);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        userId = UUID.randomUUID();
+        restaurantId = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, email, hash_password) VALUES (?, ?, ?)",
+                userId, "bench@example.com", "x");
+
+        List<Object[]> restaurantRows = new ArrayList<>(ROWS);
+        List<Object[]> reviewRows = new ArrayList<>(ROWS);
+        Instant now = Instant.now();
+        for (int i = 0; i < ROWS; i++) {
+            restaurantRows.add(new Object[]{i == 0 ? restaurantId : UUID.randomUUID(), "Restaurante " + i,
+                    "Cocina regional " + i, "81" + (10_000_000 + i), userId, Timestamp.from(now)});
+            reviewRows.add(new Object[]{UUID.randomUUID(), userId, restaurantId, "Review " + i,
+                    "La comida estaba deliciosa y el servicio fue excelente, volveremos pronto. #" + i,
+                    false, i % 3 == 0, Timestamp.from(now.minusSeconds(i))});
+        }
+        jdbc.batchUpdate("INSERT INTO restaurants (id, name, description, phone, owner_id, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", restaurantRows);
+        jdbc.batchUpdate("INSERT INTO reviews (id, user_id, restaurant_id, title, content, has_audio, has_image, "
+                + "published_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", reviewRows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ReviewResponse> reviewEntities() {
+        return reviews.findByRestaurant_Id(restaurantId, page).map(WebSiters.GastroReview.mapper.Mappers::toDto);
+    }
+
+    @Benchmark
+    public Page<ReviewResponse> reviewProjection() {
+        return reviews.findResponsesByRestaurantId(restaurantId, page);
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> restaurantEntities() {
+        return restaurants.findByOwner_Id(userId, page).map(Mappers::toResponse);
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> restaurantProjection() {
+        return restaurants.findResponsesByOwnerId(userId, page);
+    }
+}
@@ -0,0 +1,95 @@
+package websiters.gastroreview.service;
+
+import websiters.gastroreview.BenchmarkDatabase;
+import websiters.gastroreview.dto.RestaurantAddressResponse;
+import websiters.gastroreview.mapper.Mappers;
+import websiters.gastroreview.repository.AddressRepository;
+import websiters.gastroreview.repository.RestaurantAddressRepository;
+import websiters.gastroreview.repository.RestaurantRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of a restaurant's address links paged in memory
+ * ({@link RestaurantAddressService#findByRestaurant}, which loads every link and slices
+ * the page) versus paged by the database, for restaurants with few and many links.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=PaginationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+
+    private static final int PAGE_SIZE = 5;
+
+    @Param({"10", "1000"})
+    public int links;
+
+    private ConfigurableApplicationContext context;
+    private RestaurantAddressRepository repo;
+    private RestaurantAddressService service;
+    private TransactionTemplate readOnlyTx;
+    private UUID restaurantId;
+    private Pageable page;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("pagination");
+        repo = context.getBean(RestaurantAddressRepository.class);
+        // the geo index is only used by the write paths
+        service = new RestaurantAddressService(repo, context.getBean(RestaurantRepository.class),
+                context.getBean(AddressRepository.class), null);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+        // a page in the middle, as a client walking the list would ask for
+        page = PageRequest.of(links / PAGE_SIZE / 2, PAGE_SIZE);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        restaurantId = UUID.randomUUID();
+        jdbc.update("INSERT INTO restaurants (id, name, created_at) VALUES (?, ?, ?)",
+                restaurantId, "Benchmark", Timestamp.from(Instant.now()));
+        List<Object[]> addresses = new ArrayList<>(links);
+        List<Object[]> rows = new ArrayList<>(links);
+        for (int i = 0; i < links; i++) {
+            UUID addressId = UUID.randomUUID();
+            addresses.add(new Object[]{addressId, "Av. Central " + i, "Monterrey", "MX"});
+            rows.add(new Object[]{restaurantId, addressId, i == 0, "Sucursal " + i});
+        }
+        jdbc.batchUpdate("INSERT INTO addresses (id, street, city, country) VALUES (?, ?, ?, ?)", addresses);
+        jdbc.batchUpdate("INSERT INTO restaurant_address (restaurant_id, address_id, is_primary, branch_name) "
+                + "VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<RestaurantAddressResponse> inMemory() {
+        return readOnlyTx.execute(status -> service.findByRestaurant(restaurantId, page));
+    }
+
+    @Benchmark
+    public Page<RestaurantAddressResponse> database() {
+        return readOnlyTx.execute(status ->
+                repo.findByRestaurantId(restaurantId, page).map(Mappers::toResponse));
+    }
+}
@@ -0,0 +1,144 @@
+package websiters.gastroreview.service;
+
+import websiters.gastroreview.BenchmarkDatabase;
+import websiters.gastroreview.dto.RestaurantResponse;
+import websiters.gastroreview.mapper.Mappers;
+import websiters.gastroreview.model.Restaurant;
+import websiters.gastroreview.repository.RestaurantRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the restaurant searches by name, owner and city as the restaurants table
+ * grows: paged by the database the way {@link RestaurantService} does it (5 rows ordered
+ * by name, id, plus the count) versus the previous approach of loading every match and
+ * slicing the page in memory. Each search matches 1% of the table, so the in-memory
+ * variant grows with it. The name search is a substring match (LIKE '%term%'), which no
+ * b-tree index serves: it scans the table in both variants.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=RestaurantSearchBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestaurantSearchBenchmark {
+
+    private static final int PAGE_SIZE = 5;
+    private static final int CITIES = 100;
+    private static final String TERM = "mariscos";
+
+    @Param({"1000", "10000", "100000"})
+    public int restaurants;
+
+    private ConfigurableApplicationContext context;
+    private RestaurantRepository repo;
+    private TransactionTemplate readOnlyTx;
+    private UUID ownerId;
+    private String city;
+    private Pageable page;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("restaurant-search-" + restaurants);
+        repo = context.getBean(RestaurantRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+        // the second page, in the same shape as RestaurantService.fixedPage
+        page = PageRequest.of(1, PAGE_SIZE, Sort.by("name", "id"));
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        int owners = CITIES;
+        List<Object[]> userRows = new ArrayList<>(owners);
+        UUID[] ownerIds = new UUID[owners];
+        for (int i = 0; i < owners; i++) {
+            ownerIds[i] = UUID.randomUUID();
+            userRows.add(new Object[]{ownerIds[i], "owner" + i + "@example.com", "x"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, email, hash_password) VALUES (?, ?, ?)", userRows);
+        ownerId = ownerIds[0];
+        city = "Ciudad 0";
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> restaurantRows = new ArrayList<>(restaurants);
+        List<Object[]> addressRows = new ArrayList<>(restaurants);
+        List<Object[]> linkRows = new ArrayList<>(restaurants);
+        for (int i = 0; i < restaurants; i++) {
+            UUID id = UUID.randomUUID();
+            UUID addressId = UUID.randomUUID();
+            String name = (i % 100 == 0 ? "Mariscos " : "Restaurante ") + i;
+            restaurantRows.add(new Object[]{id, name, "Cocina regional", ownerIds[i % owners], now});
+            addressRows.add(new Object[]{addressId, "Av. Central " + i, "Ciudad " + (i % CITIES), "MX"});
+            linkRows.add(new Object[]{id, addressId, true});
+        }
+        jdbc.batchUpdate("INSERT INTO restaurants (id, name, description, owner_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                restaurantRows);
+        jdbc.batchUpdate("INSERT INTO addresses (id, street, city, country) VALUES (?, ?, ?, ?)", addressRows);
+        jdbc.batchUpdate("INSERT INTO restaurant_address (restaurant_id, address_id, is_primary) VALUES (?, ?, ?)",
+                linkRows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> nameDatabase() {
+        return readOnlyTx.execute(status -> repo.findResponsesByNameContaining(TERM, page));
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> nameInMemory() {
+        return readOnlyTx.execute(status -> slice(repo.findByNameContainingIgnoreCase(TERM, Pageable.unpaged())));
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> ownerDatabase() {
+        return readOnlyTx.execute(status -> repo.findResponsesByOwnerId(ownerId, page));
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> ownerInMemory() {
+        return readOnlyTx.execute(status -> slice(repo.findByOwner_Id(ownerId, Pageable.unpaged())));
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> cityDatabase() {
+        return readOnlyTx.execute(status -> repo.findResponsesByCity(city, page));
+    }
+
+    @Benchmark
+    public Page<RestaurantResponse> cityInMemory() {
+        return readOnlyTx.execute(status -> slice(repo.findByCityIgnoreCase(city, Pageable.unpaged())));
+    }
+
+    /* ---------------- previous in-memory pager (baseline) ---------------- */
+
+    private Page<RestaurantResponse> slice(Page<Restaurant> all) {
+        List<Restaurant> rows = all.getContent();
+        int start = Math.min((int) page.getOffset(), rows.size());
+        int end = Math.min(start + PAGE_SIZE, rows.size());
+        List<RestaurantResponse> content = rows.subList(start, end).stream().map(Mappers::toResponse).toList();
+        return new PageImpl<>(content, page, rows.size());
+    }
+}
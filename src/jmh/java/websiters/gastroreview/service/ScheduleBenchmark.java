@@ -0,0 +1,68 @@
+package websiters.gastroreview.service;
+
+import WebSiters.GastroReview.model.RestaurantSchedule;
+import org.hibernate.exception.ConstraintViolationException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule and validation helpers on the write and listing paths: converting the
+ * "open at" instant to the schedules' zone, the open/close time check and the
+ * constraint-name lookup used to translate integrity violations.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.include=ScheduleBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleBenchmark {
+
+    private ScheduleClock clock;
+    private RestaurantSchedule schedule;
+    private DataIntegrityViolationException violation;
+    private Instant now;
+
+    @Setup
+    public void setUp() {
+        clock = new ScheduleClock("America/Mexico_City");
+        schedule = window(5, 13, 0, 23, 30, false);
+        violation = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        "uq_ratings_review_user"));
+        now = Instant.now();
+    }
+
+    private static RestaurantSchedule window(int weekday, int openHour, int openMinute,
+                                             int closeHour, int closeMinute, boolean special) {
+        return RestaurantSchedule.builder()
+                .weekday(weekday)
+                .openTime(LocalTime.of(openHour, openMinute))
+                .closeTime(LocalTime.of(closeHour, closeMinute))
+                .special(special)
+                .build();
+    }
+
+    @Benchmark
+    public ScheduleClock.WeekTime weekTime() {
+        return clock.at(now);
+    }
+
+    @Benchmark
+    public RestaurantSchedule validateTimes() {
+        schedule.validateTimes();
+        return schedule;
+    }
+
+    @Benchmark
+    public boolean constraintLookup() {
+        return Constraints.isViolated(violation, "uq_ratings_review_user");
+    }
+}
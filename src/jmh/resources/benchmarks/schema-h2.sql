@@ -0,0 +1,16 @@
+-- Tables whose UUID key Hibernate maps as an identity column, which H2 does not accept;
+-- the key is generated by a default instead. Hibernate (ddl-auto=update) creates the
+-- remaining tables and the foreign keys to these afterwards.
+
+CREATE TABLE IF NOT EXISTS addresses (
+    id           UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    street       VARCHAR(255) NOT NULL,
+    site         VARCHAR(255),
+    neighborhood VARCHAR(255),
+    city         VARCHAR(255),
+    state_region VARCHAR(255),
+    postal_code  INTEGER,
+    country      VARCHAR(255) NOT NULL,
+    latitude     DOUBLE PRECISION,
+    longitude    DOUBLE PRECISION
+);
@@ -0,0 +1,352 @@
+package websiters.gastroreview.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Synthetic data set for the load test, written with plain JDBC batches (no entities, no
+ * listeners), deterministic for a given seed:
+ * <ul>
+ *   <li>users with profiles;</li>
+ *   <li>restaurants in a handful of Mexican cities, each with a primary address (coordinates
+ *       scattered around the city centre), a weekly schedule and a menu;</li>
+ *   <li>reviews whose restaurant and author follow Zipf distributions (few very popular
+ *       restaurants, few very prolific authors), and ratings on them;</li>
+ *   <li>friendships with a power-law out-degree and Zipf-chosen followees, so a few users
+ *       have a very large number of followers.</li>
+ * </ul>
+ */
+@Slf4j
+final class DataGenerator {
+
+    static final String[][] CITIES = {
+            // city, state, latitude, longitude, first postal code
+            {"Ciudad de México", "CDMX", "19.4326", "-99.1332", "1000"},
+            {"Guadalajara", "Jalisco", "20.6597", "-103.3496", "44100"},
+            {"Monterrey", "Nuevo León", "25.6866", "-100.3161", "64000"},
+            {"Puebla", "Puebla", "19.0414", "-98.2063", "72000"},
+            {"Querétaro", "Querétaro", "20.5888", "-100.3899", "76000"},
+            {"Mérida", "Yucatán", "20.9674", "-89.5926", "97000"},
+            {"Oaxaca", "Oaxaca", "17.0732", "-96.7266", "68000"},
+            {"Tijuana", "Baja California", "32.5149", "-117.0382", "22000"},
+    };
+
+    static final String[] SEARCH_TERMS = {
+            "tacos", "servicio", "mole", "ambiente", "precio", "mariscos", "postre", "café",
+            "delicioso", "lento", "frío", "excelente", "pastor", "cerveza", "familia"
+    };
+
+    private static final String[] RESTAURANT_KINDS = {
+            "Taquería", "Fonda", "Cantina", "Mariscos", "Café", "Pizzería", "Parrilla", "Cocina",
+            "Antojitos", "Sushi", "Panadería", "Birriería"
+    };
+    private static final String[] RESTAURANT_NAMES = {
+            "El Güero", "Doña Lupe", "La Abuela", "Don Chema", "Los Arcos", "El Faro", "La Esquina",
+            "Santa Rosa", "El Patio", "San Juan", "La Palma", "El Fogón", "Las Brisas", "El Cardenal",
+            "La Herradura", "El Mirador", "Los Cuates", "La Güera", "El Rey", "La Terraza"
+    };
+    private static final String[] DISHES = {
+            "Tacos al pastor", "Mole poblano", "Cochinita pibil", "Pozole rojo", "Chiles en nogada",
+            "Enchiladas suizas", "Tamales de rajas", "Birria de res", "Aguachile", "Ceviche",
+            "Tlayuda", "Sopa de tortilla", "Chilaquiles verdes", "Flautas", "Gorditas", "Churros",
+            "Flan napolitano", "Café de olla", "Agua de horchata", "Pescado a la talla"
+    };
+    private static final String[] STREETS = {
+            "Av. Juárez", "Calle Morelos", "Av. Hidalgo", "Calle Madero", "Av. Reforma",
+            "Calle Zaragoza", "Av. Insurgentes", "Calle Allende", "Av. Revolución", "Calle Guerrero"
+    };
+    private static final String[][] TITLES = {
+            {"Muy decepcionante", "No volvería", "Mal servicio", "Comida fría"},
+            {"Correcto", "Nada especial", "Cumple", "Regular"},
+            {"Excelente", "¡Delicioso!", "Volveremos pronto", "El mejor de la zona"},
+    };
+    private static final String[][] SENTENCES = {
+            {"El servicio fue muy lento y la comida llegó fría.", "El precio es excesivo para lo que sirven.",
+                    "Los tacos estaban secos y sin sabor.", "Tuvimos que esperar casi una hora."},
+            {"La comida estaba bien, aunque nada memorable.", "El precio es razonable.",
+                    "El ambiente es tranquilo y el servicio correcto.", "El café estaba bien."},
+            {"La comida estaba deliciosa y el servicio fue excelente.", "El mole es de los mejores que he probado.",
+                    "El ambiente es muy agradable para ir en familia.", "Los mariscos estaban frescos y el postre increíble."},
+    };
+
+    private static final int BATCH = 5_000;
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8Q1Yk0kJ4nE3bYF0l1rFhSe";
+
+    private final JdbcTemplate jdbc;
+    private final LoadTest.Options options;
+    private final Random random;
+    private final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+    private UUID[] users;
+    private UUID[] restaurants;
+    private double[] quality;
+    private UUID[] dishes;
+    private int[] firstDish;
+
+    DataGenerator(JdbcTemplate jdbc, LoadTest.Options options) {
+        this.jdbc = jdbc;
+        this.options = options;
+        this.random = new Random(options.seed);
+    }
+
+    void generate() {
+        long start = System.nanoTime();
+        users();
+        restaurants();
+        menus();
+        reviewsAndRatings();
+        friendships();
+        log.info("Seeded in {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private void users() {
+        users = new UUID[options.users];
+        Batch rows = new Batch("INSERT INTO users (id, email, hash_password) VALUES (?, ?, ?)");
+        Batch profiles = new Batch("INSERT INTO user_profiles (user_id, name, active, created_at, bio, photo_url) "
+                + "VALUES (?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < options.users; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            users[i] = id;
+            rows.add(id, "user" + i + "@loadtest.example", PASSWORD_HASH);
+            profiles.add(id, "Usuario " + i, true, pastTime(1_095), null, null);
+            if (rows.full()) {
+                rows.flush();
+                profiles.flush();
+            }
+        }
+        rows.flush();
+        profiles.flush();
+        log.info("{} users", options.users);
+    }
+
+    private void restaurants() {
+        restaurants = new UUID[options.restaurants];
+        quality = new double[options.restaurants];
+        Zipf city = new Zipf(CITIES.length, 1.0);
+        Batch rows = new Batch("INSERT INTO restaurants (id, name, description, phone, email, owner_id, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+        Batch addresses = new Batch("INSERT INTO addresses (id, street, site, neighborhood, city, state_region, "
+                + "postal_code, country, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        Batch links = new Batch("INSERT INTO restaurant_address (restaurant_id, address_id, is_primary, branch_name) "
+                + "VALUES (?, ?, ?, ?)");
+        Batch schedules = new Batch("INSERT INTO restaurant_schedules (restaurant_id, weekday, open_time, close_time, special) "
+                + "VALUES (?, ?, ?, ?, ?)");
+        for (int i = 0; i < options.restaurants; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            restaurants[i] = id;
+            quality[i] = 2.5 + random.nextDouble() * 2.3;
+            String name = pick(RESTAURANT_KINDS) + " " + pick(RESTAURANT_NAMES);
+            rows.add(id, name, "Cocina mexicana tradicional", "55" + (10_000_000 + random.nextInt(89_999_999)),
+                    "contacto" + i + "@loadtest.example", users[random.nextInt(users.length)], pastTime(1_825));
+
+            String[] c = CITIES[city.sample(random)];
+            UUID addressId = new UUID(random.nextLong(), random.nextLong());
+            addresses.add(addressId, pick(STREETS) + " " + (1 + random.nextInt(999)), null, "Centro", c[0], c[1],
+                    Integer.parseInt(c[4]) + random.nextInt(900), "MX",
+                    Double.parseDouble(c[2]) + random.nextGaussian() * 0.04,
+                    Double.parseDouble(c[3]) + random.nextGaussian() * 0.04);
+            links.add(id, addressId, true, "Matriz");
+            schedule(id, schedules);
+
+            if (rows.full() || schedules.full()) {
+                // parents first: restaurants and addresses before the rows that reference them
+                rows.flush();
+                addresses.flush();
+                links.flush();
+                schedules.flush();
+            }
+        }
+        rows.flush();
+        addresses.flush();
+        links.flush();
+        schedules.flush();
+        log.info("{} restaurants with addresses and schedules", options.restaurants);
+    }
+
+    /**
+     * Six or seven open days; one long window or a lunch and a dinner window, and
+     * now and then a special day with shorter hours.
+     */
+    private void schedule(UUID restaurantId, Batch schedules) {
+        int closedDay = random.nextInt(4) == 0 ? random.nextInt(7) : -1;
+        boolean split = random.nextInt(10) < 3;
+        LocalTime open = LocalTime.of(7 + random.nextInt(5), random.nextBoolean() ? 0 : 30);
+        LocalTime close = LocalTime.of(20 + random.nextInt(3), random.nextBoolean() ? 0 : 30);
+        for (int day = 0; day < 7; day++) {
+            if (day == closedDay) continue;
+            if (split) {
+                schedules.add(restaurantId, day, LocalTime.of(13, 0), LocalTime.of(17, 0), false);
+                schedules.add(restaurantId, day, LocalTime.of(19, 0), LocalTime.of(23, 0), false);
+            } else {
+                schedules.add(restaurantId, day, open, close, false);
+            }
+        }
+        if (random.nextInt(20) == 0) {
+            schedules.add(restaurantId, random.nextInt(7), LocalTime.of(10, 0), LocalTime.of(16, 0), true);
+        }
+    }
+
+    private void menus() {
+        int n = options.restaurants;
+        firstDish = new int[n + 1];
+        List<UUID> ids = new ArrayList<>();
+        Batch rows = new Batch("INSERT INTO dishes (id, name, description, price_cents, available, created_at, restaurant_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+        for (int r = 0; r < n; r++) {
+            firstDish[r] = ids.size();
+            int count = 3 + random.nextInt(11);
+            for (int d = 0; d < count; d++) {
+                UUID id = new UUID(random.nextLong(), random.nextLong());
+                ids.add(id);
+                rows.add(id, pick(DISHES), null, 5_000 + random.nextInt(40_000), random.nextInt(10) != 0,
+                        pastTime(1_000), restaurants[r]);
+                if (rows.full()) rows.flush();
+            }
+        }
+        firstDish[n] = ids.size();
+        rows.flush();
+        dishes = ids.toArray(new UUID[0]);
+        log.info("{} dishes", dishes.length);
+    }
+
+    /**
+     * Reviews pick restaurant and author by popularity; each review gets a geometric number
+     * of ratings (mean = ratings / reviews) from distinct users, with stars following the
+     * review's tone, which in turn follows the restaurant's hidden quality.
+     */
+    private void reviewsAndRatings() {
+        Zipf restaurant = new Zipf(restaurants.length, 1.0);
+        Zipf author = new Zipf(users.length, 1.0);
+        double mean = options.reviews == 0 ? 0 : (double) options.ratings / options.reviews;
+        double stop = 1.0 / (mean + 1);
+        int maxRatings = Math.min(200, users.length);
+
+        Batch reviews = new Batch("INSERT INTO reviews (id, user_id, restaurant_id, dish_id, title, content, "
+                + "has_audio, has_image, published_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        Batch ratings = new Batch("INSERT INTO ratings (review_id, user_id, stars, points, created_at) "
+                + "VALUES (?, ?, ?, ?, ?)");
+        Set<Integer> raters = new HashSet<>();
+        long ratingCount = 0;
+        for (int i = 0; i < options.reviews; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            int r = restaurant.sample(random);
+            int tone = tone(quality[r]);
+            int menu = firstDish[r + 1] - firstDish[r];
+            UUID dish = menu > 0 && random.nextInt(10) < 6 ? dishes[firstDish[r] + random.nextInt(menu)] : null;
+            OffsetDateTime published = pastTime(730);
+            reviews.add(id, users[author.sample(random)], restaurants[r], dish, pick(TITLES[tone]),
+                    pick(SENTENCES[tone]) + " " + pick(SENTENCES[tone]), false, random.nextInt(5) == 0, published);
+
+            int count = mean == 0 ? 0
+                    : Math.min(maxRatings, (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - stop)));
+            raters.clear();
+            while (raters.size() < count) {
+                int user = author.sample(random);
+                if (!raters.add(user)) continue;
+                OffsetDateTime created = published.plusMinutes(random.nextInt(43_200));
+                ratings.add(id, users[user], stars(tone), random.nextInt(11), created.isAfter(now) ? now : created);
+            }
+            ratingCount += count;
+
+            if (reviews.full() || ratings.full()) {
+                reviews.flush();
+                ratings.flush();
+            }
+            if ((i + 1) % 100_000 == 0) {
+                log.info("{} reviews, {} ratings", i + 1, ratingCount);
+            }
+        }
+        reviews.flush();
+        ratings.flush();
+        log.info("{} reviews, {} ratings", options.reviews, ratingCount);
+    }
+
+    /**
+     * Out-degrees follow a Pareto law (exponent 2.2) scaled to the requested mean; followees
+     * are drawn by popularity, so in-degrees are heavy-tailed as well.
+     */
+    private void friendships() {
+        if (options.avgFollows <= 0 || users.length < 2) return;
+        double alpha = 2.2;
+        double min = options.avgFollows * (alpha - 2) / (alpha - 1);
+        int maxDegree = Math.min(users.length - 1, 5_000);
+        Zipf followee = new Zipf(users.length, 1.0);
+
+        Batch rows = new Batch("INSERT INTO friendships (follower_id, followed_id, created_at) VALUES (?, ?, ?)");
+        Set<Integer> followed = new HashSet<>();
+        long edges = 0;
+        for (int u = 0; u < users.length; u++) {
+            int degree = Math.min(maxDegree, (int) (min * Math.pow(1 - random.nextDouble(), -1 / (alpha - 1))));
+            followed.clear();
+            int attempts = 0;
+            while (followed.size() < degree && attempts++ < degree * 4) {
+                int v = followee.sample(random);
+                if (v == u || !followed.add(v)) continue;
+                rows.add(users[u], users[v], pastTime(730));
+                if (rows.full()) rows.flush();
+            }
+            edges += followed.size();
+        }
+        rows.flush();
+        log.info("{} friendships", edges);
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    /** 0 negative, 1 neutral, 2 positive; better restaurants get more positive reviews. */
+    private int tone(double quality) {
+        double x = quality + random.nextGaussian() * 0.8;
+        return x < 2.5 ? 0 : x < 3.5 ? 1 : 2;
+    }
+
+    private int stars(int tone) {
+        return switch (tone) {
+            case 0 -> 1 + random.nextInt(2);
+            case 1 -> 3 + random.nextInt(2);
+            default -> 4 + random.nextInt(2);
+        };
+    }
+
+    private OffsetDateTime pastTime(int maxDays) {
+        return now.minusMinutes((long) (random.nextDouble() * maxDays * 1_440));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** Rows of one INSERT, sent as a JDBC batch every {@value #BATCH} rows. */
+    private final class Batch {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH);
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... values) {
+            rows.add(values);
+        }
+
+        boolean full() {
+            return rows.size() >= BATCH;
+        }
+
+        void flush() {
+            if (rows.isEmpty()) return;
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
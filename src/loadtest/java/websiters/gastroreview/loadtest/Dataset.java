@@ -0,0 +1,124 @@
+package websiters.gastroreview.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Values the route templates are filled with, sampled from the database once the data is
+ * in place (seeded now or by an earlier run). Ids are picked with a Zipf skew over the
+ * sample, so some keys are hot, as real traffic is.
+ */
+final class Dataset {
+
+    private static final int SAMPLE = 100_000;
+
+    private final List<UUID> users;
+    private final List<UUID> restaurants;
+    private final List<UUID> reviews;
+    private final List<String> cities;
+    private final List<double[]> points;
+    private final List<String> names;
+    private final Zipf userRank;
+    private final Zipf restaurantRank;
+    private final Zipf reviewRank;
+
+    private Dataset(List<UUID> users, List<UUID> restaurants, List<UUID> reviews, List<String> cities,
+                    List<double[]> points, List<String> names, double skew) {
+        if (users.isEmpty() || restaurants.isEmpty() || reviews.isEmpty() || points.isEmpty()) {
+            throw new IllegalStateException("The database has no users, restaurants, reviews or addresses to load-test with");
+        }
+        this.users = users;
+        this.restaurants = restaurants;
+        this.reviews = reviews;
+        this.cities = cities;
+        this.points = points;
+        this.names = names;
+        this.userRank = new Zipf(users.size(), skew);
+        this.restaurantRank = new Zipf(restaurants.size(), skew);
+        this.reviewRank = new Zipf(reviews.size(), skew);
+    }
+
+    static Dataset sample(DataSource dataSource, double skew) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.setMaxRows(SAMPLE);
+        return new Dataset(
+                jdbc.queryForList("SELECT id FROM users", UUID.class),
+                jdbc.queryForList("SELECT id FROM restaurants", UUID.class),
+                jdbc.queryForList("SELECT id FROM reviews", UUID.class),
+                jdbc.queryForList("SELECT DISTINCT city FROM addresses WHERE city IS NOT NULL", String.class),
+                jdbc.query("SELECT latitude, longitude FROM addresses WHERE latitude IS NOT NULL AND longitude IS NOT NULL",
+                        (rs, i) -> new double[]{rs.getDouble(1), rs.getDouble(2)}),
+                jdbc.queryForList("SELECT name FROM restaurants", String.class),
+                skew);
+    }
+
+    /**
+     * A fresh draw for one request.
+     */
+    Draw draw() {
+        return new Draw();
+    }
+
+    /**
+     * Placeholder values of one request. Each placeholder is sampled on its own, except
+     * {lat} and {lng}, which are the two coordinates of a single point.
+     */
+    final class Draw {
+
+        private double[] location;
+
+        private Draw() {
+        }
+
+        /**
+         * Value of a template placeholder, or {@code null} if the name is unknown.
+         */
+        String value(String placeholder) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (placeholder) {
+                case "userId" -> users.get(userRank.sample(random)).toString();
+                case "otherUserId" -> users.get(random.nextInt(users.size())).toString();
+                case "restaurantId" -> restaurants.get(restaurantRank.sample(random)).toString();
+                case "reviewId" -> reviews.get(reviewRank.sample(random)).toString();
+                case "city" -> cities.isEmpty() ? "" : cities.get(random.nextInt(cities.size()));
+                case "lat" -> String.valueOf(location(random)[0]);
+                case "lng" -> String.valueOf(location(random)[1]);
+                case "prefix" -> prefix(random);
+                case "term" -> DataGenerator.SEARCH_TERMS[random.nextInt(DataGenerator.SEARCH_TERMS.length)];
+                case "page" -> String.valueOf(random.nextInt(5));
+                default -> null;
+            };
+        }
+
+        /** Near a restaurant, within a couple of km. */
+        private double[] location(ThreadLocalRandom random) {
+            if (location == null) {
+                double[] p = point(random);
+                location = new double[]{p[0] + random.nextGaussian() * 0.01, p[1] + random.nextGaussian() * 0.01};
+            }
+            return location;
+        }
+    }
+
+    static boolean isPlaceholder(String name) {
+        return switch (name) {
+            case "userId", "otherUserId", "restaurantId", "reviewId", "city", "lat", "lng", "prefix", "term", "page" -> true;
+            default -> false;
+        };
+    }
+
+    private double[] point(ThreadLocalRandom random) {
+        return points.get(random.nextInt(points.size()));
+    }
+
+    /** The first 2-4 letters of a word of a restaurant name, as someone typing it. */
+    private String prefix(ThreadLocalRandom random) {
+        String[] words = names.get(random.nextInt(names.size())).split(" ");
+        String word = words[random.nextInt(words.length)];
+        return word.substring(0, Math.min(word.length(), 2 + random.nextInt(3))).toLowerCase();
+    }
+}
@@ -0,0 +1,195 @@
+package websiters.gastroreview.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the route mix from a fixed number of threads and records each route's latency
+ * (microseconds) in an HdrHistogram per thread, merged at the end.
+ *
+ * Without a rate every thread sends its next request when the previous one returns (closed
+ * loop). With a rate, requests are scheduled at fixed intervals and latency is measured from
+ * the time a request was due, not from when it could be sent: a stall then shows up in the
+ * latency of every request it delayed instead of hiding them (coordinated omission).
+ */
+@Slf4j
+final class LoadDriver {
+
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final String baseUrl;
+    private final RouteMix mix;
+    private final Dataset data;
+    private final LoadTest.Options options;
+
+    private final Histogram[][] latencies;
+    private final LongAdder[] errors;
+
+    LoadDriver(String baseUrl, RouteMix mix, Dataset data, LoadTest.Options options) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.data = data;
+        this.options = options;
+        int routes = mix.routes().size();
+        latencies = new Histogram[options.threads][routes];
+        errors = new LongAdder[routes];
+        for (int r = 0; r < routes; r++) {
+            errors[r] = new LongAdder();
+            for (int t = 0; t < options.threads; t++) {
+                latencies[t][r] = new Histogram(MAX_LATENCY_US, 3);
+            }
+        }
+    }
+
+    /**
+     * Run the warm-up and the measured period; returns the measured seconds.
+     */
+    double run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        // per-thread interval between scheduled requests, 0 for a closed loop
+        long interval = options.rate > 0 ? (long) (1e9 * options.threads / options.rate) : 0;
+
+        log.info("Load: {} threads, {}, warm-up {} s, measuring {} s", options.threads,
+                options.rate > 0 ? options.rate + " req/s" : "closed loop", options.warmupSeconds, options.durationSeconds);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < options.threads; t++) {
+            int thread = t;
+            // stagger the schedules so the threads do not fire together
+            long first = start + (interval * t) / options.threads;
+            Thread worker = new Thread(() -> loop(thread, first, interval, measureFrom, end), "load-" + t);
+            worker.start();
+            threads.add(worker);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return options.durationSeconds;
+    }
+
+    private void loop(int thread, long first, long interval, long measureFrom, long end) {
+        Histogram[] mine = latencies[thread];
+        long due = first;
+        while (true) {
+            long now = System.nanoTime();
+            if (interval > 0) {
+                if (due - now > 0) {
+                    LockSupport.parkNanos(due - now);
+                }
+            } else {
+                due = now;
+            }
+            if (due - end >= 0) return;
+
+            RouteMix.Request request = mix.next(data);
+            boolean ok = send(request);
+            long latency = System.nanoTime() - due;
+            if (due - measureFrom >= 0) {
+                if (ok) {
+                    mine[request.route().index()].recordValue(
+                            Math.min(TimeUnit.NANOSECONDS.toMicros(latency), MAX_LATENCY_US));
+                } else {
+                    errors[request.route().index()].increment();
+                }
+            }
+            due += interval;
+        }
+    }
+
+    private boolean send(RouteMix.Request request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (request.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(request.route().method(), HttpRequest.BodyPublishers.ofString(request.body()));
+        } else {
+            builder.method(request.route().method(), HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                log.debug("{} -> {}", request.path(), response.statusCode());
+                return false;
+            }
+            return true;
+        } catch (IOException ex) {
+            log.debug("{} failed: {}", request.path(), ex.toString());
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Print count, errors, throughput and percentiles (ms) per route and overall, and write
+     * each route's full percentile distribution to {@code <dir>/<route>.hgrm} for plotting.
+     */
+    void report(double seconds, PrintStream out, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Histogram all = new Histogram(MAX_LATENCY_US, 3);
+        long allErrors = 0;
+        out.printf("%n%-60s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "route", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (RouteMix.Route route : mix.routes()) {
+            Histogram merged = new Histogram(MAX_LATENCY_US, 3);
+            for (Histogram[] perThread : latencies) {
+                merged.add(perThread[route.index()]);
+            }
+            long failed = errors[route.index()].sum();
+            print(out, route.name(), merged, failed, seconds);
+            write(merged, dir.resolve(String.format("%02d-%s.hgrm", route.index(), fileName(route))));
+            all.add(merged);
+            allErrors += failed;
+        }
+        print(out, "ALL", all, allErrors, seconds);
+        write(all, dir.resolve("all.hgrm"));
+        out.printf("%nPercentile distributions written to %s%n", dir.toAbsolutePath());
+    }
+
+    private static void print(PrintStream out, String name, Histogram h, long failed, double seconds) {
+        out.printf("%-60s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name.length() > 60 ? name.substring(0, 57) + "..." : name,
+                h.getTotalCount(), failed, (h.getTotalCount() + failed) / seconds,
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+    }
+
+    private static void write(Histogram h, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            h.outputPercentileDistribution(out, 1000.0); // microseconds -> ms
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String fileName(RouteMix.Route route) {
+        String path = route.path();
+        int query = path.indexOf('?');
+        if (query >= 0) path = path.substring(0, query);
+        return (route.method() + path).replaceAll("[^A-Za-z0-9]+", "_");
+    }
+}
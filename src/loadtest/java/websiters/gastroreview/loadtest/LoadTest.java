@@ -0,0 +1,214 @@
+package websiters.gastroreview.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import websiters.gastroreview.GastroReviewApplication;
+import websiters.gastroreview.service.RestaurantStatsService;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End-to-end load test: seeds a synthetic data set, starts the whole application on a
+ * random port against that database and drives a weighted mix of REST calls at it,
+ * reporting latency percentiles per route.
+ *
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--reviews=200000 --duration=60"
+ *
+ * Options ({@code --name=value}):
+ * <pre>
+ * --target=h2|postgres   database (h2: in-memory, PostgreSQL mode; default h2)
+ * --db-url, --db-user, --db-password   connection for postgres (default localhost gastro_review_load)
+ * --users=100000 --restaurants=10000 --reviews=1000000 --ratings=2000000 --avg-follows=20
+ * --seed=42              random seed of the data set and nothing else
+ * --skip-seed            reuse the data already in the database
+ * --threads=16           client threads
+ * --rate=0               total requests per second (0: closed loop, as fast as responses come)
+ * --warmup=30 --duration=60   seconds
+ * --mix=file             route mix (default: loadtest/default-mix.txt)
+ * --skew=1.0             Zipf exponent of the ids the routes are called with
+ * --out=target/loadtest  directory for the .hgrm percentile files
+ * --app.some.property=value   passed to the application as --some.property=value
+ * </pre>
+ *
+ * H2 is a smoke target: it runs the read paths, but the native PostgreSQL statements
+ * (upserts, jsonb analysis rows) fail there, so write-heavy mixes need PostgreSQL.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    static final class Options {
+        String target = "h2";
+        String dbUrl;
+        String dbUser;
+        String dbPassword;
+        int users = 100_000;
+        int restaurants = 10_000;
+        int reviews = 1_000_000;
+        int ratings = 2_000_000;
+        int avgFollows = 20;
+        long seed = 42;
+        boolean skipSeed;
+        int threads = 16;
+        double rate;
+        int warmupSeconds = 30;
+        int durationSeconds = 60;
+        String mix;
+        double skew = 1.0;
+        String out = "target/loadtest";
+        final List<String> appArgs = new ArrayList<>();
+
+        static Options parse(String[] args) {
+            Options o = new Options();
+            for (String arg : args) {
+                if (arg.isBlank()) continue;
+                if (!arg.startsWith("--")) throw new IllegalArgumentException("Expected --name=value: " + arg);
+                int eq = arg.indexOf('=');
+                String name = arg.substring(2, eq < 0 ? arg.length() : eq);
+                String value = eq < 0 ? "true" : arg.substring(eq + 1);
+                if (name.startsWith("app.")) {
+                    o.appArgs.add("--" + name.substring(4) + "=" + value);
+                    continue;
+                }
+                switch (name) {
+                    case "target" -> o.target = value;
+                    case "db-url" -> o.dbUrl = value;
+                    case "db-user" -> o.dbUser = value;
+                    case "db-password" -> o.dbPassword = value;
+                    case "users" -> o.users = Integer.parseInt(value);
+                    case "restaurants" -> o.restaurants = Integer.parseInt(value);
+                    case "reviews" -> o.reviews = Integer.parseInt(value);
+                    case "ratings" -> o.ratings = Integer.parseInt(value);
+                    case "avg-follows" -> o.avgFollows = Integer.parseInt(value);
+                    case "seed" -> o.seed = Long.parseLong(value);
+                    case "skip-seed" -> o.skipSeed = Boolean.parseBoolean(value);
+                    case "threads" -> o.threads = Integer.parseInt(value);
+                    case "rate" -> o.rate = Double.parseDouble(value);
+                    case "warmup" -> o.warmupSeconds = Integer.parseInt(value);
+                    case "duration" -> o.durationSeconds = Integer.parseInt(value);
+                    case "mix" -> o.mix = value;
+                    case "skew" -> o.skew = Double.parseDouble(value);
+                    case "out" -> o.out = value;
+                    default -> throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            if (o.users < 1 || o.restaurants < 1 || o.threads < 1 || o.durationSeconds < 1) {
+                throw new IllegalArgumentException("users, restaurants, threads and duration must be positive");
+            }
+            return o;
+        }
+
+        boolean h2() {
+            return switch (target) {
+                case "h2" -> true;
+                case "postgres" -> false;
+                default -> throw new IllegalArgumentException("--target must be h2 or postgres");
+            };
+        }
+
+        /** Connection properties shared by the seeding context and the application. */
+        List<String> databaseArgs() {
+            boolean h2 = h2();
+            return List.of(
+                    "--spring.datasource.url=" + (dbUrl != null ? dbUrl : h2
+                            ? "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+                            : "jdbc:postgresql://localhost:5432/gastro_review_load?reWriteBatchedInserts=true"),
+                    "--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                    "--spring.datasource.username=" + (dbUser != null ? dbUser : h2 ? "sa" : "postgres"),
+                    "--spring.datasource.password=" + (dbPassword != null ? dbPassword : ""),
+                    "--spring.jpa.hibernate.ddl-auto=update",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.org.hibernate.SQL=warn",
+                    "--logging.level.org.hibernate.type.descriptor.sql=warn",
+                    "--logging.level.org.hibernate.tool.schema=error",
+                    "--logging.level.org.springframework.web=warn",
+                    "--logging.level.org.springframework.dao=warn");
+        }
+    }
+
+    /**
+     * Schema (Hibernate, plus a script for the tables whose generated DDL does not run:
+     * identity-generated UUID keys) without the web layer, jobs or in-memory indexes.
+     * Not a @Configuration, so the application's component scan does not pick it up.
+     */
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+            SqlInitializationAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackages = {"websiters.gastroreview.model", "WebSiters.GastroReview.model"})
+    @EnableJpaRepositories(basePackages = {"websiters.gastroreview.repository", "WebSiters.GastroReview.repository"})
+    static class Schema {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // exec:exec passes -Dloadtest.args as a single argument
+        List<String> split = new ArrayList<>();
+        for (String arg : args) {
+            split.addAll(List.of(arg.trim().split("\\s+")));
+        }
+        Options options = Options.parse(split.toArray(new String[0]));
+        RouteMix mix = RouteMix.load(options.mix);
+
+        if (!options.skipSeed) {
+            seed(options);
+        }
+
+        List<String> appArgs = new ArrayList<>(options.databaseArgs());
+        appArgs.add("--server.port=0");
+        // the periodic analysis sweep would compete with the load; new reviews are still analysed
+        appArgs.add("--gastroreview.analysis.sweep-interval-ms=86400000");
+        appArgs.addAll(options.appArgs);
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(GastroReviewApplication.class)
+                .logStartupInfo(false)
+                .run(appArgs.toArray(new String[0]))) {
+            if (!options.skipSeed) {
+                // the stats table is maintained by the write paths, which seeding bypassed
+                log.info("Reconciled {} restaurant stats rows", app.getBean(RestaurantStatsService.class).reconcileAll());
+            }
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            Dataset data = Dataset.sample(app.getBean(DataSource.class), options.skew);
+
+            LoadDriver driver = new LoadDriver("http://localhost:" + port, mix, data, options);
+            double seconds = driver.run();
+            driver.report(seconds, System.out, Path.of(options.out));
+        }
+    }
+
+    /**
+     * Seeding runs before the application starts, so the indexes it builds at startup
+     * (search, autocomplete, geo, opening hours, social graph) load the generated data.
+     */
+    private static void seed(Options options) {
+        List<String> args = new ArrayList<>(options.databaseArgs());
+        args.add("--spring.sql.init.mode=always");
+        args.add("--spring.sql.init.schema-locations=classpath:loadtest/schema-" + (options.h2() ? "h2" : "postgresql") + ".sql");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Schema.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(new String[0]))) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            Integer existing = jdbc.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+            if (existing != null && existing > 0) {
+                throw new IllegalStateException("The database already has " + existing
+                        + " users: seed an empty database, or pass --skip-seed to reuse its data");
+            }
+            new DataGenerator(jdbc, options).generate();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package websiters.gastroreview.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Weighted list of request templates, one per line:
+ * <pre>
+ * # weight  method  path                                   [JSON body]
+ * 20        GET     /api/reviews?restaurantId={restaurantId}
+ * 2         POST    /api/reviews  {"userId":"{userId}","restaurantId":"{restaurantId}","title":"Carga"}
+ * </pre>
+ * Placeholders are filled from the {@link Dataset}; the template itself is the route name
+ * the latencies are reported under.
+ */
+final class RouteMix {
+
+    static final String DEFAULT = "loadtest/default-mix.txt";
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+
+    record Route(int index, String method, String path, String body) {
+
+        String name() {
+            return method + " " + path;
+        }
+    }
+
+    record Request(Route route, String path, String body) {
+    }
+
+    private final List<Route> routes;
+    private final int[] cumulativeWeights;
+
+    private RouteMix(List<Route> routes, List<Integer> weights) {
+        this.routes = List.copyOf(routes);
+        this.cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            sum += weights.get(i);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * Mix from a file, or the bundled default mix when {@code file} is null.
+     */
+    static RouteMix load(String file) throws IOException {
+        try (InputStream in = file == null
+                ? RouteMix.class.getClassLoader().getResourceAsStream(DEFAULT)
+                : Files.newInputStream(Path.of(file))) {
+            if (in == null) throw new IOException("Route mix not found: " + DEFAULT);
+            return parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        }
+    }
+
+    static RouteMix parse(BufferedReader reader) {
+        List<Route> routes = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        reader.lines().forEach(line -> {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) return;
+            String[] parts = line.split("\\s+", 4);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Expected 'weight METHOD path [body]': " + line);
+            }
+            int weight = Integer.parseInt(parts[0]);
+            if (weight <= 0) throw new IllegalArgumentException("Weight must be positive: " + line);
+            Route route = new Route(routes.size(), parts[1].toUpperCase(), parts[2], parts.length == 4 ? parts[3] : null);
+            checkPlaceholders(route.path(), line);
+            if (route.body() != null) checkPlaceholders(route.body(), line);
+            routes.add(route);
+            weights.add(weight);
+        });
+        if (routes.isEmpty()) throw new IllegalArgumentException("The route mix is empty");
+        return new RouteMix(routes, weights);
+    }
+
+    private static void checkPlaceholders(String template, String line) {
+        Matcher m = PLACEHOLDER.matcher(template);
+        while (m.find()) {
+            if (!Dataset.isPlaceholder(m.group(1))) {
+                throw new IllegalArgumentException("Unknown placeholder {" + m.group(1) + "}: " + line);
+            }
+        }
+    }
+
+    List<Route> routes() {
+        return routes;
+    }
+
+    /**
+     * A route drawn by weight, with its placeholders filled.
+     */
+    Request next(Dataset data) {
+        int total = cumulativeWeights[cumulativeWeights.length - 1];
+        int draw = ThreadLocalRandom.current().nextInt(total);
+        int i = 0;
+        while (cumulativeWeights[i] <= draw) i++;
+        Route route = routes.get(i);
+        Dataset.Draw draw = data.draw(); // shared by path and body
+        return new Request(route, fill(route.path(), draw, true),
+                route.body() == null ? null : fill(route.body(), draw, false));
+    }
+
+    private static String fill(String template, Dataset.Draw draw, boolean encode) {
+        Matcher m = PLACEHOLDER.matcher(template);
+        StringBuilder out = new StringBuilder();
+        while (m.find()) {
+            String value = draw.value(m.group(1));
+            if (encode) {
+                // %20 rather than '+': valid in path segments as well as in the query
+                value = URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+            }
+            m.appendReplacement(out, Matcher.quoteReplacement(value));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+}
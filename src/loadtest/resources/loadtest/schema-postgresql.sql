@@ -0,0 +1,42 @@
+-- Tables whose UUID key Hibernate maps as an identity column, which PostgreSQL does not
+-- accept; the key is generated by a default instead. Hibernate (ddl-auto=update) creates
+-- the remaining tables and the foreign keys afterwards.
+
+CREATE TABLE IF NOT EXISTS addresses (
+    id           UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    street       VARCHAR(255) NOT NULL,
+    site         VARCHAR(255),
+    neighborhood VARCHAR(255),
+    city         VARCHAR(255),
+    state_region VARCHAR(255),
+    postal_code  INTEGER,
+    country      VARCHAR(255) NOT NULL,
+    latitude     DOUBLE PRECISION,
+    longitude    DOUBLE PRECISION
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id          UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS user_achievements (
+    id          UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    user_id     UUID NOT NULL,
+    badge       VARCHAR(255) NOT NULL,
+    level       INTEGER NOT NULL,
+    stars       INTEGER NOT NULL,
+    obtained_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    UNIQUE (user_id, badge)
+);
+
+CREATE TABLE IF NOT EXISTS user_preferences (
+    id         UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    user_id    UUID NOT NULL,
+    key        VARCHAR(255) NOT NULL,
+    value      JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    UNIQUE (user_id, key)
+);
@@ -0,0 +1,237 @@
+package websiters.gastroreview.analysis;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Single-pass tokenizer for {@link NaiveBayesReviewAnalyzer}.
+ *
+ * Walks the characters once, folding case and Latin-1 accents on the fly, and hashes
+ * each token (FNV-1a) without building a String. Every token contributes hashed
+ * features (unigram, bigram with the previous token, negated unigram inside a negation
+ * scope) to a reusable int buffer; the same pass counts lexicon and stopword hits and
+ * the spam signals. Instances are not thread-safe; the analyzer pools and reuses them.
+ */
+final class FeatureScanner {
+
+    static final int BUCKET_BITS = 16;
+    static final int BUCKETS = 1 << BUCKET_BITS;
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    // Feature kinds, mixed into the token hash so they land in different buckets
+    private static final int UNIGRAM = 1;
+    private static final int NEGATED = 2;
+    private static final int BIGRAM = 3;
+    private static final int NUMBER = 4;
+
+    // Accent folding for U+00C0..U+00FF; 0 for the two symbols (multiplication, division)
+    private static final String LATIN1 =
+            "aaaaaaaceeeeiiii" + "dnooooo\0ouuuuyts" + "aaaaaaaceeeeiiii" + "dnooooo\0ouuuuyty";
+
+    private static final int[] NEGATIONS = hashes(LexiconReviewAnalyzer.NEGATIONS);
+    private static final int[] SPANISH = hashes(LexiconReviewAnalyzer.SPANISH);
+    private static final int[] ENGLISH = hashes(LexiconReviewAnalyzer.ENGLISH);
+    private static final int[] LINKS = hashes(Arrays.asList("http", "https", "www"));
+    private static final int[] CONTACTS = hashes(Arrays.asList("whatsapp", "gmail", "telegram", "hotmail"));
+
+    private final int[] positiveWords;
+    private final int[] negativeWords;
+
+    private int[] features = new int[256];
+    private int featureCount;
+
+    // current token
+    private int hash;
+    private int length;
+    private boolean hasLetter;
+    private int previous;
+    private int negateLeft;
+
+    int tokens;
+    int positive;
+    int negative;
+    int spanish;
+    int english;
+    int letters;
+    int upper;
+    int digits;
+    int bangs;
+    int repeats;
+    int links;
+    int contacts;
+
+    /**
+     * @param positiveWords sorted {@link #hash} values of the positive lexicon
+     * @param negativeWords sorted {@link #hash} values of the negative lexicon
+     */
+    FeatureScanner(int[] positiveWords, int[] negativeWords) {
+        this.positiveWords = positiveWords;
+        this.negativeWords = negativeWords;
+    }
+
+    void scan(String title, String content) {
+        featureCount = 0;
+        tokens = positive = negative = spanish = english = 0;
+        letters = upper = digits = bangs = repeats = links = contacts = 0;
+        resetToken();
+        previous = 0;
+        negateLeft = 0;
+
+        if (title != null) feed(title);
+        endSentence();
+        if (content != null) feed(content);
+        endSentence();
+    }
+
+    int[] features() {
+        return features;
+    }
+
+    int featureCount() {
+        return featureCount;
+    }
+
+    double spamLogit() {
+        return SpamHeuristics.logit(links, contacts, digits, letters, upper, repeats, bangs, tokens);
+    }
+
+    /* ---------------- scanning ---------------- */
+
+    private void feed(String s) {
+        char last = 0, beforeLast = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c == last && c == beforeLast && !Character.isWhitespace(c)) repeats++;
+            beforeLast = last;
+            last = c;
+
+            if (c == '\'' || c == '\u2019') continue; // don't -> dont
+
+            char f = fold(c);
+            if (f != 0) {
+                if (f <= '9') {
+                    digits++;
+                } else {
+                    letters++;
+                    hasLetter = true;
+                    if (f != c && Character.isUpperCase(c)) upper++;
+                }
+                hash = (hash ^ f) * FNV_PRIME;
+                length++;
+                continue;
+            }
+
+            if (c == '!') bangs++;
+            if (c == '.' || c == '!' || c == '?' || c == ';' || c == ',' || c == '\n') endSentence();
+            else endToken();
+        }
+    }
+
+    // Negation scopes and bigrams do not cross punctuation
+    private void endSentence() {
+        endToken();
+        previous = 0;
+        negateLeft = 0;
+    }
+
+    private void endToken() {
+        if (length == 0) return;
+        int h = hash;
+        boolean numeric = !hasLetter;
+        int numberLength = length;
+        resetToken();
+        tokens++;
+
+        if (numeric) {
+            add(mix(Math.min(numberLength, 12), NUMBER));
+            previous = 0;
+            return;
+        }
+
+        if (contains(SPANISH, h)) spanish++;
+        if (contains(ENGLISH, h)) english++;
+        if (contains(LINKS, h)) links++;
+        if (contains(CONTACTS, h)) contacts++;
+
+        if (previous != 0) add(mix(previous * 31 + h, BIGRAM));
+        previous = h;
+
+        if (contains(NEGATIONS, h)) {
+            add(mix(h, UNIGRAM));
+            negateLeft = LexiconReviewAnalyzer.NEGATION_SCOPE;
+            return;
+        }
+
+        int polarity = contains(positiveWords, h) ? 1 : contains(negativeWords, h) ? -1 : 0;
+        if (negateLeft > 0) {
+            negateLeft--;
+            polarity = -polarity;
+            add(mix(h, NEGATED));
+        } else {
+            add(mix(h, UNIGRAM));
+        }
+        if (polarity > 0) positive++;
+        else if (polarity < 0) negative++;
+    }
+
+    private void resetToken() {
+        hash = FNV_OFFSET;
+        length = 0;
+        hasLetter = false;
+    }
+
+    private void add(int bucket) {
+        if (featureCount == features.length) features = Arrays.copyOf(features, featureCount * 2);
+        features[featureCount++] = bucket;
+    }
+
+    /* ---------------- hashing ---------------- */
+
+    /**
+     * Lower-case ASCII letter or digit, accent-folded letter, or 0 for separators.
+     */
+    static char fold(char c) {
+        if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') return c;
+        if (c >= 'A' && c <= 'Z') return (char) (c + ('a' - 'A'));
+        if (c < 0xC0) return 0;
+        if (c <= 0xFF) return LATIN1.charAt(c - 0xC0);
+        return Character.isLetter(c) ? Character.toLowerCase(c) : 0;
+    }
+
+    /**
+     * Token hash of a single word, as computed while scanning.
+     */
+    static int hash(String word) {
+        int h = FNV_OFFSET;
+        for (int i = 0; i < word.length(); i++) {
+            char f = fold(word.charAt(i));
+            if (f != 0) h = (h ^ f) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    static int[] hashes(Collection<String> words) {
+        int[] out = new int[words.size()];
+        int i = 0;
+        for (String w : words) out[i++] = hash(w);
+        Arrays.sort(out);
+        return out;
+    }
+
+    private static boolean contains(int[] sorted, int h) {
+        return Arrays.binarySearch(sorted, h) >= 0;
+    }
+
+    // murmur3 finalizer over (hash, kind), truncated to a bucket
+    private static int mix(int h, int kind) {
+        h ^= kind * 0x9e3779b9;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & (BUCKETS - 1);
+    }
+}
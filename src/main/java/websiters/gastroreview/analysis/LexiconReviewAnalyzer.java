@@ -0,0 +1,141 @@
+package websiters.gastroreview.analysis;
+
+import websiters.gastroreview.search.TextAnalyzer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rule-based analyzer for Spanish and English reviews.
+ *
+ * - Sentiment: stemmed polarity lexicon, with a negation word ("no", "nunca", "not",
+ *   "never"...) flipping the next two words. Reviews with strong hits on both sides are "mixed".
+ * - Language: whichever of the Spanish/English function-word lists matches more tokens.
+ * - Spam: logistic combination of links, contact details, shouting, repeated characters
+ *   and very short texts.
+ *
+ * Selected with {@code gastroreview.analysis.analyzer=lexicon}.
+ */
+@Component
+@ConditionalOnProperty(name = "gastroreview.analysis.analyzer", havingValue = "lexicon")
+public class LexiconReviewAnalyzer implements ReviewAnalyzer {
+
+    private static final Set<String> POSITIVE = stems(
+            "bueno", "buena", "excelente", "delicioso", "rico", "sabroso", "recomendable", "recomiendo",
+            "encanto", "increible", "perfecto", "amable", "atento", "fresco", "limpio", "agradable",
+            "genial", "espectacular", "maravilloso", "mejor", "favorito", "rapido", "volvere",
+            "good", "great", "excellent", "delicious", "tasty", "amazing", "awesome", "perfect", "friendly",
+            "fresh", "clean", "lovely", "best", "favorite", "recommend", "wonderful", "fantastic", "nice");
+
+    private static final Set<String> NEGATIVE = stems(
+            "malo", "mala", "horrible", "terrible", "pesimo", "asqueroso", "frio", "sucio", "caro",
+            "lento", "grosero", "decepcion", "decepcionante", "crudo", "quemado", "insipido", "peor",
+            "tardaron", "desagradable",
+            "bad", "awful", "terrible", "horrible", "disgusting", "cold", "dirty", "overpriced", "slow",
+            "rude", "disappointing", "raw", "burnt", "bland", "worst", "stale", "unpleasant");
+
+    static final Set<String> NEGATIONS = Set.of("no", "ni", "nunca", "jamas", "tampoco",
+            "not", "never", "nor", "dont", "didnt", "isnt", "wasnt");
+
+    static final Set<String> SPANISH = Set.of("de", "la", "que", "el", "en", "y", "los", "se",
+            "del", "las", "un", "por", "con", "una", "su", "para", "es", "al", "lo", "como", "pero",
+            "muy", "fue", "esta", "mi", "comida", "servicio");
+
+    static final Set<String> ENGLISH = Set.of("the", "and", "of", "to", "in", "is", "it",
+            "that", "was", "for", "on", "are", "with", "this", "have", "but", "were", "we", "my",
+            "food", "service", "very");
+
+    static final int NEGATION_SCOPE = 2;
+
+    @Override
+    public String name() {
+        return "lexicon-v1";
+    }
+
+    @Override
+    public ReviewAnalysis analyze(String title, String content) {
+        String text = (title == null ? "" : title) + "\n" + (content == null ? "" : content);
+        String folded = TextAnalyzer.fold(text);
+
+        int pos = 0, neg = 0, es = 0, en = 0, tokens = 0, negateLeft = 0;
+        int start = -1;
+        for (int i = 0, n = folded.length(); i <= n; i++) {
+            boolean letter = i < n && Character.isLetter(folded.charAt(i));
+            if (letter) {
+                if (start < 0) start = i;
+                continue;
+            }
+            if (start < 0) continue;
+            String word = folded.substring(start, i);
+            start = -1;
+            tokens++;
+
+            if (SPANISH.contains(word)) es++;
+            if (ENGLISH.contains(word)) en++;
+            if (NEGATIONS.contains(word)) {
+                negateLeft = NEGATION_SCOPE;
+                continue;
+            }
+            String stem = TextAnalyzer.stem(word);
+            int polarity = POSITIVE.contains(stem) ? 1 : NEGATIVE.contains(stem) ? -1 : 0;
+            if (negateLeft > 0) {
+                polarity = -polarity;
+                negateLeft--;
+            }
+            if (polarity > 0) pos++;
+            else if (polarity < 0) neg++;
+        }
+
+        double score = (pos - neg) / (double) (pos + neg + 1);
+        String sentiment;
+        if (pos >= 2 && neg >= 2 && Math.abs(pos - neg) <= Math.max(pos, neg) / 2) sentiment = "mixed";
+        else if (score >= 0.25) sentiment = "positive";
+        else if (score <= -0.25) sentiment = "negative";
+        else sentiment = "neutral";
+
+        String language = es == en ? null : es > en ? "es" : "en";
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("positiveHits", pos);
+        metadata.put("negativeHits", neg);
+        metadata.put("tokens", tokens);
+        return new ReviewAnalysis(sentiment, score, spamProbability(text, tokens), language, metadata);
+    }
+
+    static double spamProbability(String text, int tokens) {
+        String lower = text.toLowerCase();
+        int links = count(lower, "http://") + count(lower, "https://") + count(lower, "www.");
+        int contacts = count(lower, "whatsapp") + count(lower, "@gmail") + count(lower, "telegram");
+
+        int letters = 0, upper = 0, repeats = 0, digits = 0, bangs = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c)) {
+                letters++;
+                if (Character.isUpperCase(c)) upper++;
+            } else if (Character.isDigit(c)) {
+                digits++;
+            } else if (c == '!') {
+                bangs++;
+            }
+            if (i >= 2 && c == text.charAt(i - 1) && c == text.charAt(i - 2) && !Character.isWhitespace(c)) repeats++;
+        }
+        return SpamHeuristics.sigmoid(SpamHeuristics.logit(links, contacts, digits, letters, upper, repeats, bangs, tokens));
+    }
+
+    private static int count(String haystack, String needle) {
+        int n = 0;
+        for (int i = haystack.indexOf(needle); i >= 0; i = haystack.indexOf(needle, i + needle.length())) n++;
+        return n;
+    }
+
+    private static Set<String> stems(String... words) {
+        Set<String> out = new HashSet<>();
+        for (String w : words) out.add(TextAnalyzer.stem(TextAnalyzer.fold(w)));
+        return out;
+    }
+}
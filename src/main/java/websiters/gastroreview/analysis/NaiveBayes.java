@@ -0,0 +1,88 @@
+package websiters.gastroreview.analysis;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Multinomial naive Bayes over hashed feature buckets, with Laplace smoothing.
+ *
+ * The model is a flat float table of log P(bucket | class), so scoring a text is one
+ * table lookup per feature and class. Buckets never seen in training are ignored
+ * instead of smoothed, which keeps unknown words from shifting the posterior.
+ */
+final class NaiveBayes {
+
+    record Example(int label, int[] features) {
+    }
+
+    private final int classes;
+    private final int buckets;
+    private final double[] logPrior;
+    private final float[] logLikelihood; // [class * buckets + bucket]
+    private final BitSet seen;
+
+    private NaiveBayes(int classes, int buckets, double[] logPrior, float[] logLikelihood, BitSet seen) {
+        this.classes = classes;
+        this.buckets = buckets;
+        this.logPrior = logPrior;
+        this.logLikelihood = logLikelihood;
+        this.seen = seen;
+    }
+
+    static NaiveBayes train(int classes, int buckets, List<Example> examples, double alpha) {
+        int[] counts = new int[classes * buckets];
+        long[] totals = new long[classes];
+        int[] docs = new int[classes];
+        BitSet seen = new BitSet(buckets);
+        for (Example e : examples) {
+            docs[e.label()]++;
+            for (int f : e.features()) {
+                counts[e.label() * buckets + f]++;
+                totals[e.label()]++;
+                seen.set(f);
+            }
+        }
+
+        int vocabulary = Math.max(1, seen.cardinality());
+        double[] logPrior = new double[classes];
+        float[] logLikelihood = new float[classes * buckets];
+        for (int c = 0; c < classes; c++) {
+            logPrior[c] = Math.log((docs[c] + 1.0) / (examples.size() + classes));
+            double denominator = Math.log(totals[c] + alpha * vocabulary);
+            for (int f = seen.nextSetBit(0); f >= 0; f = seen.nextSetBit(f + 1)) {
+                logLikelihood[c * buckets + f] = (float) (Math.log(counts[c * buckets + f] + alpha) - denominator);
+            }
+        }
+        return new NaiveBayes(classes, buckets, logPrior, logLikelihood, seen);
+    }
+
+    int classes() {
+        return classes;
+    }
+
+    /**
+     * Unnormalized log P(class, features) into {@code out[0..classes)}.
+     */
+    void logJoint(int[] features, int count, double[] out) {
+        System.arraycopy(logPrior, 0, out, 0, classes);
+        for (int i = 0; i < count; i++) {
+            int f = features[i];
+            if (!seen.get(f)) continue;
+            for (int c = 0; c < classes; c++) out[c] += logLikelihood[c * buckets + f];
+        }
+    }
+
+    /**
+     * Log scores to probabilities, in place.
+     */
+    static void softmax(double[] scores) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double s : scores) max = Math.max(max, s);
+        double sum = 0;
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = Math.exp(scores[i] - max);
+            sum += scores[i];
+        }
+        for (int i = 0; i < scores.length; i++) scores[i] /= sum;
+    }
+}
@@ -0,0 +1,183 @@
+package websiters.gastroreview.analysis;
+
+import websiters.gastroreview.service.ScratchPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process statistical analyzer: three naive Bayes models over hashed unigram,
+ * bigram and negation features, trained at startup from the bundled corpus
+ * ({@code analysis/review-corpus.tsv}).
+ *
+ * - Sentiment: negative/neutral/positive model, nudged by the polarity lexicon
+ *   ({@code analysis/lexicon.tsv}, negation-aware). Reviews with substantial weight or
+ *   several lexicon hits on both poles are "mixed"; score is P(positive) - P(negative).
+ * - Spam: spam/ham model averaged in log-odds with {@link SpamHeuristics}, so links and
+ *   contact details still count when the wording is new.
+ * - Language: es/en model plus stopword hits; null when neither is clearly ahead.
+ *
+ * Tokenizing and scoring reuse pooled scanners and build no per-token Strings.
+ * This is the default analyzer ({@code gastroreview.analysis.analyzer=naive-bayes}).
+ */
+@Component
+@ConditionalOnProperty(name = "gastroreview.analysis.analyzer", havingValue = "naive-bayes", matchIfMissing = true)
+@Slf4j
+public class NaiveBayesReviewAnalyzer implements ReviewAnalyzer {
+
+    static final String CORPUS = "analysis/review-corpus.tsv";
+    static final String LEXICON = "analysis/lexicon.tsv";
+
+    private static final String[] SENTIMENTS = {"negative", "neutral", "positive"};
+    private static final int NEG = 0, NEUTRAL = 1, POS = 2;
+    private static final String[] LANGUAGES = {"es", "en"};
+    private static final int ES = 0, EN = 1;
+    private static final int HAM = 0, SPAM = 1;
+
+    private static final double SMOOTHING = 0.5;
+    private static final double LEXICON_WEIGHT = 0.8;
+    private static final double STOPWORD_WEIGHT = 0.3;
+    private static final double MIXED_THRESHOLD = 0.3;
+    private static final double LANGUAGE_THRESHOLD = 0.6;
+    private static final double MAX_MODEL_LOGIT = 6.0;
+    private static final int MAX_POOLED_FEATURES = 1 << 14;
+
+    private final NaiveBayes sentiment;
+    private final NaiveBayes spam;
+    private final NaiveBayes language;
+    private final ScratchPool<FeatureScanner> scanners;
+
+    public NaiveBayesReviewAnalyzer() {
+        List<String> positiveWords = new ArrayList<>();
+        List<String> negativeWords = new ArrayList<>();
+        for (String[] row : readTsv(LEXICON, 2)) {
+            (Integer.parseInt(row[1]) > 0 ? positiveWords : negativeWords).add(row[0]);
+        }
+        int[] positive = FeatureScanner.hashes(positiveWords);
+        int[] negative = FeatureScanner.hashes(negativeWords);
+        // a scanner grown by an unusually long review is not kept
+        this.scanners = new ScratchPool<>(() -> new FeatureScanner(positive, negative),
+                scanner -> scanner.features().length <= MAX_POOLED_FEATURES);
+
+        List<NaiveBayes.Example> sentimentExamples = new ArrayList<>();
+        List<NaiveBayes.Example> spamExamples = new ArrayList<>();
+        List<NaiveBayes.Example> languageExamples = new ArrayList<>();
+        FeatureScanner scanner = new FeatureScanner(positive, negative);
+        for (String[] row : readTsv(CORPUS, 3)) {
+            scanner.scan(null, row[2]);
+            int[] features = Arrays.copyOf(scanner.features(), scanner.featureCount());
+
+            boolean isSpam = row[0].equals("spam");
+            spamExamples.add(new NaiveBayes.Example(isSpam ? SPAM : HAM, features));
+            languageExamples.add(new NaiveBayes.Example(row[1].equals("en") ? EN : ES, features));
+            if (!isSpam) sentimentExamples.add(new NaiveBayes.Example(sentimentIndex(row[0]), features));
+        }
+        this.sentiment = NaiveBayes.train(SENTIMENTS.length, FeatureScanner.BUCKETS, sentimentExamples, SMOOTHING);
+        this.spam = NaiveBayes.train(2, FeatureScanner.BUCKETS, spamExamples, SMOOTHING);
+        this.language = NaiveBayes.train(LANGUAGES.length, FeatureScanner.BUCKETS, languageExamples, SMOOTHING);
+        log.info("Naive Bayes review analyzer trained on {} examples ({} lexicon words)",
+                spamExamples.size(), positive.length + negative.length);
+    }
+
+    @Override
+    public String name() {
+        return "naive-bayes-v1";
+    }
+
+    @Override
+    public ReviewAnalysis analyze(String title, String content) {
+        FeatureScanner scanner = scanners.borrow();
+        try {
+            return analyze(scanner, title, content);
+        } finally {
+            scanners.release(scanner);
+        }
+    }
+
+    private ReviewAnalysis analyze(FeatureScanner scanner, String title, String content) {
+        scanner.scan(title, content);
+        int[] features = scanner.features();
+        int count = scanner.featureCount();
+
+        double[] s = new double[SENTIMENTS.length];
+        sentiment.logJoint(features, count, s);
+        s[POS] += LEXICON_WEIGHT * scanner.positive;
+        s[NEG] += LEXICON_WEIGHT * scanner.negative;
+        NaiveBayes.softmax(s);
+
+        String label;
+        boolean bothPoles = s[POS] >= MIXED_THRESHOLD && s[NEG] >= MIXED_THRESHOLD
+                || scanner.positive >= 2 && scanner.negative >= 2;
+        if (bothPoles) label = "mixed";
+        else if (s[POS] >= s[NEG] && s[POS] >= s[NEUTRAL]) label = SENTIMENTS[POS];
+        else label = s[NEG] >= s[NEUTRAL] ? SENTIMENTS[NEG] : SENTIMENTS[NEUTRAL];
+
+        double[] p = new double[2];
+        spam.logJoint(features, count, p);
+        double modelLogit = Math.max(-MAX_MODEL_LOGIT, Math.min(MAX_MODEL_LOGIT, p[SPAM] - p[HAM]));
+        double spamProb = SpamHeuristics.sigmoid((modelLogit + scanner.spamLogit()) / 2);
+
+        String lang = null;
+        if (scanner.tokens > 0) {
+            double[] l = new double[LANGUAGES.length];
+            language.logJoint(features, count, l);
+            l[ES] += STOPWORD_WEIGHT * scanner.spanish;
+            l[EN] += STOPWORD_WEIGHT * scanner.english;
+            NaiveBayes.softmax(l);
+            if (l[ES] >= LANGUAGE_THRESHOLD) lang = LANGUAGES[ES];
+            else if (l[EN] >= LANGUAGE_THRESHOLD) lang = LANGUAGES[EN];
+        }
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("pPositive", round(s[POS]));
+        metadata.put("pNeutral", round(s[NEUTRAL]));
+        metadata.put("pNegative", round(s[NEG]));
+        metadata.put("positiveHits", scanner.positive);
+        metadata.put("negativeHits", scanner.negative);
+        metadata.put("tokens", scanner.tokens);
+        return new ReviewAnalysis(label, s[POS] - s[NEG], spamProb, lang, metadata);
+    }
+
+    private static int sentimentIndex(String label) {
+        return switch (label) {
+            case "negative" -> NEG;
+            case "neutral" -> NEUTRAL;
+            case "positive" -> POS;
+            default -> throw new IllegalStateException("Unknown label in " + CORPUS + ": " + label);
+        };
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+
+    // Tab-separated rows with at least {@code columns} fields; blank lines and # comments skipped
+    private static List<String[]> readTsv(String path, int columns) {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] row = line.split("\t", columns);
+                if (row.length < columns) throw new IllegalStateException("Malformed line in " + path + ": " + line);
+                rows.add(row);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read " + path, ex);
+        }
+        return rows;
+    }
+}
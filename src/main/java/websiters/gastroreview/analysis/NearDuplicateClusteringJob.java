@@ -0,0 +1,139 @@
+package websiters.gastroreview.analysis;
+
+import WebSiters.GastroReview.repository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Backfill of the {@link NearDuplicateIndex}: clusters every existing review at startup
+ * and rebuilds the table nightly, which also drops the tombstones of deleted reviews.
+ *
+ * Review texts are streamed in one read-only transaction; MinHash signatures (the
+ * expensive part) are computed in parallel chunks, one thread per core, and inserted
+ * into the new table as chunks finish. Reviews that end up in a cluster are queued for
+ * analysis, so their spamProb and metadata reflect it.
+ */
+@Component
+@Slf4j
+public class NearDuplicateClusteringJob {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ReviewRepository reviewRepo;
+    private final NearDuplicateIndex index;
+    private final ReviewAnalysisPipeline pipeline;
+    private final TransactionTemplate readOnlyTx;
+    private final int threads;
+
+    public NearDuplicateClusteringJob(ReviewRepository reviewRepo,
+                                      NearDuplicateIndex index,
+                                      ReviewAnalysisPipeline pipeline,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${gastroreview.duplicates.backfill-threads:0}") int threads) {
+        this.reviewRepo = reviewRepo;
+        this.index = index;
+        this.pipeline = pipeline;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${gastroreview.duplicates.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        NearDuplicateIndex.Table fresh = index.beginRebuild();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger n = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "near-duplicate-backfill-" + n.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        Semaphore inFlight = new Semaphore(threads * 2);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        List<UUID> clustered;
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = reviewRepo.streamTextRows()) {
+                    Iterator<Object[]> it = rows.iterator();
+                    List<Object[]> chunk = new ArrayList<>(CHUNK_SIZE);
+                    while (it.hasNext() && failure.get() == null) {
+                        chunk.add(it.next());
+                        if (chunk.size() == CHUNK_SIZE) {
+                            submit(pool, inFlight, failure, fresh, chunk);
+                            chunk = new ArrayList<>(CHUNK_SIZE);
+                        }
+                    }
+                    if (!chunk.isEmpty()) submit(pool, inFlight, failure, fresh, chunk);
+                }
+            });
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            if (failure.get() != null) throw failure.get();
+            clustered = fresh.clusteredIds();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            index.finishRebuild(null);
+            return;
+        } catch (RuntimeException ex) {
+            index.finishRebuild(null);
+            throw ex;
+        } finally {
+            pool.shutdownNow();
+        }
+        index.finishRebuild(fresh);
+
+        int queued = 0;
+        for (UUID id : clustered) {
+            if (pipeline.offer(id)) queued++;
+        }
+        log.info("Near-duplicate index built in {} ms: {} reviews, {} in clusters ({} queued for analysis)",
+                (System.nanoTime() - start) / 1_000_000, index.size(), clustered.size(), queued);
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, AtomicReference<RuntimeException> failure,
+                        NearDuplicateIndex.Table fresh, List<Object[]> chunk) {
+        inFlight.acquireUninterruptibly();
+        pool.execute(() -> {
+            try {
+                char[][] signatures = new char[chunk.size()][];
+                for (int i = 0; i < signatures.length; i++) {
+                    signatures[i] = NearDuplicateIndex.signature((String) chunk.get(i)[2]);
+                }
+                synchronized (fresh) {
+                    for (int i = 0; i < signatures.length; i++) {
+                        if (signatures[i] != null) fresh.add((UUID) chunk.get(i)[0], signatures[i], index.threshold());
+                    }
+                }
+            } catch (RuntimeException ex) {
+                failure.compareAndSet(null, ex);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+}
@@ -0,0 +1,509 @@
+package websiters.gastroreview.analysis;
+
+import websiters.gastroreview.service.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory near-duplicate detection for review content (MinHash + LSH).
+ *
+ * - Shingles: overlapping 3-token windows of the accent-folded content, hashed.
+ * - Signature: {@value #HASHES} MinHash values truncated to 16 bits (b-bit MinHash),
+ *   64 bytes per review. The fraction of equal positions estimates Jaccard similarity.
+ * - LSH: {@value #BANDS} bands of {@value #ROWS} rows; the 4 x 16 bits of a band are
+ *   its exact 64-bit bucket key. Pairs at similarity 0.8 share a bucket with
+ *   probability ~0.99, pairs at 0.3 with ~0.06.
+ *
+ * A lookup touches one bucket per band and verifies at most {@value #MAX_PROBES}
+ * entries per bucket, so it is O(1) expected regardless of table size. Verified
+ * matches at or above {@code gastroreview.duplicates.threshold} are unioned into
+ * clusters (union-find), which the analysis writer turns into spam evidence.
+ *
+ * Writes are applied after commit; removals leave tombstones that the nightly
+ * {@link NearDuplicateClusteringJob} rebuild drops. Until then a tombstone, including
+ * the old version of an edited review, still links its cluster: reviews that matched
+ * only through it stay in one cluster, so cluster sizes can overstate after deletes
+ * and edits. Removals do not count in the size itself.
+ */
+@Component
+public class NearDuplicateIndex {
+
+    static final int BANDS = 8;
+    static final int ROWS = 4;
+    static final int HASHES = BANDS * ROWS;
+    private static final int SHINGLE = 3;
+    private static final int MAX_PROBES = 32;
+
+    private static final int[] MULTIPLIERS = new int[HASHES];
+    private static final int[] OFFSETS = new int[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6a09e667f3bcc909L);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextInt() | 1;
+            OFFSETS[i] = random.nextInt();
+        }
+    }
+
+    /**
+     * Closest indexed review and its estimated Jaccard similarity.
+     */
+    public record Match(UUID reviewId, double similarity) {
+    }
+
+    /**
+     * @param clusterSize live reviews in the review's cluster, itself included; the cluster
+     *                    may still be joined through removed reviews (see above)
+     * @param closest     most similar other review, or null
+     */
+    public record Duplicates(int clusterSize, Match closest) {
+    }
+
+    private final double threshold;
+    private final boolean reject;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Table table = new Table();
+
+    // Writes seen while a rebuild is running; replayed on top of the new table
+    private List<Consumer<Table>> pendingDuringRebuild;
+
+    public NearDuplicateIndex(@Value("${gastroreview.duplicates.threshold:0.8}") double threshold,
+                              @Value("${gastroreview.duplicates.action:flag}") String action) {
+        this.threshold = threshold;
+        this.reject = switch (action) {
+            case "flag" -> false;
+            case "reject" -> true;
+            default -> throw new IllegalArgumentException("gastroreview.duplicates.action must be flag or reject: " + action);
+        };
+    }
+
+    public double threshold() {
+        return threshold;
+    }
+
+    /* ---------------- signatures ---------------- */
+
+    /**
+     * MinHash signature of a text, or null when it has no tokens.
+     */
+    public static char[] signature(String text) {
+        if (text == null) return null;
+        int[] min = new int[HASHES];
+        Arrays.fill(min, Integer.MAX_VALUE);
+
+        int t1 = 0, t2 = 0, tokens = 0;
+        int hash = 0, length = 0;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char f = i < n ? FeatureScanner.fold(text.charAt(i)) : 0;
+            if (f != 0) {
+                if (length++ == 0) hash = 0x811c9dc5; // FNV-1a, as in FeatureScanner
+                hash = (hash ^ f) * 0x01000193;
+                continue;
+            }
+            if (length == 0) continue;
+            tokens++;
+            if (tokens >= SHINGLE) addShingle(min, (t1 * 31 + t2) * 31 + hash);
+            t1 = t2;
+            t2 = hash;
+            length = 0;
+        }
+        if (tokens == 0) return null;
+        if (tokens < SHINGLE) addShingle(min, t1 * 31 + t2); // too short for a full window
+
+        char[] signature = new char[HASHES];
+        for (int i = 0; i < HASHES; i++) signature[i] = (char) (min[i] >>> 16);
+        return signature;
+    }
+
+    private static void addShingle(int[] min, int shingle) {
+        for (int i = 0; i < HASHES; i++) {
+            int h = shingle * MULTIPLIERS[i] + OFFSETS[i];
+            h ^= h >>> 15;
+            h *= 0x2c1b3c6d;
+            h ^= h >>> 12;
+            h &= Integer.MAX_VALUE; // compare as non-negative
+            if (h < min[i]) min[i] = h;
+        }
+    }
+
+    static double similarity(char[] a, int aFrom, char[] b, int bFrom) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[aFrom + i] == b[bFrom + i]) equal++;
+        }
+        return equal / (double) HASHES;
+    }
+
+    /* ---------------- writes ---------------- */
+
+    /**
+     * Index (or re-index) a review once the transaction commits.
+     */
+    public void add(UUID reviewId, char[] signature) {
+        TransactionCallbacks.afterCommit(() -> apply(t -> {
+            t.remove(reviewId);
+            if (signature != null) t.add(reviewId, signature, threshold);
+        }));
+    }
+
+    public void remove(UUID reviewId) {
+        TransactionCallbacks.afterCommit(() -> apply(t -> t.remove(reviewId)));
+    }
+
+    private void apply(Consumer<Table> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(table);
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(op);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ---------------- queries ---------------- */
+
+    /**
+     * Most similar indexed review at or above the threshold, or null.
+     */
+    public Match findDuplicate(char[] signature) {
+        return findDuplicate(signature, null);
+    }
+
+    /**
+     * Same as {@link #findDuplicate(char[])}, ignoring the review {@code exclude} (may be null).
+     */
+    public Match findDuplicate(char[] signature, UUID exclude) {
+        if (signature == null) return null;
+        lock.readLock().lock();
+        try {
+            return table.closest(signature, 0, exclude != null ? table.ordinal(exclude) : -1, threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Guard for new reviews. With {@code gastroreview.duplicates.action=reject} a text that
+     * nearly duplicates an indexed review is refused; with {@code flag} (default) it is
+     * accepted and the analysis pipeline records the cluster.
+     *
+     * @throws NearDuplicateException when rejecting
+     */
+    public void screen(char[] signature) {
+        screen(signature, null);
+    }
+
+    /**
+     * Guard for new content of an existing review: same as {@link #screen(char[])},
+     * without matching the review's own indexed version.
+     */
+    public void screen(char[] signature, UUID reviewId) {
+        if (!reject) return;
+        Match match = findDuplicate(signature, reviewId);
+        if (match != null) {
+            throw new NearDuplicateException(match);
+        }
+    }
+
+    /**
+     * Cluster of an indexed review, or null when it is not indexed.
+     */
+    public Duplicates duplicatesOf(UUID reviewId) {
+        lock.readLock().lock();
+        try {
+            int ord = table.ordinal(reviewId);
+            if (ord < 0) return null;
+            Match closest = table.closest(table.signatures, ord * HASHES, ord, threshold);
+            return new Duplicates(table.clusterSize(ord), closest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return table.live();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ---------------- rebuild ---------------- */
+
+    /**
+     * Start collecting writes for {@link #finishRebuild}; returns the table to fill.
+     */
+    Table beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Table();
+    }
+
+    /**
+     * Replay the writes seen during the rebuild and swap the table in; null abandons it.
+     */
+    void finishRebuild(Table fresh) {
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                pendingDuringRebuild.forEach(op -> op.accept(fresh));
+                table = fresh;
+            }
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static class NearDuplicateException extends RuntimeException {
+        private final Match match;
+
+        public NearDuplicateException(Match match) {
+            super("Review content is a near-duplicate of review " + match.reviewId());
+            this.match = match;
+        }
+
+        public Match getMatch() {
+            return match;
+        }
+    }
+
+    /* ---------------- table ---------------- */
+
+    /**
+     * Reviews are numbered by insertion (ordinals); everything per review lives in
+     * parallel primitive arrays indexed by ordinal. Not thread-safe.
+     */
+    static final class Table {
+
+        private char[] signatures = new char[HASHES * 1024];
+        private long[] msb = new long[1024];
+        private long[] lsb = new long[1024];
+        private int[] parent = new int[1024];
+        private int[] clusterSize = new int[1024];
+        private int[] chain = new int[BANDS * 1024]; // previous ordinal in the same bucket, per band
+        private final BitSet removed = new BitSet();
+        private int size;
+        private int live;
+
+        private final BucketMap[] bands = new BucketMap[BANDS];
+        private int[] idSlots = new int[2048]; // ordinal + 1, open addressing by review id
+
+        Table() {
+            for (int b = 0; b < BANDS; b++) bands[b] = new BucketMap();
+        }
+
+        int live() {
+            return live;
+        }
+
+        void add(UUID reviewId, char[] signature, double threshold) {
+            int ord = size++;
+            ensureCapacity(size);
+            System.arraycopy(signature, 0, signatures, ord * HASHES, HASHES);
+            msb[ord] = reviewId.getMostSignificantBits();
+            lsb[ord] = reviewId.getLeastSignificantBits();
+            parent[ord] = ord;
+            clusterSize[ord] = 1;
+            live++;
+            putId(ord);
+
+            // Union with every verified match first, then link into the buckets
+            for (int b = 0; b < BANDS; b++) {
+                int probes = 0;
+                for (int other = bands[b].get(bandKey(signatures, ord * HASHES, b));
+                     other >= 0 && probes < MAX_PROBES; other = chain[other * BANDS + b], probes++) {
+                    if (removed.get(other) || find(other) == find(ord)) continue;
+                    if (similarity(signatures, ord * HASHES, signatures, other * HASHES) >= threshold) union(ord, other);
+                }
+            }
+            for (int b = 0; b < BANDS; b++) {
+                chain[ord * BANDS + b] = bands[b].put(bandKey(signatures, ord * HASHES, b), ord);
+            }
+        }
+
+        void remove(UUID reviewId) {
+            int ord = ordinal(reviewId);
+            if (ord < 0) return;
+            removed.set(ord);
+            clusterSize[find(ord)]--;
+            live--;
+        }
+
+        int ordinal(UUID reviewId) {
+            long hi = reviewId.getMostSignificantBits(), lo = reviewId.getLeastSignificantBits();
+            int mask = idSlots.length - 1;
+            for (int i = spread(hi ^ lo) & mask; idSlots[i] != 0; i = (i + 1) & mask) {
+                int ord = idSlots[i] - 1;
+                if (msb[ord] == hi && lsb[ord] == lo) return removed.get(ord) ? -1 : ord;
+            }
+            return -1;
+        }
+
+        int clusterSize(int ord) {
+            return clusterSize[find(ord)];
+        }
+
+        /**
+         * Ids of the live reviews that share a cluster with at least one other review.
+         */
+        List<UUID> clusteredIds() {
+            List<UUID> out = new ArrayList<>();
+            for (int ord = 0; ord < size; ord++) {
+                if (!removed.get(ord) && clusterSize[find(ord)] > 1) out.add(new UUID(msb[ord], lsb[ord]));
+            }
+            return out;
+        }
+
+        Match closest(char[] sig, int from, int exclude, double threshold) {
+            int best = -1;
+            double bestSimilarity = 0;
+            for (int b = 0; b < BANDS; b++) {
+                int probes = 0;
+                for (int other = bands[b].get(bandKey(sig, from, b));
+                     other >= 0 && probes < MAX_PROBES; other = chain[other * BANDS + b], probes++) {
+                    if (other == exclude || other == best || removed.get(other)) continue;
+                    double s = similarity(sig, from, signatures, other * HASHES);
+                    if (s > bestSimilarity) {
+                        best = other;
+                        bestSimilarity = s;
+                        if (s == 1.0) break;
+                    }
+                }
+                if (bestSimilarity == 1.0) break;
+            }
+            if (best < 0 || bestSimilarity < threshold) return null;
+            return new Match(new UUID(msb[best], lsb[best]), bestSimilarity);
+        }
+
+        private void putId(int ord) {
+            if (size * 2 > idSlots.length) {
+                // grow and re-insert the ordinals still in the table
+                int[] old = idSlots;
+                idSlots = new int[old.length * 2];
+                for (int slot : old) {
+                    if (slot != 0) insertId(slot - 1);
+                }
+            }
+            insertId(ord);
+        }
+
+        // A re-added review id replaces its old slot, so lookups find the new ordinal
+        private void insertId(int ord) {
+            int mask = idSlots.length - 1;
+            int i = spread(msb[ord] ^ lsb[ord]) & mask;
+            for (; idSlots[i] != 0; i = (i + 1) & mask) {
+                int other = idSlots[i] - 1;
+                if (msb[other] == msb[ord] && lsb[other] == lsb[ord]) break;
+            }
+            idSlots[i] = ord + 1;
+        }
+
+        // No path compression, so reads under the shared lock never write; union by size keeps trees O(log n) deep
+        private int find(int ord) {
+            while (parent[ord] != ord) ord = parent[ord];
+            return ord;
+        }
+
+        private void union(int a, int b) {
+            int ra = find(a), rb = find(b);
+            if (ra == rb) return;
+            if (clusterSize[ra] < clusterSize[rb]) {
+                int t = ra;
+                ra = rb;
+                rb = t;
+            }
+            parent[rb] = ra;
+            clusterSize[ra] += clusterSize[rb];
+        }
+
+        private void ensureCapacity(int n) {
+            if (n <= msb.length) return;
+            int cap = msb.length * 2;
+            signatures = Arrays.copyOf(signatures, cap * HASHES);
+            msb = Arrays.copyOf(msb, cap);
+            lsb = Arrays.copyOf(lsb, cap);
+            parent = Arrays.copyOf(parent, cap);
+            clusterSize = Arrays.copyOf(clusterSize, cap);
+            chain = Arrays.copyOf(chain, cap * BANDS);
+        }
+
+        private static long bandKey(char[] sig, int from, int band) {
+            int at = from + band * ROWS;
+            return (long) sig[at] << 48 | (long) sig[at + 1] << 32 | (long) sig[at + 2] << 16 | sig[at + 3];
+        }
+
+        private static int spread(long h) {
+            h *= 0x9e3779b97f4a7c15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * Open-addressing map from a band key to the newest ordinal in that bucket.
+     */
+    static final class BucketMap {
+
+        private long[] keys = new long[1024];
+        private int[] heads = new int[1024]; // ordinal + 1; 0 = free slot
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = Table.spread(key) & mask; heads[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return heads[i] - 1;
+            }
+            return -1;
+        }
+
+        /**
+         * Make {@code ord} the head of the key's bucket; returns the previous head or -1.
+         */
+        int put(long key, int ord) {
+            if ((size + 1) * 2 > keys.length) grow();
+            int mask = keys.length - 1;
+            int i = Table.spread(key) & mask;
+            for (; heads[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    int previous = heads[i] - 1;
+                    heads[i] = ord + 1;
+                    return previous;
+                }
+            }
+            keys[i] = key;
+            heads[i] = ord + 1;
+            size++;
+            return -1;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new long[oldKeys.length * 2];
+            heads = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldHeads[j] == 0) continue;
+                int i = Table.spread(oldKeys[j]) & mask;
+                while (heads[i] != 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                heads[i] = oldHeads[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package websiters.gastroreview.analysis;
+
+import java.util.Map;
+
+/**
+ * Result of a {@link ReviewAnalyzer}.
+ *
+ * @param sentiment one of negative, neutral, positive, mixed
+ * @param score     polarity in [-1, 1]
+ * @param spamProb  probability in [0, 1] that the review is spam
+ * @param language  ISO 639-1 code, or null when undetermined
+ * @param metadata  analyzer-specific details, stored in TextAnalysis.metadata; may be null
+ */
+public record ReviewAnalysis(String sentiment, double score, double spamProb, String language,
+                             Map<String, Object> metadata) {
+}
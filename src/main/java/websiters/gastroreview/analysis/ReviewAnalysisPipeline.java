@@ -0,0 +1,198 @@
+package websiters.gastroreview.analysis;
+
+import WebSiters.GastroReview.repository.ReviewRepository;
+import websiters.gastroreview.dto.AnalysisPipelineStats;
+import websiters.gastroreview.service.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous text analysis of reviews.
+ *
+ * Review writes call {@link #enqueue} (after commit), which only offers the id to a
+ * bounded in-memory queue, so posting a review never waits for analysis. Each worker
+ * owns one queue partition (reviews are assigned by id hash, so successive versions of
+ * a review are analyzed in order) and drains it in micro-batches:
+ * one query loads the texts and {@link ReviewAnalysisWriter} scores them and replaces
+ * the analyzer's previous rows for those reviews in one JDBC batch.
+ *
+ * Backpressure: when a partition is full the id is rejected and counted instead of
+ * blocking the caller. A periodic sweep re-enqueues reviews that have no analysis of
+ * their current text: rejected or failed ids, edits whose new text was never scored,
+ * and reviews that existed before the pipeline.
+ */
+@Component
+@Slf4j
+public class ReviewAnalysisPipeline {
+
+    private final ReviewRepository reviewRepo;
+    private final ReviewAnalysisWriter writer;
+    private final int batchSize;
+    private final int partitionCapacity;
+
+    private final BlockingQueue<UUID>[] partitions;
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong analyzed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchNanos = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public ReviewAnalysisPipeline(ReviewRepository reviewRepo,
+                                  ReviewAnalysisWriter writer,
+                                  @Value("${gastroreview.analysis.workers:2}") int workerCount,
+                                  @Value("${gastroreview.analysis.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${gastroreview.analysis.batch-size:100}") int batchSize) {
+        this.reviewRepo = reviewRepo;
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.partitionCapacity = Math.max(1, queueCapacity / workerCount);
+        this.partitions = new BlockingQueue[workerCount];
+        for (int i = 0; i < workerCount; i++) partitions[i] = new ArrayBlockingQueue<>(partitionCapacity);
+    }
+
+    /* ---------------- lifecycle ---------------- */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        workers = Executors.newFixedThreadPool(partitions.length, new ThreadFactory() {
+            private int n;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "review-analysis-" + n++);
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        for (BlockingQueue<UUID> partition : partitions) {
+            workers.submit(() -> work(partition));
+        }
+        log.info("Review analysis pipeline started: {} workers, analyzer {}", partitions.length, writer.analyzerName());
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /* ---------------- intake ---------------- */
+
+    /**
+     * Queue a created or updated review for analysis once the transaction commits.
+     */
+    public void enqueue(UUID reviewId) {
+        TransactionCallbacks.afterCommit(() -> offer(reviewId));
+    }
+
+    /**
+     * Non-blocking: false when the review's partition is full.
+     * Reviews already waiting in the queue are not added twice.
+     */
+    boolean offer(UUID reviewId) {
+        if (!queued.add(reviewId)) return true;
+        if (partitions[Math.floorMod(reviewId.hashCode(), partitions.length)].offer(reviewId)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+        queued.remove(reviewId);
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Catch-up for reviews never analyzed or edited after their last analysis.
+     * Only fills the free queue space, so a large backlog drains over several runs.
+     */
+    @Scheduled(initialDelayString = "${gastroreview.analysis.sweep-interval-ms:300000}",
+               fixedDelayString = "${gastroreview.analysis.sweep-interval-ms:300000}")
+    public void sweep() {
+        int free = 0;
+        for (BlockingQueue<UUID> partition : partitions) free += partition.remainingCapacity();
+        if (free < batchSize) return;
+
+        int added = 0;
+        for (UUID id : reviewRepo.findIdsNeedingAnalysis(PageRequest.ofSize(free / 2))) {
+            if (offer(id)) added++;
+        }
+        if (added > 0) log.info("Review analysis sweep queued {} reviews without a current analysis", added);
+    }
+
+    /* ---------------- workers ---------------- */
+
+    private void work(BlockingQueue<UUID> partition) {
+        List<UUID> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                UUID first = partition.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                partition.drainTo(batch, batchSize - 1);
+                // Leave the dedup set first: an update arriving from now on queues a fresh pass
+                queued.removeAll(batch);
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                failed.addAndGet(batch.size());
+                log.warn("Review analysis batch of {} failed: {}", batch.size(), ex.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<UUID> ids) {
+        long start = System.nanoTime();
+        Instant readAt = Instant.now();
+        analyzed.addAndGet(writer.analyzeAndStore(reviewRepo.findTextRows(ids), readAt));
+        batches.incrementAndGet();
+        batchNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    /* ---------------- metrics ---------------- */
+
+    public int queueDepth() {
+        int depth = 0;
+        for (BlockingQueue<UUID> partition : partitions) depth += partition.size();
+        return depth;
+    }
+
+    public AnalysisPipelineStats stats() {
+        long batchCount = batches.get();
+        return AnalysisPipelineStats.builder()
+                .analyzer(writer.analyzerName())
+                .workers(partitions.length)
+                .queueDepth(queueDepth())
+                .queueCapacity(partitionCapacity * partitions.length)
+                .enqueued(enqueued.get())
+                .rejected(rejected.get())
+                .analyzed(analyzed.get())
+                .failed(failed.get())
+                .batches(batchCount)
+                .avgBatchMillis(batchCount == 0 ? 0 : batchNanos.get() / 1e6 / batchCount)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package websiters.gastroreview.analysis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Scores review texts with the active {@link ReviewAnalyzer} and stores the results,
+ * replacing that analyzer's previous rows for the same reviews. Shared by the
+ * analysis pipeline and the re-scoring job.
+ *
+ * Near-duplicates found by {@link NearDuplicateIndex} raise spamProb (more copies,
+ * stronger evidence) and are recorded in the metadata.
+ *
+ * Scoring happens before the transaction opens, so a connection is held only for the
+ * two JDBC batches.
+ */
+@Component
+public class ReviewAnalysisWriter {
+
+    private static final String DELETE_SQL = """
+            DELETE FROM text_analysis
+            WHERE review_id = ? AND metadata ->> 'analyzer' = ?
+            """;
+
+    // Skips reviews deleted after they were loaded instead of failing the batch on the FK
+    private static final String INSERT_SQL = """
+            INSERT INTO text_analysis (review_id, sentiment, score, spam_prob, language, metadata, created_at)
+            SELECT ?, ?, ?, ?, ?, CAST(? AS jsonb), ?
+            WHERE EXISTS (SELECT 1 FROM reviews WHERE id = ?)
+            """;
+
+    // log-odds added per doubling of the near-duplicate cluster
+    private static final double DUPLICATE_WEIGHT = 1.5;
+
+    private final ReviewAnalyzer analyzer;
+    private final NearDuplicateIndex duplicates;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ObjectMapper objectMapper;
+
+    public ReviewAnalysisWriter(ReviewAnalyzer analyzer,
+                                NearDuplicateIndex duplicates,
+                                JdbcTemplate jdbc,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper) {
+        this.analyzer = analyzer;
+        this.duplicates = duplicates;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    public String analyzerName() {
+        return analyzer.name();
+    }
+
+    /**
+     * Analyze and store rows of [id, title, content]; returns the number of rows written.
+     * The rows are stamped with readAt, the time the texts were read, so that a review
+     * edited after it is picked up again by the pipeline's sweep.
+     */
+    public int analyzeAndStore(List<Object[]> textRows, Instant readAt) {
+        if (textRows.isEmpty()) return 0;
+
+        List<Object[]> inserts = new ArrayList<>(textRows.size());
+        List<Object[]> deletes = new ArrayList<>(textRows.size());
+        Timestamp now = Timestamp.from(readAt);
+        for (Object[] row : textRows) {
+            UUID reviewId = (UUID) row[0];
+            ReviewAnalysis result = withDuplicates(reviewId, analyzer.analyze((String) row[1], (String) row[2]));
+            deletes.add(new Object[]{reviewId, analyzer.name()});
+            inserts.add(new Object[]{reviewId, result.sentiment(), decimal(result.score()),
+                    decimal(result.spamProb()), result.language(), metadataJson(result), now, reviewId});
+        }
+
+        tx.executeWithoutResult(status -> {
+            jdbc.batchUpdate(DELETE_SQL, deletes);
+            jdbc.batchUpdate(INSERT_SQL, inserts);
+        });
+        return inserts.size();
+    }
+
+    private ReviewAnalysis withDuplicates(UUID reviewId, ReviewAnalysis result) {
+        NearDuplicateIndex.Duplicates d = duplicates.duplicatesOf(reviewId);
+        if (d == null || d.clusterSize() < 2) return result;
+
+        double p = Math.min(Math.max(result.spamProb(), 1e-6), 1 - 1e-6);
+        double z = Math.log(p / (1 - p)) + DUPLICATE_WEIGHT * Math.log(d.clusterSize()) / Math.log(2);
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        if (result.metadata() != null) metadata.putAll(result.metadata());
+        metadata.put("nearDuplicates", d.clusterSize() - 1);
+        if (d.closest() != null) {
+            metadata.put("nearDuplicateOf", d.closest().reviewId().toString());
+            metadata.put("duplicateSimilarity", d.closest().similarity());
+        }
+        return new ReviewAnalysis(result.sentiment(), result.score(), SpamHeuristics.sigmoid(z),
+                result.language(), metadata);
+    }
+
+    private String metadataJson(ReviewAnalysis result) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("analyzer", analyzer.name());
+        if (result.metadata() != null) metadata.putAll(result.metadata());
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize analysis metadata", ex);
+        }
+    }
+
+    // NUMERIC(9,4) columns
+    static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+}
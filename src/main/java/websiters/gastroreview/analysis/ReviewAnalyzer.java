@@ -0,0 +1,20 @@
+package websiters.gastroreview.analysis;
+
+/**
+ * Scores the text of a review. Implementations run on the analysis pipeline's
+ * worker threads, so they must be thread-safe and should stay local (no remote calls).
+ *
+ * {@code gastroreview.analysis.analyzer} picks the implementation: naive-bayes (default,
+ * {@link NaiveBayesReviewAnalyzer}) or lexicon ({@link LexiconReviewAnalyzer}); declaring
+ * another ReviewAnalyzer bean as {@code @Primary} replaces either.
+ */
+public interface ReviewAnalyzer {
+
+    /**
+     * Stored in TextAnalysis.metadata.analyzer. Rows written by the pipeline are
+     * replaced only by later results of the same analyzer.
+     */
+    String name();
+
+    ReviewAnalysis analyze(String title, String content);
+}
@@ -0,0 +1,161 @@
+package websiters.gastroreview.analysis;
+
+import WebSiters.GastroReview.repository.ReviewRepository;
+import websiters.gastroreview.dto.RescoreStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Re-scores every review with the active analyzer, e.g. after a model or lexicon change.
+ *
+ * One read-only transaction streams (id, title, content) rows; chunks of
+ * {@code rescore-chunk-size} rows are scored and written by a pool with one thread per
+ * core. At most two chunks per thread are in flight, so the stream is throttled to the
+ * speed of the workers instead of buffering the whole table. Each chunk commits on its
+ * own, and a failed chunk is counted and skipped.
+ */
+@Component
+@Slf4j
+public class ReviewRescoreJob {
+
+    private final ReviewRepository reviewRepo;
+    private final ReviewAnalysisWriter writer;
+    private final TransactionTemplate readOnlyTx;
+    private final int chunkSize;
+    private final int threads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public ReviewRescoreJob(ReviewRepository reviewRepo,
+                            ReviewAnalysisWriter writer,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${gastroreview.analysis.rescore-chunk-size:1000}") int chunkSize,
+                            @Value("${gastroreview.analysis.rescore-threads:0}") int threads) {
+        this.reviewRepo = reviewRepo;
+        this.writer = writer;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Start a run in the background.
+     *
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public RescoreStatus start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A re-scoring run is already in progress");
+        }
+        scanned.set(0);
+        written.set(0);
+        failed.set(0);
+        startedAt = Instant.now();
+        finishedAt = null;
+
+        Thread t = new Thread(this::run, "review-rescore");
+        t.setDaemon(true);
+        t.start();
+        return status();
+    }
+
+    private void run() {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger n = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "review-rescore-" + n.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        Semaphore inFlight = new Semaphore(threads * 2);
+        log.info("Review re-scoring started: analyzer {}, {} threads", writer.analyzerName(), threads);
+        Instant readAt = Instant.now();
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = reviewRepo.streamTextRows()) {
+                    Iterator<Object[]> it = rows.iterator();
+                    List<Object[]> chunk = new ArrayList<>(chunkSize);
+                    while (it.hasNext()) {
+                        chunk.add(it.next());
+                        if (chunk.size() == chunkSize) {
+                            submit(pool, inFlight, chunk, readAt);
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                    }
+                    if (!chunk.isEmpty()) submit(pool, inFlight, chunk, readAt);
+                }
+            });
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Review re-scoring aborted: {}", ex.getMessage());
+        } finally {
+            pool.shutdownNow();
+            finishedAt = Instant.now();
+            running.set(false);
+        }
+        log.info("Review re-scoring finished: {} scanned, {} written, {} failed in {}",
+                scanned.get(), written.get(), failed.get(), Duration.between(startedAt, finishedAt));
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, List<Object[]> chunk, Instant readAt) {
+        inFlight.acquireUninterruptibly();
+        scanned.addAndGet(chunk.size());
+        pool.execute(() -> {
+            try {
+                written.addAndGet(writer.analyzeAndStore(chunk, readAt));
+            } catch (RuntimeException ex) {
+                failed.addAndGet(chunk.size());
+                log.warn("Review re-scoring chunk of {} failed: {}", chunk.size(), ex.getMessage());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    public RescoreStatus status() {
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double seconds = start == null ? 0 : Duration.between(start, end).toMillis() / 1000.0;
+        return RescoreStatus.builder()
+                .running(running.get())
+                .analyzer(writer.analyzerName())
+                .threads(threads)
+                .startedAt(start)
+                .finishedAt(finishedAt)
+                .scanned(scanned.get())
+                .written(written.get())
+                .failed(failed.get())
+                .reviewsPerSecond(seconds > 0 ? written.get() / seconds : 0)
+                .build();
+    }
+}
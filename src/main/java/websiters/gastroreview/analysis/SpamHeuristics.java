@@ -0,0 +1,31 @@
+package websiters.gastroreview.analysis;
+
+/**
+ * Hand-tuned spam signals shared by the analyzers: links, contact details, long
+ * numbers, shouting, repeated characters and very short texts.
+ */
+final class SpamHeuristics {
+
+    private SpamHeuristics() {
+    }
+
+    /**
+     * Log-odds that a text is spam; about -4 for an ordinary review.
+     */
+    static double logit(int links, int contacts, int digits, int letters, int upper,
+                        int repeats, int bangs, int tokens) {
+        double capsRatio = letters > 20 ? upper / (double) letters : 0;
+        return -4.0
+                + 2.5 * links
+                + 2.0 * contacts
+                + (digits >= 8 ? 1.5 : 0)
+                + 3.0 * Math.max(0, capsRatio - 0.5)
+                + 0.3 * Math.min(repeats, 10)
+                + 0.2 * Math.min(bangs, 10)
+                + (tokens < 3 ? 1.0 : 0);
+    }
+
+    static double sigmoid(double z) {
+        return 1 / (1 + Math.exp(-z));
+    }
+}
@@ -0,0 +1,45 @@
+package websiters.gastroreview.configuration;
+
+import websiters.gastroreview.analysis.NearDuplicateIndex;
+import websiters.gastroreview.analysis.ReviewAnalysisPipeline;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of the ones Spring Boot binds (HTTP routes, repositories,
+ * Hikari, Hibernate, JVM), exposed at /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder reviewAnalysisMetrics(ReviewAnalysisPipeline pipeline) {
+        return registry -> {
+            Gauge.builder("gastroreview.analysis.queue.depth", pipeline, ReviewAnalysisPipeline::queueDepth)
+                    .description("Reviews waiting in the analysis queue")
+                    .register(registry);
+            FunctionCounter.builder("gastroreview.analysis.reviews", pipeline, p -> p.stats().getAnalyzed())
+                    .description("Reviews analyzed and stored by the pipeline")
+                    .tag("result", "analyzed")
+                    .register(registry);
+            FunctionCounter.builder("gastroreview.analysis.reviews", pipeline, p -> p.stats().getFailed())
+                    .description("Reviews in analysis batches that failed, left for the sweep to retry")
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("gastroreview.analysis.reviews", pipeline, p -> p.stats().getRejected())
+                    .description("Reviews not queued for analysis because the queue was full")
+                    .tag("result", "rejected")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder nearDuplicateMetrics(NearDuplicateIndex nearDuplicates) {
+        return registry -> Gauge.builder("gastroreview.duplicates.indexed", nearDuplicates, NearDuplicateIndex::size)
+                .description("Reviews in the near-duplicate index")
+                .register(registry);
+    }
+}
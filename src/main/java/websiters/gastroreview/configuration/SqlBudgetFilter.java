@@ -0,0 +1,74 @@
+package websiters.gastroreview.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Per-request SQL budget: counts the statements each request issues
+ * ({@link SqlStatementCounter}) and records them per route as
+ * {@code gastroreview.sql.statements}. Requests over {@code gastroreview.sql.budget} are
+ * logged with their route and counted in {@code gastroreview.sql.over.budget}; with
+ * {@code gastroreview.sql.fail-over-budget=true} they fail instead, which is meant for
+ * development and integration tests.
+ */
+@Component
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final int budget;
+    private final boolean failOverBudget;
+
+    public SqlBudgetFilter(MeterRegistry registry,
+                           @Value("${gastroreview.sql.budget:10}") int budget,
+                           @Value("${gastroreview.sql.fail-over-budget:false}") boolean failOverBudget) {
+        this.registry = registry;
+        this.budget = budget;
+        this.failOverBudget = failOverBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open(budget, failOverBudget)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("gastroreview.sql.statements")
+                .description("SQL statements issued per request")
+                .tags("method", request.getMethod(), "uri", route)
+                .register(registry)
+                .record(scope.count());
+
+        if (scope.overBudget()) {
+            Counter.builder("gastroreview.sql.over.budget")
+                    .description("Requests that issued more SQL statements than the budget")
+                    .tags("method", request.getMethod(), "uri", route)
+                    .register(registry)
+                    .increment();
+            log.warn("SQL budget exceeded: {} {} issued {} statements (budget {})",
+                    request.getMethod(), route, scope.count(), scope.budget());
+        }
+    }
+}
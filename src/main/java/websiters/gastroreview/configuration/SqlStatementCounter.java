@@ -0,0 +1,87 @@
+package websiters.gastroreview.configuration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so N+1 patterns
+ * show up as a number per request (see {@link SqlBudgetFilter}) or per test.
+ *
+ * Registered by class name ({@code hibernate.session_factory.statement_inspector}), so it
+ * is active in the application and in JPA tests alike. Counting only happens inside a
+ * {@link #open} scope; outside one the inspector is a no-op. Statements served from the
+ * second-level cache never reach it.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) scope.count(sql);
+        return sql;
+    }
+
+    /**
+     * Start counting on this thread until the returned scope is closed. Scopes nest: the
+     * outer one resumes when the inner one closes (inner statements are not added to it).
+     *
+     * @param budget statements allowed before the scope is over budget
+     * @param strict throw {@link BudgetExceededException} on the first statement over budget
+     */
+    public static Scope open(int budget, boolean strict) {
+        Scope scope = new Scope(CURRENT.get(), budget, strict);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope previous;
+        private final int budget;
+        private final boolean strict;
+        private int count;
+
+        private Scope(Scope previous, int budget, boolean strict) {
+            this.previous = previous;
+            this.budget = budget;
+            this.strict = strict;
+        }
+
+        private void count(String sql) {
+            count++;
+            if (strict && count > budget) {
+                throw new BudgetExceededException(
+                        "SQL budget of " + budget + " statements exceeded by: " + sql);
+            }
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int budget() {
+            return budget;
+        }
+
+        public boolean overBudget() {
+            return count > budget;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) CURRENT.set(previous);
+            else CURRENT.remove();
+        }
+    }
+
+    /**
+     * Not an IllegalStateException: controllers map those to 409 Conflict. The REST
+     * exception handler reports it as 500.
+     */
+    public static class BudgetExceededException extends RuntimeException {
+        public BudgetExceededException(String message) {
+            super(message);
+        }
+    }
+}
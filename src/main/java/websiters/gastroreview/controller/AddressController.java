@@ -3,6 +3,7 @@ package websiters.gastroreview.controller;
 import websiters.gastroreview.dto.AddressRequest;
 import websiters.gastroreview.dto.AddressResponse;
 import websiters.gastroreview.service.AddressService;
+import websiters.gastroreview.service.ListStreamService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,7 +17,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -27,6 +34,7 @@ import java.util.UUID;
 public class  AddressController {
 
     private final AddressService service;
+    private final ListStreamService listStreamService;
 
 
     @GetMapping("/{id}")
@@ -100,4 +108,30 @@ public class  AddressController {
         Pageable fixedPageable = Pageable.ofSize(5).withPage(pageable.getPageNumber());
         return service.findByCityAndCountry(city, country, fixedPageable);
     }
+
+    @GetMapping("/stream")
+    @Operation(summary = "Stream addresses", description = "Writes a page of addresses as a JSON array while it is read, "
+            + "for large sizes (no COUNT query). Optional filters: city and/or country, or part of the street.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Addresses streamed",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = AddressResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Negative page or size out of range")
+    })
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "1000") int size,
+            Sort sort,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String street) {
+        Pageable pageable;
+        try {
+            pageable = listStreamService.page(page, size, sort);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        StreamingResponseBody body = out -> listStreamService.streamAddresses(city, country, street, pageable, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
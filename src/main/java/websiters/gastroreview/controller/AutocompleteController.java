@@ -0,0 +1,33 @@
+package websiters.gastroreview.controller;
+
+import websiters.gastroreview.dto.SuggestionResponse;
+import websiters.gastroreview.service.AutocompleteService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete", description = "Type-ahead suggestions for restaurant and dish names.")
+public class AutocompleteController {
+
+    private final AutocompleteService service;
+
+    @GetMapping
+    @Operation(summary = "Suggest restaurant and dish names",
+            description = "Returns up to 10 names having a word that starts with `q`, most reviewed first. "
+                    + "When there are not enough prefix matches, similar names (typos) fill the list.")
+    public List<SuggestionResponse> suggest(
+            @Parameter(description = "Text typed so far", required = true) @RequestParam("q") String q,
+            @Parameter(description = "restaurant, dish or all (default)") @RequestParam(value = "type", required = false) String type,
+            @Parameter(description = "Maximum number of suggestions (1-10)") @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return service.suggest(q, type, limit);
+    }
+}
@@ -0,0 +1,40 @@
+package websiters.gastroreview.controller;
+
+import WebSiters.GastroReview.dto.ReviewResponse;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.service.FeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+@Tag(name = "Feed", description = "Home feed: recent reviews from followed users.")
+public class FeedController {
+
+    private final FeedService service;
+
+    @GetMapping("/{userId}")
+    @Operation(
+            summary = "Get a user's feed",
+            description = "Reviews written by the users the given user follows, newest first. "
+                    + "Pass the returned nextCursor as `after` to get the next page."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Feed page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    })
+    public CursorPage<ReviewResponse> feed(
+            @Parameter(description = "User UUID", required = true) @PathVariable UUID userId,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return service.feed(userId, after, size);
+    }
+}
@@ -1,5 +1,7 @@
 package websiters.gastroreview.controller;
 
+import websiters.gastroreview.dto.FollowCountsResponse;
+import websiters.gastroreview.dto.FollowSuggestionResponse;
 import websiters.gastroreview.dto.FriendshipRequest;
 import websiters.gastroreview.dto.FriendshipResponse;
 import websiters.gastroreview.service.FriendshipService;
@@ -18,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -67,6 +70,45 @@ public class FriendshipController {
         return service.findFollowing(userId, fixedPageable);
     }
 
+    @GetMapping("/counts/{userId}")
+    @Operation(
+            summary = "Count followers and following",
+            description = "Returns how many users follow a given user and how many users it follows."
+    )
+    public FollowCountsResponse getCounts(@PathVariable UUID userId) {
+        return service.counts(userId);
+    }
+
+    @GetMapping("/common/{userId}/{otherId}")
+    @Operation(
+            summary = "List users followed by both users",
+            description = "Retrieves a paginated list (5 per page) of the users that both given users follow."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Common followings retrieved successfully"),
+            @ApiResponse(responseCode = "503", description = "Social graph is still loading")
+    })
+    public Page<UUID> getCommonFollowing(@PathVariable UUID userId, @PathVariable UUID otherId, Pageable pageable) {
+        return service.findCommonFollowing(userId, otherId, pageable);
+    }
+
+    @GetMapping("/suggestions/{userId}")
+    @Operation(
+            summary = "Suggest users to follow",
+            description = "Users followed by the people a user follows, ranked by how many of them follow each one. "
+                    + "Users already followed are excluded."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Limit out of range"),
+            @ApiResponse(responseCode = "503", description = "Social graph is still loading")
+    })
+    public List<FollowSuggestionResponse> getSuggestions(
+            @PathVariable UUID userId,
+            @Parameter(description = "Maximum number of suggestions (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        return service.suggest(userId, limit);
+    }
+
     @GetMapping("/{followerId}/{followedId}")
     @Operation(
             summary = "Get friendship by IDs",
@@ -3,16 +3,28 @@ package WebSiters.GastroReview.controller;
 import WebSiters.GastroReview.dto.RatingRequest;
 import WebSiters.GastroReview.dto.RatingResponse;
 import WebSiters.GastroReview.service.RatingService;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.service.ExportService;
+import websiters.gastroreview.service.ListStreamService;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.persistence.EntityNotFoundException;
 
+import java.time.OffsetDateTime;
+
 /**
  * Controller for ratings. Delegates business logic to RatingService.
  * The controller translates service exceptions into appropriate HTTP responses:
@@ -26,9 +38,13 @@ import jakarta.persistence.EntityNotFoundException;
 public class RatingsController {
 
     private final RatingService service;
+    private final ExportService exportService;
+    private final ListStreamService listStreamService;
 
-    public RatingsController(RatingService service) {
+    public RatingsController(RatingService service, ExportService exportService, ListStreamService listStreamService) {
         this.service = service;
+        this.exportService = exportService;
+        this.listStreamService = listStreamService;
     }
 
     /**
@@ -47,6 +63,67 @@ public class RatingsController {
         }
     }
 
+    /**
+     * Keyset (cursor) listing of ratings, newest first, for a reviewId or a userId.
+     * Pass the returned nextCursor as {@code after} to get the next page.
+     * - Missing filter or malformed cursor -> 400 Bad Request
+     */
+    @GetMapping("/cursor")
+    public CursorPage<RatingResponse> scroll(@RequestParam(required = false) java.util.UUID reviewId,
+                                             @RequestParam(required = false) java.util.UUID userId,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(defaultValue = "20") int size) {
+        try {
+            return service.scroll(reviewId, userId, after, size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Same filters, page and sort as the paged list, for large sizes: the ratings are written
+     * as a bare JSON array while they are read (no COUNT query, no page envelope).
+     * - Negative page or size out of range -> 400 Bad Request
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "1000") int size,
+                                                        Sort sort,
+                                                        @RequestParam(required = false) java.util.UUID reviewId,
+                                                        @RequestParam(required = false) java.util.UUID userId) {
+        Pageable pageable;
+        try {
+            pageable = listStreamService.page(page, size, sort);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        StreamingResponseBody body = out -> listStreamService.streamRatings(reviewId, userId, pageable, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Stream every rating as NDJSON (default) or CSV, oldest first, without paging or COUNT queries.
+     * Optional {@code since} (ISO-8601) keeps only ratings created at or after that instant.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @RequestParam(defaultValue = "ndjson") String format,
+            WebRequest request) {
+        ExportService.Format fmt;
+        try {
+            fmt = ExportService.Format.parse(format);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        exportService.extendTimeout(request);
+        StreamingResponseBody body = out -> exportService.exportRatings(since, fmt, out);
+        return ResponseEntity.ok()
+                .contentType(fmt.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=ratings." + fmt.extension())
+                .body(body);
+    }
+
     /**
      * Get rating by id.
      */
@@ -1,5 +1,6 @@
 package websiters.gastroreview.controller;
 
+import websiters.gastroreview.configuration.SqlStatementCounter;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
@@ -233,6 +234,13 @@ public class RestExceptionHandler implements ResponseBodyAdvice<Object> {
     }
 
 
+    @ExceptionHandler(SqlStatementCounter.BudgetExceededException.class)
+    public ResponseEntity<Map<String, Object>> sqlBudget(SqlStatementCounter.BudgetExceededException ex, HttpServletRequest req) {
+        // only with gastroreview.sql.fail-over-budget=true
+        log.error("SQL budget exceeded", ex);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Presupuesto de sentencias SQL excedido", req);
+    }
+
     @ExceptionHandler({ LazyInitializationException.class, HibernateException.class })
     public ResponseEntity<Map<String, Object>> hibernateErrors(Exception ex, HttpServletRequest req) {
         log.error("Hibernate error", ex);
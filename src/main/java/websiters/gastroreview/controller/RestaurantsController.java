@@ -1,9 +1,12 @@
 package websiters.gastroreview.controller;
 
 import jakarta.validation.Valid;
+import websiters.gastroreview.dto.NearbyRestaurantResponse;
 import websiters.gastroreview.dto.RestaurantRequest;
 import websiters.gastroreview.dto.RestaurantResponse;
+import websiters.gastroreview.dto.RestaurantStatsResponse;
 import websiters.gastroreview.service.RestaurantService;
+import websiters.gastroreview.service.RestaurantStatsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,10 +20,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -31,16 +38,21 @@ import java.util.UUID;
 public class RestaurantsController {
 
     private final RestaurantService service;
+    private final RestaurantStatsService statsService;
 
     @GetMapping
-    @Operation(summary = "List restaurants", description = "Retrieves a paginated list (5 per page) of all registered restaurants.")
+    @Operation(summary = "List restaurants", description = "Retrieves a paginated list (5 per page) of all registered restaurants. "
+            + "With `openNow=true` or `openAt` only restaurants open at that moment are listed, in name order.")
     @ApiResponse(responseCode = "200", description = "List retrieved successfully",
             content = @Content(mediaType = "application/json",
                     array = @ArraySchema(schema = @Schema(implementation = RestaurantResponse.class))))
     public Page<RestaurantResponse> list(
-            @Parameter(description = "Pagination parameters") Pageable pageable) {
+            @Parameter(description = "Pagination parameters") Pageable pageable,
+            @Parameter(description = "Only restaurants open right now") @RequestParam(defaultValue = "false") boolean openNow,
+            @Parameter(description = "Only restaurants open at this ISO-8601 date-time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime openAt) {
         Pageable fixedPageable = Pageable.ofSize(5).withPage(pageable.getPageNumber());
-        return service.list(fixedPageable);
+        return service.list(fixedPageable, openFilter(openNow, openAt));
     }
 
     @GetMapping("/search/name/{name}")
@@ -62,12 +74,41 @@ public class RestaurantsController {
     }
 
     @GetMapping("/city/{city}")
-    @Operation(summary = "List restaurants by city", description = "Retrieves all restaurants located in a specific city (paginated, 5 per page).")
+    @Operation(summary = "List restaurants by city", description = "Retrieves all restaurants located in a specific city (paginated, 5 per page). "
+            + "Accepts the same `openNow` / `openAt` filter as the main listing.")
     public Page<RestaurantResponse> findByCity(
             @PathVariable("city") String city,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime openAt) {
         Pageable fixedPageable = Pageable.ofSize(5).withPage(pageable.getPageNumber());
-        return service.findByCity(city, fixedPageable);
+        return service.findByCity(city, fixedPageable, openFilter(openNow, openAt));
+    }
+
+    @GetMapping("/near")
+    @Operation(summary = "Find restaurants near a point", description = "Returns up to `limit` restaurants whose primary address lies within `radiusKm` of the given coordinates, closest first.")
+    public List<NearbyRestaurantResponse> near(
+            @Parameter(description = "Latitude in degrees", required = true) @RequestParam("lat") double lat,
+            @Parameter(description = "Longitude in degrees", required = true) @RequestParam("lng") double lng,
+            @Parameter(description = "Search radius in km (max 100)") @RequestParam(value = "radiusKm", defaultValue = "5") double radiusKm,
+            @Parameter(description = "Maximum number of results (max 100)") @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return service.findNear(lat, lng, radiusKm, limit);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get stats of several restaurants", description = "Returns review count, rating histogram, mean and Bayesian score for up to 100 restaurants in one call, in the order requested.")
+    public List<RestaurantStatsResponse> stats(
+            @Parameter(description = "Restaurant UUIDs (comma separated)", required = true)
+            @RequestParam("ids") List<UUID> ids) {
+        return statsService.getAll(ids);
+    }
+
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get restaurant stats", description = "Returns review count, rating histogram, mean and Bayesian score of a restaurant.")
+    public RestaurantStatsResponse stats(
+            @Parameter(description = "Restaurant UUID", required = true)
+            @PathVariable("id") UUID id) {
+        return statsService.get(id);
     }
 
     @GetMapping("/{id}")
@@ -110,4 +151,10 @@ public class RestaurantsController {
             @PathVariable("id") UUID id) {
         service.delete(id);
     }
+
+    // openAt wins over openNow; null means the listing is not filtered
+    private static Instant openFilter(boolean openNow, OffsetDateTime openAt) {
+        if (openAt != null) return openAt.toInstant();
+        return openNow ? Instant.now() : null;
+    }
 }
@@ -3,13 +3,19 @@ package WebSiters.GastroReview.controller;
 import WebSiters.GastroReview.dto.ReviewCommentRequest;
 import WebSiters.GastroReview.dto.ReviewCommentResponse;
 import WebSiters.GastroReview.service.ReviewCommentService;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.service.ListStreamService;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -23,9 +29,11 @@ import java.util.UUID;
 public class ReviewCommentsController {
 
     private final ReviewCommentService service;
+    private final ListStreamService listStreamService;
 
-    public ReviewCommentsController(ReviewCommentService service) {
+    public ReviewCommentsController(ReviewCommentService service, ListStreamService listStreamService) {
         this.service = service;
+        this.listStreamService = listStreamService;
     }
 
     /**
@@ -45,6 +53,42 @@ public class ReviewCommentsController {
         }
     }
 
+    /**
+     * Keyset (cursor) listing of the comments of a review, oldest first.
+     * Pass the returned nextCursor as {@code after} to get the next page.
+     */
+    @GetMapping("/cursor")
+    public CursorPage<ReviewCommentResponse> scroll(@RequestParam UUID reviewId,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        try {
+            return service.scrollByReviewId(reviewId, after, size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Same filters, page and sort as the paged list, for large sizes: the comments are written
+     * as a bare JSON array while they are read (no COUNT query, no page envelope).
+     * - Negative page or size out of range -> 400 Bad Request
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "1000") int size,
+                                                        Sort sort,
+                                                        @RequestParam(required = false) UUID reviewId,
+                                                        @RequestParam(required = false) UUID authorId) {
+        Pageable pageable;
+        try {
+            pageable = listStreamService.page(page, size, sort);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        StreamingResponseBody body = out -> listStreamService.streamComments(reviewId, authorId, pageable, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Get comment by id.
      */
@@ -3,16 +3,33 @@ package WebSiters.GastroReview.controller;
 import WebSiters.GastroReview.dto.ReviewRequest;
 import WebSiters.GastroReview.dto.ReviewResponse;
 import WebSiters.GastroReview.service.ReviewService;
+import websiters.gastroreview.analysis.NearDuplicateIndex;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.dto.ReviewImportResult;
+import websiters.gastroreview.dto.ReviewSearchResult;
+import websiters.gastroreview.service.ExportService;
+import websiters.gastroreview.service.ListStreamService;
+import websiters.gastroreview.service.ReviewImportService;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.persistence.EntityNotFoundException;
 
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -24,9 +41,18 @@ import java.util.UUID;
 public class ReviewsController {
 
     private final ReviewService service;
+    private final ReviewImportService importService;
+    private final ExportService exportService;
+    private final ListStreamService listStreamService;
 
-    public ReviewsController(ReviewService service) {
+    public ReviewsController(ReviewService service,
+                             ReviewImportService importService,
+                             ExportService exportService,
+                             ListStreamService listStreamService) {
         this.service = service;
+        this.importService = importService;
+        this.exportService = exportService;
+        this.listStreamService = listStreamService;
     }
 
     /**
@@ -48,6 +74,69 @@ public class ReviewsController {
         }
     }
 
+    /**
+     * Keyset (cursor) listing, newest first. Opt-in alternative to the paged list for deep
+     * scrolling: no COUNT query and constant cost per page. Optional filters by restaurantId
+     * or userId; pass the returned nextCursor as {@code after} to get the next page.
+     */
+    @GetMapping("/cursor")
+    public CursorPage<ReviewResponse> scroll(@RequestParam(required = false) UUID restaurantId,
+                                             @RequestParam(required = false) UUID userId,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(defaultValue = "20") int size) {
+        try {
+            return service.scroll(restaurantId, userId, after, size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Same filters, page and sort as the paged list, for large sizes (up to
+     * gastroreview.stream.max-size): the rows are written as a bare JSON array while they are
+     * read, without a COUNT query or the page envelope.
+     * - Negative page or size out of range -> 400 Bad Request
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "1000") int size,
+                                                        Sort sort,
+                                                        @RequestParam(required = false) UUID restaurantId,
+                                                        @RequestParam(required = false) UUID userId,
+                                                        @RequestParam(required = false) UUID dishId) {
+        Pageable pageable;
+        try {
+            pageable = listStreamService.page(page, size, sort);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        StreamingResponseBody body = out -> listStreamService.streamReviews(restaurantId, userId, dishId, pageable, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Stream every review as NDJSON (default) or CSV, oldest first, without paging or COUNT queries.
+     * Optional {@code since} (ISO-8601) keeps only reviews published at or after that instant.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @RequestParam(defaultValue = "ndjson") String format,
+            WebRequest request) {
+        ExportService.Format fmt;
+        try {
+            fmt = ExportService.Format.parse(format);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        exportService.extendTimeout(request);
+        StreamingResponseBody body = out -> exportService.exportReviews(since, fmt, out);
+        return ResponseEntity.ok()
+                .contentType(fmt.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reviews." + fmt.extension())
+                .body(body);
+    }
+
     /**
      * Get a review by ID.
      */
@@ -62,6 +151,7 @@ public class ReviewsController {
 
     /**
      * Create a new review.
+     * - Near-duplicate of an existing review, when configured to reject them -> 409 Conflict
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -73,13 +163,45 @@ public class ReviewsController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
         } catch (IllegalArgumentException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (NearDuplicateIndex.NearDuplicateException ex) {
+            // gastroreview.duplicates.action=reject
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage());
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Constraint violation: " + getRootCauseMessage(ex));
         }
     }
 
+    /**
+     * Full-text search over review title and content (Spanish/English stemming, BM25 ranking),
+     * best match first. Optional filters by restaurantId and dishId.
+     */
+    @GetMapping("/search")
+    public List<ReviewSearchResult> search(@RequestParam String q,
+                                           @RequestParam(required = false) UUID restaurantId,
+                                           @RequestParam(required = false) UUID dishId,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return service.search(q, restaurantId, dishId, limit);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Bulk import from an NDJSON body (one review request per line), meant for partner migrations.
+     * Rows are validated and written in chunks that commit independently; the response reports
+     * how many rows were imported and the line number and reason of each rejected row.
+     * If the import stops early (e.g. the database goes away), the response still reports
+     * the rows committed so far, with abortReason set.
+     */
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    public ReviewImportResult bulkImport(InputStream body) {
+        return importService.importNdjson(body);
+    }
+
     /**
      * Update an existing review.
+     * - New content that nearly duplicates another review, when configured to reject them -> 409 Conflict
      */
     @PutMapping("/{id}")
     public ReviewResponse update(@PathVariable UUID id, @Valid @RequestBody ReviewRequest in) {
@@ -89,6 +211,9 @@ public class ReviewsController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage());
         } catch (IllegalArgumentException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (NearDuplicateIndex.NearDuplicateException ex) {
+            // gastroreview.duplicates.action=reject
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage());
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Constraint violation: " + getRootCauseMessage(ex));
         }
@@ -3,6 +3,10 @@ package WebSiters.GastroReview.controller;
 import WebSiters.GastroReview.dto.TextAnalysisRequest;
 import WebSiters.GastroReview.dto.TextAnalysisResponse;
 import WebSiters.GastroReview.service.TextAnalysisService;
+import websiters.gastroreview.analysis.ReviewAnalysisPipeline;
+import websiters.gastroreview.analysis.ReviewRescoreJob;
+import websiters.gastroreview.dto.AnalysisPipelineStats;
+import websiters.gastroreview.dto.RescoreStatus;
 import jakarta.validation.Valid;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -21,9 +25,14 @@ import org.springframework.web.server.ResponseStatusException;
 public class TextAnalysisController {
 
     private final TextAnalysisService service;
+    private final ReviewAnalysisPipeline pipeline;
+    private final ReviewRescoreJob rescoreJob;
 
-    public TextAnalysisController(TextAnalysisService service) {
+    public TextAnalysisController(TextAnalysisService service, ReviewAnalysisPipeline pipeline,
+                                  ReviewRescoreJob rescoreJob) {
         this.service = service;
+        this.pipeline = pipeline;
+        this.rescoreJob = rescoreJob;
     }
 
     /**
@@ -39,6 +48,36 @@ public class TextAnalysisController {
         }
     }
 
+    /**
+     * Queue depth and throughput counters of the automatic review analysis pipeline.
+     */
+    @GetMapping("/pipeline")
+    public AnalysisPipelineStats pipelineStats() {
+        return pipeline.stats();
+    }
+
+    /**
+     * Re-score every review with the active analyzer, in the background.
+     * - A run already in progress -> 409 Conflict
+     */
+    @PostMapping("/rescore")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RescoreStatus rescore() {
+        try {
+            return rescoreJob.start();
+        } catch (IllegalStateException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage());
+        }
+    }
+
+    /**
+     * Progress of the latest re-scoring run.
+     */
+    @GetMapping("/rescore")
+    public RescoreStatus rescoreStatus() {
+        return rescoreJob.status();
+    }
+
     /**
      * Get a text analysis by id.
      */
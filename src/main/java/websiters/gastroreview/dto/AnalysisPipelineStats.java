@@ -0,0 +1,23 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Snapshot of the review analysis pipeline. Counters are totals since startup;
+ * rejected counts reviews turned away because the queue was full.
+ */
+@Value
+@Builder
+public class AnalysisPipelineStats {
+    String analyzer;
+    int workers;
+    int queueDepth;
+    int queueCapacity;
+    long enqueued;
+    long rejected;
+    long analyzed;
+    long failed;
+    long batches;
+    double avgBatchMillis;
+}
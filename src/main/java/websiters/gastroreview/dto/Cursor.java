@@ -0,0 +1,72 @@
+package websiters.gastroreview.dto;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row returned by a keyset (cursor) listing.
+ *
+ * Clients only see the opaque token produced by {@link #encode()}: a
+ * URL-safe Base64 string of "timestamp|id". The timestamp is the sort
+ * column (published_at / created_at) and the id breaks ties between rows
+ * with the same timestamp.
+ */
+@Value
+public class Cursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    OffsetDateTime timestamp;
+    String id;
+
+    public static Cursor of(OffsetDateTime timestamp, Object id) {
+        return new Cursor(timestamp, String.valueOf(id));
+    }
+
+    public String encode() {
+        String raw = timestamp.toInstant() + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously returned by {@link #encode()}.
+     * Throws IllegalArgumentException when the token is malformed.
+     */
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            OffsetDateTime ts = Instant.parse(raw.substring(0, sep)).atOffset(ZoneOffset.UTC);
+            return new Cursor(ts, raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public UUID uuidId() {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public Long longId() {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Response DTO for keyset (cursor) listings.
+ * Unlike Page, it carries no total count: the client keeps requesting with
+ * {@code after = nextCursor} while {@code hasNext} is true.
+ */
+@Value
+@Builder
+public class CursorPage<T> {
+    List<T> content;
+    int size;
+    boolean hasNext;
+    String nextCursor;
+
+    /**
+     * Build a cursor page from a repository slice. The cursor points at the
+     * last row of the slice and is only emitted when more rows exist.
+     */
+    public static <E, T> CursorPage<T> of(Slice<E> slice,
+                                          Function<E, T> mapper,
+                                          Function<E, Cursor> cursorOf) {
+        List<E> rows = slice.getContent();
+        String next = slice.hasNext() && !rows.isEmpty()
+                ? cursorOf.apply(rows.get(rows.size() - 1)).encode()
+                : null;
+
+        return CursorPage.<T>builder()
+                .content(rows.stream().map(mapper).toList())
+                .size(rows.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(next)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class FollowCountsResponse {
+    UUID userId;
+    int followers;
+    int following;
+}
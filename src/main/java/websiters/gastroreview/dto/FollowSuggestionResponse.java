@@ -0,0 +1,16 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * A user to follow; sharedConnections is how many of the requester's followed users follow them.
+ */
+@Value
+@Builder
+public class FollowSuggestionResponse {
+    UUID userId;
+    int sharedConnections;
+}
@@ -0,0 +1,17 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A restaurant found by a nearby search, with the coordinates of its primary
+ * address and the great-circle distance to the searched point.
+ */
+@Value
+@Builder
+public class NearbyRestaurantResponse {
+    RestaurantResponse restaurant;
+    double latitude;
+    double longitude;
+    double distanceKm;
+}
@@ -0,0 +1,23 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Progress of the latest full re-scoring run (POST /api/text-analysis/rescore).
+ */
+@Value
+@Builder
+public class RescoreStatus {
+    boolean running;
+    String analyzer;
+    int threads;
+    Instant startedAt;
+    Instant finishedAt;
+    long scanned;
+    long written;
+    long failed;
+    double reviewsPerSecond;
+}
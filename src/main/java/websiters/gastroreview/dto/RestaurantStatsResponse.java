@@ -0,0 +1,23 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregated review/rating figures of a restaurant.
+ * starHistogram holds the number of 1..5 star ratings (index 0 = 1 star).
+ * bayesianScore shrinks the mean towards the configured prior for restaurants with few ratings.
+ */
+@Value
+@Builder
+public class RestaurantStatsResponse {
+    UUID restaurantId;
+    long reviewCount;
+    long ratingCount;
+    List<Long> starHistogram;
+    Double mean;
+    double bayesianScore;
+}
@@ -0,0 +1,30 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk review import.
+ * errors lists rejected rows by their 1-based line number in the NDJSON body;
+ * only the first rows are reported when errorsTruncated is true.
+ * abortReason is set when a failure unrelated to the rows stopped the import early:
+ * imported then counts the rows committed before it, and the rest of the body was not read.
+ */
+@Value
+@Builder
+public class ReviewImportResult {
+    long received;
+    long imported;
+    long failed;
+    List<RowError> errors;
+    boolean errorsTruncated;
+    String abortReason;
+
+    @Value
+    public static class RowError {
+        long line;
+        String message;
+    }
+}
@@ -0,0 +1,15 @@
+package websiters.gastroreview.dto;
+
+import WebSiters.GastroReview.dto.ReviewResponse;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A review matched by full-text search with its BM25 relevance score (higher is better).
+ */
+@Value
+@Builder
+public class ReviewSearchResult {
+    ReviewResponse review;
+    double score;
+}
@@ -0,0 +1,20 @@
+package websiters.gastroreview.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Autocomplete suggestion. type is "restaurant" or "dish"; restaurantId is set for dishes.
+ * popularity is the number of reviews used for ranking.
+ */
+@Value
+@Builder
+public class SuggestionResponse {
+    String type;
+    UUID id;
+    String name;
+    UUID restaurantId;
+    long popularity;
+}
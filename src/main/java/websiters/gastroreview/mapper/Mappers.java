@@ -4,10 +4,16 @@ import websiters.gastroreview.dto.*;
 import websiters.gastroreview.model.*;
 
 
-import java.util.Optional;
+import java.util.List;
 
+/**
+ * Entity to response mapping. The field-by-field mappings are generated by MapStruct
+ * ({@link ResponseMapper}); the ones with logic of their own are written here.
+ */
 public final class Mappers {
 
+    private static final ResponseMapper GENERATED = org.mapstruct.factory.Mappers.getMapper(ResponseMapper.class);
+
     private Mappers() {
 
     }
@@ -41,87 +47,31 @@ public final class Mappers {
     }
 
     public static UserProfileResponse toResponse(UserProfile entity) {
-        if (entity == null) return null;
-
-        return UserProfileResponse.builder()
-                .user_Id(entity.getUserId())
-                .photo_Url(Optional.ofNullable(entity.getPhotoUrl()).orElse(""))
-                .name(Optional.ofNullable(entity.getName()).orElse(""))
-                .active(entity.isActive())
-                .createdAt(entity.getCreatedAt())
-                .bio(Optional.ofNullable(entity.getBio()).orElse(""))
-                .build();
+        return GENERATED.toResponse(entity);
     }
 
     public static RoleResponse toResponse(Role entity) {
-        if (entity == null) return null;
-
-        return RoleResponse.builder()
-                .id(entity.getId())
-                .name(Optional.ofNullable(entity.getName()).orElse(""))
-                .description(Optional.ofNullable(entity.getDescription()).orElse(""))
-                .build();
+        return GENERATED.toResponse(entity);
     }
 
     public static RestaurantResponse toResponse(Restaurant entity) {
-        if (entity == null) return null;
-
-        return RestaurantResponse.builder()
-                .id(entity.getId())
-                .name(Optional.ofNullable(entity.getName()).orElse(""))
-                .description(Optional.ofNullable(entity.getDescription()).orElse(""))
-                .phone(Optional.ofNullable(entity.getPhone()).orElse(""))
-                .email(Optional.ofNullable(entity.getEmail()).orElse(""))
-                .owner_Id(entity.getOwner() != null ? entity.getOwner().getId() : null)
-                .build();
+        return GENERATED.toResponse(entity);
     }
 
     public static AddressResponse toResponse(Address entity) {
-        if (entity == null) return null;
-
-        return new AddressResponse(
-                entity.getId(),
-                Optional.ofNullable(entity.getStreet()).orElse(""),
-                Optional.ofNullable(entity.getSite()).orElse(""),
-                Optional.ofNullable(entity.getNeighborhood()).orElse(""),
-                Optional.ofNullable(entity.getCity()).orElse(""),
-                Optional.ofNullable(entity.getStateRegion()).orElse(""),
-                entity.getPostalCode(),
-                Optional.ofNullable(entity.getCountry()).orElse(""),
-                entity.getLatitude(),
-                entity.getLongitude()
-        );
+        return GENERATED.toResponse(entity);
     }
 
     public static CategoryResponse toResponse(RestaurantCategory entity) {
-        if (entity == null) return null;
-
-        return CategoryResponse.builder()
-                .id(entity.getId())
-                .name(Optional.ofNullable(entity.getName()).orElse(""))
-                .icon(Optional.ofNullable(entity.getIcon()).orElse(""))
-                .build();
+        return GENERATED.toResponse(entity);
     }
 
     public static UserPreferenceResponse toResponse(UserPreference entity) {
-        if (entity == null) return null;
-
-        return new UserPreferenceResponse(
-                entity.getId(),
-                Optional.ofNullable(entity.getPrefKey()).orElse(""),
-                entity.getValue()
-        );
+        return GENERATED.toResponse(entity);
     }
 
     public static UserAchievementResponse toResponse(UserAchievement entity) {
-        if (entity == null) return null;
-
-        return new UserAchievementResponse(
-                entity.getId(),
-                Optional.ofNullable(entity.getBadge()).orElse(""),
-                Optional.ofNullable(entity.getLevel()).orElse(1),
-                Optional.ofNullable(entity.getStars()).orElse(0)
-        );
+        return GENERATED.toResponse(entity);
     }
 
     public static UserRoleResponse toResponse(UserRole entity) {
@@ -145,13 +95,21 @@ public final class Mappers {
     }
 
     public static RestaurantAddressResponse toResponse(RestaurantAddress entity) {
+        return GENERATED.toResponse(entity);
+    }
+
+    public static RestaurantStatsResponse toResponse(RestaurantStats entity, double priorMean, int priorWeight) {
         if (entity == null) return null;
 
-        return new RestaurantAddressResponse(
-                entity.getId().getRestaurantId(),
-                entity.getId().getAddressId(),
-                entity.isPrimary(),
-                Optional.ofNullable(entity.getBranchName()).orElse("")
-        );
+        long n = entity.getRatingCount();
+        return RestaurantStatsResponse.builder()
+                .restaurantId(entity.getRestaurantId())
+                .reviewCount(entity.getReviewCount())
+                .ratingCount(n)
+                .starHistogram(List.of(entity.getStars1(), entity.getStars2(), entity.getStars3(),
+                        entity.getStars4(), entity.getStars5()))
+                .mean(n > 0 ? (double) entity.getStarsSum() / n : null)
+                .bayesianScore((priorWeight * priorMean + entity.getStarsSum()) / (priorWeight + n))
+                .build();
     }
 }
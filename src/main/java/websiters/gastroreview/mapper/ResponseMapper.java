@@ -0,0 +1,64 @@
+package websiters.gastroreview.mapper;
+
+import websiters.gastroreview.dto.*;
+import websiters.gastroreview.model.*;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Entity to response mappings generated at compile time by MapStruct
+ * ({@code ResponseMapperImpl}). Null text fields default to "" with a plain null check,
+ * so a mapped row allocates the response (and its builder) and nothing else.
+ * Used through {@link Mappers}.
+ */
+@Mapper
+interface ResponseMapper {
+
+    @Mapping(target = "user_Id", source = "userId")
+    @Mapping(target = "photo_Url", source = "photoUrl", defaultValue = "")
+    @Mapping(target = "name", defaultValue = "")
+    @Mapping(target = "bio", defaultValue = "")
+    UserProfileResponse toResponse(UserProfile entity);
+
+    @Mapping(target = "name", defaultValue = "")
+    @Mapping(target = "description", defaultValue = "")
+    RoleResponse toResponse(Role entity);
+
+    @Mapping(target = "name", defaultValue = "")
+    @Mapping(target = "description", defaultValue = "")
+    @Mapping(target = "phone", defaultValue = "")
+    @Mapping(target = "email", defaultValue = "")
+    @Mapping(target = "owner_Id", source = "owner.id")
+    RestaurantResponse toResponse(Restaurant entity);
+
+    @Mapping(target = "street", defaultValue = "")
+    @Mapping(target = "site", defaultValue = "")
+    @Mapping(target = "neighborhood", defaultValue = "")
+    @Mapping(target = "city", defaultValue = "")
+    @Mapping(target = "state_region", source = "stateRegion", defaultValue = "")
+    @Mapping(target = "postal_code", source = "postalCode")
+    @Mapping(target = "country", defaultValue = "")
+    AddressResponse toResponse(Address entity);
+
+    @Mapping(target = "name", defaultValue = "")
+    @Mapping(target = "icon", defaultValue = "")
+    CategoryResponse toResponse(RestaurantCategory entity);
+
+    // the jsonb map is handed over as is, not copied
+    @Mapping(target = "pref_key", source = "prefKey", defaultValue = "")
+    @Mapping(target = "value", expression = "java(entity.getValue())")
+    UserPreferenceResponse toResponse(UserPreference entity);
+
+    @Mapping(target = "badge", defaultValue = "")
+    @Mapping(target = "level", defaultValue = "1")
+    @Mapping(target = "stars", defaultValue = "0")
+    UserAchievementResponse toResponse(UserAchievement entity);
+
+    @Mapping(target = "restaurant_Id", source = "id.restaurantId")
+    @Mapping(target = "address_Id", source = "id.addressId")
+    @Mapping(target = "is_primary", source = "primary")
+    // Lombok names the setter of the boolean is_primary set_primary(..), a second target property
+    @Mapping(target = "_primary", ignore = true)
+    @Mapping(target = "branch_name", source = "branchName", defaultValue = "")
+    RestaurantAddressResponse toResponse(RestaurantAddress entity);
+}
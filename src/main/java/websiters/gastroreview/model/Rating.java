@@ -13,7 +13,12 @@ import java.time.OffsetDateTime;
 @Entity
 @Table(
     name = "ratings",
-    uniqueConstraints = @UniqueConstraint(name = "uq_ratings_review_user", columnNames = {"review_id", "user_id"})
+    uniqueConstraints = @UniqueConstraint(name = "uq_ratings_review_user", columnNames = {"review_id", "user_id"}),
+    indexes = {
+        @Index(name = "idx_ratings_review_created_id", columnList = "review_id, created_at, id"),
+        @Index(name = "idx_ratings_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_ratings_created_id", columnList = "created_at, id")
+    }
 )
 @Getter
 @Setter
@@ -31,7 +36,7 @@ public class Rating {
      * We expect Review entity to exist.
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "review_id", nullable = false)
+    @JoinColumn(name = "review_id", nullable = false, foreignKey = @ForeignKey(name = "ratings_review_id_fkey"))
     @NotNull
     private Review review;
 
@@ -39,7 +44,7 @@ public class Rating {
      * Many-to-one relation to Users (the user who rated).
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "ratings_user_id_fkey"))
     @NotNull
     private Users user;
 
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "restaurant_address")
+@Table(name = "restaurant_address",
+        indexes = @Index(name = "idx_restaurant_address_address_id", columnList = "address_id"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class RestaurantAddress {
 
@@ -2,11 +2,15 @@ package websiters.gastroreview.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurant-categories")
 @Table(name = "restaurant_categories")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class RestaurantCategory {
@@ -0,0 +1,51 @@
+package websiters.gastroreview.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Denormalized rating aggregates per restaurant ("restaurant_stats").
+ *
+ * Maintained incrementally by RestaurantStatsService in the same transaction
+ * as review/rating writes, and re-derived periodically by the reconciliation job.
+ * Mean and Bayesian score are derived from these counters when read.
+ */
+@Entity
+@Table(name = "restaurant_stats")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RestaurantStats {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "restaurant_id")
+    private UUID restaurantId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "stars_sum", nullable = false)
+    private long starsSum;
+
+    @Column(name = "stars_1", nullable = false) private long stars1;
+    @Column(name = "stars_2", nullable = false) private long stars2;
+    @Column(name = "stars_3", nullable = false) private long stars3;
+    @Column(name = "stars_4", nullable = false) private long stars4;
+    @Column(name = "stars_5", nullable = false) private long stars5;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = OffsetDateTime.now();
+    }
+}
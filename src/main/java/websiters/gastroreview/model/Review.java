@@ -14,7 +14,14 @@ import java.util.UUID;
  * Now uses ManyToOne relations for user, restaurant and (nullable) dish.
  */
 @Entity
-@Table(name = "reviews")
+@Table(
+    name = "reviews",
+    indexes = {
+        @Index(name = "idx_reviews_published_id", columnList = "published_at, id"),
+        @Index(name = "idx_reviews_restaurant_published_id", columnList = "restaurant_id, published_at, id"),
+        @Index(name = "idx_reviews_user_published_id", columnList = "user_id, published_at, id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,7 +38,7 @@ public class Review {
      * Cascade is not used because we don't want to create/update users from reviews.
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "reviews_user_id_fkey"))
     @NotNull
     private Users user;
 
@@ -39,7 +46,7 @@ public class Review {
      * Many-to-one relation to Restaurant.
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "restaurant_id", nullable = false)
+    @JoinColumn(name = "restaurant_id", nullable = false, foreignKey = @ForeignKey(name = "reviews_restaurant_id_fkey"))
     @NotNull
     private Restaurant restaurant;
 
@@ -48,7 +55,7 @@ public class Review {
      * ON DELETE SET NULL semantics are handled by the DB; here we keep the relation nullable.
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "dish_id")
+    @JoinColumn(name = "dish_id", foreignKey = @ForeignKey(name = "reviews_dish_id_fkey"))
     private Dish dish;
 
     @Column(name = "title")
@@ -66,9 +73,21 @@ public class Review {
     @Column(name = "published_at", nullable = false)
     private OffsetDateTime publishedAt;
 
+    /**
+     * Time of the last edit; null for reviews never changed since publication.
+     * The analysis sweep re-scores reviews whose analysis is older than this.
+     */
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
     @PrePersist
     public void prePersist() {
         if (id == null) id = UUID.randomUUID();
         if (publishedAt == null) publishedAt = OffsetDateTime.now();
     }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = OffsetDateTime.now();
+    }
 }
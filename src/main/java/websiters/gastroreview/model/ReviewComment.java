@@ -24,7 +24,10 @@ import java.util.UUID;
  * This entity uses relations to Review, Users and to itself (parent).
  */
 @Entity
-@Table(name = "review_comments")
+@Table(
+    name = "review_comments",
+    indexes = @Index(name = "idx_review_comments_review_published_id", columnList = "review_id, published_at, id")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,7 +43,7 @@ public class ReviewComment {
      * Many-to-one to Review (the reviewed item).
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "review_id", nullable = false)
+    @JoinColumn(name = "review_id", nullable = false, foreignKey = @ForeignKey(name = "review_comments_review_id_fkey"))
     @NotNull
     private Review review;
 
@@ -48,7 +51,7 @@ public class ReviewComment {
      * Many-to-one to Users (author of the comment).
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "author_id", nullable = false)
+    @JoinColumn(name = "author_id", nullable = false, foreignKey = @ForeignKey(name = "review_comments_author_id_fkey"))
     @NotNull
     private Users author;
 
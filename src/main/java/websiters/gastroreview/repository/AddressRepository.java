@@ -1,10 +1,18 @@
 package websiters.gastroreview.repository;
 
+import websiters.gastroreview.dto.AddressResponse;
 import websiters.gastroreview.model.Address;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface AddressRepository extends JpaRepository<Address, UUID> {
 
@@ -16,6 +24,131 @@ public interface AddressRepository extends JpaRepository<Address, UUID> {
 
     Page<Address> findByCityIgnoreCaseAndCountryIgnoreCase(String city, String country, Pageable pageable);
 
+    /*
+     * DTO projections for the paged listings: only the AddressResponse columns, with
+     * the same empty-string defaults as Mappers.toResponse.
+     */
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+    """, countQuery = "SELECT COUNT(a) FROM Address a")
+    Page<AddressResponse> findResponses(Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.city) = LOWER(:city)
+    """, countQuery = "SELECT COUNT(a) FROM Address a WHERE LOWER(a.city) = LOWER(:city)")
+    Page<AddressResponse> findResponsesByCity(@Param("city") String city, Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.country) = LOWER(:country)
+    """, countQuery = "SELECT COUNT(a) FROM Address a WHERE LOWER(a.country) = LOWER(:country)")
+    Page<AddressResponse> findResponsesByCountry(@Param("country") String country, Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.street) LIKE LOWER(CONCAT('%', :street, '%'))
+    """, countQuery = "SELECT COUNT(a) FROM Address a WHERE LOWER(a.street) LIKE LOWER(CONCAT('%', :street, '%'))")
+    Page<AddressResponse> findResponsesByStreetContaining(@Param("street") String street, Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.city) = LOWER(:city) AND LOWER(a.country) = LOWER(:country)
+    """, countQuery = """
+        SELECT COUNT(a) FROM Address a
+        WHERE LOWER(a.city) = LOWER(:city) AND LOWER(a.country) = LOWER(:country)
+    """)
+    Page<AddressResponse> findResponsesByCityAndCountry(@Param("city") String city,
+                                                        @Param("country") String country,
+                                                        Pageable pageable);
+
+    /*
+     * The same projections as forward-only streams for the streaming list endpoint
+     * (no COUNT query).
+     */
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+    """)
+    Stream<AddressResponse> streamResponses(Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.city) = LOWER(:city)
+    """)
+    Stream<AddressResponse> streamResponsesByCity(@Param("city") String city, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.country) = LOWER(:country)
+    """)
+    Stream<AddressResponse> streamResponsesByCountry(@Param("country") String country, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.city) = LOWER(:city) AND LOWER(a.country) = LOWER(:country)
+    """)
+    Stream<AddressResponse> streamResponsesByCityAndCountry(@Param("city") String city,
+                                                            @Param("country") String country,
+                                                            Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new websiters.gastroreview.dto.AddressResponse(
+            a.id, a.street, COALESCE(a.site, ''), COALESCE(a.neighborhood, ''), COALESCE(a.city, ''),
+            COALESCE(a.stateRegion, ''), a.postalCode, a.country, a.latitude, a.longitude)
+        FROM Address a
+        WHERE LOWER(a.street) LIKE LOWER(CONCAT('%', :street, '%'))
+    """)
+    Stream<AddressResponse> streamResponsesByStreetContaining(@Param("street") String street, Pageable pageable);
+
     boolean existsByStreetIgnoreCaseAndCityIgnoreCaseAndPostalCode(
             String street, String city, Integer postalCode);
 }
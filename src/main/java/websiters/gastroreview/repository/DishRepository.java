@@ -4,8 +4,12 @@ import WebSiters.GastroReview.model.Dish;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -15,4 +19,16 @@ public interface DishRepository extends JpaRepository<Dish, UUID> {
     // find by restaurant id using property path
     Page<Dish> findByRestaurant_Id(UUID restaurantId, Pageable pageable);
     List<Dish> findByRestaurant_Id(UUID restaurantId);
+
+    // id-only lookup used to validate that a dish belongs to a restaurant without loading it
+    @Query("SELECT d.restaurant.id FROM Dish d WHERE d.id = :id")
+    Optional<UUID> findRestaurantIdById(@Param("id") UUID id);
+
+    // rows of [id, name, restaurantId] for the autocomplete index
+    @Query("SELECT d.id, d.name, d.restaurant.id FROM Dish d")
+    List<Object[]> findAllNames();
+
+    // set-based variant for bulk imports: rows of [dishId, restaurantId]
+    @Query("SELECT d.id, d.restaurant.id FROM Dish d WHERE d.id IN :ids")
+    List<Object[]> findRestaurantIdsByIdIn(@Param("ids") Collection<UUID> ids);
 }
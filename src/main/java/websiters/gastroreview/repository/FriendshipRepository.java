@@ -2,10 +2,17 @@ package websiters.gastroreview.repository;
 
 import websiters.gastroreview.model.Friendship;
 import websiters.gastroreview.model.FriendshipId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface FriendshipRepository extends JpaRepository<Friendship, FriendshipId> {
 
@@ -14,4 +21,21 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Friendsh
     List<Friendship> findById_FollowedId(UUID followedId);
 
     boolean existsById_FollowerIdAndId_FollowedId(UUID followerId, UUID followedId);
+
+    // used by FriendshipService until the social graph has been loaded
+    Page<Friendship> findById_FollowerId(UUID followerId, Pageable pageable);
+
+    Page<Friendship> findById_FollowedId(UUID followedId, Pageable pageable);
+
+    long countById_FollowerId(UUID followerId);
+
+    long countById_FollowedId(UUID followedId);
+
+    // rows of [followerId, followedId, createdAt] for the in-memory social graph
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f.id.followerId, f.id.followedId, f.createdAt FROM Friendship f")
+    Stream<Object[]> streamEdges();
 }
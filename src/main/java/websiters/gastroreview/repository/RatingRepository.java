@@ -1,12 +1,21 @@
 package WebSiters.GastroReview.repository;
 
+import WebSiters.GastroReview.dto.RatingResponse;
 import WebSiters.GastroReview.model.Rating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Rating entity.
@@ -16,6 +25,121 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     Page<Rating> findByReview_Id(UUID reviewId, Pageable pageable);
     Page<Rating> findByUser_Id(UUID userId, Pageable pageable);
 
+    /*
+     * DTO projections for the paged read endpoints (no entity hydration).
+     */
+
+    @Query(value = """
+        SELECT new WebSiters.GastroReview.dto.RatingResponse(
+            r.id, r.review.id, r.user.id, r.stars, r.points, r.createdAt)
+        FROM Rating r
+    """, countQuery = "SELECT COUNT(r) FROM Rating r")
+    Page<RatingResponse> findResponses(Pageable pageable);
+
+    @Query(value = """
+        SELECT new WebSiters.GastroReview.dto.RatingResponse(
+            r.id, r.review.id, r.user.id, r.stars, r.points, r.createdAt)
+        FROM Rating r
+        WHERE r.review.id = :reviewId
+    """, countQuery = "SELECT COUNT(r) FROM Rating r WHERE r.review.id = :reviewId")
+    Page<RatingResponse> findResponsesByReviewId(@Param("reviewId") UUID reviewId, Pageable pageable);
+
+    @Query(value = """
+        SELECT new WebSiters.GastroReview.dto.RatingResponse(
+            r.id, r.review.id, r.user.id, r.stars, r.points, r.createdAt)
+        FROM Rating r
+        WHERE r.user.id = :userId
+    """, countQuery = "SELECT COUNT(r) FROM Rating r WHERE r.user.id = :userId")
+    Page<RatingResponse> findResponsesByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    /*
+     * The same projections as forward-only streams for the streaming list endpoints
+     * (no COUNT query).
+     */
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.RatingResponse(
+            r.id, r.review.id, r.user.id, r.stars, r.points, r.createdAt)
+        FROM Rating r
+    """)
+    Stream<RatingResponse> streamResponses(Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.RatingResponse(
+            r.id, r.review.id, r.user.id, r.stars, r.points, r.createdAt)
+        FROM Rating r
+        WHERE r.review.id = :reviewId
+    """)
+    Stream<RatingResponse> streamResponsesByReviewId(@Param("reviewId") UUID reviewId, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.RatingResponse(
+            r.id, r.review.id, r.user.id, r.stars, r.points, r.createdAt)
+        FROM Rating r
+        WHERE r.user.id = :userId
+    """)
+    Stream<RatingResponse> streamResponsesByUserId(@Param("userId") UUID userId, Pageable pageable);
+
     // Check if a rating by the same user for the same review already exists
     Optional<Rating> findByReview_IdAndUser_Id(UUID reviewId, UUID userId);
+
+    /*
+     * Keyset (cursor) pagination: newest first, ordered by (created_at, id).
+     */
+
+    Slice<Rating> findByReview_IdOrderByCreatedAtDescIdDesc(UUID reviewId, Pageable pageable);
+
+    @Query("""
+        SELECT r FROM Rating r
+        WHERE r.review.id = :reviewId
+          AND (r.createdAt < :createdAt
+               OR (r.createdAt = :createdAt AND r.id < :id))
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    Slice<Rating> findByReviewAfter(@Param("reviewId") UUID reviewId,
+                                    @Param("createdAt") OffsetDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    Slice<Rating> findByUser_IdOrderByCreatedAtDescIdDesc(UUID userId, Pageable pageable);
+
+    @Query("""
+        SELECT r FROM Rating r
+        WHERE r.user.id = :userId
+          AND (r.createdAt < :createdAt
+               OR (r.createdAt = :createdAt AND r.id < :id))
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    Slice<Rating> findByUserAfter(@Param("userId") UUID userId,
+                                  @Param("createdAt") OffsetDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+
+    /*
+     * Forward-only streams for exports, oldest first on (created_at, id).
+     */
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Rating> streamAllByOrderByCreatedAtAscIdAsc();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Rating> streamByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(OffsetDateTime since);
 }
@@ -2,7 +2,10 @@ package websiters.gastroreview.repository;
 
 import websiters.gastroreview.model.RestaurantAddress;
 import websiters.gastroreview.model.RestaurantAddressId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,9 +17,22 @@ public interface RestaurantAddressRepository extends JpaRepository<RestaurantAdd
 
     List<RestaurantAddress> findByRestaurantId(UUID restaurantId);
 
+    Page<RestaurantAddress> findByRestaurantId(UUID restaurantId, Pageable pageable);
+
     List<RestaurantAddress> findByAddressId(UUID addressId);
 
     List<RestaurantAddress> findByIsPrimaryTrue();
 
     boolean existsByRestaurantIdAndAddressId(UUID restaurantId, UUID addressId);
+
+    // rows of [restaurantId, latitude, longitude] for the geo index
+    @Query("""
+        SELECT ra.id.restaurantId, a.latitude, a.longitude
+        FROM RestaurantAddress ra
+        JOIN ra.address a
+        WHERE ra.isPrimary = TRUE
+          AND a.latitude IS NOT NULL
+          AND a.longitude IS NOT NULL
+    """)
+    List<Object[]> findPrimaryLocations();
 }
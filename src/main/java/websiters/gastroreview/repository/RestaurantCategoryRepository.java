@@ -1,9 +1,15 @@
 package websiters.gastroreview.repository;
 
 import websiters.gastroreview.model.RestaurantCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface RestaurantCategoryRepository extends JpaRepository<RestaurantCategory, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByNameIgnoreCase(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByNameIgnoreCaseAndIdNot(String name, Integer id);
 }
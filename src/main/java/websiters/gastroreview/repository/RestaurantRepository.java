@@ -1,28 +1,197 @@
 package websiters.gastroreview.repository;
 
+import websiters.gastroreview.dto.RestaurantResponse;
 import websiters.gastroreview.model.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
 
-    List<Restaurant> findByNameContainingIgnoreCase(String name);
+    Page<Restaurant> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByNameIgnoreCase(String name);
 
-    List<Restaurant> findByOwner_Id(UUID ownerId);
+    Page<Restaurant> findByOwner_Id(UUID ownerId, Pageable pageable);
 
-    @Query("""
-        SELECT DISTINCT r
+    /*
+     * DTO projections for the paged listings: only the RestaurantResponse columns, with
+     * the same empty-string defaults as Mappers.toResponse.
+     */
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.RestaurantResponse(
+            r.id, r.name, COALESCE(r.description, ''), COALESCE(r.phone, ''), COALESCE(r.email, ''), o.id)
+        FROM Restaurant r LEFT JOIN r.owner o
+    """, countQuery = "SELECT COUNT(r) FROM Restaurant r")
+    Page<RestaurantResponse> findResponses(Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.RestaurantResponse(
+            r.id, r.name, COALESCE(r.description, ''), COALESCE(r.phone, ''), COALESCE(r.email, ''), o.id)
+        FROM Restaurant r LEFT JOIN r.owner o
+        WHERE LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))
+    """, countQuery = "SELECT COUNT(r) FROM Restaurant r WHERE LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<RestaurantResponse> findResponsesByNameContaining(@Param("name") String name, Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.RestaurantResponse(
+            r.id, r.name, COALESCE(r.description, ''), COALESCE(r.phone, ''), COALESCE(r.email, ''), o.id)
+        FROM Restaurant r LEFT JOIN r.owner o
+        WHERE o.id = :ownerId
+    """, countQuery = "SELECT COUNT(r) FROM Restaurant r WHERE r.owner.id = :ownerId")
+    Page<RestaurantResponse> findResponsesByOwnerId(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    // rows of [id, name] for the autocomplete index
+    @Query("SELECT r.id, r.name FROM Restaurant r")
+    List<Object[]> findAllNames();
+
+    // set-based existence check used by bulk imports
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = """
+        SELECT r
         FROM Restaurant r
-        JOIN RestaurantAddress ra ON ra.restaurant = r
-        JOIN Address a ON a = ra.address
-        WHERE LOWER(a.city) = LOWER(:city)
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantAddress ra
+            JOIN ra.address a
+            WHERE ra.restaurant = r
+              AND LOWER(a.city) = LOWER(:city)
+        )
+    """, countQuery = """
+        SELECT COUNT(r)
+        FROM Restaurant r
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantAddress ra
+            JOIN ra.address a
+            WHERE ra.restaurant = r
+              AND LOWER(a.city) = LOWER(:city)
+        )
+    """)
+    Page<Restaurant> findByCityIgnoreCase(@Param("city") String city, Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.RestaurantResponse(
+            r.id, r.name, COALESCE(r.description, ''), COALESCE(r.phone, ''), COALESCE(r.email, ''), o.id)
+        FROM Restaurant r LEFT JOIN r.owner o
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantAddress ra
+            JOIN ra.address a
+            WHERE ra.restaurant = r
+              AND LOWER(a.city) = LOWER(:city)
+        )
+    """, countQuery = """
+        SELECT COUNT(r)
+        FROM Restaurant r
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantAddress ra
+            JOIN ra.address a
+            WHERE ra.restaurant = r
+              AND LOWER(a.city) = LOWER(:city)
+        )
+    """)
+    Page<RestaurantResponse> findResponsesByCity(@Param("city") String city, Pageable pageable);
+
+    /*
+     * Listings of the restaurants open at a weekday (0 = Sunday) and time of day in the
+     * schedules' zone (see ScheduleClock): a window covers [openTime, closeTime), and
+     * special rows replace the regular ones on their weekday.
+     */
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.RestaurantResponse(
+            r.id, r.name, COALESCE(r.description, ''), COALESCE(r.phone, ''), COALESCE(r.email, ''), o.id)
+        FROM Restaurant r LEFT JOIN r.owner o
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantSchedule s
+            WHERE s.restaurant = r
+              AND s.weekday = :weekday
+              AND s.openTime <= :time AND s.closeTime > :time
+              AND (s.special = TRUE OR NOT EXISTS (
+                  SELECT 1 FROM RestaurantSchedule x
+                  WHERE x.restaurant = r AND x.weekday = :weekday AND x.special = TRUE))
+        )
+    """, countQuery = """
+        SELECT COUNT(r)
+        FROM Restaurant r
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantSchedule s
+            WHERE s.restaurant = r
+              AND s.weekday = :weekday
+              AND s.openTime <= :time AND s.closeTime > :time
+              AND (s.special = TRUE OR NOT EXISTS (
+                  SELECT 1 FROM RestaurantSchedule x
+                  WHERE x.restaurant = r AND x.weekday = :weekday AND x.special = TRUE))
+        )
+    """)
+    Page<RestaurantResponse> findResponsesOpenAt(@Param("weekday") int weekday,
+                                                 @Param("time") LocalTime time,
+                                                 Pageable pageable);
+
+    @Query(value = """
+        SELECT new websiters.gastroreview.dto.RestaurantResponse(
+            r.id, r.name, COALESCE(r.description, ''), COALESCE(r.phone, ''), COALESCE(r.email, ''), o.id)
+        FROM Restaurant r LEFT JOIN r.owner o
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantAddress ra
+            JOIN ra.address a
+            WHERE ra.restaurant = r
+              AND LOWER(a.city) = LOWER(:city)
+        )
+        AND EXISTS (
+            SELECT 1
+            FROM RestaurantSchedule s
+            WHERE s.restaurant = r
+              AND s.weekday = :weekday
+              AND s.openTime <= :time AND s.closeTime > :time
+              AND (s.special = TRUE OR NOT EXISTS (
+                  SELECT 1 FROM RestaurantSchedule x
+                  WHERE x.restaurant = r AND x.weekday = :weekday AND x.special = TRUE))
+        )
+    """, countQuery = """
+        SELECT COUNT(r)
+        FROM Restaurant r
+        WHERE EXISTS (
+            SELECT 1
+            FROM RestaurantAddress ra
+            JOIN ra.address a
+            WHERE ra.restaurant = r
+              AND LOWER(a.city) = LOWER(:city)
+        )
+        AND EXISTS (
+            SELECT 1
+            FROM RestaurantSchedule s
+            WHERE s.restaurant = r
+              AND s.weekday = :weekday
+              AND s.openTime <= :time AND s.closeTime > :time
+              AND (s.special = TRUE OR NOT EXISTS (
+                  SELECT 1 FROM RestaurantSchedule x
+                  WHERE x.restaurant = r AND x.weekday = :weekday AND x.special = TRUE))
+        )
     """)
-    List<Restaurant> findByCityIgnoreCase(@Param("city") String city);
+    Page<RestaurantResponse> findResponsesByCityOpenAt(@Param("city") String city,
+                                                       @Param("weekday") int weekday,
+                                                       @Param("time") LocalTime time,
+                                                       Pageable pageable);
 
     @Query("""
         SELECT DISTINCT r
@@ -0,0 +1,152 @@
+package websiters.gastroreview.repository;
+
+import websiters.gastroreview.model.RestaurantStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RestaurantStatsRepository extends JpaRepository<RestaurantStats, UUID> {
+
+    List<RestaurantStats> findByRestaurantIdIn(Collection<UUID> restaurantIds);
+
+    /**
+     * Every row, locked (SELECT ... FOR UPDATE) in key order until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RestaurantStats s ORDER BY s.restaurantId")
+    List<RestaurantStats> findAllForUpdate();
+
+    /**
+     * Create the row unless another transaction already did (or is doing it: the
+     * INSERT waits for that one to end). Returns 0 when the row was already there.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO restaurant_stats (restaurant_id, review_count, rating_count, stars_sum,
+                                      stars_1, stars_2, stars_3, stars_4, stars_5, updated_at)
+        VALUES (:restaurantId, :reviews, :ratings, :starsSum, :s1, :s2, :s3, :s4, :s5, :now)
+        ON CONFLICT (restaurant_id) DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("restaurantId") UUID restaurantId,
+                       @Param("reviews") long reviews,
+                       @Param("ratings") long ratings,
+                       @Param("starsSum") long starsSum,
+                       @Param("s1") long s1,
+                       @Param("s2") long s2,
+                       @Param("s3") long s3,
+                       @Param("s4") long s4,
+                       @Param("s5") long s5,
+                       @Param("now") OffsetDateTime now);
+
+    /**
+     * Apply counter deltas in place (single UPDATE, no read-modify-write).
+     * Returns 0 when the restaurant has no stats row yet.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE RestaurantStats s
+        SET s.reviewCount = s.reviewCount + :reviews,
+            s.ratingCount = s.ratingCount + :ratings,
+            s.starsSum = s.starsSum + :starsSum,
+            s.stars1 = s.stars1 + :s1,
+            s.stars2 = s.stars2 + :s2,
+            s.stars3 = s.stars3 + :s3,
+            s.stars4 = s.stars4 + :s4,
+            s.stars5 = s.stars5 + :s5,
+            s.updatedAt = :now
+        WHERE s.restaurantId = :restaurantId
+    """)
+    int applyDelta(@Param("restaurantId") UUID restaurantId,
+                   @Param("reviews") long reviews,
+                   @Param("ratings") long ratings,
+                   @Param("starsSum") long starsSum,
+                   @Param("s1") long s1,
+                   @Param("s2") long s2,
+                   @Param("s3") long s3,
+                   @Param("s4") long s4,
+                   @Param("s5") long s5,
+                   @Param("now") OffsetDateTime now);
+
+    /**
+     * Same as {@link #applyDelta} for the restaurant of a review, resolved in a subquery.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE RestaurantStats s
+        SET s.reviewCount = s.reviewCount + :reviews,
+            s.ratingCount = s.ratingCount + :ratings,
+            s.starsSum = s.starsSum + :starsSum,
+            s.stars1 = s.stars1 + :s1,
+            s.stars2 = s.stars2 + :s2,
+            s.stars3 = s.stars3 + :s3,
+            s.stars4 = s.stars4 + :s4,
+            s.stars5 = s.stars5 + :s5,
+            s.updatedAt = :now
+        WHERE s.restaurantId = (SELECT r.restaurant.id FROM Review r WHERE r.id = :reviewId)
+    """)
+    int applyDeltaForReview(@Param("reviewId") UUID reviewId,
+                            @Param("reviews") long reviews,
+                            @Param("ratings") long ratings,
+                            @Param("starsSum") long starsSum,
+                            @Param("s1") long s1,
+                            @Param("s2") long s2,
+                            @Param("s3") long s3,
+                            @Param("s4") long s4,
+                            @Param("s5") long s5,
+                            @Param("now") OffsetDateTime now);
+
+    @Query("SELECT r.restaurant.id FROM Review r WHERE r.id = :reviewId")
+    Optional<UUID> findRestaurantIdOfReview(@Param("reviewId") UUID reviewId);
+
+    /* ---------- aggregates used to (re)build rows from the source tables ---------- */
+
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.restaurant.id = :restaurantId")
+    long countReviews(@Param("restaurantId") UUID restaurantId);
+
+    /**
+     * Rows of [stars, count] for the ratings of every review of the restaurant.
+     */
+    @Query("""
+        SELECT ra.stars, COUNT(ra)
+        FROM Rating ra
+        WHERE ra.review.restaurant.id = :restaurantId
+        GROUP BY ra.stars
+    """)
+    List<Object[]> starHistogram(@Param("restaurantId") UUID restaurantId);
+
+    /**
+     * Rows of [stars, count] for the ratings of a single review.
+     */
+    @Query("""
+        SELECT ra.stars, COUNT(ra)
+        FROM Rating ra
+        WHERE ra.review.id = :reviewId
+        GROUP BY ra.stars
+    """)
+    List<Object[]> starHistogramOfReview(@Param("reviewId") UUID reviewId);
+
+    /**
+     * Rows of [restaurantId, count] over the whole reviews table.
+     */
+    @Query("SELECT r.restaurant.id, COUNT(r) FROM Review r GROUP BY r.restaurant.id")
+    List<Object[]> countReviewsByRestaurant();
+
+    /**
+     * Rows of [restaurantId, stars, count] over the whole ratings table.
+     */
+    @Query("""
+        SELECT ra.review.restaurant.id, ra.stars, COUNT(ra)
+        FROM Rating ra
+        GROUP BY ra.review.restaurant.id, ra.stars
+    """)
+    List<Object[]> starHistogramByRestaurant();
+}
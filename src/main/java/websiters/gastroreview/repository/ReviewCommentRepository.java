@@ -1,12 +1,21 @@
 package WebSiters.GastroReview.repository;
 
+import WebSiters.GastroReview.dto.ReviewCommentResponse;
 import WebSiters.GastroReview.model.ReviewComment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for ReviewComment entity.
@@ -18,4 +27,62 @@ public interface ReviewCommentRepository extends JpaRepository<ReviewComment, ja
 
     Page<ReviewComment> findByAuthor_Id(UUID authorId, Pageable pageable);
     List<ReviewComment> findByAuthor_Id(UUID authorId);
+
+    /*
+     * DTO projections as forward-only streams for the streaming list endpoint
+     * (no entity hydration, no COUNT query).
+     */
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.ReviewCommentResponse(
+            c.id, c.review.id, c.author.id, c.content, c.publishedAt)
+        FROM ReviewComment c
+    """)
+    Stream<ReviewCommentResponse> streamResponses(Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.ReviewCommentResponse(
+            c.id, c.review.id, c.author.id, c.content, c.publishedAt)
+        FROM ReviewComment c
+        WHERE c.review.id = :reviewId
+    """)
+    Stream<ReviewCommentResponse> streamResponsesByReviewId(@Param("reviewId") UUID reviewId, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.ReviewCommentResponse(
+            c.id, c.review.id, c.author.id, c.content, c.publishedAt)
+        FROM ReviewComment c
+        WHERE c.author.id = :authorId
+    """)
+    Stream<ReviewCommentResponse> streamResponsesByAuthorId(@Param("authorId") UUID authorId, Pageable pageable);
+
+    /*
+     * Keyset (cursor) pagination of a review thread: oldest first, ordered by (published_at, id).
+     */
+
+    Slice<ReviewComment> findByReview_IdOrderByPublishedAtAscIdAsc(UUID reviewId, Pageable pageable);
+
+    @Query("""
+        SELECT c FROM ReviewComment c
+        WHERE c.review.id = :reviewId
+          AND (c.publishedAt > :publishedAt
+               OR (c.publishedAt = :publishedAt AND c.id > :id))
+        ORDER BY c.publishedAt ASC, c.id ASC
+    """)
+    Slice<ReviewComment> findByReviewAfter(@Param("reviewId") UUID reviewId,
+                                           @Param("publishedAt") OffsetDateTime publishedAt,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
 }
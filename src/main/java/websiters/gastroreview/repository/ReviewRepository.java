@@ -1,12 +1,22 @@
 package WebSiters.GastroReview.repository;
 
+import WebSiters.GastroReview.dto.ReviewResponse;
 import WebSiters.GastroReview.model.Review;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Review entity.
@@ -20,4 +30,211 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
     Page<Review> findByDish_Id(UUID dishId, Pageable pageable);
     List<Review> findByDish_Id(UUID dishId);
+
+    /*
+     * DTO projections for the paged read endpoints: select only the ReviewResponse
+     * columns, so no entities are hydrated, snapshotted or kept in the persistence context.
+     */
+
+    @Query(value = """
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, d.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r LEFT JOIN r.dish d
+    """, countQuery = "SELECT COUNT(r) FROM Review r")
+    Page<ReviewResponse> findResponses(Pageable pageable);
+
+    @Query(value = """
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, d.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r LEFT JOIN r.dish d
+        WHERE r.restaurant.id = :restaurantId
+    """, countQuery = "SELECT COUNT(r) FROM Review r WHERE r.restaurant.id = :restaurantId")
+    Page<ReviewResponse> findResponsesByRestaurantId(@Param("restaurantId") UUID restaurantId, Pageable pageable);
+
+    @Query(value = """
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, d.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r LEFT JOIN r.dish d
+        WHERE r.user.id = :userId
+    """, countQuery = "SELECT COUNT(r) FROM Review r WHERE r.user.id = :userId")
+    Page<ReviewResponse> findResponsesByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(value = """
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, r.dish.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r
+        WHERE r.dish.id = :dishId
+    """, countQuery = "SELECT COUNT(r) FROM Review r WHERE r.dish.id = :dishId")
+    Page<ReviewResponse> findResponsesByDishId(@Param("dishId") UUID dishId, Pageable pageable);
+
+    /*
+     * The same projections as forward-only streams for the streaming list endpoints:
+     * offset, limit and sort come from the Pageable, and there is no COUNT query.
+     */
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, d.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r LEFT JOIN r.dish d
+    """)
+    Stream<ReviewResponse> streamResponses(Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, d.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r LEFT JOIN r.dish d
+        WHERE r.restaurant.id = :restaurantId
+    """)
+    Stream<ReviewResponse> streamResponsesByRestaurantId(@Param("restaurantId") UUID restaurantId, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, d.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r LEFT JOIN r.dish d
+        WHERE r.user.id = :userId
+    """)
+    Stream<ReviewResponse> streamResponsesByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new WebSiters.GastroReview.dto.ReviewResponse(
+            r.id, r.user.id, r.restaurant.id, r.dish.id, r.title, r.content, r.hasAudio, r.hasImage, r.publishedAt)
+        FROM Review r
+        WHERE r.dish.id = :dishId
+    """)
+    Stream<ReviewResponse> streamResponsesByDishId(@Param("dishId") UUID dishId, Pageable pageable);
+
+    /*
+     * Keyset (cursor) pagination: newest first, ordered by (published_at, id).
+     * The first page uses the *OrderBy* method, following pages seek past the
+     * last (publishedAt, id) seen. Slice results skip the COUNT query.
+     */
+
+    Slice<Review> findAllByOrderByPublishedAtDescIdDesc(Pageable pageable);
+
+    @Query("""
+        SELECT r FROM Review r
+        WHERE r.publishedAt < :publishedAt
+           OR (r.publishedAt = :publishedAt AND r.id < :id)
+        ORDER BY r.publishedAt DESC, r.id DESC
+    """)
+    Slice<Review> findAllAfter(@Param("publishedAt") OffsetDateTime publishedAt,
+                               @Param("id") UUID id,
+                               Pageable pageable);
+
+    Slice<Review> findByRestaurant_IdOrderByPublishedAtDescIdDesc(UUID restaurantId, Pageable pageable);
+
+    @Query("""
+        SELECT r FROM Review r
+        WHERE r.restaurant.id = :restaurantId
+          AND (r.publishedAt < :publishedAt
+               OR (r.publishedAt = :publishedAt AND r.id < :id))
+        ORDER BY r.publishedAt DESC, r.id DESC
+    """)
+    Slice<Review> findByRestaurantAfter(@Param("restaurantId") UUID restaurantId,
+                                        @Param("publishedAt") OffsetDateTime publishedAt,
+                                        @Param("id") UUID id,
+                                        Pageable pageable);
+
+    Slice<Review> findByUser_IdOrderByPublishedAtDescIdDesc(UUID userId, Pageable pageable);
+
+    @Query("""
+        SELECT r FROM Review r
+        WHERE r.user.id = :userId
+          AND (r.publishedAt < :publishedAt
+               OR (r.publishedAt = :publishedAt AND r.id < :id))
+        ORDER BY r.publishedAt DESC, r.id DESC
+    """)
+    Slice<Review> findByUserAfter(@Param("userId") UUID userId,
+                                  @Param("publishedAt") OffsetDateTime publishedAt,
+                                  @Param("id") UUID id,
+                                  Pageable pageable);
+
+    // rows of [id, title, content] for a batch of the text analysis pipeline
+    @Query("SELECT r.id, r.title, r.content FROM Review r WHERE r.id IN :ids")
+    List<Object[]> findTextRows(@Param("ids") Collection<UUID> ids);
+
+    // reviews with no analysis of their current text: never analyzed, or edited after the last analysis
+    @Query("""
+        SELECT r.id FROM Review r
+        WHERE NOT EXISTS (
+            SELECT 1 FROM TextAnalysis t
+            WHERE t.review = r AND (r.updatedAt IS NULL OR t.createdAt >= r.updatedAt)
+        )
+    """)
+    List<UUID> findIdsNeedingAnalysis(Pageable pageable);
+
+    // rows of [id, publishedAt]: newest reviews by the users someone follows, to build a feed inbox
+    @Query("""
+        SELECT r.id, r.publishedAt FROM Review r
+        WHERE r.user.id IN (SELECT f.id.followedId FROM Friendship f WHERE f.id.followerId = :userId)
+        ORDER BY r.publishedAt DESC, r.id DESC
+    """)
+    List<Object[]> findFeedRows(@Param("userId") UUID userId, Pageable pageable);
+
+    // the same rows past a (publishedAt, id) cursor, for feed pages older than the inbox holds
+    @Query("""
+        SELECT r.id, r.publishedAt FROM Review r
+        WHERE r.user.id IN (SELECT f.id.followedId FROM Friendship f WHERE f.id.followerId = :userId)
+          AND (r.publishedAt < :publishedAt
+               OR (r.publishedAt = :publishedAt AND r.id < :id))
+        ORDER BY r.publishedAt DESC, r.id DESC
+    """)
+    List<Object[]> findFeedRowsBefore(@Param("userId") UUID userId,
+                                      @Param("publishedAt") OffsetDateTime publishedAt,
+                                      @Param("id") UUID id,
+                                      Pageable pageable);
+
+    /*
+     * Forward-only streams for exports, oldest first on (published_at, id).
+     * Must be consumed inside a (read-only) transaction and closed; the fetch size
+     * keeps the JDBC driver from buffering the whole result set.
+     */
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Review> streamAllByOrderByPublishedAtAscIdAsc();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Review> streamByPublishedAtGreaterThanEqualOrderByPublishedAtAscIdAsc(OffsetDateTime since);
+
+    // rows of [dishId, reviewCount]: dish popularity for autocomplete
+    @Query("SELECT d.id, COUNT(r) FROM Review r JOIN r.dish d GROUP BY d.id")
+    List<Object[]> countByDish();
+
+    // rows of [id, restaurantId, dishId, title, content] to build the search index
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id, r.restaurant.id, d.id, r.title, r.content FROM Review r LEFT JOIN r.dish d")
+    Stream<Object[]> streamSearchRows();
+
+    // rows of [id, title, content] of every review, for a full re-scoring run
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id, r.title, r.content FROM Review r")
+    Stream<Object[]> streamTextRows();
 }
@@ -1,15 +1,21 @@
 package websiters.gastroreview.repository;
 
 import websiters.gastroreview.model.Role;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.UUID;
 
 public interface RoleRepository extends JpaRepository<Role, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByNameIgnoreCase(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByNameIgnoreCaseAndIdNot(@NotBlank String name, UUID id);
 
     Page<Role> findByNameContainingIgnoreCase(String name, Pageable pageable);
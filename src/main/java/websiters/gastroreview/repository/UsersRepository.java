@@ -4,7 +4,11 @@ import websiters.gastroreview.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +17,16 @@ public interface UsersRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
     Page<User> findByEmailContainingIgnoreCase(String email, Pageable pageable);
+
+    // rows of [id, email] for user listings: loading User entities would also select each
+    // user's profile (the inverse side of a one-to-one is always fetched), one query per row
+    @Query("SELECT u.id, u.email FROM User u")
+    Page<Object[]> findSummaries(Pageable pageable);
+
+    @Query("SELECT u.id, u.email FROM User u WHERE LOWER(u.email) LIKE LOWER(CONCAT('%', :email, '%'))")
+    Page<Object[]> findSummariesByEmailContaining(@Param("email") String email, Pageable pageable);
+
+    // set-based existence check used by bulk imports
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
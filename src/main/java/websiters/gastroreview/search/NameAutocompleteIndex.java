@@ -0,0 +1,187 @@
+package websiters.gastroreview.search;
+
+import WebSiters.GastroReview.repository.DishRepository;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import websiters.gastroreview.repository.RestaurantRepository;
+import websiters.gastroreview.repository.RestaurantStatsRepository;
+import websiters.gastroreview.model.RestaurantStats;
+import websiters.gastroreview.service.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Keystroke-rate autocomplete over restaurant and dish names, served from memory.
+ *
+ * One {@link NameDictionary} per type. Popularity is the number of reviews of the
+ * restaurant (from restaurant_stats) or of the dish; it is refreshed by the periodic
+ * reload, while names are kept current by the restaurant and dish services after commit.
+ */
+@Component
+@Slf4j
+public class NameAutocompleteIndex {
+
+    public enum Type { RESTAURANT, DISH }
+
+    public record Suggestion(Type type, UUID id, String name, UUID restaurantId, long popularity) {
+    }
+
+    private final RestaurantRepository restaurantRepo;
+    private final DishRepository dishRepo;
+    private final ReviewRepository reviewRepo;
+    private final RestaurantStatsRepository statsRepo;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private NameDictionary restaurants = new NameDictionary();
+    private NameDictionary dishes = new NameDictionary();
+    private List<Consumer<NameAutocompleteIndex>> pendingDuringReload;
+
+    public NameAutocompleteIndex(RestaurantRepository restaurantRepo,
+                                 DishRepository dishRepo,
+                                 ReviewRepository reviewRepo,
+                                 RestaurantStatsRepository statsRepo) {
+        this.restaurantRepo = restaurantRepo;
+        this.dishRepo = dishRepo;
+        this.reviewRepo = reviewRepo;
+        this.statsRepo = statsRepo;
+    }
+
+    /* ---------------- loading ---------------- */
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${gastroreview.autocomplete.reload-interval-ms:3600000}",
+               fixedDelayString = "${gastroreview.autocomplete.reload-interval-ms:3600000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NameDictionary newRestaurants = new NameDictionary();
+        NameDictionary newDishes = new NameDictionary();
+        try {
+            Map<UUID, Long> restaurantPopularity = new HashMap<>();
+            for (RestaurantStats s : statsRepo.findAll()) {
+                restaurantPopularity.put(s.getRestaurantId(), s.getReviewCount());
+            }
+            for (Object[] row : restaurantRepo.findAllNames()) {
+                UUID id = (UUID) row[0];
+                newRestaurants.put(id, (String) row[1], null, restaurantPopularity.getOrDefault(id, 0L));
+            }
+
+            Map<UUID, Long> dishPopularity = new HashMap<>();
+            for (Object[] row : reviewRepo.countByDish()) {
+                dishPopularity.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
+            for (Object[] row : dishRepo.findAllNames()) {
+                UUID id = (UUID) row[0];
+                newDishes.put(id, (String) row[1], (UUID) row[2], dishPopularity.getOrDefault(id, 0L));
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            restaurants = newRestaurants;
+            dishes = newDishes;
+            try {
+                pendingDuringReload.forEach(op -> op.accept(this));
+            } finally {
+                pendingDuringReload = null;
+            }
+            log.info("Autocomplete index loaded: {} restaurants, {} dishes", restaurants.size(), dishes.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ---------------- writes (applied after commit) ---------------- */
+
+    public void putRestaurant(UUID id, String name) {
+        TransactionCallbacks.afterCommit(() -> write(idx ->
+                idx.restaurants.put(id, name, null, idx.restaurants.popularityOf(id))));
+    }
+
+    public void removeRestaurant(UUID id) {
+        TransactionCallbacks.afterCommit(() -> write(idx -> idx.restaurants.remove(id)));
+    }
+
+    public void putDish(UUID id, String name, UUID restaurantId) {
+        TransactionCallbacks.afterCommit(() -> write(idx ->
+                idx.dishes.put(id, name, restaurantId, idx.dishes.popularityOf(id))));
+    }
+
+    public void removeDish(UUID id) {
+        TransactionCallbacks.afterCommit(() -> write(idx -> idx.dishes.remove(id)));
+    }
+
+    private void write(Consumer<NameAutocompleteIndex> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(this);
+            if (pendingDuringReload != null) pendingDuringReload.add(op);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ---------------- queries ---------------- */
+
+    /**
+     * Up to {@code limit} (at most {@link NameDictionary#TOP_K}) suggestions whose name has a
+     * word starting with the query, most popular first; when there are not enough, names
+     * that are close in trigram terms (typos) fill the rest. {@code type} null means both.
+     */
+    public List<Suggestion> suggest(String query, Type type, int limit) {
+        int k = Math.min(limit, NameDictionary.TOP_K);
+        lock.readLock().lock();
+        try {
+            List<Suggestion> out = new ArrayList<>(k);
+            List<Suggestion> prefix = new ArrayList<>();
+            if (type != Type.DISH) collect(Type.RESTAURANT, restaurants, restaurants.complete(query, k), prefix);
+            if (type != Type.RESTAURANT) collect(Type.DISH, dishes, dishes.complete(query, k), prefix);
+            prefix.sort(Comparator.comparingLong(Suggestion::popularity).reversed());
+            for (Suggestion s : prefix) {
+                if (out.size() == k) break;
+                out.add(s);
+            }
+            if (out.size() == k) return out;
+
+            // typo fallback, skipping what the prefix lookup already returned
+            Set<UUID> seen = new HashSet<>();
+            for (Suggestion s : out) seen.add(s.id());
+            List<Suggestion> fuzzy = new ArrayList<>();
+            if (type != Type.DISH) collect(Type.RESTAURANT, restaurants, restaurants.fuzzy(query, k), fuzzy);
+            if (type != Type.RESTAURANT) collect(Type.DISH, dishes, dishes.fuzzy(query, k), fuzzy);
+            for (Suggestion s : fuzzy) {
+                if (out.size() == k) break;
+                if (seen.add(s.id())) out.add(s);
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(Type type, NameDictionary dict, List<Integer> entries, List<Suggestion> out) {
+        for (int e : entries) {
+            out.add(new Suggestion(type, dict.id(e), dict.name(e), dict.parent(e), dict.popularity(e)));
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package websiters.gastroreview.search;
+
+import java.util.*;
+
+/**
+ * Autocomplete structures over one kind of name (restaurants or dishes).
+ *
+ * Names are folded with {@link TextAnalyzer#fold} and inserted once per word start
+ * ("La Pizzería Roma" under "la pizzeria roma", "pizzeria roma" and "roma") into a
+ * radix trie. Every trie node caches the {@link #TOP_K} most popular entries of its
+ * subtree, so a prefix lookup is a walk down the trie plus a copy of that list.
+ * A trigram index over word prefixes backs up the trie for misspelt queries.
+ *
+ * Entries get int ids; a removed entry is taken out of the trie and the trigram
+ * lists right away and its id is handed to the next put, so churn does not grow
+ * the arrays between rebuilds. Not thread-safe for writes; concurrent reads are fine.
+ */
+final class NameDictionary {
+
+    static final int TOP_K = 10;
+    private static final int MAX_WORD_STARTS = 8;
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.5;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_ENTRIES = new int[0];
+
+    private final Map<UUID, Integer> entryById = new HashMap<>();
+    private UUID[] ids = new UUID[256];
+    private String[] names = new String[256];
+    private String[] folded = new String[256];
+    private UUID[] parents = new UUID[256];
+    private long[] popularity = new long[256];
+    private int count;
+    private final IntArray free = new IntArray();
+
+    private final Node root = new Node("");
+    private final Map<String, IntArray> trigrams = new HashMap<>();
+
+    /* ---------------- writes ---------------- */
+
+    void put(UUID id, String name, UUID parentId, long pop) {
+        remove(id);
+        String normalized = normalize(name);
+        if (normalized.isBlank()) return;
+
+        int e;
+        if (free.size > 0) {
+            e = free.values[--free.size];
+        } else {
+            e = count++;
+            if (e == ids.length) grow();
+        }
+        ids[e] = id;
+        names[e] = name;
+        folded[e] = normalized;
+        parents[e] = parentId;
+        popularity[e] = pop;
+        entryById.put(id, e);
+
+        for (String key : keysOf(normalized)) insert(key, e);
+        for (String tri : trigramsOf(normalized)) trigrams.computeIfAbsent(tri, k -> new IntArray()).insertSorted(e);
+    }
+
+    void remove(UUID id) {
+        Integer e = entryById.remove(id);
+        if (e == null) return;
+        String normalized = folded[e];
+        names[e] = null; // dead from here on: ignored when tops are recomputed
+        for (String key : keysOf(normalized)) delete(key, e);
+        for (String tri : trigramsOf(normalized)) {
+            IntArray list = trigrams.get(tri);
+            if (list != null && list.remove(e) && list.size == 0) trigrams.remove(tri);
+        }
+        // no trie node or trigram list refers to e any more: the slot can be reused
+        ids[e] = null;
+        folded[e] = null;
+        parents[e] = null;
+        free.add(e);
+    }
+
+    long popularityOf(UUID id) {
+        Integer e = entryById.get(id);
+        return e != null ? popularity[e] : 0;
+    }
+
+    int size() {
+        return entryById.size();
+    }
+
+    /* ---------------- reads ---------------- */
+
+    /**
+     * Most popular entries having a word that starts with the query, best first.
+     */
+    List<Integer> complete(String query, int limit) {
+        String prefix = normalizeQuery(query);
+        if (prefix.isEmpty()) return List.of();
+
+        Node n = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = child(n, prefix.charAt(i));
+            if (child == null) return List.of();
+            int common = commonPrefix(child.edge, prefix, i);
+            if (i + common == prefix.length()) {
+                n = child;
+                break;
+            }
+            if (common < child.edge.length()) return List.of();
+            n = child;
+            i += common;
+        }
+
+        List<Integer> out = new ArrayList<>(Math.min(limit, n.top.length));
+        for (int e : n.top) {
+            if (out.size() == limit) break;
+            if (names[e] != null) out.add(e);
+        }
+        return out;
+    }
+
+    /**
+     * Typo-tolerant fallback: entries sharing at least half of the query's trigrams,
+     * by similarity then popularity.
+     */
+    List<Integer> fuzzy(String query, int limit) {
+        String normalized = normalizeQuery(query).trim();
+        if (normalized.length() < 3) return List.of();
+
+        Collection<String> queryTrigrams = trigramsOf(normalized);
+        int needed = (int) Math.ceil(queryTrigrams.size() * MIN_TRIGRAM_SIMILARITY);
+        List<IntArray> lists = new ArrayList<>();
+        for (String tri : queryTrigrams) {
+            IntArray list = trigrams.get(tri);
+            if (list != null) lists.add(list);
+        }
+        if (lists.size() < needed) return List.of();
+        lists.sort(Comparator.comparingInt(l -> l.size));
+
+        // Pigeonhole: a match shares >= needed trigrams, so it appears in one of the
+        // (lists - needed + 1) rarest lists. Those produce the candidates; the common
+        // lists are only probed (they are kept sorted by entry id).
+        int scanned = lists.size() - needed + 1;
+        int candidates = 0;
+        for (int i = 0; i < scanned; i++) candidates += lists.get(i).size;
+        Counter shared = new Counter(candidates);
+        for (int i = 0; i < scanned; i++) {
+            IntArray list = lists.get(i);
+            for (int j = 0; j < list.size; j++) shared.increment(list.values[j]);
+        }
+        IntArray touched = shared.keys;
+        for (int i = scanned; i < lists.size(); i++) {
+            IntArray list = lists.get(i);
+            for (int j = 0; j < touched.size; j++) {
+                int e = touched.values[j];
+                if (Arrays.binarySearch(list.values, 0, list.size, e) >= 0) shared.increment(e);
+            }
+        }
+
+        // best `limit` candidates: more shared trigrams first, then popularity
+        Comparator<Integer> better = (a, b) -> {
+            int sa = shared.get(a), sb = shared.get(b);
+            return sa != sb ? Integer.compare(sb, sa) : compare(a, b);
+        };
+        PriorityQueue<Integer> worstFirst = new PriorityQueue<>(limit + 1, better.reversed());
+        for (int j = 0; j < touched.size; j++) {
+            int e = touched.values[j];
+            if (shared.get(e) < needed || names[e] == null) continue;
+            worstFirst.add(e);
+            if (worstFirst.size() > limit) worstFirst.poll();
+        }
+        List<Integer> out = new ArrayList<>(worstFirst);
+        out.sort(better);
+        return out;
+    }
+
+    UUID id(int e) {
+        return ids[e];
+    }
+
+    String name(int e) {
+        return names[e];
+    }
+
+    UUID parent(int e) {
+        return parents[e];
+    }
+
+    long popularity(int e) {
+        return popularity[e];
+    }
+
+    /* ---------------- trie ---------------- */
+
+    private static final class Node {
+        String edge;
+        Node[] children = NO_CHILDREN;
+        int[] terminals = NO_ENTRIES;
+        int[] top = NO_ENTRIES;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private void insert(String key, int e) {
+        List<Node> path = new ArrayList<>();
+        Node n = root;
+        path.add(n);
+        int i = 0;
+        while (i < key.length()) {
+            int ci = childIndex(n, key.charAt(i));
+            if (ci < 0) {
+                Node leaf = new Node(key.substring(i));
+                n.children = Arrays.copyOf(n.children, n.children.length + 1);
+                n.children[n.children.length - 1] = leaf;
+                n = leaf;
+                path.add(n);
+                break;
+            }
+            Node child = n.children[ci];
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                // split the edge: n -> mid -> child
+                Node mid = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                mid.children = new Node[]{child};
+                mid.top = child.top.clone();
+                n.children[ci] = mid;
+                child = mid;
+            }
+            n = child;
+            i += common;
+            path.add(n);
+        }
+        if (!contains(n.terminals, e)) {
+            n.terminals = Arrays.copyOf(n.terminals, n.terminals.length + 1);
+            n.terminals[n.terminals.length - 1] = e;
+        }
+        for (Node p : path) p.top = offer(p.top, e);
+    }
+
+    private void delete(String key, int e) {
+        List<Node> path = new ArrayList<>();
+        Node n = root;
+        path.add(n);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(n, key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) return;
+            n = child;
+            i += child.edge.length();
+            path.add(n);
+        }
+        n.terminals = without(n.terminals, e);
+
+        for (int j = path.size() - 1; j >= 0; j--) {
+            Node p = path.get(j);
+            if (j > 0 && p.terminals.length == 0 && p.children.length == 0) {
+                Node parent = path.get(j - 1);
+                parent.children = Arrays.stream(parent.children).filter(c -> c != p).toArray(Node[]::new);
+                continue;
+            }
+            if (contains(p.top, e)) p.top = recompute(p);
+        }
+    }
+
+    private int[] offer(int[] top, int e) {
+        if (contains(top, e)) return top;
+        if (top.length == TOP_K && compare(e, top[TOP_K - 1]) >= 0) return top;
+        int pos = 0;
+        while (pos < top.length && compare(top[pos], e) < 0) pos++;
+        int size = Math.min(top.length + 1, TOP_K);
+        int[] out = new int[size];
+        System.arraycopy(top, 0, out, 0, pos);
+        out[pos] = e;
+        System.arraycopy(top, pos, out, pos + 1, size - pos - 1);
+        return out;
+    }
+
+    private int[] recompute(Node n) {
+        int[] top = NO_ENTRIES;
+        for (int e : n.terminals) if (names[e] != null) top = offer(top, e);
+        for (Node c : n.children) {
+            for (int e : c.top) if (names[e] != null) top = offer(top, e);
+        }
+        return top;
+    }
+
+    // popularity desc, then name, then entry id
+    private int compare(int a, int b) {
+        if (popularity[a] != popularity[b]) return Long.compare(popularity[b], popularity[a]);
+        int byName = folded[a].compareTo(folded[b]);
+        return byName != 0 ? byName : Integer.compare(a, b);
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    private static String normalize(String name) {
+        return name == null ? "" : normalizeQuery(name).trim();
+    }
+
+    /**
+     * Folded, non-alphanumeric runs collapsed to one space, leading space removed.
+     * A trailing space is kept so "la " only completes names with a word after "la".
+     */
+    private static String normalizeQuery(String text) {
+        String f = TextAnalyzer.fold(text == null ? "" : text);
+        StringBuilder sb = new StringBuilder(f.length());
+        boolean space = true;
+        for (int i = 0; i < f.length(); i++) {
+            char c = f.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static List<String> keysOf(String normalized) {
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0 && keys.size() < MAX_WORD_STARTS; i = normalized.indexOf(' ', i + 1)) {
+            if (i + 1 < normalized.length()) keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    // word-prefix trigrams: words are padded on the left only, so a partial word still matches
+    private static Collection<String> trigramsOf(String normalized) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) continue;
+            String padded = "  " + word;
+            for (int i = 0; i + 3 <= padded.length(); i++) out.add(padded.substring(i, i + 3));
+        }
+        return out;
+    }
+
+    private static Node child(Node n, char c) {
+        int ci = childIndex(n, c);
+        return ci < 0 ? null : n.children[ci];
+    }
+
+    private static int childIndex(Node n, char c) {
+        Node[] children = n.children;
+        for (int i = 0; i < children.length; i++) {
+            if (children[i].edge.charAt(0) == c) return i;
+        }
+        return -1;
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) i++;
+        return i;
+    }
+
+    private static boolean contains(int[] values, int e) {
+        for (int v : values) if (v == e) return true;
+        return false;
+    }
+
+    private static int[] without(int[] values, int e) {
+        return Arrays.stream(values).filter(v -> v != e).toArray();
+    }
+
+    private void grow() {
+        int n = ids.length * 2;
+        ids = Arrays.copyOf(ids, n);
+        names = Arrays.copyOf(names, n);
+        folded = Arrays.copyOf(folded, n);
+        parents = Arrays.copyOf(parents, n);
+        popularity = Arrays.copyOf(popularity, n);
+    }
+
+    private static final class IntArray {
+        int[] values = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        void insertSorted(int v) {
+            int pos = Arrays.binarySearch(values, 0, size, v);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            System.arraycopy(values, pos, values, pos + 1, size - pos);
+            values[pos] = v;
+            size++;
+        }
+
+        boolean remove(int v) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == v) {
+                    System.arraycopy(values, i + 1, values, i, size - i - 1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Per-query counts by entry id, sized by the number of candidates rather than by the
+     * dictionary: open addressing with linear probing. {@link #keys} lists the entries
+     * counted, in first-seen order.
+     */
+    private static final class Counter {
+        private final int[] slots;
+        private final int[] counts;
+        private final int shift;
+        final IntArray keys = new IntArray();
+
+        Counter(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1;
+            slots = new int[capacity];
+            counts = new int[capacity];
+            Arrays.fill(slots, -1);
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        void increment(int e) {
+            int i = slot(e);
+            if (slots[i] < 0) {
+                slots[i] = e;
+                keys.add(e);
+            }
+            counts[i]++;
+        }
+
+        int get(int e) {
+            int i = slot(e);
+            return slots[i] < 0 ? 0 : counts[i];
+        }
+
+        private int slot(int e) {
+            int mask = slots.length - 1;
+            int i = (e * 0x9E3779B9) >>> shift;
+            while (slots[i] >= 0 && slots[i] != e) i = (i + 1) & mask;
+            return i;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package websiters.gastroreview.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only compressed posting list: (doc gap, term frequency) pairs encoded as
+ * variable-length integers, 7 bits per byte. Documents must be added in increasing
+ * doc id order, which holds because doc ids are handed out sequentially.
+ */
+final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int docCount;
+    private int lastDoc = -1;
+
+    void add(int doc, int tf) {
+        if (doc <= lastDoc) {
+            throw new IllegalStateException("Doc ids must increase: " + doc + " after " + lastDoc);
+        }
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        writeVarInt(doc - lastDoc);
+        writeVarInt(tf);
+        lastDoc = doc;
+        docCount++;
+    }
+
+    /**
+     * Number of documents in the list, deleted ones included until the next rebuild.
+     */
+    int docCount() {
+        return docCount;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor(double weight) {
+        return new Cursor(data, length, weight);
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Forward iterator over a snapshot of the list. {@link #next()} must be called once
+     * before reading {@link #doc} / {@link #tf}.
+     */
+    static final class Cursor {
+        private final byte[] data;
+        private final int end;
+        private int pos;
+        final double weight;
+        int doc = -1;
+        int tf;
+
+        private Cursor(byte[] data, int end, double weight) {
+            this.data = data;
+            this.end = end;
+            this.weight = weight;
+        }
+
+        boolean next() {
+            if (pos >= end) return false;
+            doc += readVarInt();
+            tf = readVarInt();
+            return true;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
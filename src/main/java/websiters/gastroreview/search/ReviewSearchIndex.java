@@ -0,0 +1,356 @@
+package websiters.gastroreview.search;
+
+import WebSiters.GastroReview.repository.ReviewRepository;
+import websiters.gastroreview.service.ScratchPool;
+import websiters.gastroreview.service.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over review title + content, ranked with BM25.
+ *
+ * Every review gets a sequential int doc id; each term maps to a {@link PostingList}
+ * of (doc, tf). Title terms count {@link #TITLE_WEIGHT} times. Updates append the new
+ * version under a fresh doc id and tombstone the old one, so posting lists stay
+ * append-only; the scheduled rebuild drops tombstones and recomputes document
+ * frequencies. Until then, as in Lucene, idf counts tombstoned versions in both the
+ * document frequency and the collection size, which keeps it positive. Queries are evaluated term-at-a-time into a pooled score
+ * accumulator, followed by a bounded top-k heap over the touched doc range.
+ *
+ * Writes come from the review services and are applied after commit. Writes that
+ * arrive while a rebuild is streaming the table are replayed on the new index.
+ */
+@Component
+@Slf4j
+public class ReviewSearchIndex {
+
+    public record Hit(UUID reviewId, double score) {
+    }
+
+    static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final ScratchPool<float[]> ACCUMULATORS = new ScratchPool<>(() -> new float[1024], acc -> true);
+
+    private final ReviewRepository reviewRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment segment = new Segment();
+    private List<Consumer<Segment>> pendingDuringRebuild;
+
+    public ReviewSearchIndex(ReviewRepository reviewRepo, PlatformTransactionManager transactionManager) {
+        this.reviewRepo = reviewRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /* ---------------- loading ---------------- */
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${gastroreview.search.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = reviewRepo.streamSearchRows()) {
+                    rows.forEach(r -> fresh.add((UUID) r[0], (UUID) r[1], (UUID) r[2], (String) r[3], (String) r[4]));
+                }
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(op -> op.accept(fresh));
+            pendingDuringRebuild = null;
+            segment = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Review search index built: {} reviews, {} terms, {} KB of postings",
+                fresh.liveDocs, fresh.postings.size(), fresh.postingBytes() / 1024);
+    }
+
+    /* ---------------- writes ---------------- */
+
+    /**
+     * Index (or re-index) a review once the current transaction commits.
+     */
+    public void index(UUID reviewId, UUID restaurantId, UUID dishId, String title, String content) {
+        TransactionCallbacks.afterCommit(() -> write(s -> s.add(reviewId, restaurantId, dishId, title, content)));
+    }
+
+    public void remove(UUID reviewId) {
+        TransactionCallbacks.afterCommit(() -> write(s -> s.remove(reviewId)));
+    }
+
+    private void write(Consumer<Segment> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(segment);
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(op);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ---------------- queries ---------------- */
+
+    /**
+     * Top {@code limit} reviews for the query, best first. Reviews match when they contain
+     * any query term; restaurantId / dishId, when given, restrict the candidates.
+     */
+    public List<Hit> search(String query, UUID restaurantId, UUID dishId, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.terms(query)));
+        if (terms.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Segment s = segment;
+            int restaurantFilter = -1;
+            if (restaurantId != null) {
+                Integer idx = s.restaurantIdx.get(restaurantId);
+                if (idx == null) return List.of();
+                restaurantFilter = idx;
+            }
+            int dishFilter = -1;
+            if (dishId != null) {
+                Integer idx = s.dishIdx.get(dishId);
+                if (idx == null) return List.of();
+                dishFilter = idx;
+            }
+
+            // Most selective terms first, so that common terms can be pruned (see below)
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList pl = s.postings.get(term);
+                if (pl != null) lists.add(pl);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::docCount));
+            double[] remainingMax = new double[lists.size() + 1];
+            for (int i = lists.size() - 1; i >= 0; i--) {
+                remainingMax[i] = remainingMax[i + 1] + idf(s.docCount, lists.get(i).docCount()) * (K1 + 1);
+            }
+
+            double avgLength = s.liveDocs == 0 ? 1.0 : Math.max(1.0, (double) s.totalLength / s.liveDocs);
+            double lengthBase = K1 * (1 - B);
+            double lengthScale = K1 * B / avgLength;
+            float[] acc = accumulator(s.docCount);
+            int lo = Integer.MAX_VALUE;
+            int hi = -1;
+            try {
+                boolean candidatesOnly = false;
+
+                // Term-at-a-time: decode each posting list once into the score accumulator
+                for (int i = 0; i < lists.size(); i++) {
+                    PostingList pl = lists.get(i);
+
+                    // MaxScore: once the k-th best score so far beats everything the remaining terms
+                    // can add up to, documents not seen yet cannot reach the top-k and are skipped
+                    if (!candidatesOnly && i > 0 && pl.docCount() > s.docCount / 8) {
+                        double kth = kthBestScore(acc, lo, hi, limit, s.deleted);
+                        candidatesOnly = kth > remainingMax[i];
+                    }
+
+                    PostingList.Cursor c = pl.cursor(idf(s.docCount, pl.docCount()));
+                    while (c.next()) {
+                        int doc = c.doc;
+                        if (candidatesOnly && acc[doc] == 0f) continue;
+                        if (restaurantFilter >= 0 && s.restaurantOf[doc] != restaurantFilter) continue;
+                        if (dishFilter >= 0 && s.dishOf[doc] != dishFilter) continue;
+                        double norm = lengthBase + lengthScale * s.lengthOf[doc];
+                        acc[doc] += (float) (c.weight * c.tf * (K1 + 1) / (c.tf + norm));
+                        if (doc < lo) lo = doc;
+                        if (doc > hi) hi = doc;
+                    }
+                }
+                if (hi < 0) return List.of();
+
+                PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(ScoredDoc::score));
+                for (int doc = lo; doc <= hi; doc++) {
+                    float score = acc[doc];
+                    if (score == 0f) continue;
+                    if (top.size() == limit && score <= top.peek().score()) continue;
+                    if (s.deleted.get(doc)) continue;
+                    top.add(new ScoredDoc(doc, score));
+                    if (top.size() > limit) top.poll();
+                }
+
+                List<Hit> out = new ArrayList<>(top.size());
+                for (ScoredDoc sd : top) out.add(new Hit(s.reviewIds[sd.doc()], sd.score()));
+                out.sort(Comparator.comparingDouble(Hit::score).reversed());
+                return out;
+            } finally {
+                if (hi >= 0) Arrays.fill(acc, lo, hi + 1, 0f);
+                ACCUMULATORS.release(acc);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    /**
+     * Score accumulator indexed by doc id, borrowed from the pool; zeroed again before
+     * it is released. One that is too short for the segment is replaced.
+     */
+    private static float[] accumulator(int docCount) {
+        float[] acc = ACCUMULATORS.borrow();
+        return acc.length < docCount ? new float[Math.max(docCount, acc.length * 2)] : acc;
+    }
+
+    /**
+     * k-th highest live score in acc[lo..hi], or 0 when there are fewer than k candidates.
+     */
+    private static double kthBestScore(float[] acc, int lo, int hi, int k, BitSet deleted) {
+        float[] heap = new float[k];
+        int size = 0;
+        for (int doc = lo; doc <= hi; doc++) {
+            float score = acc[doc];
+            if (score == 0f || (size == k && score <= heap[0]) || deleted.get(doc)) continue;
+            if (size < k) {
+                heap[size] = score;
+                // sift up
+                for (int i = size++; i > 0 && heap[(i - 1) / 2] > heap[i]; i = (i - 1) / 2) {
+                    float tmp = heap[i]; heap[i] = heap[(i - 1) / 2]; heap[(i - 1) / 2] = tmp;
+                }
+            } else {
+                heap[0] = score;
+                // sift down
+                for (int i = 0; ; ) {
+                    int l = 2 * i + 1, r = l + 1, min = i;
+                    if (l < k && heap[l] < heap[min]) min = l;
+                    if (r < k && heap[r] < heap[min]) min = r;
+                    if (min == i) break;
+                    float tmp = heap[i]; heap[i] = heap[min]; heap[min] = tmp;
+                    i = min;
+                }
+            }
+        }
+        return size < k ? 0 : heap[0];
+    }
+
+    /**
+     * BM25 idf. Both counts include tombstoned versions, so docFreq <= docCount.
+     */
+    private static double idf(int docCount, int docFreq) {
+        return Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    private record ScoredDoc(int doc, double score) {
+    }
+
+    /**
+     * One generation of the index. Not thread-safe; guarded by the outer lock.
+     */
+    private static final class Segment {
+        final Map<String, PostingList> postings = new HashMap<>();
+        final Map<UUID, Integer> docByReview = new HashMap<>();
+        final Map<UUID, Integer> restaurantIdx = new HashMap<>();
+        final Map<UUID, Integer> dishIdx = new HashMap<>();
+        final BitSet deleted = new BitSet();
+
+        UUID[] reviewIds = new UUID[1024];
+        int[] restaurantOf = new int[1024];
+        int[] dishOf = new int[1024];
+        int[] lengthOf = new int[1024];
+        int docCount;
+        int liveDocs;
+        long totalLength;
+
+        void add(UUID reviewId, UUID restaurantId, UUID dishId, String title, String content) {
+            remove(reviewId);
+
+            Map<String, Integer> tf = new HashMap<>();
+            int length = 0;
+            for (String t : TextAnalyzer.terms(title)) {
+                tf.merge(t, TITLE_WEIGHT, Integer::sum);
+                length += TITLE_WEIGHT;
+            }
+            for (String t : TextAnalyzer.terms(content)) {
+                tf.merge(t, 1, Integer::sum);
+                length++;
+            }
+
+            int doc = docCount++;
+            if (doc == reviewIds.length) grow();
+            reviewIds[doc] = reviewId;
+            restaurantOf[doc] = intern(restaurantIdx, restaurantId);
+            dishOf[doc] = dishId != null ? intern(dishIdx, dishId) : -1;
+            lengthOf[doc] = length;
+            totalLength += length;
+            liveDocs++;
+            docByReview.put(reviewId, doc);
+
+            tf.forEach((term, f) -> postings.computeIfAbsent(term, k -> new PostingList()).add(doc, f));
+        }
+
+        void remove(UUID reviewId) {
+            Integer doc = docByReview.remove(reviewId);
+            if (doc == null) return;
+            deleted.set(doc);
+            liveDocs--;
+            totalLength -= lengthOf[doc];
+        }
+
+        long postingBytes() {
+            long bytes = 0;
+            for (PostingList pl : postings.values()) bytes += pl.sizeInBytes();
+            return bytes;
+        }
+
+        private void grow() {
+            int n = reviewIds.length * 2;
+            reviewIds = Arrays.copyOf(reviewIds, n);
+            restaurantOf = Arrays.copyOf(restaurantOf, n);
+            dishOf = Arrays.copyOf(dishOf, n);
+            lengthOf = Arrays.copyOf(lengthOf, n);
+        }
+
+        private static int intern(Map<UUID, Integer> ids, UUID id) {
+            Integer idx = ids.get(id);
+            if (idx == null) {
+                idx = ids.size();
+                ids.put(id, idx);
+            }
+            return idx;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package websiters.gastroreview.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns review text into index terms: accent folding, lowercasing, splitting on
+ * anything that is not a letter or digit, Spanish/English stopword removal and a
+ * light suffix-stripping stemmer shared by both languages.
+ *
+ * The stemmer is deliberately aggressive and language-agnostic (reviews are not
+ * tagged with a language): "deliciosos", "deliciosa" and "delicious" all become
+ * "delici". Queries go through the same analysis, so only consistency matters.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MIN_TOKEN = 2;
+    private static final int MAX_TOKEN = 40;
+    private static final int MIN_STEM = 3;
+
+    static final Set<String> STOPWORDS = Set.of(
+            // es
+            "de", "la", "que", "el", "en", "y", "a", "los", "se", "del", "las", "un", "por", "con",
+            "no", "una", "su", "para", "es", "al", "lo", "como", "mas", "pero", "sus", "le", "ya",
+            "o", "fue", "este", "ha", "si", "muy", "sin", "sobre", "tambien", "me", "hasta", "hay",
+            "donde", "desde", "todo", "nos", "durante", "uno", "ni", "contra", "ese", "eso", "mi",
+            "esta", "estaba", "era", "son", "les", "yo", "tu", "te", "unos", "unas",
+            // en
+            "the", "and", "of", "to", "in", "is", "it", "that", "was", "for", "on", "are", "with",
+            "as", "at", "be", "this", "have", "from", "or", "an", "by", "not", "but", "were", "we",
+            "they", "you", "my", "so", "our", "its", "had", "has", "there", "their", "very", "too"
+    );
+
+    // Longest first; applied once, after plural stripping
+    private static final String[] SUFFIXES = {
+            "amientos", "imientos", "amiento", "imiento", "aciones", "uciones", "ciones", "mente",
+            "idades", "idad", "ables", "ibles", "able", "ible", "ismos", "ismo", "istas", "ista",
+            "iendo", "ando", "ness", "ment", "ous", "ful", "ing", "oso", "osa", "ado", "ido",
+            "ada", "ida", "edly", "ed", "ly"
+    };
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Index terms of the text in order of appearance (duplicates kept).
+     */
+    public static List<String> terms(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isEmpty()) return out;
+
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0, n = folded.length(); i <= n; i++) {
+            boolean word = i < n && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                addTerm(folded.substring(start, i), out);
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Lowercase and strip diacritics ("Ñandú Café" becomes "nandu cafe").
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public static String stem(String word) {
+        String w = word;
+        if (w.length() <= MIN_STEM) return w;
+
+        // plurals: "ies" -> "y", Spanish "ces" -> "z", "oes" -> "o", then a trailing "s"
+        if (w.endsWith("ies") && w.length() > 4) {
+            w = w.substring(0, w.length() - 3) + "y";
+        } else if (w.endsWith("ces") && w.length() > 4) {
+            w = w.substring(0, w.length() - 3) + "z";
+        } else if (w.endsWith("oes") && w.length() > 4) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us")) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        for (String suffix : SUFFIXES) {
+            if (w.endsWith(suffix) && w.length() - suffix.length() >= MIN_STEM) {
+                w = w.substring(0, w.length() - suffix.length());
+                break;
+            }
+        }
+
+        // gender / final vowel: "tomate" and "tomates" -> "tomat", "rico" and "rica" -> "ric"
+        char last = w.charAt(w.length() - 1);
+        if ((last == 'a' || last == 'e' || last == 'o') && w.length() > MIN_STEM) {
+            w = w.substring(0, w.length() - 1);
+        }
+        return w;
+    }
+
+    private static void addTerm(String token, List<String> out) {
+        if (token.length() < MIN_TOKEN || token.length() > MAX_TOKEN) return;
+        if (STOPWORDS.contains(token)) return;
+        out.add(stem(token));
+    }
+}
@@ -4,7 +4,9 @@ import websiters.gastroreview.dto.AddressRequest;
 import websiters.gastroreview.dto.AddressResponse;
 import websiters.gastroreview.mapper.Mappers;
 import websiters.gastroreview.model.Address;
+import websiters.gastroreview.model.RestaurantAddress;
 import websiters.gastroreview.repository.AddressRepository;
+import websiters.gastroreview.repository.RestaurantAddressRepository;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,13 +20,19 @@ import java.util.UUID;
 public class AddressService {
 
     private final AddressRepository repo;
+    private final RestaurantAddressRepository restaurantAddressRepo;
+    private final RestaurantGeoIndex geoIndex;
 
-    public AddressService(AddressRepository repo) {
+    public AddressService(AddressRepository repo,
+                          RestaurantAddressRepository restaurantAddressRepo,
+                          RestaurantGeoIndex geoIndex) {
         this.repo = repo;
+        this.restaurantAddressRepo = restaurantAddressRepo;
+        this.geoIndex = geoIndex;
     }
 
     public Page<AddressResponse> list(Pageable pageable) {
-        return repo.findAll(pageable).map(Mappers::toResponse);
+        return repo.findResponses(pageable);
     }
 
     public AddressResponse get(UUID id) {
@@ -47,8 +55,18 @@ public class AddressService {
         if (in.getLatitude() != null) a.setLatitude(in.getLatitude());
         if (in.getLongitude() != null) a.setLongitude(in.getLongitude());
 
+        boolean moved = in.getLatitude() != null || in.getLongitude() != null;
+
         try {
             a = repo.save(a);
+            if (moved) {
+                // keep the geo index in sync for restaurants whose primary address this is
+                for (RestaurantAddress link : restaurantAddressRepo.findByAddressId(id)) {
+                    if (link.isPrimary()) {
+                        geoIndex.put(link.getId().getRestaurantId(), a.getLatitude(), a.getLongitude());
+                    }
+                }
+            }
             return Mappers.toResponse(a);
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid address data");
@@ -56,22 +74,18 @@ public class AddressService {
     }
 
     public Page<AddressResponse> findByCity(String city, Pageable pageable) {
-        return repo.findByCityIgnoreCase(city, pageable)
-                .map(Mappers::toResponse);
+        return repo.findResponsesByCity(city, pageable);
     }
 
     public Page<AddressResponse> findByCountry(String country, Pageable pageable) {
-        return repo.findByCountryIgnoreCase(country, pageable)
-                .map(Mappers::toResponse);
+        return repo.findResponsesByCountry(country, pageable);
     }
 
     public Page<AddressResponse> findByStreet(String street, Pageable pageable) {
-        return repo.findByStreetContainingIgnoreCase(street, pageable)
-                .map(Mappers::toResponse);
+        return repo.findResponsesByStreetContaining(street, pageable);
     }
 
     public Page<AddressResponse> findByCityAndCountry(String city, String country, Pageable pageable) {
-        return repo.findByCityIgnoreCaseAndCountryIgnoreCase(city, country, pageable)
-                .map(Mappers::toResponse);
+        return repo.findResponsesByCityAndCountry(city, country, pageable);
     }
 }
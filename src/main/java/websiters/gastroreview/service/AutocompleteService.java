@@ -0,0 +1,50 @@
+package websiters.gastroreview.service;
+
+import websiters.gastroreview.dto.SuggestionResponse;
+import websiters.gastroreview.search.NameAutocompleteIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class AutocompleteService {
+
+    private static final int MAX_LIMIT = 10;
+
+    private final NameAutocompleteIndex index;
+
+    public AutocompleteService(NameAutocompleteIndex index) {
+        this.index = index;
+    }
+
+    public List<SuggestionResponse> suggest(String q, String type, int limit) {
+        if (q == null || q.isBlank()) {
+            return List.of();
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        return index.suggest(q, parseType(type), limit).stream()
+                .map(s -> SuggestionResponse.builder()
+                        .type(s.type().name().toLowerCase(Locale.ROOT))
+                        .id(s.id())
+                        .name(s.name())
+                        .restaurantId(s.restaurantId())
+                        .popularity(s.popularity())
+                        .build())
+                .toList();
+    }
+
+    private NameAutocompleteIndex.Type parseType(String type) {
+        if (type == null || type.isBlank() || type.equalsIgnoreCase("all")) return null;
+        try {
+            return NameAutocompleteIndex.Type.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "type must be restaurant, dish or all");
+        }
+    }
+}
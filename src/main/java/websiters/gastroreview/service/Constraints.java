@@ -0,0 +1,34 @@
+package websiters.gastroreview.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Helpers for write paths that rely on FK / unique constraints instead of
+ * checking with SELECTs first: they let the INSERT fail and use the name of
+ * the violated constraint to raise the same business exception a lookup would have.
+ */
+public final class Constraints {
+
+    private Constraints() {
+    }
+
+    /**
+     * Name of the violated constraint as reported by the database, or null when unknown.
+     */
+    public static String violatedName(DataIntegrityViolationException ex) {
+        Throwable t = ex;
+        while (t != null) {
+            if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return cve.getConstraintName();
+            }
+            t = t.getCause();
+        }
+        return null;
+    }
+
+    public static boolean isViolated(DataIntegrityViolationException ex, String constraintName) {
+        String name = violatedName(ex);
+        return name != null && name.equalsIgnoreCase(constraintName);
+    }
+}
@@ -7,6 +7,7 @@ import WebSiters.GastroReview.model.Dish;
 import WebSiters.GastroReview.model.Restaurant;
 import WebSiters.GastroReview.repository.DishRepository;
 import WebSiters.GastroReview.repository.RestaurantRepository;
+import websiters.gastroreview.search.NameAutocompleteIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -26,6 +27,7 @@ public class DishServiceImpl implements DishService {
 
     private final DishRepository dishRepository;
     private final RestaurantRepository restaurantRepository;
+    private final NameAutocompleteIndex autocomplete;
 
     @Override
     public Page<DishResponse> findAll(Pageable pageable) {
@@ -55,6 +57,7 @@ public class DishServiceImpl implements DishService {
         Dish toSave = Mappers.toEntity(req, restaurant);
         try {
             Dish saved = dishRepository.save(toSave);
+            autocomplete.putDish(saved.getId(), saved.getName(), restaurant.getId());
             return Mappers.toDto(saved);
         } catch (DataIntegrityViolationException ex) {
             // propagate: controller will convert to appropriate HTTP status
@@ -78,6 +81,7 @@ public class DishServiceImpl implements DishService {
 
         try {
             Dish saved = dishRepository.save(existing);
+            autocomplete.putDish(saved.getId(), saved.getName(), saved.getRestaurant().getId());
             return Mappers.toDto(saved);
         } catch (DataIntegrityViolationException ex) {
             throw ex;
@@ -91,5 +95,6 @@ public class DishServiceImpl implements DishService {
             throw new EntityNotFoundException("Dish not found: " + id);
         }
         dishRepository.deleteById(id);
+        autocomplete.removeDish(id);
     }
 }
@@ -0,0 +1,171 @@
+package websiters.gastroreview.service;
+
+import WebSiters.GastroReview.dto.RatingResponse;
+import WebSiters.GastroReview.dto.ReviewResponse;
+import WebSiters.GastroReview.mapper.Mappers;
+import WebSiters.GastroReview.model.Rating;
+import WebSiters.GastroReview.model.Review;
+import WebSiters.GastroReview.repository.RatingRepository;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-table exports of reviews and ratings as NDJSON or CSV.
+ *
+ * Rows come from a forward-only repository Stream inside a read-only transaction and
+ * are written straight to the output; each entity is detached once written, so memory
+ * stays flat whatever the table size.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+            }
+        }
+    }
+
+    private static final String REVIEW_HEADER = "id,userId,restaurantId,dishId,title,content,hasAudio,hasImage,publishedAt";
+    private static final String RATING_HEADER = "id,reviewId,userId,stars,points,createdAt";
+
+    private final ReviewRepository reviewRepo;
+    private final RatingRepository ratingRepo;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public ExportService(ReviewRepository reviewRepo,
+                         RatingRepository ratingRepo,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         @Value("${gastroreview.export.timeout:30m}") Duration timeout) {
+        this.reviewRepo = reviewRepo;
+        this.ratingRepo = ratingRepo;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Let the current request's export outlive the default async request timeout: the
+     * body is written on an async thread once the handler returns, and a full export can
+     * take longer than the other async requests are allowed to. Call it from the handler.
+     */
+    public void extendTimeout(WebRequest request) {
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncRequest != null) {
+            asyncRequest.setTimeout(timeout.toMillis());
+        }
+    }
+
+    /**
+     * Reviews ordered by (publishedAt, id), optionally only those published at or after {@code since}.
+     */
+    @Transactional(readOnly = true)
+    public void exportReviews(OffsetDateTime since, Format format, OutputStream out) throws IOException {
+        try (Stream<Review> rows = since != null
+                ? reviewRepo.streamByPublishedAtGreaterThanEqualOrderByPublishedAtAscIdAsc(since)
+                : reviewRepo.streamAllByOrderByPublishedAtAscIdAsc()) {
+            write(rows, Mappers::toDto, format, REVIEW_HEADER, ExportService::reviewCsv, out);
+        }
+    }
+
+    /**
+     * Ratings ordered by (createdAt, id), optionally only those created at or after {@code since}.
+     */
+    @Transactional(readOnly = true)
+    public void exportRatings(OffsetDateTime since, Format format, OutputStream out) throws IOException {
+        try (Stream<Rating> rows = since != null
+                ? ratingRepo.streamByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(since)
+                : ratingRepo.streamAllByOrderByCreatedAtAscIdAsc()) {
+            write(rows, Mappers::toDto, format, RATING_HEADER, ExportService::ratingCsv, out);
+        }
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    private <E, D> void write(Stream<E> rows,
+                              Function<E, D> mapper,
+                              Format format,
+                              String csvHeader,
+                              Function<D, String> csvLine,
+                              OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(csvHeader);
+            writer.write('\n');
+        }
+        Iterator<E> it = rows.iterator();
+        while (it.hasNext()) {
+            E entity = it.next();
+            D dto = mapper.apply(entity);
+            entityManager.detach(entity);
+            writer.write(format == Format.CSV ? csvLine.apply(dto) : objectMapper.writeValueAsString(dto));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String reviewCsv(ReviewResponse r) {
+        return String.join(",",
+                csv(r.getId()), csv(r.getUserId()), csv(r.getRestaurantId()), csv(r.getDishId()),
+                csv(r.getTitle()), csv(r.getContent()),
+                csv(r.isHasAudio()), csv(r.isHasImage()), csv(r.getPublishedAt()));
+    }
+
+    private static String ratingCsv(RatingResponse r) {
+        return String.join(",",
+                csv(r.getId()), csv(r.getReviewId()), csv(r.getUserId()),
+                csv(r.getStars()), csv(r.getPoints()), csv(r.getCreatedAt()));
+    }
+
+    // RFC 4180: quote when the value contains a separator, quote or line break
+    private static String csv(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
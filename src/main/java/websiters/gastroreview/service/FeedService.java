@@ -0,0 +1,355 @@
+package websiters.gastroreview.service;
+
+import WebSiters.GastroReview.dto.ReviewResponse;
+import WebSiters.GastroReview.mapper.Mappers;
+import WebSiters.GastroReview.model.Review;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import websiters.gastroreview.dto.Cursor;
+import websiters.gastroreview.dto.CursorPage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Home feed: the most recent reviews written by the users someone follows, newest first.
+ *
+ * Hybrid fan-out:
+ * - Each reader has an inbox, a bounded ring of the newest {@code capacity} entries
+ *   (published time + review id), built on first read with one query and kept in an
+ *   LRU cache of {@code max-cached-users} readers.
+ * - A new review by an author with at most {@code push-threshold} followers is pushed
+ *   into the cached inboxes of its followers.
+ * - Authors above the threshold keep their own outbox instead; readers merge the
+ *   outboxes of the high-follower authors they follow at read time.
+ *
+ * A page is a k-way merge of the inbox and those outboxes from the cursor position,
+ * so its cost depends on the page size, not on how many users are followed. Follows
+ * and unfollows drop the follower's inbox, which is rebuilt on the next read.
+ * Deleted reviews are skipped when the page is loaded.
+ *
+ * A full ring has dropped entries older than its oldest one, so the merge is only
+ * complete down to the newest such entry among the rings read. Pages that reach past
+ * it are read from the database with a keyset query instead.
+ */
+@Service
+public class FeedService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReviewRepository reviewRepo;
+    private final SocialGraph graph;
+    private final int capacity;
+    private final int pushThreshold;
+
+    private final Cache<UUID, FeedRing> inboxes;
+    private final Map<UUID, FeedRing> outboxes = new ConcurrentHashMap<>();
+
+    public FeedService(ReviewRepository reviewRepo, SocialGraph graph,
+                       @Value("${gastroreview.feed.capacity:200}") int capacity,
+                       @Value("${gastroreview.feed.push-threshold:5000}") int pushThreshold,
+                       @Value("${gastroreview.feed.max-cached-users:10000}") long maxCachedUsers) {
+        this.reviewRepo = reviewRepo;
+        this.graph = graph;
+        this.capacity = capacity;
+        this.pushThreshold = pushThreshold;
+        this.inboxes = Caffeine.newBuilder().maximumSize(maxCachedUsers).build();
+    }
+
+    /* ---------------- writes ---------------- */
+
+    /**
+     * Fan a new review out to the author's followers once the transaction commits.
+     */
+    public void reviewPublished(UUID authorId, UUID reviewId, OffsetDateTime publishedAt) {
+        long micros = toMicros(publishedAt);
+        TransactionCallbacks.afterCommit(() -> {
+            if (!graph.isLoaded()) {
+                // followers unknown yet: rebuild every cached inbox from the database instead
+                inboxes.invalidateAll();
+                return;
+            }
+            if (graph.followerCount(authorId) > pushThreshold) {
+                outboxes.computeIfAbsent(authorId, k -> new FeedRing(capacity)).add(micros, reviewId);
+                return;
+            }
+            for (UUID followerId : graph.followerIds(authorId)) {
+                FeedRing inbox = inboxes.getIfPresent(followerId);
+                if (inbox != null) inbox.add(micros, reviewId);
+            }
+        });
+    }
+
+    /**
+     * The set of followed users changed: rebuild the follower's inbox on its next read.
+     */
+    public void followsChanged(UUID followerId) {
+        TransactionCallbacks.afterCommit(() -> inboxes.invalidate(followerId));
+    }
+
+    /* ---------------- reads ---------------- */
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewResponse> feed(UUID userId, String after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long beforeMicros = Long.MAX_VALUE;
+        UUID beforeId = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                Cursor cursor = Cursor.decode(after);
+                beforeMicros = toMicros(cursor.getTimestamp());
+                beforeId = cursor.uuidId();
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+            }
+        }
+
+        List<FeedRing.Entry> entries = entries(userId, beforeMicros, beforeId, limit);
+        boolean hasNext = entries.size() > limit;
+        if (hasNext) entries = entries.subList(0, limit);
+        if (entries.isEmpty()) {
+            return CursorPage.<ReviewResponse>builder().content(List.of()).size(0).hasNext(false).build();
+        }
+
+        Map<UUID, Review> byId = new HashMap<>();
+        for (Review r : reviewRepo.findAllById(entries.stream().map(FeedRing.Entry::reviewId).toList())) {
+            byId.put(r.getId(), r);
+        }
+        List<ReviewResponse> content = new ArrayList<>(entries.size());
+        for (FeedRing.Entry e : entries) {
+            Review r = byId.get(e.reviewId());
+            if (r != null) content.add(Mappers.toDto(r)); // deleted since it was fanned out
+        }
+
+        FeedRing.Entry last = entries.get(entries.size() - 1);
+        return CursorPage.<ReviewResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? Cursor.of(fromMicros(last.micros()), last.reviewId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Up to limit + 1 entries older than the cursor, newest first: merged from the
+     * inbox and the outboxes of the reader's high-follower followees, or read from the
+     * database when the page reaches past what those rings still hold.
+     */
+    List<FeedRing.Entry> entries(UUID userId, long beforeMicros, UUID beforeId, int limit) {
+        List<FeedRing> rings = new ArrayList<>();
+        rings.add(inbox(userId));
+        for (UUID authorId : graph.followingWithMoreFollowersThan(userId, pushThreshold)) {
+            FeedRing outbox = outboxes.get(authorId);
+            if (outbox != null) rings.add(outbox);
+        }
+
+        List<FeedRing.Slice> sources = new ArrayList<>(rings.size());
+        FeedRing.Entry horizon = null;
+        for (FeedRing ring : rings) {
+            FeedRing.Slice slice = ring.before(beforeMicros, beforeId, limit + 1);
+            sources.add(slice);
+            FeedRing.Entry oldest = slice.horizon();
+            if (oldest != null && (horizon == null || FeedRing.compare(oldest, horizon) > 0)) horizon = oldest;
+        }
+        List<FeedRing.Entry> entries = merge(sources, limit + 1);
+
+        // complete if nothing was dropped, or if the page and the entry after it are all at or after the horizon
+        if (horizon == null || (entries.size() > limit && FeedRing.compare(entries.get(limit), horizon) >= 0)) {
+            return entries;
+        }
+        List<Object[]> rows = beforeId == null
+                ? reviewRepo.findFeedRows(userId, PageRequest.ofSize(limit + 1))
+                : reviewRepo.findFeedRowsBefore(userId, fromMicros(beforeMicros), beforeId, PageRequest.ofSize(limit + 1));
+        List<FeedRing.Entry> fromDb = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            fromDb.add(new FeedRing.Entry(toMicros((OffsetDateTime) row[1]), (UUID) row[0]));
+        }
+        return fromDb;
+    }
+
+    private FeedRing inbox(UUID userId) {
+        FeedRing inbox = inboxes.get(userId, k -> new FeedRing(capacity));
+        if (!inbox.isLoaded()) {
+            // Pushes that land while the query runs are kept: load() merges and de-duplicates
+            List<Object[]> rows = reviewRepo.findFeedRows(userId, PageRequest.ofSize(capacity));
+            long[] micros = new long[rows.size()];
+            UUID[] ids = new UUID[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                ids[i] = (UUID) rows.get(i)[0];
+                micros[i] = toMicros((OffsetDateTime) rows.get(i)[1]);
+            }
+            inbox.load(micros, ids);
+        }
+        return inbox;
+    }
+
+    /**
+     * Newest-first k-way merge of the slices, dropping duplicates (a review can be in
+     * an inbox snapshot and in its author's outbox).
+     */
+    private static List<FeedRing.Entry> merge(List<FeedRing.Slice> sources, int limit) {
+        PriorityQueue<FeedRing.Slice> heap = new PriorityQueue<>(sources.size(), (a, b) -> FeedRing.compare(b.head(), a.head()));
+        for (FeedRing.Slice s : sources) {
+            if (s.hasNext()) heap.add(s);
+        }
+        List<FeedRing.Entry> out = new ArrayList<>(limit);
+        while (!heap.isEmpty() && out.size() < limit) {
+            FeedRing.Slice s = heap.poll();
+            FeedRing.Entry e = s.next();
+            if (out.isEmpty() || !out.get(out.size() - 1).reviewId().equals(e.reviewId())) out.add(e);
+            if (s.hasNext()) heap.add(s);
+        }
+        return out;
+    }
+
+    private static long toMicros(OffsetDateTime t) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, (t != null ? t : OffsetDateTime.now()).toInstant());
+    }
+
+    private static OffsetDateTime fromMicros(long micros) {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    /* ---------------- ring ---------------- */
+
+    /**
+     * The newest {@code capacity} (time, review id) entries, kept sorted oldest to newest
+     * in parallel primitive arrays. Adding past capacity drops the oldest entry.
+     */
+    static final class FeedRing {
+
+        record Entry(long micros, UUID reviewId) {
+        }
+
+        private final long[] micros;
+        private final long[] msb;
+        private final long[] lsb;
+        private int size;
+        private volatile boolean loaded;
+
+        FeedRing(int capacity) {
+            micros = new long[capacity];
+            msb = new long[capacity];
+            lsb = new long[capacity];
+        }
+
+        boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized void add(long time, UUID reviewId) {
+            long hi = reviewId.getMostSignificantBits();
+            long lo = reviewId.getLeastSignificantBits();
+            int at = insertionPoint(time, hi, lo);
+            if (at < size && micros[at] == time && msb[at] == hi && lsb[at] == lo) return;
+
+            if (size == micros.length) {
+                if (at == 0) return; // older than everything kept
+                // drop the oldest entry to make room
+                shift(1, 0, at - 1);
+                at--;
+            } else {
+                shift(at, at + 1, size - at);
+                size++;
+            }
+            micros[at] = time;
+            msb[at] = hi;
+            lsb[at] = lo;
+        }
+
+        synchronized void load(long[] times, UUID[] ids) {
+            if (loaded) return;
+            for (int i = 0; i < times.length; i++) add(times[i], ids[i]);
+            loaded = true;
+        }
+
+        /**
+         * Up to {@code limit} entries strictly older than (beforeMicros, beforeId), newest first.
+         * When the ring is full the slice also carries its oldest entry: anything older
+         * may have been dropped.
+         */
+        synchronized Slice before(long beforeMicros, UUID beforeId, int limit) {
+            int end = beforeId == null
+                    ? size
+                    : insertionPoint(beforeMicros, beforeId.getMostSignificantBits(), beforeId.getLeastSignificantBits());
+            int n = Math.min(limit, end);
+            Entry[] out = new Entry[n];
+            for (int i = 0; i < n; i++) {
+                int j = end - 1 - i;
+                out[i] = new Entry(micros[j], new UUID(msb[j], lsb[j]));
+            }
+            Entry horizon = size == micros.length ? new Entry(micros[0], new UUID(msb[0], lsb[0])) : null;
+            return new Slice(out, horizon);
+        }
+
+        // First position whose entry is not older than (time, hi, lo)
+        private int insertionPoint(long time, long hi, long lo) {
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(micros[mid], msb[mid], lsb[mid], time, hi, lo) < 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        private void shift(int from, int to, int length) {
+            System.arraycopy(micros, from, micros, to, length);
+            System.arraycopy(msb, from, msb, to, length);
+            System.arraycopy(lsb, from, lsb, to, length);
+        }
+
+        // Time, then review id compared as unsigned bytes (the order PostgreSQL uses for uuid)
+        private static int compare(long t1, long hi1, long lo1, long t2, long hi2, long lo2) {
+            if (t1 != t2) return Long.compare(t1, t2);
+            if (hi1 != hi2) return Long.compareUnsigned(hi1, hi2);
+            return Long.compareUnsigned(lo1, lo2);
+        }
+
+        static int compare(Entry a, Entry b) {
+            return compare(a.micros(), a.reviewId().getMostSignificantBits(), a.reviewId().getLeastSignificantBits(),
+                    b.micros(), b.reviewId().getMostSignificantBits(), b.reviewId().getLeastSignificantBits());
+        }
+
+        static final class Slice {
+            private final Entry[] entries;
+            private final Entry horizon;
+            private int pos;
+
+            Slice(Entry[] entries, Entry horizon) {
+                this.entries = entries;
+                this.horizon = horizon;
+            }
+
+            /**
+             * The oldest entry of a full ring (older entries may be missing), or null.
+             */
+            Entry horizon() {
+                return horizon;
+            }
+
+            boolean hasNext() {
+                return pos < entries.length;
+            }
+
+            Entry head() {
+                return entries[pos];
+            }
+
+            Entry next() {
+                return entries[pos++];
+            }
+        }
+    }
+}
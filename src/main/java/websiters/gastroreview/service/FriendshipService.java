@@ -1,5 +1,7 @@
 package websiters.gastroreview.service;
 
+import websiters.gastroreview.dto.FollowCountsResponse;
+import websiters.gastroreview.dto.FollowSuggestionResponse;
 import websiters.gastroreview.dto.FriendshipRequest;
 import websiters.gastroreview.dto.FriendshipResponse;
 import websiters.gastroreview.mapper.Mappers;
@@ -15,16 +17,30 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Follow relationships. Reads (follower/following pages, follow checks, counts) are
+ * served by the in-memory {@link SocialGraph}, or by the database until the graph has
+ * been loaded; writes are checked against and go to the database, and are mirrored
+ * into the graph after commit.
+ */
 @Service
 public class FriendshipService {
 
+    private static final int PAGE_SIZE = 5;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final FriendshipRepository repo;
+    private final SocialGraph graph;
+    private final FeedService feedService;
 
-    public FriendshipService(FriendshipRepository repo) {
+    public FriendshipService(FriendshipRepository repo, SocialGraph graph, FeedService feedService) {
         this.repo = repo;
+        this.graph = graph;
+        this.feedService = feedService;
     }
 
     @Transactional(readOnly = true)
@@ -34,21 +50,84 @@ public class FriendshipService {
 
     @Transactional(readOnly = true)
     public Page<FriendshipResponse> findFollowers(UUID userId, Pageable pageable) {
-        List<Friendship> all = repo.findById_FollowedId(userId);
-        return paginateAndMap(all, pageable);
+        Pageable page = Pageable.ofSize(PAGE_SIZE).withPage(pageable.getPageNumber());
+        if (!graph.isLoaded()) {
+            return repo.findById_FollowedId(userId, page).map(Mappers::toResponse);
+        }
+        List<FriendshipResponse> content = graph.followers(userId, (int) page.getOffset(), PAGE_SIZE).stream()
+                .map(e -> new FriendshipResponse(e.userId(), userId, e.since()))
+                .toList();
+        return new PageImpl<>(content, page, graph.followerCount(userId));
     }
 
     @Transactional(readOnly = true)
     public Page<FriendshipResponse> findFollowing(UUID userId, Pageable pageable) {
-        List<Friendship> all = repo.findById_FollowerId(userId);
-        return paginateAndMap(all, pageable);
+        Pageable page = Pageable.ofSize(PAGE_SIZE).withPage(pageable.getPageNumber());
+        if (!graph.isLoaded()) {
+            return repo.findById_FollowerId(userId, page).map(Mappers::toResponse);
+        }
+        List<FriendshipResponse> content = graph.following(userId, (int) page.getOffset(), PAGE_SIZE).stream()
+                .map(e -> new FriendshipResponse(userId, e.userId(), e.since()))
+                .toList();
+        return new PageImpl<>(content, page, graph.followingCount(userId));
     }
 
     @Transactional(readOnly = true)
     public FriendshipResponse get(UUID followerId, UUID followedId) {
-        Friendship f = repo.findById(new FriendshipId(followerId, followedId))
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Friendship not found"));
-        return Mappers.toResponse(f);
+        if (!graph.isLoaded()) {
+            return repo.findById(new FriendshipId(followerId, followedId))
+                    .map(Mappers::toResponse)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Friendship not found"));
+        }
+        OffsetDateTime since = graph.followedSince(followerId, followedId);
+        if (since == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Friendship not found");
+        }
+        return new FriendshipResponse(followerId, followedId, since);
+    }
+
+    @Transactional(readOnly = true)
+    public FollowCountsResponse counts(UUID userId) {
+        if (!graph.isLoaded()) {
+            return FollowCountsResponse.builder()
+                    .userId(userId)
+                    .followers((int) repo.countById_FollowedId(userId))
+                    .following((int) repo.countById_FollowerId(userId))
+                    .build();
+        }
+        return FollowCountsResponse.builder()
+                .userId(userId)
+                .followers(graph.followerCount(userId))
+                .following(graph.followingCount(userId))
+                .build();
+    }
+
+    /**
+     * Users followed by both userId and otherId (5 per page).
+     * - Social graph not loaded yet -> 503 Service Unavailable
+     */
+    public Page<UUID> findCommonFollowing(UUID userId, UUID otherId, Pageable pageable) {
+        requireGraph();
+        Pageable page = Pageable.ofSize(PAGE_SIZE).withPage(pageable.getPageNumber());
+        SocialGraph.Common common = graph.commonFollowing(userId, otherId, (int) page.getOffset(), PAGE_SIZE);
+        return new PageImpl<>(common.users(), page, common.total());
+    }
+
+    /**
+     * - limit outside [1, 50] -> 400 Bad Request
+     * - Social graph not loaded yet -> 503 Service Unavailable
+     */
+    public List<FollowSuggestionResponse> suggest(UUID userId, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be in [1, " + MAX_SUGGESTIONS + "]");
+        }
+        requireGraph();
+        return graph.suggestions(userId, limit).stream()
+                .map(s -> FollowSuggestionResponse.builder()
+                        .userId(s.userId())
+                        .sharedConnections(s.sharedConnections())
+                        .build())
+                .toList();
     }
 
     @Transactional
@@ -59,6 +138,8 @@ public class FriendshipService {
 
         FriendshipId id = new FriendshipId(in.getFollower_Id(), in.getFollowed_Id());
 
+        // the database, not the graph: the graph may not be loaded yet, and save() on an
+        // assigned id merges, so an existing row would not fail the insert
         if (repo.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Already following");
         }
@@ -66,7 +147,9 @@ public class FriendshipService {
         Friendship f = Friendship.builder().id(id).build();
 
         try {
-            f = repo.save(f);
+            f = repo.saveAndFlush(f);
+            graph.follow(id.getFollowerId(), id.getFollowedId(), f.getCreatedAt());
+            feedService.followsChanged(id.getFollowerId());
             return Mappers.toResponse(f);
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Already following");
@@ -80,19 +163,13 @@ public class FriendshipService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Friendship not found");
         }
         repo.deleteById(id);
+        graph.unfollow(followerId, followedId);
+        feedService.followsChanged(followerId);
     }
 
-    private Page<FriendshipResponse> paginateAndMap(List<Friendship> all, Pageable pageable) {
-        int pageSize = 5;
-        int currentPage = pageable.getPageNumber();
-        int start = currentPage * pageSize;
-        int end = Math.min(start + pageSize, all.size());
-
-        List<FriendshipResponse> content = all.subList(Math.min(start, end), end)
-                .stream()
-                .map(Mappers::toResponse)
-                .toList();
-
-        return new PageImpl<>(content, Pageable.ofSize(pageSize).withPage(currentPage), all.size());
+    private void requireGraph() {
+        if (!graph.isLoaded()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Social graph is still loading");
+        }
     }
 }
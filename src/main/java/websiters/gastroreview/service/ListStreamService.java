@@ -0,0 +1,148 @@
+package websiters.gastroreview.service;
+
+import WebSiters.GastroReview.dto.RatingResponse;
+import WebSiters.GastroReview.dto.ReviewCommentResponse;
+import WebSiters.GastroReview.dto.ReviewResponse;
+import WebSiters.GastroReview.repository.RatingRepository;
+import WebSiters.GastroReview.repository.ReviewCommentRepository;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import websiters.gastroreview.dto.AddressResponse;
+import websiters.gastroreview.repository.AddressRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streaming variants of the paged list endpoints, for large page sizes.
+ *
+ * Each row is read from a forward-only DTO projection stream inside a read-only
+ * transaction and written to the response as one element of a JSON array, so a request
+ * holds one row (plus the generator buffer) however large the page is. The page has no
+ * COUNT query and no envelope: the body is the bare array.
+ */
+@Service
+public class ListStreamService {
+
+    private final ReviewRepository reviewRepo;
+    private final RatingRepository ratingRepo;
+    private final ReviewCommentRepository commentRepo;
+    private final AddressRepository addressRepo;
+    private final ObjectWriter rowWriter;
+    private final int maxSize;
+
+    public ListStreamService(ReviewRepository reviewRepo,
+                             RatingRepository ratingRepo,
+                             ReviewCommentRepository commentRepo,
+                             AddressRepository addressRepo,
+                             ObjectMapper objectMapper,
+                             @Value("${gastroreview.stream.max-size:100000}") int maxSize) {
+        this.reviewRepo = reviewRepo;
+        this.ratingRepo = ratingRepo;
+        this.commentRepo = commentRepo;
+        this.addressRepo = addressRepo;
+        // no flush per row: the generator writes to the response whenever its buffer fills
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Page request for a streamed list; the size is not capped by the paged endpoints'
+     * limit but by {@code gastroreview.stream.max-size}.
+     * - Negative page or size outside [1, max-size] -> IllegalArgumentException
+     */
+    public Pageable page(int page, int size, Sort sort) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must be zero or positive");
+        }
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxSize);
+        }
+        return PageRequest.of(page, size, sort);
+    }
+
+    /**
+     * Reviews, optionally filtered by restaurantId, userId or dishId (the first one given
+     * wins, as in the paged list).
+     */
+    @Transactional(readOnly = true)
+    public void streamReviews(UUID restaurantId, UUID userId, UUID dishId, Pageable pageable,
+                              OutputStream out) throws IOException {
+        try (Stream<ReviewResponse> rows = restaurantId != null
+                ? reviewRepo.streamResponsesByRestaurantId(restaurantId, pageable)
+                : userId != null ? reviewRepo.streamResponsesByUserId(userId, pageable)
+                : dishId != null ? reviewRepo.streamResponsesByDishId(dishId, pageable)
+                : reviewRepo.streamResponses(pageable)) {
+            writeArray(rows, out);
+        }
+    }
+
+    /**
+     * Ratings, optionally filtered by reviewId or userId.
+     */
+    @Transactional(readOnly = true)
+    public void streamRatings(UUID reviewId, UUID userId, Pageable pageable, OutputStream out) throws IOException {
+        try (Stream<RatingResponse> rows = reviewId != null
+                ? ratingRepo.streamResponsesByReviewId(reviewId, pageable)
+                : userId != null ? ratingRepo.streamResponsesByUserId(userId, pageable)
+                : ratingRepo.streamResponses(pageable)) {
+            writeArray(rows, out);
+        }
+    }
+
+    /**
+     * Review comments, optionally filtered by reviewId or authorId.
+     */
+    @Transactional(readOnly = true)
+    public void streamComments(UUID reviewId, UUID authorId, Pageable pageable, OutputStream out) throws IOException {
+        try (Stream<ReviewCommentResponse> rows = reviewId != null
+                ? commentRepo.streamResponsesByReviewId(reviewId, pageable)
+                : authorId != null ? commentRepo.streamResponsesByAuthorId(authorId, pageable)
+                : commentRepo.streamResponses(pageable)) {
+            writeArray(rows, out);
+        }
+    }
+
+    /**
+     * Addresses, optionally filtered by city and/or country, or by part of the street.
+     */
+    @Transactional(readOnly = true)
+    public void streamAddresses(String city, String country, String street, Pageable pageable,
+                                OutputStream out) throws IOException {
+        try (Stream<AddressResponse> rows = city != null && country != null
+                ? addressRepo.streamResponsesByCityAndCountry(city, country, pageable)
+                : city != null ? addressRepo.streamResponsesByCity(city, pageable)
+                : country != null ? addressRepo.streamResponsesByCountry(country, pageable)
+                : street != null ? addressRepo.streamResponsesByStreetContaining(street, pageable)
+                : addressRepo.streamResponses(pageable)) {
+            writeArray(rows, out);
+        }
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    private void writeArray(Stream<?> rows, OutputStream out) throws IOException {
+        try (JsonGenerator json = rowWriter.createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            Iterator<?> it = rows.iterator();
+            while (it.hasNext()) {
+                rowWriter.writeValue(json, it.next());
+            }
+            json.writeEndArray();
+        }
+    }
+}
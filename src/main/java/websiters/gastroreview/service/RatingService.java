@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import WebSiters.GastroReview.dto.RatingRequest;
 import WebSiters.GastroReview.dto.RatingResponse;
+import websiters.gastroreview.dto.CursorPage;
 
 /**
  * Service API for Rating operations.
@@ -17,6 +18,12 @@ public interface RatingService {
 
     Page<RatingResponse> findByUserId(java.util.UUID userId, Pageable pageable);
 
+    /**
+     * Keyset listing (newest first) of the ratings of a review or of a user.
+     * {@code after} is the nextCursor of the previous page, or null for the first page.
+     */
+    CursorPage<RatingResponse> scroll(java.util.UUID reviewId, java.util.UUID userId, String after, int size);
+
     RatingResponse findById(Long id);
 
     RatingResponse create(RatingRequest req);
@@ -9,22 +9,26 @@ import WebSiters.GastroReview.model.Users;
 import WebSiters.GastroReview.repository.RatingRepository;
 import WebSiters.GastroReview.repository.ReviewRepository;
 import WebSiters.GastroReview.repository.UsersRepository;
+import websiters.gastroreview.dto.Cursor;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.service.Constraints;
+import websiters.gastroreview.service.RestaurantStatsService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-
 /**
  * Implementation of RatingService.
  *
  * Responsibilities:
- * - Resolve referenced entities (Review, User).
- * - Prevent duplicate ratings (unique review + user).
+ * - Reference Review/User by id (no lookups) and rely on FK constraints.
+ * - Prevent duplicate ratings via uq_ratings_review_user (unique review + user).
  * - Orchestrate create/update/delete operations in transactions.
  * - Throw:
  *    - EntityNotFoundException when referenced entities or target rating do not exist
@@ -39,20 +43,44 @@ public class RatingServiceImpl implements RatingService {
     private final RatingRepository repo;
     private final ReviewRepository reviewRepo;
     private final UsersRepository usersRepo;
+    private final RestaurantStatsService statsService;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     @Override
     public Page<RatingResponse> findAll(Pageable pageable) {
-        return repo.findAll(pageable).map(Mappers::toDto);
+        return repo.findResponses(pageable);
     }
 
     @Override
     public Page<RatingResponse> findByReviewId(java.util.UUID reviewId, Pageable pageable) {
-        return repo.findByReview_Id(reviewId, pageable).map(Mappers::toDto);
+        return repo.findResponsesByReviewId(reviewId, pageable);
     }
 
     @Override
     public Page<RatingResponse> findByUserId(java.util.UUID userId, Pageable pageable) {
-        return repo.findByUser_Id(userId, pageable).map(Mappers::toDto);
+        return repo.findResponsesByUserId(userId, pageable);
+    }
+
+    @Override
+    public CursorPage<RatingResponse> scroll(java.util.UUID reviewId, java.util.UUID userId, String after, int size) {
+        Pageable limit = PageRequest.ofSize(Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+        Cursor cursor = after != null && !after.isBlank() ? Cursor.decode(after) : null;
+
+        Slice<Rating> slice;
+        if (reviewId != null) {
+            slice = cursor == null
+                    ? repo.findByReview_IdOrderByCreatedAtDescIdDesc(reviewId, limit)
+                    : repo.findByReviewAfter(reviewId, cursor.getTimestamp(), cursor.longId(), limit);
+        } else if (userId != null) {
+            slice = cursor == null
+                    ? repo.findByUser_IdOrderByCreatedAtDescIdDesc(userId, limit)
+                    : repo.findByUserAfter(userId, cursor.getTimestamp(), cursor.longId(), limit);
+        } else {
+            throw new IllegalArgumentException("reviewId or userId is required for cursor listing");
+        }
+
+        return CursorPage.of(slice, Mappers::toDto, r -> Cursor.of(r.getCreatedAt(), r.getId()));
     }
 
     @Override
@@ -65,26 +93,28 @@ public class RatingServiceImpl implements RatingService {
     @Override
     @Transactional
     public RatingResponse create(RatingRequest req) {
-        // Resolve review
-        Review review = reviewRepo.findById(req.getReviewId())
-                .orElseThrow(() -> new EntityNotFoundException("Review not found: " + req.getReviewId()));
-
-        // Resolve user
-        Users user = usersRepo.findById(req.getUserId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + req.getUserId()));
-
-        // Defensive duplicate check: if a rating already exists for this (review,user) -> conflict
-        Optional<Rating> existing = repo.findByReview_IdAndUser_Id(req.getReviewId(), req.getUserId());
-        if (existing.isPresent()) {
-            throw new IllegalStateException("User already rated this review");
-        }
+        // Review and user are not loaded: reference proxies only carry the id.
+        // Missing references and duplicates are rejected by the FK constraints and
+        // uq_ratings_review_user on INSERT, and translated below.
+        Review review = reviewRepo.getReferenceById(req.getReviewId());
+        Users user = usersRepo.getReferenceById(req.getUserId());
 
         // Build and save
         Rating toSave = Mappers.toEntity(req, review, user);
         try {
-            Rating saved = repo.save(toSave);
+            Rating saved = repo.saveAndFlush(toSave);
+            statsService.ratingCreatedOnReview(req.getReviewId(), saved.getStars());
             return Mappers.toDto(saved);
         } catch (DataIntegrityViolationException ex) {
+            if (Constraints.isViolated(ex, "uq_ratings_review_user")) {
+                throw new IllegalStateException("User already rated this review");
+            }
+            if (Constraints.isViolated(ex, "ratings_review_id_fkey")) {
+                throw new EntityNotFoundException("Review not found: " + req.getReviewId());
+            }
+            if (Constraints.isViolated(ex, "ratings_user_id_fkey")) {
+                throw new EntityNotFoundException("User not found: " + req.getUserId());
+            }
             throw ex;
         }
     }
@@ -104,10 +134,12 @@ public class RatingServiceImpl implements RatingService {
         }
 
         // Apply mutable fields (stars and points)
+        int oldStars = existing.getStars();
         Mappers.updateEntityFromRequest(req, existing);
 
         try {
             Rating saved = repo.save(existing);
+            statsService.ratingChanged(saved.getReview().getRestaurant().getId(), oldStars, saved.getStars());
             return Mappers.toDto(saved);
         } catch (DataIntegrityViolationException ex) {
             throw ex;
@@ -117,9 +149,10 @@ public class RatingServiceImpl implements RatingService {
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new EntityNotFoundException("Rating not found: " + id);
-        }
-        repo.deleteById(id);
+        Rating existing = repo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Rating not found: " + id));
+
+        statsService.ratingDeleted(existing.getReview().getRestaurant().getId(), existing.getStars());
+        repo.delete(existing);
     }
 }
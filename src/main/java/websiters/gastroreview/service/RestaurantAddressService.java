@@ -26,13 +26,16 @@ public class RestaurantAddressService {
     private final RestaurantAddressRepository repo;
     private final RestaurantRepository restaurantRepo;
     private final AddressRepository addressRepo;
+    private final RestaurantGeoIndex geoIndex;
 
     public RestaurantAddressService(RestaurantAddressRepository repo,
                                     RestaurantRepository restaurantRepo,
-                                    AddressRepository addressRepo) {
+                                    AddressRepository addressRepo,
+                                    RestaurantGeoIndex geoIndex) {
         this.repo = repo;
         this.restaurantRepo = restaurantRepo;
         this.addressRepo = addressRepo;
+        this.geoIndex = geoIndex;
     }
 
     @Transactional(readOnly = true)
@@ -89,6 +92,9 @@ public class RestaurantAddressService {
                         });
             }
             ra = repo.saveAndFlush(ra);
+            if (ra.isPrimary()) {
+                geoIndex.put(in.getRestaurant_Id(), address.getLatitude(), address.getLongitude());
+            }
             return Mappers.toResponse(ra);
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Primary address already set for restaurant");
@@ -102,6 +108,7 @@ public class RestaurantAddressService {
                 new ResponseStatusException(HttpStatus.NOT_FOUND, "RestaurantAddress not found"));
 
         if (in.getBranch_name() != null) ra.setBranchName(in.getBranch_name());
+        boolean wasPrimary = ra.isPrimary();
 
         if (in.getIs_primary() != null) {
             if (in.getIs_primary()) {
@@ -121,6 +128,11 @@ public class RestaurantAddressService {
 
         try {
             ra = repo.saveAndFlush(ra);
+            if (ra.isPrimary()) {
+                geoIndex.put(restaurantId, ra.getAddress().getLatitude(), ra.getAddress().getLongitude());
+            } else if (wasPrimary) {
+                geoIndex.remove(restaurantId);
+            }
             return Mappers.toResponse(ra);
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Primary address already set for restaurant");
@@ -130,10 +142,12 @@ public class RestaurantAddressService {
     @Transactional
     public void delete(UUID restaurantId, UUID addressId) {
         var id = new RestaurantAddressId(restaurantId, addressId);
-        if (!repo.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "RestaurantAddress not found");
+        var ra = repo.findById(id).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "RestaurantAddress not found"));
+        repo.delete(ra);
+        if (ra.isPrimary()) {
+            geoIndex.remove(restaurantId);
         }
-        repo.deleteById(id);
     }
 
     private Page<RestaurantAddressResponse> paginateAndMap(List<RestaurantAddress> all, Pageable pageable) {
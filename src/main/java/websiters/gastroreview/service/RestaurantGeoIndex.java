@@ -0,0 +1,250 @@
+package websiters.gastroreview.service;
+
+import websiters.gastroreview.repository.RestaurantAddressRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index over the primary address of every restaurant.
+ *
+ * Points live in a fixed lat/lng grid (cells of {@link #CELL_DEG} degrees, about 2 km).
+ * A k-nearest query visits rings of cells around the searched point and stops as soon
+ * as the next ring cannot hold anything closer than the radius or the current k-th hit,
+ * so it only touches a handful of cells. Rings never reach past the bounding box of
+ * the search circle, which near the poles spans many more columns than rows. Cells are
+ * copy-on-write arrays: reads take no lock, writes are serialized.
+ *
+ * Loaded at startup and fully reloaded on a schedule; services call {@link #put} and
+ * {@link #remove} on address/link writes, applied once their transaction commits.
+ * Writes that arrive while a reload is reading the table are replayed on the new grid.
+ */
+@Component
+@Slf4j
+public class RestaurantGeoIndex {
+
+    static final double CELL_DEG = 0.02;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEG = Math.PI * EARTH_RADIUS_KM / 180.0;
+    private static final int LAT_CELLS = (int) Math.ceil(180.0 / CELL_DEG);
+    private static final int LNG_CELLS = (int) Math.ceil(360.0 / CELL_DEG);
+
+    public record Hit(UUID restaurantId, double latitude, double longitude, double distanceKm) {
+    }
+
+    private record Point(UUID restaurantId, double latitude, double longitude) {
+    }
+
+    private final RestaurantAddressRepository repo;
+
+    private volatile Map<Long, Point[]> cells = new ConcurrentHashMap<>();
+    private volatile Map<UUID, Point> byRestaurant = new ConcurrentHashMap<>();
+    private List<Runnable> pendingDuringReload;
+
+    public RestaurantGeoIndex(RestaurantAddressRepository repo) {
+        this.repo = repo;
+    }
+
+    /* ---------------- loading ---------------- */
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${gastroreview.geo.reload-interval-ms:3600000}",
+               fixedDelayString = "${gastroreview.geo.reload-interval-ms:3600000}")
+    public void reload() {
+        synchronized (this) {
+            pendingDuringReload = new ArrayList<>();
+        }
+        List<Object[]> rows;
+        try {
+            rows = repo.findPrimaryLocations();
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                pendingDuringReload = null;
+            }
+            throw ex;
+        }
+
+        Map<Long, List<Point>> grouped = new HashMap<>();
+        Map<UUID, Point> points = new ConcurrentHashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            Point p = new Point((UUID) row[0], ((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue());
+            points.put(p.restaurantId(), p);
+            grouped.computeIfAbsent(cellOf(p.latitude(), p.longitude()), k -> new ArrayList<>()).add(p);
+        }
+        Map<Long, Point[]> newCells = new ConcurrentHashMap<>(grouped.size() * 2);
+        grouped.forEach((key, list) -> newCells.put(key, list.toArray(Point[]::new)));
+
+        synchronized (this) {
+            cells = newCells;
+            byRestaurant = points;
+            try {
+                pendingDuringReload.forEach(Runnable::run);
+            } finally {
+                pendingDuringReload = null;
+            }
+        }
+        log.info("Restaurant geo index loaded: {} restaurants in {} cells", points.size(), newCells.size());
+    }
+
+    /* ---------------- writes ---------------- */
+
+    /**
+     * Set the location of a restaurant; null coordinates remove it from the index.
+     */
+    public void put(UUID restaurantId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(restaurantId);
+            return;
+        }
+        Point p = new Point(restaurantId, latitude, longitude);
+        TransactionCallbacks.afterCommit(() -> write(() -> doPut(p)));
+    }
+
+    public void remove(UUID restaurantId) {
+        TransactionCallbacks.afterCommit(() -> write(() -> doRemove(restaurantId)));
+    }
+
+    private synchronized void write(Runnable op) {
+        op.run();
+        if (pendingDuringReload != null) pendingDuringReload.add(op);
+    }
+
+    private synchronized void doPut(Point p) {
+        doRemove(p.restaurantId());
+        cells.merge(cellOf(p.latitude(), p.longitude()), new Point[]{p}, (old, add) -> {
+            Point[] out = Arrays.copyOf(old, old.length + 1);
+            out[old.length] = add[0];
+            return out;
+        });
+        byRestaurant.put(p.restaurantId(), p);
+    }
+
+    private synchronized void doRemove(UUID restaurantId) {
+        Point old = byRestaurant.remove(restaurantId);
+        if (old == null) return;
+        cells.computeIfPresent(cellOf(old.latitude(), old.longitude()), (key, arr) -> {
+            Point[] out = Arrays.stream(arr).filter(p -> !p.restaurantId().equals(restaurantId)).toArray(Point[]::new);
+            return out.length == 0 ? null : out;
+        });
+    }
+
+    /* ---------------- queries ---------------- */
+
+    /**
+     * Up to {@code limit} restaurants within {@code radiusKm} of the point, closest first.
+     */
+    public List<Hit> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        Map<Long, Point[]> grid = cells;
+        int latIdx = latIndex(latitude);
+        int lngIdx = lngIndex(longitude);
+
+        // Smallest cell side in km over the searched band: a lower bound for ring distances
+        double cellLatKm = CELL_DEG * KM_PER_DEG;
+        double maxAbsLat = Math.min(90.0, Math.abs(latitude) + radiusKm / KM_PER_DEG);
+        double cellKm = Math.min(cellLatKm, cellLatKm * Math.cos(Math.toRadians(maxAbsLat)));
+
+        // Rows and columns of the circle's bounding box, plus the partial cell on each side.
+        // A circle over a pole spans every longitude: each column is then visited once.
+        double angularDeg = radiusKm / KM_PER_DEG;
+        int latRings = (int) Math.min(Math.ceil(angularDeg / CELL_DEG) + 1, LAT_CELLS);
+        int lngLo;
+        int lngHi;
+        if (Math.abs(latitude) + angularDeg >= 90.0) {
+            lngLo = -(LNG_CELLS / 2);
+            lngHi = lngLo + LNG_CELLS - 1;
+        } else {
+            double spanDeg = Math.toDegrees(Math.asin(
+                    Math.sin(Math.toRadians(angularDeg)) / Math.cos(Math.toRadians(latitude))));
+            int lngRings = (int) Math.ceil(spanDeg / CELL_DEG) + 1;
+            lngLo = Math.max(-lngRings, -(LNG_CELLS / 2));
+            lngHi = Math.min(lngRings, lngLo + LNG_CELLS - 1);
+        }
+        int maxRing = Math.max(latRings, Math.max(-lngLo, lngHi));
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.max(limit, 1),
+                Comparator.comparingDouble(Hit::distanceKm).reversed());
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Points in ring r are at least r-1 whole cells away from any point of the centre cell
+            double bound = Math.max(0, ring - 1) * cellKm;
+            if (bound > radiusKm) break;
+            if (best.size() == limit && bound > best.peek().distanceKm()) break;
+
+            for (int dLat = Math.max(-ring, -latRings); dLat <= Math.min(ring, latRings); dLat++) {
+                int row = latIdx + dLat;
+                if (row < 0 || row >= LAT_CELLS) continue;
+                if (dLat == -ring || dLat == ring) {
+                    for (int dLng = Math.max(-ring, lngLo); dLng <= Math.min(ring, lngHi); dLng++) {
+                        collect(grid.get(key(row, Math.floorMod(lngIdx + dLng, LNG_CELLS))),
+                                latitude, longitude, radiusKm, limit, best);
+                    }
+                } else {
+                    if (-ring >= lngLo) {
+                        collect(grid.get(key(row, Math.floorMod(lngIdx - ring, LNG_CELLS))),
+                                latitude, longitude, radiusKm, limit, best);
+                    }
+                    if (ring <= lngHi) {
+                        collect(grid.get(key(row, Math.floorMod(lngIdx + ring, LNG_CELLS))),
+                                latitude, longitude, radiusKm, limit, best);
+                    }
+                }
+            }
+        }
+
+        List<Hit> out = new ArrayList<>(best);
+        out.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return out;
+    }
+
+    public int size() {
+        return byRestaurant.size();
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    private static void collect(Point[] cell, double latitude, double longitude, double radiusKm, int limit,
+                                PriorityQueue<Hit> best) {
+        if (cell == null) return;
+        for (Point p : cell) {
+            double d = distanceKm(latitude, longitude, p.latitude(), p.longitude());
+            if (d > radiusKm) continue;
+            if (best.size() < limit) {
+                best.add(new Hit(p.restaurantId(), p.latitude(), p.longitude(), d));
+            } else if (d < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Hit(p.restaurantId(), p.latitude(), p.longitude(), d));
+            }
+        }
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return key(latIndex(latitude), lngIndex(longitude));
+    }
+
+    private static long key(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    private static int latIndex(double latitude) {
+        return Math.min(LAT_CELLS - 1, Math.max(0, (int) Math.floor((latitude + 90.0) / CELL_DEG)));
+    }
+
+    private static int lngIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / CELL_DEG), LNG_CELLS);
+    }
+
+    // Haversine great-circle distance
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
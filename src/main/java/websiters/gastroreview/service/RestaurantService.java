@@ -1,5 +1,6 @@
 package websiters.gastroreview.service;
 
+import websiters.gastroreview.dto.NearbyRestaurantResponse;
 import websiters.gastroreview.dto.RestaurantRequest;
 import websiters.gastroreview.dto.RestaurantResponse;
 import websiters.gastroreview.mapper.Mappers;
@@ -7,51 +8,81 @@ import websiters.gastroreview.model.Restaurant;
 import websiters.gastroreview.model.User;
 import websiters.gastroreview.repository.RestaurantRepository;
 import websiters.gastroreview.repository.UsersRepository;
+import websiters.gastroreview.search.NameAutocompleteIndex;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Instant;
+import java.util.*;
 
 @Service
 public class RestaurantService {
 
+    private static final double MAX_NEAR_RADIUS_KM = 100;
+    private static final int MAX_NEAR_LIMIT = 100;
+
     private final RestaurantRepository repo;
     private final UsersRepository usersRepo;
-
-    public RestaurantService(RestaurantRepository repo, UsersRepository usersRepo) {
+    private final RestaurantStatsService statsService;
+    private final RestaurantGeoIndex geoIndex;
+    private final NameAutocompleteIndex autocomplete;
+    private final ScheduleClock scheduleClock;
+
+    public RestaurantService(RestaurantRepository repo, UsersRepository usersRepo,
+                             RestaurantStatsService statsService, RestaurantGeoIndex geoIndex,
+                             NameAutocompleteIndex autocomplete, ScheduleClock scheduleClock) {
         this.repo = repo;
         this.usersRepo = usersRepo;
+        this.statsService = statsService;
+        this.geoIndex = geoIndex;
+        this.autocomplete = autocomplete;
+        this.scheduleClock = scheduleClock;
     }
 
     @Transactional(readOnly = true)
     public Page<RestaurantResponse> list(Pageable pageable) {
         Pageable fixedPageable = Pageable.ofSize(5).withPage(pageable.getPageNumber());
-        return repo.findAll(fixedPageable).map(Mappers::toResponse);
+        return repo.findResponses(fixedPageable);
+    }
+
+    /**
+     * Same as {@link #list}, keeping only restaurants open at the given instant
+     * (null means no filter).
+     */
+    @Transactional(readOnly = true)
+    public Page<RestaurantResponse> list(Pageable pageable, Instant openAt) {
+        if (openAt == null) return list(pageable);
+        ScheduleClock.WeekTime t = scheduleClock.at(openAt);
+        return repo.findResponsesOpenAt(t.weekday(), t.time(), fixedPage(pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<RestaurantResponse> findByName(String name, Pageable pageable) {
-        List<Restaurant> all = repo.findByNameContainingIgnoreCase(name);
-        return paginateAndMap(all, pageable);
+        return repo.findResponsesByNameContaining(name, fixedPage(pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<RestaurantResponse> findByOwner(UUID ownerId, Pageable pageable) {
-        List<Restaurant> all = repo.findByOwner_Id(ownerId);
-        return paginateAndMap(all, pageable);
+        return repo.findResponsesByOwnerId(ownerId, fixedPage(pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<RestaurantResponse> findByCity(String city, Pageable pageable) {
-        List<Restaurant> all = repo.findByCityIgnoreCase(city);
-        return paginateAndMap(all, pageable);
+        return repo.findResponsesByCity(city, fixedPage(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RestaurantResponse> findByCity(String city, Pageable pageable, Instant openAt) {
+        if (openAt == null) return findByCity(city, pageable);
+        ScheduleClock.WeekTime t = scheduleClock.at(openAt);
+        return repo.findResponsesByCityOpenAt(city, t.weekday(), t.time(), fixedPage(pageable));
     }
 
     @Transactional(readOnly = true)
@@ -81,6 +112,7 @@ public class RestaurantService {
 
         try {
             r = repo.save(r);
+            autocomplete.putRestaurant(r.getId(), r.getName());
             return Mappers.toResponse(r);
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid restaurant data");
@@ -105,6 +137,7 @@ public class RestaurantService {
 
         try {
             r = repo.save(r);
+            autocomplete.putRestaurant(r.getId(), r.getName());
             return Mappers.toResponse(r);
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid restaurant data");
@@ -116,20 +149,55 @@ public class RestaurantService {
         if (!repo.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found");
         }
+        statsService.restaurantDeleted(id);
+        geoIndex.remove(id);
+        autocomplete.removeRestaurant(id);
         repo.deleteById(id);
     }
 
-    private Page<RestaurantResponse> paginateAndMap(List<Restaurant> all, Pageable pageable) {
-        int pageSize = 5;
-        int currentPage = pageable.getPageNumber();
-        int start = currentPage * pageSize;
-        int end = Math.min(start + pageSize, all.size());
+    /**
+     * Restaurants whose primary address lies within radiusKm of (lat, lng), closest first.
+     * Distances come from the in-memory geo index; the restaurants themselves are loaded
+     * in one query.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyRestaurantResponse> findNear(double lat, double lng, double radiusKm, int limit) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "lat must be in [-90, 90] and lng in [-180, 180]");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEAR_RADIUS_KM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "radiusKm must be in (0, " + MAX_NEAR_RADIUS_KM + "]");
+        }
+        if (limit < 1 || limit > MAX_NEAR_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be in [1, " + MAX_NEAR_LIMIT + "]");
+        }
 
-        List<RestaurantResponse> content = all.subList(Math.min(start, end), end)
-                .stream()
-                .map(Mappers::toResponse)
-                .toList();
+        List<RestaurantGeoIndex.Hit> hits = geoIndex.nearest(lat, lng, radiusKm, limit);
+        if (hits.isEmpty()) return List.of();
+
+        Map<UUID, Restaurant> byId = new HashMap<>();
+        for (Restaurant r : repo.findAllById(hits.stream().map(RestaurantGeoIndex.Hit::restaurantId).toList())) {
+            byId.put(r.getId(), r);
+        }
+        List<NearbyRestaurantResponse> out = new ArrayList<>(hits.size());
+        for (RestaurantGeoIndex.Hit hit : hits) {
+            Restaurant r = byId.get(hit.restaurantId());
+            if (r == null) continue; // deleted since the index was updated
+            out.add(NearbyRestaurantResponse.builder()
+                    .restaurant(Mappers.toResponse(r))
+                    .latitude(hit.latitude())
+                    .longitude(hit.longitude())
+                    .distanceKm(hit.distanceKm())
+                    .build());
+        }
+        return out;
+    }
 
-        return new PageImpl<>(content, Pageable.ofSize(pageSize).withPage(currentPage), all.size());
+    /**
+     * Search pages are fixed to 5 rows and ordered by name so that the
+     * LIMIT/OFFSET applied by the database returns stable pages.
+     */
+    private Pageable fixedPage(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), 5, Sort.by("name", "id"));
     }
 }
@@ -0,0 +1,288 @@
+package websiters.gastroreview.service;
+
+import websiters.gastroreview.dto.RestaurantStatsResponse;
+import websiters.gastroreview.mapper.Mappers;
+import websiters.gastroreview.model.RestaurantStats;
+import websiters.gastroreview.repository.RestaurantStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Maintains the restaurant_stats projection.
+ *
+ * Review and rating services call the *Created/*Changed/*Deleted hooks inside
+ * their own transaction, so counters move atomically with the source rows.
+ * Each hook is a single UPDATE with deltas; when a restaurant has no row yet
+ * it is built from the source tables and inserted with ON CONFLICT DO NOTHING, and
+ * if a concurrent transaction created it first the delta is applied to that row
+ * instead. {@link #reconcileAll()} re-derives every row on a schedule to repair
+ * any drift (manual SQL, cascades, etc.).
+ */
+@Service
+@Slf4j
+public class RestaurantStatsService {
+
+    private final RestaurantStatsRepository repo;
+    private final double priorMean;
+    private final int priorWeight;
+
+    public RestaurantStatsService(RestaurantStatsRepository repo,
+                                  @Value("${gastroreview.stats.prior-mean:3.5}") double priorMean,
+                                  @Value("${gastroreview.stats.prior-weight:10}") int priorWeight) {
+        this.repo = repo;
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+    }
+
+    /* ---------------- reads ---------------- */
+
+    @Transactional(readOnly = true)
+    public RestaurantStatsResponse get(UUID restaurantId) {
+        RestaurantStats s = repo.findById(restaurantId)
+                .orElseGet(() -> empty(restaurantId));
+        return Mappers.toResponse(s, priorMean, priorWeight);
+    }
+
+    /**
+     * Stats for many restaurants in one query, in the order requested.
+     * Restaurants without a row yet are reported with zero counters.
+     */
+    @Transactional(readOnly = true)
+    public List<RestaurantStatsResponse> getAll(Collection<UUID> restaurantIds) {
+        if (restaurantIds.size() > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most 100 restaurant ids per request");
+        }
+        Map<UUID, RestaurantStats> byId = new HashMap<>();
+        for (RestaurantStats s : repo.findByRestaurantIdIn(restaurantIds)) {
+            byId.put(s.getRestaurantId(), s);
+        }
+        List<RestaurantStatsResponse> out = new ArrayList<>(restaurantIds.size());
+        for (UUID id : restaurantIds) {
+            RestaurantStats s = byId.get(id);
+            out.add(Mappers.toResponse(s != null ? s : empty(id), priorMean, priorWeight));
+        }
+        return out;
+    }
+
+    /* ---------------- write hooks ---------------- */
+
+    @Transactional
+    public void reviewCreated(UUID restaurantId) {
+        apply(restaurantId, 1, 0, new long[5], true);
+    }
+
+    /**
+     * Bulk variant of {@link #reviewCreated} for imports: one UPDATE per restaurant and chunk.
+     */
+    @Transactional
+    public void reviewsCreated(UUID restaurantId, long count) {
+        apply(restaurantId, count, 0, new long[5], true);
+    }
+
+    /**
+     * Must be called before the review row is deleted: its ratings go away with it
+     * (ON DELETE CASCADE) and have to be subtracted too.
+     */
+    @Transactional
+    public void reviewDeleted(UUID restaurantId, UUID reviewId) {
+        long[] hist = toHistogram(repo.starHistogramOfReview(reviewId));
+        long ratings = 0;
+        for (int i = 0; i < 5; i++) {
+            ratings += hist[i];
+            hist[i] = -hist[i];
+        }
+        apply(restaurantId, -1, -ratings, hist, false);
+    }
+
+    @Transactional
+    public void ratingCreated(UUID restaurantId, int stars) {
+        long[] hist = new long[5];
+        hist[stars - 1] = 1;
+        apply(restaurantId, 0, 1, hist, true);
+    }
+
+    /**
+     * Same as {@link #ratingCreated} when only the review id is at hand: the
+     * restaurant is resolved inside the UPDATE instead of loading the review.
+     */
+    @Transactional
+    public void ratingCreatedOnReview(UUID reviewId, int stars) {
+        long[] hist = new long[5];
+        hist[stars - 1] = 1;
+        int updated = repo.applyDeltaForReview(reviewId, 0, 1, stars,
+                hist[0], hist[1], hist[2], hist[3], hist[4], OffsetDateTime.now());
+        if (updated == 0) {
+            Optional<UUID> restaurantId = repo.findRestaurantIdOfReview(reviewId);
+            if (restaurantId.isPresent() && !insertRebuilt(restaurantId.get())) {
+                repo.applyDelta(restaurantId.get(), 0, 1, stars,
+                        hist[0], hist[1], hist[2], hist[3], hist[4], OffsetDateTime.now());
+            }
+        }
+    }
+
+    @Transactional
+    public void ratingChanged(UUID restaurantId, int oldStars, int newStars) {
+        if (oldStars == newStars) return;
+        long[] hist = new long[5];
+        hist[oldStars - 1] = -1;
+        hist[newStars - 1] = 1;
+        apply(restaurantId, 0, 0, hist, true);
+    }
+
+    @Transactional
+    public void ratingDeleted(UUID restaurantId, int stars) {
+        long[] hist = new long[5];
+        hist[stars - 1] = -1;
+        apply(restaurantId, 0, -1, hist, false);
+    }
+
+    @Transactional
+    public void restaurantDeleted(UUID restaurantId) {
+        if (repo.existsById(restaurantId)) {
+            repo.deleteById(restaurantId);
+        }
+    }
+
+    /* ---------------- reconciliation ---------------- */
+
+    /**
+     * Rebuild every row from two grouped queries over reviews and ratings and
+     * rewrite only the rows whose counters drifted.
+     *
+     * The rows are locked before the grouped queries run, so those see every hook
+     * that already moved a row, and the hooks still in flight wait and apply their
+     * delta on top of the rewritten counters instead of being overwritten by them.
+     */
+    @Scheduled(cron = "${gastroreview.stats.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcileAll() {
+        List<RestaurantStats> rows = repo.findAllForUpdate();
+
+        Map<UUID, RestaurantStats> expected = new HashMap<>();
+
+        for (Object[] row : repo.countReviewsByRestaurant()) {
+            UUID id = (UUID) row[0];
+            expected.computeIfAbsent(id, this::empty).setReviewCount(((Number) row[1]).longValue());
+        }
+        for (Object[] row : repo.starHistogramByRestaurant()) {
+            UUID id = (UUID) row[0];
+            RestaurantStats s = expected.computeIfAbsent(id, this::empty);
+            addToHistogram(s, ((Number) row[1]).intValue(), ((Number) row[2]).longValue());
+        }
+
+        int fixed = 0;
+        for (RestaurantStats current : rows) {
+            RestaurantStats target = expected.remove(current.getRestaurantId());
+            if (target == null) target = empty(current.getRestaurantId());
+            if (!sameCounters(current, target)) {
+                copyCounters(target, current);
+                fixed++;
+            }
+        }
+        // restaurants with reviews but no stats row yet (unless a hook creates it meanwhile)
+        for (RestaurantStats missing : expected.values()) {
+            fixed += insert(missing);
+        }
+
+        if (fixed > 0) {
+            log.info("restaurant_stats reconciliation fixed {} rows", fixed);
+        }
+        return fixed;
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    /**
+     * Apply the deltas; a missing row is only built on create/update hooks, whose
+     * change is already visible in the source tables. Delete hooks run before the
+     * row is gone, so they leave a missing row to the next write or the reconciliation job.
+     */
+    private void apply(UUID restaurantId, long reviews, long ratings, long[] hist, boolean rebuildIfMissing) {
+        long starsSum = 0;
+        for (int i = 0; i < 5; i++) starsSum += hist[i] * (i + 1);
+
+        int updated = repo.applyDelta(restaurantId, reviews, ratings, starsSum,
+                hist[0], hist[1], hist[2], hist[3], hist[4], OffsetDateTime.now());
+        if (updated == 0 && rebuildIfMissing && !insertRebuilt(restaurantId)) {
+            // created meanwhile by a concurrent transaction, whose rebuild cannot see this change
+            repo.applyDelta(restaurantId, reviews, ratings, starsSum,
+                    hist[0], hist[1], hist[2], hist[3], hist[4], OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * Insert the row rebuilt from the source tables; false when it already exists.
+     */
+    private boolean insertRebuilt(UUID restaurantId) {
+        return insert(rebuild(restaurantId)) == 1;
+    }
+
+    private int insert(RestaurantStats s) {
+        return repo.insertIfAbsent(s.getRestaurantId(), s.getReviewCount(), s.getRatingCount(), s.getStarsSum(),
+                s.getStars1(), s.getStars2(), s.getStars3(), s.getStars4(), s.getStars5(), OffsetDateTime.now());
+    }
+
+    private RestaurantStats rebuild(UUID restaurantId) {
+        RestaurantStats s = empty(restaurantId);
+        s.setReviewCount(repo.countReviews(restaurantId));
+        for (Object[] row : repo.starHistogram(restaurantId)) {
+            addToHistogram(s, ((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return s;
+    }
+
+    private RestaurantStats empty(UUID restaurantId) {
+        return RestaurantStats.builder().restaurantId(restaurantId).build();
+    }
+
+    private static long[] toHistogram(List<Object[]> rows) {
+        long[] hist = new long[5];
+        for (Object[] row : rows) {
+            hist[((Number) row[0]).intValue() - 1] = ((Number) row[1]).longValue();
+        }
+        return hist;
+    }
+
+    private static void addToHistogram(RestaurantStats s, int stars, long count) {
+        switch (stars) {
+            case 1 -> s.setStars1(s.getStars1() + count);
+            case 2 -> s.setStars2(s.getStars2() + count);
+            case 3 -> s.setStars3(s.getStars3() + count);
+            case 4 -> s.setStars4(s.getStars4() + count);
+            case 5 -> s.setStars5(s.getStars5() + count);
+            default -> { return; }
+        }
+        s.setRatingCount(s.getRatingCount() + count);
+        s.setStarsSum(s.getStarsSum() + stars * count);
+    }
+
+    private static boolean sameCounters(RestaurantStats a, RestaurantStats b) {
+        return a.getReviewCount() == b.getReviewCount()
+                && a.getRatingCount() == b.getRatingCount()
+                && a.getStarsSum() == b.getStarsSum()
+                && a.getStars1() == b.getStars1()
+                && a.getStars2() == b.getStars2()
+                && a.getStars3() == b.getStars3()
+                && a.getStars4() == b.getStars4()
+                && a.getStars5() == b.getStars5();
+    }
+
+    private static void copyCounters(RestaurantStats from, RestaurantStats to) {
+        to.setReviewCount(from.getReviewCount());
+        to.setRatingCount(from.getRatingCount());
+        to.setStarsSum(from.getStarsSum());
+        to.setStars1(from.getStars1());
+        to.setStars2(from.getStars2());
+        to.setStars3(from.getStars3());
+        to.setStars4(from.getStars4());
+        to.setStars5(from.getStars5());
+    }
+}
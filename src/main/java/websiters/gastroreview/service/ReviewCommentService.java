@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import WebSiters.GastroReview.dto.ReviewCommentRequest;
 import WebSiters.GastroReview.dto.ReviewCommentResponse;
+import websiters.gastroreview.dto.CursorPage;
 
 import java.util.UUID;
 
@@ -18,6 +19,12 @@ public interface ReviewCommentService {
 
     Page<ReviewCommentResponse> findByAuthorId(UUID authorId, Pageable pageable);
 
+    /**
+     * Keyset listing of a review thread (oldest first).
+     * {@code after} is the nextCursor of the previous page, or null for the first page.
+     */
+    CursorPage<ReviewCommentResponse> scrollByReviewId(UUID reviewId, String after, int size);
+
     ReviewCommentResponse findById(UUID id);
 
     ReviewCommentResponse create(ReviewCommentRequest req);
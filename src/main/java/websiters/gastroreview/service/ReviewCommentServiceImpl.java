@@ -9,11 +9,16 @@ import WebSiters.GastroReview.model.Users;
 import WebSiters.GastroReview.repository.ReviewCommentRepository;
 import WebSiters.GastroReview.repository.ReviewRepository;
 import WebSiters.GastroReview.repository.UsersRepository;
+import websiters.gastroreview.dto.Cursor;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.service.Constraints;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +35,8 @@ public class ReviewCommentServiceImpl implements ReviewCommentService {
     private final ReviewRepository reviewRepo;
     private final UsersRepository usersRepo;
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Override
     public Page<ReviewCommentResponse> findAll(Pageable pageable) {
         return repo.findAll(pageable).map(Mappers::toDto);
@@ -45,6 +52,21 @@ public class ReviewCommentServiceImpl implements ReviewCommentService {
         return repo.findByAuthor_Id(authorId, pageable).map(Mappers::toDto);
     }
 
+    @Override
+    public CursorPage<ReviewCommentResponse> scrollByReviewId(UUID reviewId, String after, int size) {
+        Pageable limit = PageRequest.ofSize(Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+
+        Slice<ReviewComment> slice;
+        if (after == null || after.isBlank()) {
+            slice = repo.findByReview_IdOrderByPublishedAtAscIdAsc(reviewId, limit);
+        } else {
+            Cursor cursor = Cursor.decode(after);
+            slice = repo.findByReviewAfter(reviewId, cursor.getTimestamp(), cursor.uuidId(), limit);
+        }
+
+        return CursorPage.of(slice, Mappers::toDto, c -> Cursor.of(c.getPublishedAt(), c.getId()));
+    }
+
     @Override
     public ReviewCommentResponse findById(UUID id) {
         ReviewComment c = repo.findById(id)
@@ -55,20 +77,22 @@ public class ReviewCommentServiceImpl implements ReviewCommentService {
     @Override
     @Transactional
     public ReviewCommentResponse create(ReviewCommentRequest req) {
-        // Resolve review
-        Review review = reviewRepo.findById(req.getReviewId())
-                .orElseThrow(() -> new EntityNotFoundException("Review not found: " + req.getReviewId()));
-
-        // Resolve author
-        Users author = usersRepo.findById(req.getAuthorId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + req.getAuthorId()));
+        // Review and author are not loaded: the FK constraints reject unknown ids on INSERT
+        Review review = reviewRepo.getReferenceById(req.getReviewId());
+        Users author = usersRepo.getReferenceById(req.getAuthorId());
 
         // Build entity
         ReviewComment toSave = Mappers.toEntity(req, review, author);
         try {
-            ReviewComment saved = repo.save(toSave);
+            ReviewComment saved = repo.saveAndFlush(toSave);
             return Mappers.toDto(saved);
         } catch (DataIntegrityViolationException ex) {
+            if (Constraints.isViolated(ex, "review_comments_review_id_fkey")) {
+                throw new EntityNotFoundException("Review not found: " + req.getReviewId());
+            }
+            if (Constraints.isViolated(ex, "review_comments_author_id_fkey")) {
+                throw new EntityNotFoundException("User not found: " + req.getAuthorId());
+            }
             throw ex;
         }
     }
@@ -0,0 +1,307 @@
+package websiters.gastroreview.service;
+
+import WebSiters.GastroReview.dto.ReviewRequest;
+import WebSiters.GastroReview.mapper.Mappers;
+import WebSiters.GastroReview.model.Dish;
+import WebSiters.GastroReview.model.Restaurant;
+import WebSiters.GastroReview.model.Review;
+import WebSiters.GastroReview.model.Users;
+import WebSiters.GastroReview.repository.DishRepository;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import WebSiters.GastroReview.repository.UsersRepository;
+import WebSiters.GastroReview.service.ReviewService;
+import websiters.gastroreview.analysis.NearDuplicateIndex;
+import websiters.gastroreview.analysis.ReviewAnalysisPipeline;
+import websiters.gastroreview.dto.ReviewImportResult;
+import websiters.gastroreview.repository.RestaurantRepository;
+import websiters.gastroreview.search.ReviewSearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of reviews from NDJSON (one ReviewRequest per line).
+ *
+ * The body is read line by line and processed in chunks: user, restaurant and dish
+ * ids of a chunk are checked with one IN query each, and the valid rows are inserted
+ * in a single transaction with Hibernate JDBC batching (review ids are assigned in
+ * prePersist, so nothing forces a round-trip per row). Each chunk commits on its own;
+ * if the database still rejects one (e.g. a referenced row deleted meanwhile), that
+ * chunk is retried row by row through {@link ReviewService#create} to pin down the bad rows.
+ * Any other failure (database unreachable, timeout, body cut off) stops the import: the
+ * chunks committed so far stay, and the result reports them along with the reason.
+ */
+@Service
+@Slf4j
+public class ReviewImportService {
+
+    private final ReviewRepository reviewRepo;
+    private final UsersRepository usersRepo;
+    private final RestaurantRepository restaurantRepo;
+    private final DishRepository dishRepo;
+    private final ReviewService reviewService;
+    private final RestaurantStatsService statsService;
+    private final ReviewSearchIndex searchIndex;
+    private final FeedService feedService;
+    private final ReviewAnalysisPipeline analysisPipeline;
+    private final NearDuplicateIndex nearDuplicates;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ReviewImportService(ReviewRepository reviewRepo,
+                               UsersRepository usersRepo,
+                               RestaurantRepository restaurantRepo,
+                               DishRepository dishRepo,
+                               ReviewService reviewService,
+                               RestaurantStatsService statsService,
+                               ReviewSearchIndex searchIndex,
+                               FeedService feedService,
+                               ReviewAnalysisPipeline analysisPipeline,
+                               NearDuplicateIndex nearDuplicates,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${gastroreview.import.chunk-size:1000}") int chunkSize,
+                               @Value("${gastroreview.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.reviewRepo = reviewRepo;
+        this.usersRepo = usersRepo;
+        this.restaurantRepo = restaurantRepo;
+        this.dishRepo = dishRepo;
+        this.reviewService = reviewService;
+        this.statsService = statsService;
+        this.searchIndex = searchIndex;
+        this.feedService = feedService;
+        this.analysisPipeline = analysisPipeline;
+        this.nearDuplicates = nearDuplicates;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ReviewImportResult importNdjson(InputStream body) {
+        Tally tally = new Tally();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNo = 0;
+            while (tally.abortReason == null && (line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                tally.received++;
+
+                Row row = parse(lineNo, line, tally);
+                if (row == null) continue;
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, tally);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            tally.abort(chunk, "Could not read the request body", ex);
+            chunk.clear();
+        }
+        if (tally.abortReason == null && !chunk.isEmpty()) {
+            processChunk(chunk, tally);
+        }
+
+        if (tally.abortReason != null) {
+            log.warn("Review import stopped: {} received, {} imported, {} failed",
+                    tally.received, tally.imported, tally.failed);
+        } else {
+            log.info("Review import finished: {} received, {} imported, {} failed",
+                    tally.received, tally.imported, tally.failed);
+        }
+        return ReviewImportResult.builder()
+                .received(tally.received)
+                .imported(tally.imported)
+                .failed(tally.failed)
+                .errors(tally.errors)
+                .errorsTruncated(tally.failed > tally.errors.size())
+                .abortReason(tally.abortReason)
+                .build();
+    }
+
+    /* ---------------- steps ---------------- */
+
+    private Row parse(long lineNo, String line, Tally tally) {
+        ReviewRequest req;
+        try {
+            req = objectMapper.readValue(line, ReviewRequest.class);
+        } catch (JsonProcessingException ex) {
+            tally.reject(lineNo, "Malformed JSON: " + ex.getOriginalMessage());
+            return null;
+        }
+        Set<ConstraintViolation<ReviewRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            tally.reject(lineNo, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return new Row(lineNo, req);
+    }
+
+    /**
+     * Import one chunk. A failure that is not about the chunk's own rows stops the
+     * import: the rows not committed are reported with the reason, and no further
+     * chunk is attempted, since it would fail the same way.
+     */
+    private void processChunk(List<Row> chunk, Tally tally) {
+        List<Row> valid;
+        try {
+            valid = checkReferences(chunk, tally);
+        } catch (RuntimeException ex) {
+            tally.abort(chunk, "Could not check the referenced rows", ex);
+            return;
+        }
+        if (valid.isEmpty()) return;
+
+        List<Review> saved;
+        try {
+            saved = tx.execute(status -> insert(valid));
+            tally.imported += valid.size();
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Review import chunk of {} rows rejected by the database, retrying row by row", valid.size());
+            for (Row row : valid) {
+                try {
+                    reviewService.create(row.request);
+                    tally.imported++;
+                } catch (RuntimeException rowEx) {
+                    tally.reject(row.line, rowEx.getMessage());
+                }
+            }
+            return;
+        } catch (RuntimeException ex) {
+            tally.abort(valid, "Could not save the chunk", ex);
+            return;
+        }
+        indexCommitted(saved);
+    }
+
+    /**
+     * Rejects the rows whose user, restaurant or dish does not exist and returns the others.
+     */
+    private List<Row> checkReferences(List<Row> chunk, Tally tally) {
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> restaurantIds = new HashSet<>();
+        Set<UUID> dishIds = new HashSet<>();
+        for (Row row : chunk) {
+            userIds.add(row.request.getUserId());
+            restaurantIds.add(row.request.getRestaurantId());
+            if (row.request.getDishId() != null) dishIds.add(row.request.getDishId());
+        }
+
+        Set<UUID> knownUsers = new HashSet<>(usersRepo.findExistingIds(userIds));
+        Set<UUID> knownRestaurants = new HashSet<>(restaurantRepo.findExistingIds(restaurantIds));
+        Map<UUID, UUID> dishRestaurant = new HashMap<>();
+        if (!dishIds.isEmpty()) {
+            for (Object[] r : dishRepo.findRestaurantIdsByIdIn(dishIds)) {
+                dishRestaurant.put((UUID) r[0], (UUID) r[1]);
+            }
+        }
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            ReviewRequest req = row.request;
+            if (!knownUsers.contains(req.getUserId())) {
+                tally.reject(row.line, "User not found: " + req.getUserId());
+            } else if (!knownRestaurants.contains(req.getRestaurantId())) {
+                tally.reject(row.line, "Restaurant not found: " + req.getRestaurantId());
+            } else if (req.getDishId() != null && !dishRestaurant.containsKey(req.getDishId())) {
+                tally.reject(row.line, "Dish not found: " + req.getDishId());
+            } else if (req.getDishId() != null && !req.getRestaurantId().equals(dishRestaurant.get(req.getDishId()))) {
+                tally.reject(row.line, "Dish does not belong to the provided restaurant");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Runs inside the chunk transaction. References are proxies (ids were checked above),
+     * and the flush sends the INSERTs in JDBC batches of hibernate.jdbc.batch_size.
+     */
+    private List<Review> insert(List<Row> rows) {
+        List<Review> reviews = new ArrayList<>(rows.size());
+        Map<UUID, Long> perRestaurant = new HashMap<>();
+        for (Row row : rows) {
+            ReviewRequest req = row.request;
+            Users user = usersRepo.getReferenceById(req.getUserId());
+            Restaurant restaurant = restaurantRepo.getReferenceById(req.getRestaurantId());
+            Dish dish = req.getDishId() != null ? dishRepo.getReferenceById(req.getDishId()) : null;
+            reviews.add(Mappers.toEntity(req, user, restaurant, dish));
+            perRestaurant.merge(req.getRestaurantId(), 1L, Long::sum);
+        }
+        reviewRepo.saveAll(reviews);
+        reviewRepo.flush();
+        perRestaurant.forEach(statsService::reviewsCreated);
+        return reviews;
+    }
+
+    /**
+     * In-memory indexes and the analysis queue, once the chunk is committed: a chunk
+     * rolled back at commit must not leave entries behind.
+     */
+    private void indexCommitted(List<Review> reviews) {
+        for (Review r : reviews) {
+            searchIndex.index(r.getId(), r.getRestaurant().getId(),
+                    r.getDish() != null ? r.getDish().getId() : null, r.getTitle(), r.getContent());
+            feedService.reviewPublished(r.getUser().getId(), r.getId(), r.getPublishedAt());
+            // Imports are flagged, never rejected: the analysis records the cluster
+            nearDuplicates.add(r.getId(), NearDuplicateIndex.signature(r.getContent()));
+            analysisPipeline.enqueue(r.getId());
+        }
+    }
+
+    /* ---------------- helpers ---------------- */
+
+    private record Row(long line, ReviewRequest request) {
+    }
+
+    private final class Tally {
+        long received;
+        long imported;
+        long failed;
+        String abortReason;
+        final List<ReviewImportResult.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ReviewImportResult.RowError(line, message));
+            }
+        }
+
+        void abort(List<Row> notImported, String reason, Exception cause) {
+            log.error("Review import stopped after {} imported rows: {}", imported, reason, cause);
+            abortReason = reason + ": " + cause.getMessage();
+            for (Row row : notImported) {
+                reject(row.line, "Not imported: the import stopped");
+            }
+        }
+    }
+}
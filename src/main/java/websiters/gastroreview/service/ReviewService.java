@@ -4,7 +4,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import WebSiters.GastroReview.dto.ReviewRequest;
 import WebSiters.GastroReview.dto.ReviewResponse;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.dto.ReviewSearchResult;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,6 +24,18 @@ public interface ReviewService {
 
     Page<ReviewResponse> findByDishId(UUID dishId, Pageable pageable);
 
+    /**
+     * Keyset listing (newest first), optionally filtered by restaurant or user.
+     * {@code after} is the nextCursor of the previous page, or null for the first page.
+     */
+    CursorPage<ReviewResponse> scroll(UUID restaurantId, UUID userId, String after, int size);
+
+    /**
+     * Full-text search over title and content, best match first.
+     * Optional restaurant / dish filters; limit is capped at 100.
+     */
+    List<ReviewSearchResult> search(String query, UUID restaurantId, UUID dishId, int limit);
+
     ReviewResponse findById(UUID id);
 
     ReviewResponse create(ReviewRequest req);
@@ -11,24 +11,36 @@ import WebSiters.GastroReview.repository.DishRepository;
 import WebSiters.GastroReview.repository.ReviewRepository;
 import WebSiters.GastroReview.repository.RestaurantRepository;
 import WebSiters.GastroReview.repository.UsersRepository;
+import websiters.gastroreview.dto.Cursor;
+import websiters.gastroreview.dto.CursorPage;
+import websiters.gastroreview.dto.ReviewSearchResult;
+import websiters.gastroreview.analysis.NearDuplicateIndex;
+import websiters.gastroreview.analysis.ReviewAnalysisPipeline;
+import websiters.gastroreview.search.ReviewSearchIndex;
+import websiters.gastroreview.service.Constraints;
+import websiters.gastroreview.service.FeedService;
+import websiters.gastroreview.service.RestaurantStatsService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Implementation of ReviewService.
  *
  * Responsibilities:
- * - Resolve referenced entities (User, Restaurant, optional Dish).
+ * - Reference User/Restaurant by id and translate FK violations to not-found errors.
  * - Validate consistency (e.g., Dish belongs to Restaurant).
  * - Orchestrate create/update/delete in transactions.
- * - Throw EntityNotFoundException or IllegalArgumentException for business errors.
+ * - Throw EntityNotFoundException or IllegalArgumentException for business errors,
+ *   NearDuplicateIndex.NearDuplicateException for near-duplicate content when configured to reject it.
  */
 @Service
 @RequiredArgsConstructor
@@ -38,25 +50,82 @@ public class ReviewServiceImpl implements ReviewService {
     private final UsersRepository usersRepo;
     private final RestaurantRepository restaurantRepo;
     private final DishRepository dishRepo;
+    private final RestaurantStatsService statsService;
+    private final ReviewSearchIndex searchIndex;
+    private final FeedService feedService;
+    private final ReviewAnalysisPipeline analysisPipeline;
+    private final NearDuplicateIndex nearDuplicates;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_LIMIT = 100;
 
     @Override
     public Page<ReviewResponse> findAll(Pageable pageable) {
-        return reviewRepo.findAll(pageable).map(Mappers::toDto);
+        return reviewRepo.findResponses(pageable);
     }
 
     @Override
     public Page<ReviewResponse> findByRestaurantId(UUID restaurantId, Pageable pageable) {
-        return reviewRepo.findByRestaurant_Id(restaurantId, pageable).map(Mappers::toDto);
+        return reviewRepo.findResponsesByRestaurantId(restaurantId, pageable);
     }
 
     @Override
     public Page<ReviewResponse> findByUserId(UUID userId, Pageable pageable) {
-        return reviewRepo.findByUser_Id(userId, pageable).map(Mappers::toDto);
+        return reviewRepo.findResponsesByUserId(userId, pageable);
     }
 
     @Override
     public Page<ReviewResponse> findByDishId(UUID dishId, Pageable pageable) {
-        return reviewRepo.findByDish_Id(dishId, pageable).map(Mappers::toDto);
+        return reviewRepo.findResponsesByDishId(dishId, pageable);
+    }
+
+    @Override
+    public CursorPage<ReviewResponse> scroll(UUID restaurantId, UUID userId, String after, int size) {
+        Pageable limit = PageRequest.ofSize(Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+        Cursor cursor = after != null && !after.isBlank() ? Cursor.decode(after) : null;
+
+        Slice<Review> slice;
+        if (restaurantId != null) {
+            slice = cursor == null
+                    ? reviewRepo.findByRestaurant_IdOrderByPublishedAtDescIdDesc(restaurantId, limit)
+                    : reviewRepo.findByRestaurantAfter(restaurantId, cursor.getTimestamp(), cursor.uuidId(), limit);
+        } else if (userId != null) {
+            slice = cursor == null
+                    ? reviewRepo.findByUser_IdOrderByPublishedAtDescIdDesc(userId, limit)
+                    : reviewRepo.findByUserAfter(userId, cursor.getTimestamp(), cursor.uuidId(), limit);
+        } else {
+            slice = cursor == null
+                    ? reviewRepo.findAllByOrderByPublishedAtDescIdDesc(limit)
+                    : reviewRepo.findAllAfter(cursor.getTimestamp(), cursor.uuidId(), limit);
+        }
+
+        return CursorPage.of(slice, Mappers::toDto, r -> Cursor.of(r.getPublishedAt(), r.getId()));
+    }
+
+    @Override
+    public List<ReviewSearchResult> search(String query, UUID restaurantId, UUID dishId, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        List<ReviewSearchIndex.Hit> hits = searchIndex.search(query, restaurantId, dishId, limit);
+        if (hits.isEmpty()) return List.of();
+
+        // One query for the page of hits; reviews deleted in the meantime are skipped
+        Map<UUID, Review> byId = new HashMap<>();
+        for (Review r : reviewRepo.findAllById(hits.stream().map(ReviewSearchIndex.Hit::reviewId).toList())) {
+            byId.put(r.getId(), r);
+        }
+        List<ReviewSearchResult> out = new ArrayList<>(hits.size());
+        for (ReviewSearchIndex.Hit hit : hits) {
+            Review r = byId.get(hit.reviewId());
+            if (r == null) continue;
+            out.add(ReviewSearchResult.builder().review(Mappers.toDto(r)).score(hit.score()).build());
+        }
+        return out;
     }
 
     @Override
@@ -69,31 +138,41 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional
     public ReviewResponse create(ReviewRequest req) {
-        // Resolve user
-        Users user = usersRepo.findById(req.getUserId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + req.getUserId()));
+        // User and restaurant are not loaded: reference proxies only carry the id,
+        // and the FK constraints reject unknown ids on INSERT (translated below).
+        Users user = usersRepo.getReferenceById(req.getUserId());
+        Restaurant restaurant = restaurantRepo.getReferenceById(req.getRestaurantId());
 
-        // Resolve restaurant
-        Restaurant restaurant = restaurantRepo.findById(req.getRestaurantId())
-                .orElseThrow(() -> new EntityNotFoundException("Restaurant not found: " + req.getRestaurantId()));
-
-        // Resolve optional dish
+        // Optional dish: one id-only lookup to check it belongs to the restaurant (consistency)
         Dish dish = null;
         if (req.getDishId() != null) {
-            dish = dishRepo.findById(req.getDishId())
+            UUID dishRestaurantId = dishRepo.findRestaurantIdById(req.getDishId())
                     .orElseThrow(() -> new EntityNotFoundException("Dish not found: " + req.getDishId()));
-
-            // Ensure dish belongs to restaurant (consistency)
-            if (dish.getRestaurant() != null && !dish.getRestaurant().getId().equals(restaurant.getId())) {
+            if (!dishRestaurantId.equals(req.getRestaurantId())) {
                 throw new IllegalArgumentException("Dish does not belong to the provided restaurant");
             }
+            dish = dishRepo.getReferenceById(req.getDishId());
         }
 
+        char[] signature = NearDuplicateIndex.signature(req.getContent());
+        nearDuplicates.screen(signature);
+
         Review toSave = Mappers.toEntity(req, user, restaurant, dish);
         try {
-            Review saved = reviewRepo.save(toSave);
+            Review saved = reviewRepo.saveAndFlush(toSave);
+            statsService.reviewCreated(req.getRestaurantId());
+            searchIndex.index(saved.getId(), req.getRestaurantId(), req.getDishId(), saved.getTitle(), saved.getContent());
+            feedService.reviewPublished(req.getUserId(), saved.getId(), saved.getPublishedAt());
+            nearDuplicates.add(saved.getId(), signature);
+            analysisPipeline.enqueue(saved.getId());
             return Mappers.toDto(saved);
         } catch (DataIntegrityViolationException ex) {
+            if (Constraints.isViolated(ex, "reviews_user_id_fkey")) {
+                throw new EntityNotFoundException("User not found: " + req.getUserId());
+            }
+            if (Constraints.isViolated(ex, "reviews_restaurant_id_fkey")) {
+                throw new EntityNotFoundException("Restaurant not found: " + req.getRestaurantId());
+            }
             // propagate; controller will convert to HTTP
             throw ex;
         }
@@ -128,11 +207,21 @@ public class ReviewServiceImpl implements ReviewService {
             }
         }
 
+        // New content is screened like a new review, against every review but this one
+        if (req.getContent() != null && !req.getContent().equals(existing.getContent())) {
+            nearDuplicates.screen(NearDuplicateIndex.signature(req.getContent()), id);
+        }
+
         // Apply other updates using mapper helper
         Mappers.updateEntityFromRequest(req, existing);
 
         try {
             Review saved = reviewRepo.save(existing);
+            searchIndex.index(saved.getId(), saved.getRestaurant().getId(),
+                    saved.getDish() != null ? saved.getDish().getId() : null,
+                    saved.getTitle(), saved.getContent());
+            nearDuplicates.add(saved.getId(), NearDuplicateIndex.signature(saved.getContent()));
+            analysisPipeline.enqueue(saved.getId());
             return Mappers.toDto(saved);
         } catch (DataIntegrityViolationException ex) {
             throw ex;
@@ -142,9 +231,13 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional
     public void delete(UUID id) {
-        if (!reviewRepo.existsById(id)) {
-            throw new EntityNotFoundException("Review not found: " + id);
-        }
-        reviewRepo.deleteById(id);
+        Review existing = reviewRepo.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Review not found: " + id));
+
+        // Subtract the review and its ratings from the restaurant stats before they cascade away
+        statsService.reviewDeleted(existing.getRestaurant().getId(), id);
+        reviewRepo.delete(existing);
+        searchIndex.remove(id);
+        nearDuplicates.remove(id);
     }
 }
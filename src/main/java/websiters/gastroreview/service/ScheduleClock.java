@@ -0,0 +1,38 @@
+package websiters.gastroreview.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Converts instants to the weekday and time of day that schedule rows are written in.
+ *
+ * Schedule times are local to gastroreview.schedules.zone, and weekdays follow the
+ * database convention 0 = Sunday .. 6 = Saturday. The open filters themselves run in
+ * the database (see RestaurantRepository).
+ */
+@Component
+public class ScheduleClock {
+
+    public record WeekTime(int weekday, LocalTime time) {
+    }
+
+    private final ZoneId zone;
+
+    public ScheduleClock(@Value("${gastroreview.schedules.zone:America/Mexico_City}") String zone) {
+        this.zone = ZoneId.of(zone);
+    }
+
+    /**
+     * Weekday and time, to the minute, of an instant in the configured zone.
+     */
+    public WeekTime at(Instant instant) {
+        ZonedDateTime t = instant.atZone(zone);
+        int weekday = t.getDayOfWeek().getValue() % 7; // DayOfWeek: MONDAY = 1 .. SUNDAY = 7
+        return new WeekTime(weekday, LocalTime.of(t.getHour(), t.getMinute()));
+    }
+}
@@ -0,0 +1,45 @@
+package websiters.gastroreview.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Shared pool of reusable scratch buffers for the in-memory indexes.
+ *
+ * A query borrows a buffer and releases it when done, so the buffers kept alive are
+ * bounded by how many queries run at once (at most {@code maxIdle} stay idle), not by
+ * how many threads ever ran one: with virtual threads every request is a new thread.
+ * Released buffers the {@code retain} check rejects (grown past a limit) are dropped.
+ */
+public final class ScratchPool<T> {
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+    private final Predicate<T> retain;
+
+    public ScratchPool(int maxIdle, Supplier<T> factory, Predicate<T> retain) {
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+        this.factory = factory;
+        this.retain = retain;
+    }
+
+    /**
+     * Up to two idle buffers per core.
+     */
+    public ScratchPool(Supplier<T> factory, Predicate<T> retain) {
+        this(2 * Runtime.getRuntime().availableProcessors(), factory, retain);
+    }
+
+    public T borrow() {
+        T buffer = idle.poll();
+        return buffer != null ? buffer : factory.get();
+    }
+
+    /**
+     * Return a buffer for reuse; it must be left in the state borrow() expects.
+     */
+    public void release(T buffer) {
+        if (retain.test(buffer)) idle.offer(buffer);
+    }
+}
@@ -0,0 +1,598 @@
+package websiters.gastroreview.service;
+
+import websiters.gastroreview.repository.FriendshipRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory follower graph built from the friendships table.
+ *
+ * Users are interned to dense int indexes on first sight. Each user keeps two
+ * adjacency lists (who they follow, who follows them) as sorted int arrays with a
+ * parallel array of follow timestamps, so membership is a binary search, counts are
+ * array lengths and a page is an array slice. Lists are copy-on-write: a follow or
+ * unfollow replaces the two affected arrays.
+ *
+ * Loaded at startup and rebuilt on a schedule; {@link FriendshipService} calls
+ * {@link #follow} and {@link #unfollow}, applied once the transaction commits.
+ * Writes that arrive while a rebuild is streaming the table are replayed on the new graph.
+ * Until the first load completes the graph is empty: callers check {@link #isLoaded()}
+ * and go to the database instead.
+ */
+@Component
+@Slf4j
+public class SocialGraph {
+
+    public record Edge(UUID userId, OffsetDateTime since) {
+    }
+
+    public record Common(int total, List<UUID> users) {
+    }
+
+    public record Suggestion(UUID userId, int sharedConnections) {
+    }
+
+    // Lists this many times longer than the other are probed by galloping instead of merged
+    private static final int GALLOP_RATIO = 16;
+
+    private final FriendshipRepository repo;
+    private final TransactionTemplate readOnlyTx;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Graph graph = new Graph();
+    private List<Consumer<Graph>> pendingDuringRebuild;
+    private volatile boolean loaded;
+
+    public SocialGraph(FriendshipRepository repo, PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /* ---------------- loading ---------------- */
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${gastroreview.social.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Graph fresh;
+        try {
+            fresh = readOnlyTx.execute(status -> {
+                Graph.Builder builder = new Graph.Builder();
+                try (Stream<Object[]> rows = repo.streamEdges()) {
+                    rows.forEach(r -> builder.add((UUID) r[0], (UUID) r[1], (OffsetDateTime) r[2]));
+                }
+                return builder.build();
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(op -> op.accept(fresh));
+            pendingDuringRebuild = null;
+            graph = fresh;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Social graph loaded: {} users, {} follows", fresh.size, fresh.edgeCount());
+    }
+
+    /**
+     * Whether the graph has been loaded from the table at least once.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /* ---------------- writes ---------------- */
+
+    public void follow(UUID followerId, UUID followedId, OffsetDateTime since) {
+        long micros = toMicros(since);
+        TransactionCallbacks.afterCommit(() -> write(g -> g.link(g.intern(followerId), g.intern(followedId), micros)));
+    }
+
+    public void unfollow(UUID followerId, UUID followedId) {
+        TransactionCallbacks.afterCommit(() -> write(g -> {
+            Integer follower = g.index.get(followerId);
+            Integer followed = g.index.get(followedId);
+            if (follower != null && followed != null) g.unlink(follower, followed);
+        }));
+    }
+
+    private void write(Consumer<Graph> op) {
+        lock.writeLock().lock();
+        try {
+            op.accept(graph);
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(op);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ---------------- queries ---------------- */
+
+    /**
+     * When followerId follows followedId, the time the follow was created; otherwise null.
+     */
+    public OffsetDateTime followedSince(UUID followerId, UUID followedId) {
+        lock.readLock().lock();
+        try {
+            Integer follower = graph.index.get(followerId);
+            Integer followed = graph.index.get(followedId);
+            if (follower == null || followed == null) return null;
+            Adjacency out = graph.following[follower];
+            int pos = Arrays.binarySearch(out.ids, followed);
+            return pos >= 0 ? fromMicros(out.since[pos]) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean follows(UUID followerId, UUID followedId) {
+        return followedSince(followerId, followedId) != null;
+    }
+
+    public int followerCount(UUID userId) {
+        return degree(userId, true);
+    }
+
+    public int followingCount(UUID userId) {
+        return degree(userId, false);
+    }
+
+    /**
+     * A slice of the users following userId, in a stable order.
+     */
+    public List<Edge> followers(UUID userId, int offset, int limit) {
+        return slice(userId, true, offset, limit);
+    }
+
+    /**
+     * A slice of the users userId follows, in a stable order.
+     */
+    public List<Edge> following(UUID userId, int offset, int limit) {
+        return slice(userId, false, offset, limit);
+    }
+
+    /**
+     * The users userId follows that have more than minFollowers followers.
+     */
+    public List<UUID> followingWithMoreFollowersThan(UUID userId, int minFollowers) {
+        lock.readLock().lock();
+        try {
+            Integer u = graph.index.get(userId);
+            if (u == null) return List.of();
+            List<UUID> out = new ArrayList<>();
+            for (int f : graph.following[u].ids) {
+                if (graph.followers[f].ids.length > minFollowers) out.add(graph.users[f]);
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every follower of userId (a copy, safe to iterate without the graph lock).
+     */
+    public List<UUID> followerIds(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Integer u = graph.index.get(userId);
+            if (u == null) return List.of();
+            int[] ids = graph.followers[u].ids;
+            UUID[] out = new UUID[ids.length];
+            for (int i = 0; i < ids.length; i++) out[i] = graph.users[ids[i]];
+            return Arrays.asList(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Users followed by both a and b (a slice of them, plus how many there are).
+     */
+    public Common commonFollowing(UUID a, UUID b, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer ua = graph.index.get(a);
+            Integer ub = graph.index.get(b);
+            if (ua == null || ub == null) return new Common(0, List.of());
+            int[] common = intersect(graph.following[ua].ids, graph.following[ub].ids);
+            int from = Math.min(Math.max(offset, 0), common.length);
+            int to = (int) Math.min((long) from + limit, common.length);
+            List<UUID> users = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) users.add(graph.users[common[i]]);
+            return new Common(common.length, users);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Friend-of-friend recommendations: users followed by the people userId follows,
+     * ranked by how many of them follow each candidate (ties go to the more followed
+     * user). userId itself and users it already follows are excluded.
+     */
+    public List<Suggestion> suggestions(UUID userId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer u = graph.index.get(userId);
+            if (u == null) return List.of();
+            int[] mine = graph.following[u].ids;
+
+            // sized by the friend-of-friend edges walked, not by the graph
+            long walked = 0;
+            for (int f : mine) walked += graph.following[f].ids.length;
+            Counter shared = new Counter((int) Math.min(walked, graph.size));
+            for (int f : mine) {
+                for (int candidate : graph.following[f].ids) shared.increment(candidate);
+            }
+
+            // Bounded min-heap on (shared, followers) keeps the best `limit` candidates
+            PriorityQueue<long[]> heap = new PriorityQueue<>(limit + 1,
+                    Comparator.<long[]>comparingLong(e -> e[1]).thenComparingLong(e -> e[2]));
+            for (int i = 0; i < shared.size; i++) {
+                int candidate = shared.keys[i];
+                int count = shared.get(candidate);
+                // Cheap rejection first: most candidates share a single connection
+                long[] worst = heap.size() < limit ? null : heap.peek();
+                if (worst != null && count < worst[1]) continue;
+                if (candidate == u || Arrays.binarySearch(mine, candidate) >= 0) continue;
+                int popularity = graph.followers[candidate].ids.length;
+                if (worst == null) {
+                    heap.add(new long[]{candidate, count, popularity});
+                } else if (count > worst[1] || popularity > worst[2]) {
+                    heap.poll();
+                    heap.add(new long[]{candidate, count, popularity});
+                }
+            }
+
+            Suggestion[] out = new Suggestion[heap.size()];
+            for (int i = out.length - 1; i >= 0; i--) {
+                long[] e = heap.poll();
+                out[i] = new Suggestion(graph.users[(int) e[0]], (int) e[1]);
+            }
+            return Arrays.asList(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersection of two sorted id arrays. Similar sizes are merged in one linear
+     * pass; when one side is much longer, each element of the short side is looked up
+     * by galloping (exponential then binary search) from the previous match.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        if (a.length > b.length) {
+            int[] t = a;
+            a = b;
+            b = t;
+        }
+        int[] out = new int[a.length];
+        int n = 0;
+        if (a.length == 0) return out;
+
+        if ((long) a.length * GALLOP_RATIO < b.length) {
+            int lo = 0;
+            for (int x : a) {
+                int step = 1;
+                int hi = lo;
+                while (hi < b.length && b[hi] < x) {
+                    lo = hi + 1;
+                    hi += step;
+                    step <<= 1;
+                }
+                int pos = Arrays.binarySearch(b, lo, Math.min(hi + 1, b.length), x);
+                if (pos >= 0) {
+                    out[n++] = x;
+                    lo = pos + 1;
+                } else {
+                    lo = -pos - 1;
+                }
+                if (lo >= b.length) break;
+            }
+        } else {
+            int i = 0, j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) i++;
+                else if (a[i] > b[j]) j++;
+                else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private int degree(UUID userId, boolean incoming) {
+        lock.readLock().lock();
+        try {
+            Integer u = graph.index.get(userId);
+            if (u == null) return 0;
+            return (incoming ? graph.followers[u] : graph.following[u]).ids.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Edge> slice(UUID userId, boolean incoming, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer u = graph.index.get(userId);
+            if (u == null) return List.of();
+            Adjacency adj = incoming ? graph.followers[u] : graph.following[u];
+            int from = Math.min(Math.max(offset, 0), adj.ids.length);
+            int to = (int) Math.min((long) from + limit, adj.ids.length);
+            List<Edge> out = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                out.add(new Edge(graph.users[adj.ids[i]], fromMicros(adj.since[i])));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long toMicros(OffsetDateTime t) {
+        Instant i = (t != null ? t : OffsetDateTime.now()).toInstant();
+        return ChronoUnit.MICROS.between(Instant.EPOCH, i);
+    }
+
+    private static OffsetDateTime fromMicros(long micros) {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    /**
+     * Open-addressing count per candidate index, with the candidates in first-seen order.
+     */
+    private static final class Counter {
+        private final int[] slots;
+        private final int[] counts;
+        private final int shift;
+        final int[] keys;
+        int size;
+
+        Counter(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1;
+            slots = new int[capacity];
+            counts = new int[capacity];
+            Arrays.fill(slots, -1);
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+            keys = new int[Math.max(expected, 1)];
+        }
+
+        void increment(int e) {
+            int i = slot(e);
+            if (slots[i] < 0) {
+                slots[i] = e;
+                keys[size++] = e;
+            }
+            counts[i]++;
+        }
+
+        int get(int e) {
+            int i = slot(e);
+            return slots[i] < 0 ? 0 : counts[i];
+        }
+
+        private int slot(int e) {
+            int mask = slots.length - 1;
+            int i = (e * 0x9E3779B9) >>> shift;
+            while (slots[i] >= 0 && slots[i] != e) i = (i + 1) & mask;
+            return i;
+        }
+    }
+
+    /* ---------------- graph ---------------- */
+
+    /**
+     * Sorted neighbour indexes with the follow time (epoch micros) of each edge.
+     */
+    static final class Adjacency {
+        static final Adjacency EMPTY = new Adjacency(new int[0], new long[0]);
+
+        final int[] ids;
+        final long[] since;
+
+        Adjacency(int[] ids, long[] since) {
+            this.ids = ids;
+            this.since = since;
+        }
+
+        Adjacency with(int id, long micros) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos >= 0) return this;
+            int at = -pos - 1;
+            int[] newIds = new int[ids.length + 1];
+            long[] newSince = new long[ids.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, at);
+            System.arraycopy(since, 0, newSince, 0, at);
+            newIds[at] = id;
+            newSince[at] = micros;
+            System.arraycopy(ids, at, newIds, at + 1, ids.length - at);
+            System.arraycopy(since, at, newSince, at + 1, ids.length - at);
+            return new Adjacency(newIds, newSince);
+        }
+
+        Adjacency without(int id) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos < 0) return this;
+            if (ids.length == 1) return EMPTY;
+            int[] newIds = new int[ids.length - 1];
+            long[] newSince = new long[ids.length - 1];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(since, 0, newSince, 0, pos);
+            System.arraycopy(ids, pos + 1, newIds, pos, ids.length - pos - 1);
+            System.arraycopy(since, pos + 1, newSince, pos, ids.length - pos - 1);
+            return new Adjacency(newIds, newSince);
+        }
+    }
+
+    static final class Graph {
+        final Map<UUID, Integer> index;
+        UUID[] users;
+        Adjacency[] following;
+        Adjacency[] followers;
+        int size;
+
+        Graph() {
+            this(new HashMap<>(), new UUID[16], new Adjacency[16], new Adjacency[16], 0);
+        }
+
+        private Graph(Map<UUID, Integer> index, UUID[] users, Adjacency[] following, Adjacency[] followers, int size) {
+            this.index = index;
+            this.users = users;
+            this.following = following;
+            this.followers = followers;
+            this.size = size;
+        }
+
+        int intern(UUID userId) {
+            Integer existing = index.get(userId);
+            if (existing != null) return existing;
+            if (size == users.length) {
+                int capacity = users.length * 2;
+                users = Arrays.copyOf(users, capacity);
+                following = Arrays.copyOf(following, capacity);
+                followers = Arrays.copyOf(followers, capacity);
+            }
+            users[size] = userId;
+            following[size] = Adjacency.EMPTY;
+            followers[size] = Adjacency.EMPTY;
+            index.put(userId, size);
+            return size++;
+        }
+
+        void link(int follower, int followed, long micros) {
+            following[follower] = following[follower].with(followed, micros);
+            followers[followed] = followers[followed].with(follower, micros);
+        }
+
+        void unlink(int follower, int followed) {
+            following[follower] = following[follower].without(followed);
+            followers[followed] = followers[followed].without(follower);
+        }
+
+        long edgeCount() {
+            long n = 0;
+            for (int u = 0; u < size; u++) n += following[u].ids.length;
+            return n;
+        }
+
+        /**
+         * Bulk construction: collects the edge list, then lays out every adjacency
+         * list at its final size and sorts it once.
+         */
+        static final class Builder {
+            private final Graph graph = new Graph();
+            private int[] from = new int[1024];
+            private int[] to = new int[1024];
+            private long[] since = new long[1024];
+            private int edges;
+
+            void add(UUID followerId, UUID followedId, OffsetDateTime createdAt) {
+                if (edges == from.length) {
+                    from = Arrays.copyOf(from, edges * 2);
+                    to = Arrays.copyOf(to, edges * 2);
+                    since = Arrays.copyOf(since, edges * 2);
+                }
+                from[edges] = graph.intern(followerId);
+                to[edges] = graph.intern(followedId);
+                since[edges] = toMicros(createdAt);
+                edges++;
+            }
+
+            Graph build() {
+                int n = graph.size;
+                int[] outDegree = new int[n];
+                int[] inDegree = new int[n];
+                for (int e = 0; e < edges; e++) {
+                    outDegree[from[e]]++;
+                    inDegree[to[e]]++;
+                }
+                int[][] outIds = new int[n][];
+                long[][] outSince = new long[n][];
+                int[][] inIds = new int[n][];
+                long[][] inSince = new long[n][];
+                for (int u = 0; u < n; u++) {
+                    outIds[u] = new int[outDegree[u]];
+                    outSince[u] = new long[outDegree[u]];
+                    inIds[u] = new int[inDegree[u]];
+                    inSince[u] = new long[inDegree[u]];
+                }
+                int[] outFill = new int[n];
+                int[] inFill = new int[n];
+                for (int e = 0; e < edges; e++) {
+                    int f = from[e], t = to[e];
+                    outIds[f][outFill[f]] = t;
+                    outSince[f][outFill[f]++] = since[e];
+                    inIds[t][inFill[t]] = f;
+                    inSince[t][inFill[t]++] = since[e];
+                }
+                from = to = null;
+                since = null;
+
+                for (int u = 0; u < n; u++) {
+                    graph.following[u] = sorted(outIds[u], outSince[u]);
+                    graph.followers[u] = sorted(inIds[u], inSince[u]);
+                }
+                return graph;
+            }
+
+            // Sorts ids (carrying their timestamps along) via (id << 32 | position) keys
+            private static Adjacency sorted(int[] ids, long[] since) {
+                if (ids.length == 0) return Adjacency.EMPTY;
+                long[] keys = new long[ids.length];
+                for (int i = 0; i < ids.length; i++) keys[i] = ((long) ids[i] << 32) | i;
+                Arrays.sort(keys);
+
+                int[] sortedIds = new int[ids.length];
+                long[] sortedSince = new long[ids.length];
+                int n = 0;
+                for (long key : keys) {
+                    int id = (int) (key >>> 32);
+                    if (n > 0 && sortedIds[n - 1] == id) continue; // duplicate row
+                    sortedIds[n] = id;
+                    sortedSince[n++] = since[(int) key];
+                }
+                return n == ids.length
+                        ? new Adjacency(sortedIds, sortedSince)
+                        : new Adjacency(Arrays.copyOf(sortedIds, n), Arrays.copyOf(sortedSince, n));
+            }
+        }
+    }
+}
@@ -7,6 +7,10 @@ import WebSiters.GastroReview.model.Review;
 import WebSiters.GastroReview.model.TextAnalysis;
 import WebSiters.GastroReview.repository.ReviewRepository;
 import WebSiters.GastroReview.repository.TextAnalysisRepository;
+import websiters.gastroreview.analysis.ReviewAnalysis;
+import websiters.gastroreview.analysis.ReviewAnalyzer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -16,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Set;
 import java.util.UUID;
 
@@ -25,6 +30,7 @@ import java.util.UUID;
  * Responsibilities:
  * - Resolve referenced Review
  * - Validate sentiment values (allowed set)
+ * - Fill the fields a create request leaves out with the in-process ReviewAnalyzer
  * - Orchestrate create/update/delete with transactions
  */
 @Service
@@ -33,6 +39,8 @@ public class TextAnalysisServiceImpl implements TextAnalysisService {
 
     private final TextAnalysisRepository repo;
     private final ReviewRepository reviewRepo;
+    private final ReviewAnalyzer analyzer;
+    private final ObjectMapper objectMapper;
 
     private static final Set<String> ALLOWED_SENTIMENTS = Set.of("negative", "neutral", "positive", "mixed");
 
@@ -69,6 +77,8 @@ public class TextAnalysisServiceImpl implements TextAnalysisService {
         validateNumeric(req.getScore(), "score");
         validateNumeric(req.getSpamProb(), "spamProb");
 
+        fillFromAnalyzer(req, review);
+
         TextAnalysis toSave = Mappers.toEntity(req, review);
         try {
             TextAnalysis saved = repo.save(toSave);
@@ -118,6 +128,29 @@ public class TextAnalysisServiceImpl implements TextAnalysisService {
 
     /* ---------- helpers ---------- */
 
+    // Scores the review text only when the client left something out; supplied values win
+    private void fillFromAnalyzer(TextAnalysisRequest req, Review review) {
+        if (req.getSentiment() != null && req.getScore() != null
+                && req.getSpamProb() != null && req.getLanguage() != null) {
+            return;
+        }
+        ReviewAnalysis result = analyzer.analyze(review.getTitle(), review.getContent());
+        if (req.getSentiment() == null) req.setSentiment(result.sentiment());
+        if (req.getScore() == null) req.setScore(decimal(result.score()));
+        if (req.getSpamProb() == null) req.setSpamProb(decimal(result.spamProb()));
+        if (req.getLanguage() == null) req.setLanguage(result.language());
+        if (req.getMetadata() == null) {
+            ObjectNode metadata = objectMapper.createObjectNode();
+            metadata.put("analyzer", analyzer.name());
+            if (result.metadata() != null) metadata.setAll((ObjectNode) objectMapper.valueToTree(result.metadata()));
+            req.setMetadata(metadata);
+        }
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+
     private void validateNumeric(BigDecimal value, String fieldName) {
         if (value == null) return;
         // We don't enforce a strict range here because DB only specifies precision; implement rules if needed.
@@ -26,15 +26,15 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Page<UserResponse> list(String email, Pageable pageable) {
-        Page<User> users;
+        Page<Object[]> users;
 
         if (email != null && !email.isBlank()) {
-            users = repo.findByEmailContainingIgnoreCase(email.trim(), pageable);
+            users = repo.findSummariesByEmailContaining(email.trim(), pageable);
         } else {
-            users = repo.findAll(pageable);
+            users = repo.findSummaries(pageable);
         }
 
-        return users.map(u -> Mappers.toResponse(u));
+        return users.map(row -> UserResponse.builder().id((UUID) row[0]).email((String) row[1]).build());
     }
 
     @Transactional(readOnly = true)
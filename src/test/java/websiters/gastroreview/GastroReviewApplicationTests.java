@@ -4,8 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
+import websiters.gastroreview.configuration.SqlStatementCounter;
 import websiters.gastroreview.model.*;
 import websiters.gastroreview.repository.*;
 
@@ -112,4 +114,33 @@ class GastroReviewApplicationTests {
 				)
 		);
 	}
+
+	@Transactional
+	@Test
+	void userListingStaysWithinSqlBudget() {
+
+		for (int i = 0; i < 5; i++) {
+			User user = userRepository.save(
+					User.builder()
+							.email("budget" + i + "@example.com")
+							.hashPassword("12345hash")
+							.build()
+			);
+			userProfileRepository.save(
+					UserProfile.builder()
+							.user(user)
+							.name("Budget User " + i)
+							.active(true)
+							.build()
+			);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		// page query + count, no per-user profile lookups
+		try (SqlStatementCounter.Scope scope = SqlStatementCounter.open(2, true)) {
+			assertThat(userRepository.findSummaries(PageRequest.of(0, 3)).getContent()).hasSize(3);
+			assertThat(scope.count()).isLessThanOrEqualTo(2);
+		}
+	}
 }
@@ -0,0 +1,92 @@
+package websiters.gastroreview.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FeatureScanner counters and hashed features on hand-written texts.
+ */
+class FeatureScannerTests {
+
+	private final FeatureScanner scanner = new FeatureScanner(
+			FeatureScanner.hashes(List.of("delicioso", "excelente", "good")),
+			FeatureScanner.hashes(List.of("malo", "frio", "bad")));
+
+	@Test
+	void foldsCaseAndAccentsLikeTheLexicon() {
+		assertThat(FeatureScanner.fold('É')).isEqualTo('e');
+		assertThat(FeatureScanner.fold('ñ')).isEqualTo('n');
+		assertThat(FeatureScanner.fold('Z')).isEqualTo('z');
+		assertThat(FeatureScanner.fold('7')).isEqualTo('7');
+		assertThat(FeatureScanner.fold('-')).isEqualTo('\0');
+		assertThat(FeatureScanner.fold('×')).isEqualTo('\0');
+		assertThat(FeatureScanner.hash("Frío")).isEqualTo(FeatureScanner.hash("frio"));
+
+		assertThat(features("El café está DELICIOSO")).isEqualTo(features("el cafe esta delicioso"));
+		assertThat(features("el cafe esta delicioso")).isNotEqualTo(features("el te esta delicioso"));
+	}
+
+	@Test
+	void countsLexiconAndStopwordHits() {
+		scanner.scan("Excelente", "El mole estaba delicioso, pero el caldo llegó frío y el postre malo");
+		assertThat(scanner.tokens).isEqualTo(14);
+		assertThat(scanner.positive).isEqualTo(2);
+		assertThat(scanner.negative).isEqualTo(2);
+		assertThat(scanner.spanish).isEqualTo(5); // el, pero, el, y, el
+		assertThat(scanner.english).isZero();
+
+		scanner.scan(null, "The food is good and the staff is friendly");
+		assertThat(scanner.positive).isEqualTo(1);
+		assertThat(scanner.negative).isZero();
+		assertThat(scanner.english).isEqualTo(6);
+		assertThat(scanner.spanish).isZero();
+	}
+
+	@Test
+	void negationFlipsPolarityWithinItsScopeOnly() {
+		scanner.scan(null, "no estaba delicioso");
+		assertThat(scanner.positive).isZero();
+		assertThat(scanner.negative).isEqualTo(1);
+
+		// the scope ends at punctuation and after two words
+		scanner.scan(null, "no, delicioso");
+		assertThat(scanner.positive).isEqualTo(1);
+		scanner.scan(null, "no lo creo pero delicioso");
+		assertThat(scanner.positive).isEqualTo(1);
+		assertThat(scanner.negative).isZero();
+	}
+
+	@Test
+	void countsSpamSignals() {
+		scanner.scan("OFERTA!!!", "Escribe a mi WhatsApp 5512345678 o visita http://promo.mx yaaaa");
+		assertThat(scanner.links).isEqualTo(1);
+		assertThat(scanner.contacts).isEqualTo(1);
+		assertThat(scanner.digits).isEqualTo(10);
+		assertThat(scanner.bangs).isEqualTo(3);
+		assertThat(scanner.repeats).isGreaterThanOrEqualTo(2);
+		assertThat(scanner.spamLogit()).isGreaterThan(0);
+
+		scanner.scan("Buena comida", "Los tacos estaban ricos y el servicio fue amable");
+		assertThat(scanner.links + scanner.contacts + scanner.bangs).isZero();
+		assertThat(scanner.spamLogit()).isLessThan(0);
+	}
+
+	@Test
+	void rescanningStartsFromAClearState() {
+		String text = "Excelente servicio, no estaba frio. " + "palabra ".repeat(400);
+		int[] first = features(text);
+		scanner.scan("http://spam.example", "whatsapp 12345678!!!");
+		assertThat(features(text)).isEqualTo(first);
+		assertThat(scanner.links + scanner.contacts + scanner.bangs + scanner.digits).isZero();
+		assertThat(first.length).isGreaterThan(256); // past the initial buffer
+	}
+
+	private int[] features(String text) {
+		scanner.scan(null, text);
+		return Arrays.copyOf(scanner.features(), scanner.featureCount());
+	}
+}
@@ -0,0 +1,63 @@
+package websiters.gastroreview.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NaiveBayesReviewAnalyzer, trained on the bundled corpus, on reviews that are not in it.
+ */
+class NaiveBayesReviewAnalyzerTests {
+
+	private final NaiveBayesReviewAnalyzer analyzer = new NaiveBayesReviewAnalyzer();
+
+	@Test
+	void classifiesPositiveReviews() {
+		assertClassified("Excelente", "Las carnitas estaban deliciosas y el mesero muy amable, volveremos", "positive", "es");
+		assertClassified(null, "Riquísimo el pozole, buen precio y atención rápida", "positive", "es");
+		assertClassified("Great dinner", "The enchiladas were delicious and the service was friendly", "positive", "en");
+	}
+
+	@Test
+	void classifiesNegativeReviews() {
+		assertClassified("Muy malo", "La comida llegó fría y el mesero fue grosero, no volveremos", "negative", "es");
+		assertClassified(null, "The soup was cold and the waiter was rude, terrible experience", "negative", "en");
+	}
+
+	@Test
+	void negationTurnsPraiseNegative() {
+		ReviewAnalysis plain = analyzer.analyze(null, "La comida estaba deliciosa");
+		ReviewAnalysis negated = analyzer.analyze(null, "La comida no estaba deliciosa");
+		assertThat(negated.score()).isLessThan(plain.score());
+		assertThat(negated.sentiment()).isNotEqualTo("positive");
+	}
+
+	@Test
+	void flagsSpamAndNotOrdinaryReviews() {
+		assertThat(analyzer.analyze(null, "GANA DINERO RAPIDO escribe a mi whatsapp 5598765432").spamProb()).isGreaterThan(0.5);
+		assertThat(analyzer.analyze("Promo", "Descuentos del 80% solo hoy entra a http://ofertas-ya.mx").spamProb()).isGreaterThan(0.5);
+		assertThat(analyzer.analyze(null, "Free gift cards, visit www.free-gifts.example now!!!").spamProb()).isGreaterThan(0.5);
+
+		assertThat(analyzer.analyze("Excelente", "Las carnitas estaban deliciosas y el mesero muy amable").spamProb()).isLessThan(0.5);
+		assertThat(analyzer.analyze(null, "The soup was cold and the waiter was rude").spamProb()).isLessThan(0.5);
+	}
+
+	@Test
+	void resultsDoNotDependOnThePreviousCall() {
+		String title = "Buen lugar";
+		String content = "Los tacos de canasta estaban ricos y el servicio fue amable";
+		ReviewAnalysis first = analyzer.analyze(title, content);
+		analyzer.analyze("SPAM", "whatsapp " + "gratis ".repeat(500));
+		ReviewAnalysis again = analyzer.analyze(title, content);
+		assertThat(again).isEqualTo(first);
+		assertThat(again.score()).isBetween(-1.0, 1.0);
+		assertThat(again.spamProb()).isBetween(0.0, 1.0);
+	}
+
+	private void assertClassified(String title, String content, String sentiment, String language) {
+		ReviewAnalysis result = analyzer.analyze(title, content);
+		assertThat(result.sentiment()).as(content).isEqualTo(sentiment);
+		assertThat(result.language()).as(content).isEqualTo(language);
+		assertThat(result.spamProb()).as(content).isLessThan(0.5);
+	}
+}
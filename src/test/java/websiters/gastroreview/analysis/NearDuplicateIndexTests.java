@@ -0,0 +1,198 @@
+package websiters.gastroreview.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * NearDuplicateIndex signatures against exact shingle Jaccard similarity, and lookups
+ * against a brute-force scan over every indexed signature.
+ */
+class NearDuplicateIndexTests {
+
+	private static final String[] WORDS = new String[400];
+
+	static {
+		for (int i = 0; i < WORDS.length; i++) WORDS[i] = "palabra" + Integer.toString(i, 36);
+	}
+
+	@Test
+	void signatureSimilarityEstimatesShingleJaccard() {
+		Random random = new Random(17);
+		double totalError = 0;
+		int pairs = 0;
+		for (int i = 0; i < 300; i++) {
+			List<String> a = text(random, 40);
+			List<String> b = edit(random, a, random.nextInt(20));
+			double exact = jaccard(shingles(a), shingles(b));
+			double estimate = NearDuplicateIndex.similarity(
+					NearDuplicateIndex.signature(String.join(" ", a)), 0,
+					NearDuplicateIndex.signature(String.join(" ", b)), 0);
+			totalError += Math.abs(estimate - exact);
+			pairs++;
+		}
+		// 32 positions: the standard error of a single estimate is at most about 0.09
+		assertThat(totalError / pairs).isLessThan(0.08);
+
+		// case, accents and punctuation do not change the signature
+		assertThat(NearDuplicateIndex.signature("¡La Comida, está RIQUÍSIMA!"))
+				.isEqualTo(NearDuplicateIndex.signature("la comida esta riquisima"));
+		assertThat(NearDuplicateIndex.signature(" ... ")).isNull();
+	}
+
+	@Test
+	void findDuplicateAgreesWithABruteForceScan() {
+		Random random = new Random(19);
+		NearDuplicateIndex index = new NearDuplicateIndex(0.8, "flag");
+		Map<UUID, char[]> indexed = new LinkedHashMap<>();
+		List<List<String>> texts = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			List<String> t = text(random, 30 + random.nextInt(30));
+			texts.add(t);
+			UUID id = UUID.randomUUID();
+			char[] sig = NearDuplicateIndex.signature(String.join(" ", t));
+			index.add(id, sig);
+			indexed.put(id, sig);
+		}
+
+		int nearCopies = 0, found = 0;
+		for (int q = 0; q < 500; q++) {
+			List<String> base = texts.get(random.nextInt(texts.size()));
+			// exact copies, near copies and unrelated texts
+			List<String> query = switch (q % 3) {
+				case 0 -> base;
+				case 1 -> edit(random, base, 1);
+				default -> text(random, 40);
+			};
+			char[] sig = NearDuplicateIndex.signature(String.join(" ", query));
+			double best = 0;
+			for (char[] other : indexed.values()) best = Math.max(best, NearDuplicateIndex.similarity(sig, 0, other, 0));
+
+			NearDuplicateIndex.Match match = index.findDuplicate(sig);
+			if (match != null) {
+				// a real indexed review, scored exactly, never better than the best one
+				assertThat(match.similarity()).isGreaterThanOrEqualTo(0.8).isLessThanOrEqualTo(best);
+				assertThat(NearDuplicateIndex.similarity(sig, 0, indexed.get(match.reviewId()), 0))
+						.isEqualTo(match.similarity());
+			}
+			if (best == 1.0) {
+				// every band matches: always found
+				assertThat(match).isNotNull();
+				assertThat(match.similarity()).isEqualTo(1.0);
+			} else if (best >= 0.8) {
+				nearCopies++;
+				if (match != null) found++;
+			} else {
+				assertThat(match).isNull();
+			}
+		}
+		// LSH recall at or above the threshold: about 0.99 per pair at similarity 0.8
+		assertThat(nearCopies).isGreaterThan(50);
+		assertThat(found).isGreaterThanOrEqualTo(nearCopies * 95 / 100);
+	}
+
+	@Test
+	void clustersFollowAddsAndRemovals() {
+		NearDuplicateIndex index = new NearDuplicateIndex(0.8, "flag");
+		char[] sig = NearDuplicateIndex.signature("el mole negro estaba delicioso y la atencion fue excelente");
+		UUID a = UUID.randomUUID(), b = UUID.randomUUID(), c = UUID.randomUUID(), other = UUID.randomUUID();
+		index.add(a, sig);
+		index.add(b, sig);
+		index.add(c, sig);
+		index.add(other, NearDuplicateIndex.signature("the burgers were cold and the fries were soggy today"));
+
+		assertThat(index.duplicatesOf(a).clusterSize()).isEqualTo(3);
+		assertThat(index.duplicatesOf(other).clusterSize()).isEqualTo(1);
+		assertThat(index.duplicatesOf(other).closest()).isNull();
+
+		index.remove(b);
+		assertThat(index.duplicatesOf(b)).isNull();
+		assertThat(index.duplicatesOf(a).clusterSize()).isEqualTo(2);
+		assertThat(index.duplicatesOf(a).closest().reviewId()).isEqualTo(c);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void writesDuringRebuildAreReplayedOnTheNewTable() {
+		NearDuplicateIndex index = new NearDuplicateIndex(0.8, "flag");
+		char[] sig = NearDuplicateIndex.signature("tacos de canasta con salsa verde y cafe de olla");
+		UUID kept = UUID.randomUUID(), added = UUID.randomUUID(), removed = UUID.randomUUID();
+		index.add(removed, sig);
+
+		NearDuplicateIndex.Table fresh = index.beginRebuild();
+		fresh.add(kept, sig, 0.8);
+		fresh.add(removed, sig, 0.8);
+		index.add(added, sig);
+		index.remove(removed);
+		index.finishRebuild(fresh);
+
+		assertThat(index.duplicatesOf(removed)).isNull();
+		assertThat(index.duplicatesOf(kept).clusterSize()).isEqualTo(2);
+		assertThat(index.duplicatesOf(added).closest().reviewId()).isEqualTo(kept);
+	}
+
+	@Test
+	void screenRejectsWithItsOwnException() {
+		char[] sig = NearDuplicateIndex.signature("la mejor birria de la ciudad, consome caliente y tortillas hechas a mano");
+		NearDuplicateIndex flagging = new NearDuplicateIndex(0.8, "flag");
+		NearDuplicateIndex rejecting = new NearDuplicateIndex(0.8, "reject");
+		UUID original = UUID.randomUUID();
+		flagging.add(original, sig);
+		rejecting.add(original, sig);
+
+		flagging.screen(sig);
+		rejecting.screen(NearDuplicateIndex.signature("the pasta was overcooked and the bread was stale"));
+		assertThatThrownBy(() -> rejecting.screen(sig))
+				.isInstanceOfSatisfying(NearDuplicateIndex.NearDuplicateException.class,
+						ex -> assertThat(ex.getMatch().reviewId()).isEqualTo(original))
+				.isNotInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void screenForAnEditIgnoresTheReviewItself() {
+		char[] sig = NearDuplicateIndex.signature("pozole rojo con tostadas, bien servido y a buen precio para toda la familia");
+		NearDuplicateIndex index = new NearDuplicateIndex(0.8, "reject");
+		UUID edited = UUID.randomUUID();
+		index.add(edited, sig);
+
+		index.screen(sig, edited);
+		assertThat(index.findDuplicate(sig, edited)).isNull();
+
+		UUID other = UUID.randomUUID();
+		index.add(other, sig);
+		assertThatThrownBy(() -> index.screen(sig, edited))
+				.isInstanceOfSatisfying(NearDuplicateIndex.NearDuplicateException.class,
+						ex -> assertThat(ex.getMatch().reviewId()).isEqualTo(other));
+	}
+
+	/* ---------------- helpers ---------------- */
+
+	private static List<String> text(Random random, int words) {
+		List<String> out = new ArrayList<>(words);
+		for (int i = 0; i < words; i++) out.add(WORDS[random.nextInt(WORDS.length)]);
+		return out;
+	}
+
+	private static List<String> edit(Random random, List<String> text, int changes) {
+		List<String> out = new ArrayList<>(text);
+		for (int i = 0; i < changes; i++) out.set(random.nextInt(out.size()), WORDS[random.nextInt(WORDS.length)]);
+		return out;
+	}
+
+	private static Set<List<String>> shingles(List<String> words) {
+		Set<List<String>> out = new HashSet<>();
+		for (int i = 0; i + 3 <= words.size(); i++) out.add(words.subList(i, i + 3));
+		return out;
+	}
+
+	private static double jaccard(Set<List<String>> a, Set<List<String>> b) {
+		Set<List<String>> union = new HashSet<>(a);
+		union.addAll(b);
+		Set<List<String>> common = new HashSet<>(a);
+		common.retainAll(b);
+		return common.size() / (double) union.size();
+	}
+}
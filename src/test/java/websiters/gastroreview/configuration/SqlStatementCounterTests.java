@@ -0,0 +1,51 @@
+package websiters.gastroreview.configuration;
+
+import WebSiters.GastroReview.controller.RatingsController;
+import WebSiters.GastroReview.dto.RatingRequest;
+import WebSiters.GastroReview.service.RatingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import websiters.gastroreview.controller.RestExceptionHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SqlStatementCounterTests {
+
+	@Test
+	void strictScopeFailsOnTheFirstStatementOverBudget() {
+		SqlStatementCounter counter = new SqlStatementCounter();
+		try (SqlStatementCounter.Scope scope = SqlStatementCounter.open(2, true)) {
+			counter.inspect("select 1");
+			counter.inspect("select 2");
+			assertThatThrownBy(() -> counter.inspect("select 3"))
+					.isInstanceOf(SqlStatementCounter.BudgetExceededException.class)
+					.isNotInstanceOf(IllegalStateException.class);
+			assertThat(scope.overBudget()).isTrue();
+		}
+	}
+
+	@Test
+	void budgetBreachIsAServerErrorNotAConflict() throws Exception {
+		// RatingsController answers IllegalStateException with 409 "duplicate rating"
+		RatingService ratings = mock(RatingService.class);
+		when(ratings.create(any(RatingRequest.class)))
+				.thenThrow(new SqlStatementCounter.BudgetExceededException("SQL budget of 2 statements exceeded by: select 3"));
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new RatingsController(ratings, null, null))
+				.setControllerAdvice(new RestExceptionHandler())
+				.build();
+
+		mvc.perform(post("/api/ratings")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"reviewId\":\"6f1c2a8e-2f4b-4c1d-9a57-1d2b3c4d5e6f\","
+								+ "\"userId\":\"0b7e4c9a-5d3f-4e21-8c6b-7a8f9e0d1c2b\",\"stars\":4}"))
+				.andExpect(status().isInternalServerError());
+	}
+}
@@ -0,0 +1,80 @@
+package websiters.gastroreview.repository;
+
+import WebSiters.GastroReview.model.RestaurantSchedule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import websiters.gastroreview.dto.RestaurantResponse;
+import websiters.gastroreview.model.Restaurant;
+
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The open-at listing query against the schedule rules evaluated by brute force:
+ * [open, close) windows, special rows replacing the regular ones on their weekday.
+ */
+@DataJpaTest
+class RestaurantOpenAtQueryTests {
+
+	@Autowired private RestaurantRepository restaurantRepository;
+	@Autowired private EntityManager entityManager;
+
+	@Test
+	void openAtMatchesScheduleRules() {
+		Random random = new Random(13);
+		Map<UUID, List<RestaurantSchedule>> schedules = new HashMap<>();
+		Map<UUID, String> names = new HashMap<>();
+		for (int i = 0; i < 60; i++) {
+			Restaurant r = restaurantRepository.save(Restaurant.builder().name(String.format("Restaurante %02d", i)).build());
+			names.put(r.getId(), r.getName());
+			List<RestaurantSchedule> rows = new ArrayList<>();
+			int windows = random.nextInt(6);
+			for (int w = 0; w < windows; w++) {
+				int open = random.nextInt(23 * 60);
+				int close = open + 30 + random.nextInt(24 * 60 - open - 30);
+				RestaurantSchedule s = new RestaurantSchedule();
+				s.setRestaurant(r);
+				s.setWeekday(random.nextInt(7));
+				s.setOpenTime(LocalTime.of(open / 60, open % 60));
+				s.setCloseTime(close == 24 * 60 ? LocalTime.of(23, 59) : LocalTime.of(close / 60, close % 60));
+				s.setSpecial(random.nextInt(4) == 0);
+				entityManager.persist(s);
+				rows.add(s);
+			}
+			schedules.put(r.getId(), rows);
+		}
+		entityManager.flush();
+
+		for (int q = 0; q < 50; q++) {
+			int weekday = random.nextInt(7);
+			LocalTime time = LocalTime.of(random.nextInt(24), random.nextInt(60));
+			List<String> expected = schedules.entrySet().stream()
+					.filter(e -> isOpen(e.getValue(), weekday, time))
+					.map(e -> names.get(e.getKey()))
+					.sorted()
+					.toList();
+
+			Page<RestaurantResponse> page = restaurantRepository.findResponsesOpenAt(weekday, time,
+					PageRequest.of(0, 100, Sort.by("name", "id")));
+			assertThat(page.getContent()).as("weekday %s at %s", weekday, time)
+					.extracting(RestaurantResponse::getName)
+					.containsExactlyElementsOf(expected);
+			assertThat(page.getTotalElements()).isEqualTo(expected.size());
+		}
+	}
+
+	private static boolean isOpen(List<RestaurantSchedule> rows, int weekday, LocalTime time) {
+		boolean specialDay = rows.stream().anyMatch(s -> s.getWeekday() == weekday && s.isSpecial());
+		return rows.stream().anyMatch(s -> s.getWeekday() == weekday
+				&& s.isSpecial() == specialDay
+				&& !time.isBefore(s.getOpenTime())
+				&& time.isBefore(s.getCloseTime()));
+	}
+}
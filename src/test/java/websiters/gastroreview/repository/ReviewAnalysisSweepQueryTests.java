@@ -0,0 +1,80 @@
+package websiters.gastroreview.repository;
+
+import WebSiters.GastroReview.model.Review;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The analysis sweep query: reviews never analyzed, or edited after their last analysis.
+ */
+@DataJpaTest
+class ReviewAnalysisSweepQueryTests {
+
+	@Autowired private ReviewRepository reviewRepository;
+	@Autowired private EntityManager entityManager;
+	@Autowired private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void createAnalysisTable() {
+		// H2 has no jsonb, so the generated DDL for text_analysis fails; the query does not read metadata
+		jdbc.execute("CREATE TABLE IF NOT EXISTS text_analysis (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+				+ "review_id UUID NOT NULL, sentiment VARCHAR(255), score NUMERIC(9,4), spam_prob NUMERIC(9,4), "
+				+ "language VARCHAR(255), metadata VARCHAR(4000), created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)");
+	}
+
+	@Test
+	void findsReviewsWithoutAnAnalysisOfTheirCurrentText() {
+		UUID userId = UUID.randomUUID();
+		UUID restaurantId = UUID.randomUUID();
+		Instant t0 = Instant.parse("2024-05-01T12:00:00Z");
+		jdbc.update("INSERT INTO users (id, email, hash_password) VALUES (?, ?, ?)", userId, "sweep@example.com", "x");
+		jdbc.update("INSERT INTO restaurants (id, name, owner_id, created_at) VALUES (?, ?, ?, ?)",
+				restaurantId, "Restaurante", userId, Timestamp.from(t0));
+
+		UUID neverAnalyzed = review(userId, restaurantId, t0, null);
+		UUID analyzed = review(userId, restaurantId, t0, null);
+		analysis(analyzed, t0.plusSeconds(10));
+		UUID editedAfter = review(userId, restaurantId, t0, t0.plusSeconds(60));
+		analysis(editedAfter, t0.plusSeconds(10));
+		UUID reanalyzed = review(userId, restaurantId, t0, t0.plusSeconds(60));
+		analysis(reanalyzed, t0.plusSeconds(10));
+		analysis(reanalyzed, t0.plusSeconds(60));
+
+		assertThat(reviewRepository.findIdsNeedingAnalysis(PageRequest.ofSize(100)))
+				.containsExactlyInAnyOrder(neverAnalyzed, editedAfter);
+
+		// an edit through the entity stamps updatedAt, which outdates the analysis
+		Review review = entityManager.find(Review.class, analyzed);
+		review.setContent("Contenido editado");
+		entityManager.flush();
+		assertThat(review.getUpdatedAt()).isNotNull();
+		assertThat(reviewRepository.findIdsNeedingAnalysis(PageRequest.ofSize(100)))
+				.containsExactlyInAnyOrder(neverAnalyzed, editedAfter, analyzed);
+	}
+
+	private UUID review(UUID userId, UUID restaurantId, Instant publishedAt, Instant updatedAt) {
+		UUID id = UUID.randomUUID();
+		jdbc.update("INSERT INTO reviews (id, user_id, restaurant_id, title, content, has_audio, has_image, published_at, updated_at) "
+						+ "VALUES (?, ?, ?, ?, ?, false, false, ?, ?)",
+				id, userId, restaurantId, "Titulo", "Contenido", Timestamp.from(publishedAt),
+				updatedAt != null ? Timestamp.from(updatedAt) : null);
+		return id;
+	}
+
+	private void analysis(UUID reviewId, Instant createdAt) {
+		jdbc.update("INSERT INTO text_analysis (review_id, sentiment, created_at) VALUES (?, ?, ?)",
+				reviewId, "neutral", Timestamp.from(createdAt));
+	}
+}
@@ -0,0 +1,159 @@
+package websiters.gastroreview.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NameDictionary prefix and trigram lookups against a brute-force scan of the live names,
+ * through puts, renames and removals that recycle entry slots.
+ */
+class NameDictionaryTests {
+
+	private static final String[] WORDS = {
+			"la", "el", "pizzería", "pizza", "roma", "taquería", "tacos", "don", "doña", "chuy", "mariscos",
+			"el", "güero", "café", "cafetería", "central", "norte", "sur", "parrilla", "pollo", "pollos",
+			"asados", "birria", "barbacoa", "sushi", "ramen", "casa", "de", "los", "abuelos", "1910", "24"
+	};
+
+	private record Entry(UUID id, String name, long popularity) {
+	}
+
+	@Test
+	void lookupsMatchBruteForceThroughChurn() {
+		Random random = new Random(5);
+		NameDictionary dict = new NameDictionary();
+		Map<UUID, Entry> live = new LinkedHashMap<>();
+		List<UUID> ids = new ArrayList<>();
+
+		for (int round = 0; round < 6; round++) {
+			for (int i = 0; i < 400; i++) {
+				UUID id = !ids.isEmpty() && random.nextInt(4) == 0 ? ids.get(random.nextInt(ids.size())) : UUID.randomUUID();
+				Entry e = new Entry(id, name(random), random.nextLong(1_000_000_000L));
+				if (!live.containsKey(id)) ids.add(id);
+				live.put(id, e);
+				dict.put(id, e.name(), null, e.popularity());
+			}
+			for (int i = 0; i < 250; i++) {
+				UUID id = ids.get(random.nextInt(ids.size()));
+				if (live.remove(id) != null) dict.remove(id);
+			}
+			assertThat(dict.size()).isEqualTo(live.size());
+
+			for (int q = 0; q < 100; q++) {
+				String query = query(random);
+				int limit = 1 + random.nextInt(NameDictionary.TOP_K);
+				assertThat(names(dict, dict.complete(query, limit)))
+						.as("complete '%s' (%s)", query, limit)
+						.containsExactlyElementsOf(completeBruteForce(live.values(), query, limit));
+				assertThat(names(dict, dict.fuzzy(query, limit)))
+						.as("fuzzy '%s' (%s)", query, limit)
+						.containsExactlyElementsOf(fuzzyBruteForce(live.values(), query, limit));
+			}
+		}
+	}
+
+	@Test
+	void misspeltQueriesFindTheName() {
+		NameDictionary dict = new NameDictionary();
+		UUID id = UUID.randomUUID();
+		dict.put(id, "Taquería Don Chuy", null, 10);
+		dict.put(UUID.randomUUID(), "Sushi Roll", null, 5);
+
+		assertThat(dict.complete("taqeria", 5)).isEmpty();
+		assertThat(dict.fuzzy("taqeria", 5)).extracting(dict::id).containsExactly(id);
+		assertThat(dict.complete("don ch", 5)).extracting(dict::id).containsExactly(id);
+	}
+
+	/* ---------------- brute force ---------------- */
+
+	private static List<String> completeBruteForce(Collection<Entry> entries, String query, int limit) {
+		String prefix = normalizeQuery(query);
+		if (prefix.isEmpty()) return List.of();
+		return entries.stream()
+				.filter(e -> keys(normalizeQuery(e.name()).trim()).stream().anyMatch(k -> k.startsWith(prefix)))
+				.sorted(byPopularity())
+				.limit(limit)
+				.map(Entry::name)
+				.toList();
+	}
+
+	private static List<String> fuzzyBruteForce(Collection<Entry> entries, String query, int limit) {
+		String normalized = normalizeQuery(query).trim();
+		if (normalized.length() < 3) return List.of();
+		Set<String> queryTrigrams = trigrams(normalized);
+		int needed = (int) Math.ceil(queryTrigrams.size() * 0.5);
+		Map<Entry, Integer> shared = new HashMap<>();
+		for (Entry e : entries) {
+			Set<String> common = trigrams(normalizeQuery(e.name()).trim());
+			common.retainAll(queryTrigrams);
+			if (!common.isEmpty() && common.size() >= needed) shared.put(e, common.size());
+		}
+		return shared.keySet().stream()
+				.sorted(Comparator.<Entry>comparingInt(shared::get).reversed().thenComparing(byPopularity()))
+				.limit(limit)
+				.map(Entry::name)
+				.toList();
+	}
+
+	// popularities are drawn from a wide range, so ties (broken by entry id) do not occur
+	private static Comparator<Entry> byPopularity() {
+		return Comparator.comparingLong(Entry::popularity).reversed();
+	}
+
+	private static String normalizeQuery(String text) {
+		String collapsed = TextAnalyzer.fold(text).replaceAll("[^\\p{L}\\p{Nd}]+", " ");
+		return collapsed.startsWith(" ") ? collapsed.substring(1) : collapsed;
+	}
+
+	private static List<String> keys(String normalized) {
+		List<String> keys = new ArrayList<>();
+		String[] words = normalized.split(" ");
+		for (int i = 0; i < words.length && keys.size() < 8; i++) {
+			keys.add(String.join(" ", Arrays.copyOfRange(words, i, words.length)));
+		}
+		return keys;
+	}
+
+	private static Set<String> trigrams(String normalized) {
+		Set<String> out = new HashSet<>();
+		for (String word : normalized.split(" ")) {
+			if (word.isEmpty()) continue;
+			String padded = "  " + word;
+			for (int i = 0; i + 3 <= padded.length(); i++) out.add(padded.substring(i, i + 3));
+		}
+		return out;
+	}
+
+	private static List<String> names(NameDictionary dict, List<Integer> entries) {
+		return entries.stream().map(dict::name).toList();
+	}
+
+	private static String name(Random random) {
+		int words = 1 + random.nextInt(4);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0) sb.append(random.nextInt(5) == 0 ? " - " : " ");
+			sb.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return random.nextBoolean() ? sb.toString().toUpperCase(Locale.ROOT) : sb.toString();
+	}
+
+	private static String query(Random random) {
+		String word = WORDS[random.nextInt(WORDS.length)];
+		return switch (random.nextInt(4)) {
+			case 0 -> word.substring(0, 1 + random.nextInt(word.length()));
+			case 1 -> word + " " + WORDS[random.nextInt(WORDS.length)].substring(0, 1);
+			case 2 -> typo(random, word);
+			default -> word + " ";
+		};
+	}
+
+	private static String typo(Random random, String word) {
+		if (word.length() < 4) return word;
+		int i = 1 + random.nextInt(word.length() - 2);
+		return word.substring(0, i) + word.substring(i + 1);
+	}
+}
@@ -0,0 +1,229 @@
+package websiters.gastroreview.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * ReviewSearchIndex.search against BM25 computed by brute force over the same reviews.
+ * Document frequencies and the collection size count every indexed version, including
+ * tombstoned ones, as the index does until its next rebuild.
+ */
+class ReviewSearchIndexTests {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private static final String[] WORDS = {
+			"tacos", "taco", "pastor", "salsa", "picante", "deliciosos", "deliciosa", "servicio", "lento",
+			"rápido", "mesero", "amable", "cerveza", "fría", "caro", "barato", "mariscos", "ceviche",
+			"fresco", "postre", "flan", "café", "the", "de", "y", "muy", "delicious", "service", "slow"
+	};
+
+	private record Doc(UUID id, UUID restaurantId, UUID dishId, String title, String content) {
+	}
+
+	@Test
+	void topHitsMatchBruteForceBm25() {
+		Random random = new Random(7);
+		ReviewSearchIndex index = new ReviewSearchIndex(null, null);
+		UUID[] restaurants = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+		UUID[] dishes = {UUID.randomUUID(), UUID.randomUUID()};
+		Map<UUID, Doc> docs = new LinkedHashMap<>();
+		for (int i = 0; i < 3000; i++) {
+			Doc d = new Doc(UUID.randomUUID(), restaurants[random.nextInt(restaurants.length)],
+					random.nextInt(3) == 0 ? dishes[random.nextInt(dishes.length)] : null,
+					text(random, 1 + random.nextInt(4)), text(random, 3 + random.nextInt(40)));
+			docs.put(d.id(), d);
+			index.index(d.id(), d.restaurantId(), d.dishId(), d.title(), d.content());
+		}
+
+		for (int q = 0; q < 200; q++) {
+			String query = text(random, 1 + random.nextInt(4));
+			UUID restaurantId = q % 3 == 0 ? restaurants[random.nextInt(restaurants.length)] : null;
+			UUID dishId = q % 5 == 0 ? dishes[random.nextInt(dishes.length)] : null;
+			int limit = new int[]{1, 5, 20, 5000}[q % 4];
+			assertMatchesBruteForce(index, docs.values(), docs.values(), query, restaurantId, dishId, limit);
+		}
+	}
+
+	@Test
+	void scoresFollowUpdatesAndRemovalsBetweenQueries() {
+		Random random = new Random(13);
+		ReviewSearchIndex index = new ReviewSearchIndex(null, null);
+		UUID[] restaurants = {UUID.randomUUID(), UUID.randomUUID()};
+		Map<UUID, Doc> docs = new LinkedHashMap<>();
+		List<Doc> versions = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			Doc d = new Doc(UUID.randomUUID(), restaurants[random.nextInt(restaurants.length)], null,
+					text(random, 1 + random.nextInt(3)), text(random, 3 + random.nextInt(20)));
+			docs.put(d.id(), d);
+			versions.add(d);
+			index.index(d.id(), d.restaurantId(), null, d.title(), d.content());
+		}
+
+		// One review edited over and over: its tombstones alone outnumber the live reviews
+		UUID edited = docs.keySet().iterator().next();
+		for (int round = 0; round < 40; round++) {
+			List<UUID> ids = new ArrayList<>(docs.keySet());
+			for (int i = 0; i < 20; i++) {
+				UUID id = i == 0 && docs.containsKey(edited) ? edited : ids.get(random.nextInt(ids.size()));
+				if (id.equals(edited) || random.nextInt(3) > 0) {
+					Doc d = new Doc(id, docs.getOrDefault(id, docs.get(edited)).restaurantId(), null,
+							"tacos " + text(random, 1), text(random, 3 + random.nextInt(20)));
+					docs.put(id, d);
+					versions.add(d);
+					index.index(id, d.restaurantId(), null, d.title(), d.content());
+				} else if (docs.size() > 20 && docs.remove(id) != null) {
+					index.remove(id);
+				}
+			}
+			for (int q = 0; q < 5; q++) {
+				String query = q == 0 ? "tacos" : text(random, 1 + random.nextInt(3));
+				UUID restaurantId = q % 2 == 0 ? restaurants[random.nextInt(restaurants.length)] : null;
+				int limit = new int[]{1, 5, 50, 5000}[(round + q) % 4];
+				assertMatchesBruteForce(index, docs.values(), versions, query, restaurantId, null, limit);
+			}
+		}
+		assertThat(versions.size() - docs.size()).isGreaterThan(docs.size());
+		assertThat(index.search("tacos", null, null, 5000))
+				.hasSize(docs.size())
+				.allSatisfy(hit -> assertThat(hit.score()).isPositive());
+	}
+
+	@Test
+	void updatedAndRemovedReviewsLeaveTheResults() {
+		Random random = new Random(11);
+		ReviewSearchIndex index = new ReviewSearchIndex(null, null);
+		UUID restaurantId = UUID.randomUUID();
+		Map<UUID, Doc> docs = new LinkedHashMap<>();
+		for (int i = 0; i < 500; i++) {
+			Doc d = new Doc(UUID.randomUUID(), restaurantId, null, text(random, 2), text(random, 10));
+			docs.put(d.id(), d);
+			index.index(d.id(), restaurantId, null, d.title(), d.content());
+		}
+		List<UUID> ids = new ArrayList<>(docs.keySet());
+		for (int i = 0; i < 200; i++) {
+			UUID id = ids.get(random.nextInt(ids.size()));
+			if (random.nextBoolean()) {
+				Doc d = new Doc(id, restaurantId, null, text(random, 2), text(random, 10));
+				docs.put(id, d);
+				index.index(id, restaurantId, null, d.title(), d.content());
+			} else if (docs.remove(id) != null) {
+				index.remove(id);
+			}
+		}
+
+		assertThat(index.size()).isEqualTo(docs.size());
+		for (String word : WORDS) {
+			Set<UUID> expected = new HashSet<>();
+			List<String> terms = TextAnalyzer.terms(word);
+			for (Doc d : docs.values()) {
+				List<String> docTerms = new ArrayList<>(TextAnalyzer.terms(d.title()));
+				docTerms.addAll(TextAnalyzer.terms(d.content()));
+				if (!terms.isEmpty() && docTerms.containsAll(terms)) expected.add(d.id());
+			}
+			assertThat(index.search(word, null, null, 10_000))
+					.as(word)
+					.extracting(ReviewSearchIndex.Hit::reviewId)
+					.containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	@Test
+	void queriesWithoutIndexTermsFindNothing() {
+		ReviewSearchIndex index = new ReviewSearchIndex(null, null);
+		index.index(UUID.randomUUID(), UUID.randomUUID(), null, "Tacos al pastor", "Muy buenos");
+		assertThat(index.search("de la y", null, null, 10)).isEmpty();
+		assertThat(index.search("sushi", null, null, 10)).isEmpty();
+		assertThat(index.search("tacos", UUID.randomUUID(), null, 10)).isEmpty();
+	}
+
+	/* ---------------- brute force ---------------- */
+
+	private static void assertMatchesBruteForce(ReviewSearchIndex index, Collection<Doc> docs, Collection<Doc> versions,
+												String query, UUID restaurantId, UUID dishId, int limit) {
+		Map<UUID, Double> expected = bm25(docs, versions, query, restaurantId, dishId);
+		List<Double> expectedScores = expected.values().stream()
+				.sorted(Comparator.reverseOrder())
+				.limit(limit)
+				.toList();
+
+		List<ReviewSearchIndex.Hit> hits = index.search(query, restaurantId, dishId, limit);
+		assertThat(hits).as(query).hasSameSizeAs(expectedScores);
+		for (int i = 0; i < hits.size(); i++) {
+			ReviewSearchIndex.Hit hit = hits.get(i);
+			// scores are accumulated in floats; ties may come back in any order
+			assertThat(hit.score()).as("%s: rank %s", query, i).isCloseTo(expectedScores.get(i), within(1e-3));
+			assertThat(expected).containsKey(hit.reviewId());
+			assertThat(hit.score()).as("%s: score of %s", query, hit.reviewId())
+					.isCloseTo(expected.get(hit.reviewId()), within(1e-3));
+		}
+	}
+
+	/**
+	 * Scores of the live docs; versions holds every version ever indexed, for idf.
+	 */
+	private static Map<UUID, Double> bm25(Collection<Doc> docs, Collection<Doc> versions, String query,
+										  UUID restaurantId, UUID dishId) {
+		Map<String, Integer> docFreq = new HashMap<>();
+		for (Doc d : versions) {
+			Set<String> terms = new HashSet<>(TextAnalyzer.terms(d.title()));
+			terms.addAll(TextAnalyzer.terms(d.content()));
+			terms.forEach(t -> docFreq.merge(t, 1, Integer::sum));
+		}
+
+		Map<UUID, Map<String, Integer>> tfs = new HashMap<>();
+		Map<UUID, Integer> lengths = new HashMap<>();
+		long totalLength = 0;
+		for (Doc d : docs) {
+			Map<String, Integer> tf = new HashMap<>();
+			int length = 0;
+			for (String t : TextAnalyzer.terms(d.title())) {
+				tf.merge(t, ReviewSearchIndex.TITLE_WEIGHT, Integer::sum);
+				length += ReviewSearchIndex.TITLE_WEIGHT;
+			}
+			for (String t : TextAnalyzer.terms(d.content())) {
+				tf.merge(t, 1, Integer::sum);
+				length++;
+			}
+			tfs.put(d.id(), tf);
+			lengths.put(d.id(), length);
+			totalLength += length;
+		}
+		int n = versions.size();
+		double avgLength = Math.max(1.0, (double) totalLength / docs.size());
+
+		Map<UUID, Double> scores = new HashMap<>();
+		for (Doc d : docs) {
+			if (restaurantId != null && !restaurantId.equals(d.restaurantId())) continue;
+			if (dishId != null && !dishId.equals(d.dishId())) continue;
+			double score = 0;
+			boolean matched = false;
+			for (String term : new LinkedHashSet<>(TextAnalyzer.terms(query))) {
+				Integer tf = tfs.get(d.id()).get(term);
+				if (tf == null) continue;
+				int df = docFreq.get(term);
+				double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+				double norm = K1 * (1 - B) + K1 * B * lengths.get(d.id()) / avgLength;
+				score += idf * tf * (K1 + 1) / (tf + norm);
+				matched = true;
+			}
+			if (matched) scores.put(d.id(), score);
+		}
+		return scores;
+	}
+
+	private static String text(Random random, int words) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0) sb.append(random.nextInt(6) == 0 ? ", " : " ");
+			String w = WORDS[random.nextInt(WORDS.length)];
+			sb.append(random.nextInt(8) == 0 ? w.toUpperCase(Locale.ROOT) : w);
+		}
+		return sb.toString();
+	}
+}
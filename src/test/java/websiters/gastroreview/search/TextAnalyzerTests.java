@@ -0,0 +1,66 @@
+package websiters.gastroreview.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextAnalyzerTests {
+
+	@Test
+	void foldsAccentsAndCase() {
+		assertThat(TextAnalyzer.fold("Ñandú Café")).isEqualTo("nandu cafe");
+		assertThat(TextAnalyzer.fold("PIÑA colada")).isEqualTo("pina colada");
+	}
+
+	@Test
+	void stemsSpanishAndEnglishVariantsTogether() {
+		assertThat(TextAnalyzer.terms("deliciosos deliciosa delicious")).containsOnly("delici");
+		assertThat(TextAnalyzer.terms("tomate tomates")).containsOnly("tomat");
+		assertThat(TextAnalyzer.terms("rico rica")).containsOnly("ric");
+	}
+
+	@Test
+	void dropsStopwordsAndShortOrLongTokens() {
+		assertThat(TextAnalyzer.terms("El servicio de la casa y the service")).doesNotContain("el", "de", "la", "y", "the");
+		assertThat(TextAnalyzer.terms("x " + "a".repeat(41))).isEmpty();
+		assertThat(TextAnalyzer.terms(null)).isEmpty();
+		assertThat(TextAnalyzer.terms("")).isEmpty();
+	}
+
+	/**
+	 * terms() against a regex split of the folded text, on random text with accents,
+	 * digits and punctuation.
+	 */
+	@Test
+	void tokenizationMatchesRegexSplit() {
+		Random random = new Random(3);
+		String alphabet = "abcdeéíñóúüxyzABCÑ0123456789 ,.;:!?¿¡-'\"()\t\n";
+		List<String> stopwords = List.copyOf(TextAnalyzer.STOPWORDS);
+		for (int i = 0; i < 2000; i++) {
+			StringBuilder sb = new StringBuilder();
+			int length = random.nextInt(80);
+			for (int j = 0; j < length; j++) {
+				if (random.nextInt(10) == 0) {
+					sb.append(' ').append(stopwords.get(random.nextInt(stopwords.size()))).append(' ');
+				} else {
+					sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+				}
+			}
+			String text = sb.toString();
+			assertThat(TextAnalyzer.terms(text)).as(text).containsExactlyElementsOf(bruteForce(text));
+		}
+	}
+
+	private static List<String> bruteForce(String text) {
+		List<String> out = new ArrayList<>();
+		for (String token : TextAnalyzer.fold(text).split("[^\\p{L}\\p{Nd}]+")) {
+			if (token.length() < 2 || token.length() > 40 || TextAnalyzer.STOPWORDS.contains(token)) continue;
+			out.add(TextAnalyzer.stem(token));
+		}
+		return out;
+	}
+}
@@ -0,0 +1,172 @@
+package websiters.gastroreview.service;
+
+import WebSiters.GastroReview.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import websiters.gastroreview.repository.FriendshipRepository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * FeedRing against a sorted set trimmed to the same capacity, and feed paging against
+ * the full list of followed reviews, past what the inbox holds.
+ */
+class FeedServiceTests {
+
+	private static final Comparator<FeedService.FeedRing.Entry> NEWEST_FIRST =
+			(a, b) -> FeedService.FeedRing.compare(b, a);
+
+	@Test
+	void ringKeepsTheNewestEntriesInOrder() {
+		Random random = new Random(3);
+		for (int capacity : new int[]{1, 8, 64}) {
+			FeedService.FeedRing ring = new FeedService.FeedRing(capacity);
+			TreeSet<FeedService.FeedRing.Entry> expected = new TreeSet<>(NEWEST_FIRST);
+			List<FeedService.FeedRing.Entry> seen = new ArrayList<>();
+			for (int i = 0; i < 2000; i++) {
+				// few distinct times so that ties are ordered by review id, and some re-adds
+				FeedService.FeedRing.Entry e = !seen.isEmpty() && random.nextInt(5) == 0
+						? seen.get(random.nextInt(seen.size()))
+						: new FeedService.FeedRing.Entry(random.nextInt(300), UUID.randomUUID());
+				seen.add(e);
+				ring.add(e.micros(), e.reviewId());
+				expected.add(e);
+				while (expected.size() > capacity) expected.pollLast();
+
+				if (i % 50 == 0) {
+					assertThat(drain(ring.before(Long.MAX_VALUE, null, capacity + 1))).containsExactlyElementsOf(expected);
+					FeedService.FeedRing.Entry cursor = seen.get(random.nextInt(seen.size()));
+					int limit = 1 + random.nextInt(capacity);
+					FeedService.FeedRing.Slice slice = ring.before(cursor.micros(), cursor.reviewId(), limit);
+					assertThat(drain(slice))
+							.containsExactlyElementsOf(expected.tailSet(cursor, false).stream().limit(limit).toList());
+					assertThat(slice.horizon()).isEqualTo(expected.size() == capacity ? expected.last() : null);
+				}
+			}
+		}
+	}
+
+	@Test
+	void ringLoadKeepsEntriesPushedBeforeIt() {
+		FeedService.FeedRing ring = new FeedService.FeedRing(3);
+		UUID pushed = UUID.randomUUID();
+		UUID[] loaded = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+		ring.add(25, pushed);
+		ring.load(new long[]{30, 20, 10}, loaded);
+		assertThat(ring.isLoaded()).isTrue();
+		assertThat(drain(ring.before(Long.MAX_VALUE, null, 10))).extracting(FeedService.FeedRing.Entry::reviewId)
+				.containsExactly(loaded[0], pushed, loaded[1]);
+	}
+
+	@Test
+	void pagesWalkTheWholeFeedPastTheInbox() {
+		Random random = new Random(5);
+		UUID reader = UUID.randomUUID();
+		UUID popular = UUID.randomUUID();
+		UUID[] authors = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), popular};
+		UUID stranger = UUID.randomUUID();
+
+		// the reader follows every author; popular has three followers, over a push threshold of 2
+		FriendshipRepository friendships = mock(FriendshipRepository.class);
+		List<Object[]> edges = new ArrayList<>();
+		for (UUID a : authors) edges.add(new Object[]{reader, a, OffsetDateTime.now()});
+		edges.add(new Object[]{authors[0], popular, OffsetDateTime.now()});
+		edges.add(new Object[]{authors[1], popular, OffsetDateTime.now()});
+		when(friendships.streamEdges()).thenAnswer(inv -> edges.stream());
+		SocialGraph graph = new SocialGraph(friendships, mock(PlatformTransactionManager.class));
+		graph.rebuild();
+
+		Map<UUID, UUID> authorOf = new HashMap<>();
+		List<FeedService.FeedRing.Entry> reviews = new ArrayList<>();
+		ReviewRepository reviewRepo = mock(ReviewRepository.class);
+		when(reviewRepo.findFeedRows(eq(reader), any(Pageable.class))).thenAnswer(inv ->
+				rows(reviews, authorOf, authors, null, inv.getArgument(1, Pageable.class).getPageSize()));
+		when(reviewRepo.findFeedRowsBefore(eq(reader), any(OffsetDateTime.class), any(UUID.class), any(Pageable.class)))
+				.thenAnswer(inv -> rows(reviews, authorOf, authors,
+						new FeedService.FeedRing.Entry(micros(inv.getArgument(1)), inv.getArgument(2)),
+						inv.getArgument(3, Pageable.class).getPageSize()));
+		FeedService service = new FeedService(reviewRepo, graph, 30, 2, 100);
+
+		for (int i = 0; i < 200; i++) {
+			UUID author = random.nextInt(10) == 0 ? stranger : authors[random.nextInt(authors.length)];
+			review(reviews, authorOf, author, 1_000_000L + random.nextInt(100_000) * 1000L);
+		}
+		// builds the inbox, then newer reviews are pushed to it or kept in popular's outbox
+		assertThat(service.entries(reader, Long.MAX_VALUE, null, 10)).hasSize(11);
+		for (int i = 0; i < 40; i++) {
+			UUID author = authors[random.nextInt(authors.length)];
+			FeedService.FeedRing.Entry e = review(reviews, authorOf, author, 200_000_000L + i * 1000L);
+			service.reviewPublished(author, e.reviewId(), fromMicros(e.micros()));
+		}
+
+		List<FeedService.FeedRing.Entry> expected = reviews.stream()
+				.filter(e -> Arrays.asList(authors).contains(authorOf.get(e.reviewId())))
+				.sorted(NEWEST_FIRST)
+				.toList();
+		for (int limit : new int[]{1, 7, 20}) {
+			clearInvocations(reviewRepo);
+			List<FeedService.FeedRing.Entry> walked = new ArrayList<>();
+			long beforeMicros = Long.MAX_VALUE;
+			UUID beforeId = null;
+			while (true) {
+				List<FeedService.FeedRing.Entry> page = service.entries(reader, beforeMicros, beforeId, limit);
+				walked.addAll(page.subList(0, Math.min(limit, page.size())));
+				if (page.size() <= limit) break;
+				FeedService.FeedRing.Entry last = page.get(limit - 1);
+				beforeMicros = last.micros();
+				beforeId = last.reviewId();
+			}
+			assertThat(walked).as("pages of %s", limit).containsExactlyElementsOf(expected);
+			// the newest pages come from the rings, the deep ones from the database
+			verify(reviewRepo, never()).findFeedRows(eq(reader), any(Pageable.class));
+			verify(reviewRepo, atLeastOnce()).findFeedRowsBefore(eq(reader), any(), any(), any());
+		}
+	}
+
+	/* ---------------- helpers ---------------- */
+
+	private static FeedService.FeedRing.Entry review(List<FeedService.FeedRing.Entry> reviews, Map<UUID, UUID> authorOf,
+													 UUID author, long micros) {
+		FeedService.FeedRing.Entry e = new FeedService.FeedRing.Entry(micros, UUID.randomUUID());
+		reviews.add(e);
+		authorOf.put(e.reviewId(), author);
+		return e;
+	}
+
+	// what findFeedRows / findFeedRowsBefore return for the reader: [id, publishedAt], newest first
+	private static List<Object[]> rows(List<FeedService.FeedRing.Entry> reviews, Map<UUID, UUID> authorOf,
+									   UUID[] followed, FeedService.FeedRing.Entry before, int limit) {
+		return reviews.stream()
+				.filter(e -> Arrays.asList(followed).contains(authorOf.get(e.reviewId())))
+				.filter(e -> before == null || FeedService.FeedRing.compare(e, before) < 0)
+				.sorted(NEWEST_FIRST)
+				.limit(limit)
+				.map(e -> new Object[]{e.reviewId(), fromMicros(e.micros())})
+				.toList();
+	}
+
+	private static List<FeedService.FeedRing.Entry> drain(FeedService.FeedRing.Slice slice) {
+		List<FeedService.FeedRing.Entry> out = new ArrayList<>();
+		while (slice.hasNext()) out.add(slice.next());
+		return out;
+	}
+
+	private static long micros(OffsetDateTime t) {
+		return ChronoUnit.MICROS.between(Instant.EPOCH, t.toInstant());
+	}
+
+	private static OffsetDateTime fromMicros(long micros) {
+		return OffsetDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+	}
+}
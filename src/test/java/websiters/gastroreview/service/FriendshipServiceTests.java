@@ -0,0 +1,85 @@
+package websiters.gastroreview.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+import websiters.gastroreview.dto.FriendshipRequest;
+import websiters.gastroreview.model.Friendship;
+import websiters.gastroreview.model.FriendshipId;
+import websiters.gastroreview.repository.FriendshipRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Write checks go to the database; reads go to the database until the graph is loaded.
+ */
+class FriendshipServiceTests {
+
+	private final UUID a = UUID.randomUUID();
+	private final UUID b = UUID.randomUUID();
+	private final FriendshipRepository repo = mock(FriendshipRepository.class);
+	private final SocialGraph graph = new SocialGraph(repo, mock(PlatformTransactionManager.class));
+	private final FriendshipService service = new FriendshipService(repo, graph, mock(FeedService.class));
+
+	@Test
+	void duplicateFollowIsAConflictEvenBeforeTheGraphLoads() {
+		when(repo.existsById(new FriendshipId(a, b))).thenReturn(true);
+
+		assertThatThrownBy(() -> service.create(request(a, b)))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+		verify(repo, never()).saveAndFlush(any());
+	}
+
+	@Test
+	void unfollowOfAMissingRowIsNotFound() {
+		when(repo.existsById(new FriendshipId(a, b))).thenReturn(false);
+
+		assertThatThrownBy(() -> service.delete(a, b))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+		verify(repo, never()).deleteById(any());
+	}
+
+	@Test
+	void readsFallBackToTheDatabaseUntilTheGraphLoads() {
+		Friendship row = Friendship.builder().id(new FriendshipId(a, b)).createdAt(OffsetDateTime.now()).build();
+		when(repo.findById(new FriendshipId(a, b))).thenReturn(Optional.of(row));
+		when(repo.findById_FollowedId(eq(b), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(row)));
+		when(repo.countById_FollowedId(b)).thenReturn(1L);
+
+		assertThat(service.get(a, b).getFollower_Id()).isEqualTo(a);
+		assertThat(service.findFollowers(b, Pageable.ofSize(5)).getContent()).hasSize(1);
+		assertThat(service.counts(b).getFollowers()).isEqualTo(1);
+		assertThatThrownBy(() -> service.suggest(a, 10))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+		when(repo.streamEdges()).thenAnswer(inv -> Stream.<Object[]>of(new Object[]{a, b, row.getCreatedAt()}));
+		graph.rebuild();
+		clearInvocations(repo);
+		assertThat(service.get(a, b).getFollower_Id()).isEqualTo(a);
+		assertThat(service.counts(b).getFollowers()).isEqualTo(1);
+		verifyNoInteractions(repo);
+	}
+
+	private static FriendshipRequest request(UUID follower, UUID followed) {
+		FriendshipRequest in = new FriendshipRequest();
+		in.setFollower_Id(follower);
+		in.setFollowed_Id(followed);
+		return in;
+	}
+}
@@ -0,0 +1,136 @@
+package websiters.gastroreview.service;
+
+import WebSiters.GastroReview.service.ReviewService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.web.SortHandlerMethodArgumentResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import websiters.gastroreview.controller.ReviewsController;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/reviews/stream end to end on H2: the body is the requested page of the
+ * sorted, filtered list, and bad paging is a 400. Not transactional, so that the
+ * streaming thread sees the rows; they are deleted after each test.
+ */
+@DataJpaTest(properties = "gastroreview.stream.max-size=50")
+@Import({ListStreamService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ListStreamServiceTests {
+
+	private static final int REVIEWS = 30;
+
+	@Autowired private ListStreamService listStreamService;
+	@Autowired private JdbcTemplate jdbc;
+	@Autowired private ObjectMapper objectMapper;
+
+	private MockMvc mvc;
+	private UUID restaurantId;
+	// seeded reviews, newest first: [id, title, restaurantId]
+	private final List<String[]> reviews = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		mvc = MockMvcBuilders
+				.standaloneSetup(new ReviewsController(mock(ReviewService.class), null, null, listStreamService))
+				.setCustomArgumentResolvers(new SortHandlerMethodArgumentResolver())
+				.build();
+
+		UUID userId = UUID.randomUUID();
+		restaurantId = UUID.randomUUID();
+		UUID otherRestaurant = UUID.randomUUID();
+		jdbc.update("INSERT INTO users (id, email, hash_password) VALUES (?, ?, ?)", userId, "stream@example.com", "x");
+		Instant now = Instant.now();
+		jdbc.update("INSERT INTO restaurants (id, name, owner_id, created_at) VALUES (?, ?, ?, ?), (?, ?, ?, ?)",
+				restaurantId, "Restaurante A", userId, Timestamp.from(now),
+				otherRestaurant, "Restaurante B", userId, Timestamp.from(now));
+
+		List<String> titles = new ArrayList<>();
+		for (int i = 0; i < REVIEWS; i++) titles.add(String.format("Review %02d", i));
+		Collections.shuffle(titles, new Random(23)); // title order differs from publication order
+		for (int i = 0; i < REVIEWS; i++) {
+			UUID id = UUID.randomUUID();
+			jdbc.update("INSERT INTO reviews (id, user_id, restaurant_id, title, content, has_audio, has_image, published_at) "
+							+ "VALUES (?, ?, ?, ?, ?, false, false, ?)",
+					id, userId, i % 3 == 0 ? otherRestaurant : restaurantId, titles.get(i), "Contenido " + i,
+					Timestamp.from(now.minusSeconds(i)));
+			reviews.add(new String[]{id.toString(), titles.get(i), i % 3 == 0 ? otherRestaurant.toString() : restaurantId.toString()});
+		}
+	}
+
+	@AfterEach
+	void clean() {
+		jdbc.update("DELETE FROM reviews");
+		jdbc.update("DELETE FROM restaurants");
+		jdbc.update("DELETE FROM users");
+	}
+
+	@Test
+	void streamsTheRequestedPageInSortOrder() throws Exception {
+		// newest first, third page of 7
+		List<String> newest = reviews.stream().map(r -> r[0]).toList();
+		assertThat(ids(stream("page=2&size=7&sort=publishedAt,desc"))).containsExactlyElementsOf(newest.subList(14, 21));
+
+		// by title ascending, restaurant filter, second page of 4
+		List<String> byTitle = reviews.stream()
+				.filter(r -> r[2].equals(restaurantId.toString()))
+				.sorted(Comparator.comparing(r -> r[1]))
+				.map(r -> r[0])
+				.toList();
+		JsonNode body = stream("page=1&size=4&sort=title,asc&restaurantId=" + restaurantId);
+		assertThat(ids(body)).containsExactlyElementsOf(byTitle.subList(4, 8));
+		assertThat(body.get(0).get("title").asText()).isEqualTo(reviews.stream()
+				.filter(r -> r[0].equals(byTitle.get(4))).findFirst().orElseThrow()[1]);
+
+		// past the end: an empty array, not an error
+		assertThat(stream("page=9&size=7&sort=publishedAt,desc")).isEmpty();
+	}
+
+	@Test
+	void rejectsBadPagingWith400() throws Exception {
+		for (String query : new String[]{"page=-1&size=10", "size=0", "size=51"}) {
+			mvc.perform(get("/api/reviews/stream?" + query)).andExpect(status().isBadRequest());
+		}
+		assertThat(stream("size=50")).hasSize(REVIEWS); // the limit itself is allowed
+	}
+
+	private JsonNode stream(String query) throws Exception {
+		MvcResult started = mvc.perform(get("/api/reviews/stream?" + query))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String json = mvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode body = objectMapper.readTree(json);
+		assertThat(body.isArray()).isTrue();
+		return body;
+	}
+
+	private static List<String> ids(JsonNode body) {
+		List<String> out = new ArrayList<>();
+		body.forEach(row -> out.add(row.get("id").asText()));
+		return out;
+	}
+}
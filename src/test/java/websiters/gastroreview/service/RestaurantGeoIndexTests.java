@@ -0,0 +1,115 @@
+package websiters.gastroreview.service;
+
+import org.junit.jupiter.api.Test;
+import websiters.gastroreview.repository.RestaurantAddressRepository;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RestaurantGeoIndex.nearest against a brute-force scan over the same points.
+ */
+class RestaurantGeoIndexTests {
+
+	private record Place(UUID id, double latitude, double longitude) {
+	}
+
+	@Test
+	void nearestMatchesBruteForceAroundTheGlobe() {
+		Random random = new Random(42);
+		RestaurantGeoIndex index = new RestaurantGeoIndex(null);
+		List<Place> places = new ArrayList<>();
+		// clusters in a city, across the antimeridian and around both poles
+		double[][] centres = {{25.67, -100.31}, {0.5, 179.99}, {89.95, 10.0}, {-89.9, -45.0}, {60.0, 0.0}};
+		for (double[] c : centres) {
+			for (int i = 0; i < 400; i++) {
+				double lat = reflect(c[0] + (random.nextDouble() - 0.5) * 0.6);
+				double lng = wrap(c[1] + (random.nextDouble() - 0.5) * 4.0);
+				Place p = new Place(UUID.randomUUID(), lat, lng);
+				places.add(p);
+				index.put(p.id(), p.latitude(), p.longitude());
+			}
+		}
+
+		for (double[] c : centres) {
+			for (int q = 0; q < 20; q++) {
+				double lat = reflect(c[0] + (random.nextDouble() - 0.5) * 0.4);
+				double lng = wrap(c[1] + (random.nextDouble() - 0.5) * 2.0);
+				for (double radiusKm : new double[]{0.5, 5, 40, 100}) {
+					for (int limit : new int[]{1, 10, 1000}) {
+						assertThat(ids(index.nearest(lat, lng, radiusKm, limit)))
+								.as("(%s, %s) within %s km, limit %s", lat, lng, radiusKm, limit)
+								.containsExactlyElementsOf(bruteForce(places, lat, lng, radiusKm, limit));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void movesAndRemovalsAreVisibleToQueries() {
+		RestaurantGeoIndex index = new RestaurantGeoIndex(null);
+		UUID id = UUID.randomUUID();
+		index.put(id, 19.43, -99.13);
+		assertThat(ids(index.nearest(19.43, -99.13, 1, 10))).containsExactly(id);
+
+		index.put(id, 20.67, -103.35);
+		assertThat(index.nearest(19.43, -99.13, 1, 10)).isEmpty();
+		assertThat(ids(index.nearest(20.67, -103.35, 1, 10))).containsExactly(id);
+
+		index.put(id, null, null);
+		assertThat(index.nearest(20.67, -103.35, 1, 10)).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+
+	@Test
+	void writesDuringReloadAreReplayedOnTheNewGrid() {
+		RestaurantAddressRepository repo = mock(RestaurantAddressRepository.class);
+		RestaurantGeoIndex index = new RestaurantGeoIndex(repo);
+		UUID loaded = UUID.randomUUID();
+		UUID added = UUID.randomUUID();
+		UUID removed = UUID.randomUUID();
+		index.put(removed, 19.43, -99.13);
+
+		// the table read misses both writes made while it runs
+		when(repo.findPrimaryLocations()).thenAnswer(inv -> {
+			index.put(added, 19.431, -99.131);
+			index.remove(removed);
+			List<Object[]> rows = new ArrayList<>();
+			rows.add(new Object[]{loaded, 19.432, -99.132});
+			rows.add(new Object[]{removed, 19.43, -99.13});
+			return rows;
+		});
+		index.reload();
+
+		assertThat(ids(index.nearest(19.43, -99.13, 5, 10))).containsExactlyInAnyOrder(loaded, added);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	/* ---------------- helpers ---------------- */
+
+	private static List<UUID> bruteForce(List<Place> places, double lat, double lng, double radiusKm, int limit) {
+		return places.stream()
+				.filter(p -> RestaurantGeoIndex.distanceKm(lat, lng, p.latitude(), p.longitude()) <= radiusKm)
+				.sorted(Comparator.comparingDouble(p -> RestaurantGeoIndex.distanceKm(lat, lng, p.latitude(), p.longitude())))
+				.limit(limit)
+				.map(Place::id)
+				.toList();
+	}
+
+	private static List<UUID> ids(List<RestaurantGeoIndex.Hit> hits) {
+		return hits.stream().map(RestaurantGeoIndex.Hit::restaurantId).toList();
+	}
+
+	// back over the pole rather than clamped, so that points do not pile up at distance ties
+	private static double reflect(double lat) {
+		return lat > 90 ? 180 - lat : lat < -90 ? -180 - lat : lat;
+	}
+
+	private static double wrap(double lng) {
+		return ((lng + 540.0) % 360.0) - 180.0;
+	}
+}
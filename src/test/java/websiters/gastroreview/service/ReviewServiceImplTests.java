@@ -0,0 +1,55 @@
+package WebSiters.GastroReview.service;
+
+import WebSiters.GastroReview.dto.ReviewRequest;
+import WebSiters.GastroReview.model.Review;
+import WebSiters.GastroReview.repository.DishRepository;
+import WebSiters.GastroReview.repository.RestaurantRepository;
+import WebSiters.GastroReview.repository.ReviewRepository;
+import WebSiters.GastroReview.repository.UsersRepository;
+import org.junit.jupiter.api.Test;
+import websiters.gastroreview.analysis.NearDuplicateIndex;
+import websiters.gastroreview.analysis.ReviewAnalysisPipeline;
+import websiters.gastroreview.search.ReviewSearchIndex;
+import websiters.gastroreview.service.FeedService;
+import websiters.gastroreview.service.RestaurantStatsService;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Near-duplicate screening on the update path, with the index in reject mode.
+ */
+class ReviewServiceImplTests {
+
+	private static final String SPAM = "gana dinero rapido desde casa escribe a mi whatsapp para mas informacion hoy mismo";
+
+	private final ReviewRepository reviewRepo = mock(ReviewRepository.class);
+	private final NearDuplicateIndex nearDuplicates = new NearDuplicateIndex(0.8, "reject");
+	private final ReviewServiceImpl service = new ReviewServiceImpl(reviewRepo, mock(UsersRepository.class),
+			mock(RestaurantRepository.class), mock(DishRepository.class), mock(RestaurantStatsService.class),
+			mock(ReviewSearchIndex.class), mock(FeedService.class), mock(ReviewAnalysisPipeline.class), nearDuplicates);
+
+	@Test
+	void updateCannotTurnAReviewIntoACopyOfAnother() {
+		UUID spamId = UUID.randomUUID();
+		nearDuplicates.add(spamId, NearDuplicateIndex.signature(SPAM)); // no transaction: applied immediately
+
+		UUID id = UUID.randomUUID();
+		Review existing = Review.builder().id(id).title("Buen lugar").content("Los tacos estaban ricos").build();
+		nearDuplicates.add(id, NearDuplicateIndex.signature(existing.getContent()));
+		when(reviewRepo.findById(id)).thenReturn(Optional.of(existing));
+
+		ReviewRequest req = new ReviewRequest();
+		req.setContent(SPAM.toUpperCase());
+		assertThatThrownBy(() -> service.update(id, req))
+				.isInstanceOfSatisfying(NearDuplicateIndex.NearDuplicateException.class,
+						ex -> assertThat(ex.getMatch().reviewId()).isEqualTo(spamId));
+		verify(reviewRepo, never()).save(any());
+		assertThat(existing.getContent()).isEqualTo("Los tacos estaban ricos");
+	}
+}
@@ -0,0 +1,24 @@
+package websiters.gastroreview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleClockTests {
+
+	private final ScheduleClock clock = new ScheduleClock("America/Mexico_City");
+
+	@Test
+	void readsInstantsInTheSchedulesZoneWithSundayAsZero() {
+		// Monday 02:30 UTC is still Sunday evening in Mexico City (UTC-6)
+		assertThat(clock.at(Instant.parse("2024-06-03T02:30:45Z")))
+				.isEqualTo(new ScheduleClock.WeekTime(0, LocalTime.of(20, 30)));
+		assertThat(clock.at(Instant.parse("2024-06-08T23:59:59Z")))
+				.isEqualTo(new ScheduleClock.WeekTime(6, LocalTime.of(17, 59)));
+		assertThat(clock.at(Instant.parse("2024-06-03T06:00:00Z")))
+				.isEqualTo(new ScheduleClock.WeekTime(1, LocalTime.MIDNIGHT));
+	}
+}
@@ -0,0 +1,41 @@
+package websiters.gastroreview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScratchPoolTests {
+
+	@Test
+	void reusesReleasedBuffersUpToTheIdleLimit() {
+		AtomicInteger created = new AtomicInteger();
+		ScratchPool<int[]> pool = new ScratchPool<>(2, () -> {
+			created.incrementAndGet();
+			return new int[8];
+		}, buffer -> true);
+
+		int[] a = pool.borrow();
+		int[] b = pool.borrow();
+		int[] c = pool.borrow();
+		assertThat(created).hasValue(3);
+
+		pool.release(a);
+		pool.release(b);
+		pool.release(c); // over the idle limit: dropped
+		assertThat(pool.borrow()).isSameAs(a);
+		assertThat(pool.borrow()).isSameAs(b);
+		int[] fresh = pool.borrow();
+		assertThat(fresh).isNotSameAs(a).isNotSameAs(b).isNotSameAs(c);
+		assertThat(created).hasValue(4);
+	}
+
+	@Test
+	void dropsBuffersTheRetainCheckRejects() {
+		ScratchPool<int[]> pool = new ScratchPool<>(4, () -> new int[8], buffer -> buffer.length <= 8);
+		int[] grown = new int[64];
+		pool.release(grown);
+		assertThat(pool.borrow()).hasSize(8).isNotSameAs(grown);
+	}
+}
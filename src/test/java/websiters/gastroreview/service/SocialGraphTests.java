@@ -0,0 +1,239 @@
+package websiters.gastroreview.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import websiters.gastroreview.repository.FriendshipRepository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SocialGraph reads against the edge set it was built from, with follows and unfollows
+ * applied on top, and against writes made while a rebuild streams the table; intersect
+ * and suggestions against brute-force versions.
+ */
+class SocialGraphTests {
+
+	private static final OffsetDateTime T0 = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+	private record Follow(UUID follower, UUID followed) {
+	}
+
+	@Test
+	void readsMatchTheEdgeSetAfterLoadAndWrites() {
+		Random random = new Random(7);
+		UUID[] users = new UUID[150];
+		for (int i = 0; i < users.length; i++) users[i] = UUID.randomUUID();
+
+		// a few popular accounts and a long tail, with the odd duplicate row
+		Map<Follow, OffsetDateTime> edges = new LinkedHashMap<>();
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			UUID follower = users[random.nextInt(users.length)];
+			UUID followed = users[random.nextInt(random.nextBoolean() ? 10 : users.length)];
+			if (follower.equals(followed)) continue;
+			OffsetDateTime since = T0.plus(random.nextInt(1_000_000_000), ChronoUnit.MICROS);
+			Follow f = new Follow(follower, followed);
+			edges.putIfAbsent(f, since);
+			rows.add(new Object[]{follower, followed, edges.get(f)});
+		}
+
+		FriendshipRepository repo = mock(FriendshipRepository.class);
+		when(repo.streamEdges()).thenAnswer(inv -> rows.stream());
+		SocialGraph graph = new SocialGraph(repo, mock(PlatformTransactionManager.class));
+		graph.rebuild();
+		assertMatches(graph, users, edges);
+
+		for (int i = 0; i < 500; i++) {
+			UUID follower = users[random.nextInt(users.length)];
+			UUID followed = users[random.nextInt(users.length)];
+			if (follower.equals(followed)) continue;
+			Follow f = new Follow(follower, followed);
+			if (edges.containsKey(f)) {
+				graph.unfollow(follower, followed);
+				edges.remove(f);
+			} else {
+				OffsetDateTime since = T0.plusDays(1 + i);
+				graph.follow(follower, followed, since);
+				edges.put(f, since);
+			}
+		}
+		assertMatches(graph, users, edges);
+	}
+
+	@Test
+	void isNotLoadedUntilTheFirstRebuildCompletes() {
+		FriendshipRepository repo = mock(FriendshipRepository.class);
+		when(repo.streamEdges()).thenThrow(new IllegalStateException("database down")).thenReturn(Stream.empty());
+		SocialGraph graph = new SocialGraph(repo, mock(PlatformTransactionManager.class));
+		assertThat(graph.isLoaded()).isFalse();
+
+		try {
+			graph.rebuild();
+		} catch (IllegalStateException expected) {
+			// a failed load leaves the flag unset
+		}
+		assertThat(graph.isLoaded()).isFalse();
+
+		graph.rebuild();
+		assertThat(graph.isLoaded()).isTrue();
+	}
+
+	@Test
+	void writesDuringRebuildAreReplayedOnTheNewGraph() {
+		UUID a = UUID.randomUUID();
+		UUID b = UUID.randomUUID();
+		UUID c = UUID.randomUUID();
+		FriendshipRepository repo = mock(FriendshipRepository.class);
+		SocialGraph graph = new SocialGraph(repo, mock(PlatformTransactionManager.class));
+
+		// the table read sees a -> b and a -> c, but both change while it streams
+		when(repo.streamEdges()).thenAnswer(inv -> {
+			graph.unfollow(a, b);
+			graph.follow(b, c, T0);
+			return Stream.of(new Object[]{a, b, T0}, new Object[]{a, c, T0});
+		});
+		graph.rebuild();
+
+		assertThat(graph.follows(a, b)).isFalse();
+		assertThat(graph.follows(a, c)).isTrue();
+		assertThat(graph.follows(b, c)).isTrue();
+		assertThat(graph.followerCount(c)).isEqualTo(2);
+		assertThat(graph.followingCount(a)).isEqualTo(1);
+	}
+
+	@Test
+	void intersectMatchesASetIntersection() {
+		Random random = new Random(11);
+		// similar sizes (merged) and very different sizes (galloped), sparse and dense
+		int[][] shapes = {{0, 50}, {1, 1}, {40, 60}, {5, 5000}, {300, 300}, {2, 100_000}, {3000, 20}};
+		for (int[] shape : shapes) {
+			for (int universe : new int[]{shape[0] + shape[1], 10 * (shape[0] + shape[1]) + 1}) {
+				int[] a = sortedSample(random, shape[0], universe);
+				int[] b = sortedSample(random, shape[1], universe);
+				Set<Integer> expected = new TreeSet<>();
+				for (int x : a) expected.add(x);
+				Set<Integer> inB = new HashSet<>();
+				for (int x : b) inB.add(x);
+				expected.retainAll(inB);
+
+				int[] actual = SocialGraph.intersect(a, b);
+				assertThat(actual).as("%s x %s of %s", a.length, b.length, universe)
+						.containsExactly(expected.stream().mapToInt(Integer::intValue).toArray());
+				assertThat(SocialGraph.intersect(b, a)).containsExactly(actual);
+			}
+		}
+	}
+
+	@Test
+	void commonFollowingAndSuggestionsMatchBruteForce() {
+		Random random = new Random(13);
+		UUID[] users = new UUID[120];
+		for (int i = 0; i < users.length; i++) users[i] = UUID.randomUUID();
+		Set<Follow> edges = new LinkedHashSet<>();
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < 2500; i++) {
+			UUID follower = users[random.nextInt(users.length)];
+			UUID followed = users[random.nextInt(random.nextInt(4) == 0 ? 15 : users.length)];
+			if (follower.equals(followed) || !edges.add(new Follow(follower, followed))) continue;
+			rows.add(new Object[]{follower, followed, T0});
+		}
+		FriendshipRepository repo = mock(FriendshipRepository.class);
+		when(repo.streamEdges()).thenAnswer(inv -> rows.stream());
+		SocialGraph graph = new SocialGraph(repo, mock(PlatformTransactionManager.class));
+		graph.rebuild();
+
+		Map<UUID, Set<UUID>> following = new HashMap<>();
+		Map<UUID, Integer> popularity = new HashMap<>();
+		for (UUID u : users) following.put(u, new HashSet<>());
+		for (Follow f : edges) {
+			following.get(f.follower()).add(f.followed());
+			popularity.merge(f.followed(), 1, Integer::sum);
+		}
+
+		for (int q = 0; q < 40; q++) {
+			UUID u = users[random.nextInt(users.length)];
+			UUID v = users[random.nextInt(users.length)];
+			Set<UUID> common = new HashSet<>(following.get(u));
+			common.retainAll(following.get(v));
+			SocialGraph.Common first = graph.commonFollowing(u, v, 0, 1000);
+			assertThat(first.total()).isEqualTo(common.size());
+			assertThat(first.users()).containsExactlyInAnyOrderElementsOf(common);
+
+			// candidates: followed by someone u follows, not u and not already followed by u
+			Map<UUID, Integer> shared = new HashMap<>();
+			for (UUID f : following.get(u)) {
+				for (UUID c : following.get(f)) {
+					if (!c.equals(u) && !following.get(u).contains(c)) shared.merge(c, 1, Integer::sum);
+				}
+			}
+			Comparator<UUID> rank = Comparator.<UUID>comparingInt(shared::get)
+					.thenComparingInt(c -> popularity.getOrDefault(c, 0))
+					.reversed();
+			for (int limit : new int[]{1, 5, 50}) {
+				List<SocialGraph.Suggestion> actual = graph.suggestions(u, limit);
+				List<UUID> expected = shared.keySet().stream().sorted(rank).limit(limit).toList();
+				assertThat(actual).hasSize(expected.size());
+				for (SocialGraph.Suggestion s : actual) {
+					assertThat(s.sharedConnections()).isEqualTo(shared.get(s.userId()));
+				}
+				// ties on (shared, popularity) may come back in either order: compare the ranks
+				assertThat(actual.stream().map(s -> key(s.userId(), shared, popularity)).toList())
+						.containsExactlyElementsOf(expected.stream().map(c -> key(c, shared, popularity)).toList());
+			}
+		}
+	}
+
+	/* ---------------- helpers ---------------- */
+
+	private static int[] sortedSample(Random random, int n, int universe) {
+		Set<Integer> picked = new TreeSet<>();
+		while (picked.size() < n) picked.add(random.nextInt(universe));
+		return picked.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static List<Integer> key(UUID candidate, Map<UUID, Integer> shared, Map<UUID, Integer> popularity) {
+		return List.of(shared.get(candidate), popularity.getOrDefault(candidate, 0));
+	}
+
+	private static void assertMatches(SocialGraph graph, UUID[] users, Map<Follow, OffsetDateTime> edges) {
+		for (UUID u : users) {
+			Set<UUID> followers = new HashSet<>();
+			Set<UUID> following = new HashSet<>();
+			edges.keySet().forEach(f -> {
+				if (f.followed().equals(u)) followers.add(f.follower());
+				if (f.follower().equals(u)) following.add(f.followed());
+			});
+			assertThat(graph.followerCount(u)).isEqualTo(followers.size());
+			assertThat(graph.followingCount(u)).isEqualTo(following.size());
+			assertThat(pages(graph, u, true)).containsExactlyInAnyOrderElementsOf(followers);
+			assertThat(pages(graph, u, false)).containsExactlyInAnyOrderElementsOf(following);
+			assertThat(graph.followerIds(u)).containsExactlyInAnyOrderElementsOf(followers);
+		}
+		for (UUID x : users) {
+			for (UUID y : users) {
+				OffsetDateTime since = edges.get(new Follow(x, y));
+				assertThat(graph.followedSince(x, y)).isEqualTo(since);
+			}
+		}
+	}
+
+	// every page of 7, which must neither repeat nor skip anyone
+	private static List<UUID> pages(SocialGraph graph, UUID userId, boolean followers) {
+		List<UUID> all = new ArrayList<>();
+		for (int offset = 0; ; offset += 7) {
+			List<SocialGraph.Edge> page = followers
+					? graph.followers(userId, offset, 7)
+					: graph.following(userId, offset, 7);
+			if (page.isEmpty()) return all;
+			page.forEach(e -> all.add(e.userId()));
+		}
+	}
+}